@@ -0,0 +1,25 @@
+package com.nenf.edenbazaar.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Runs JMH with JSON results written to {@code jmh-result.json}
+ * unless a result format or file is given, so runs can be compared with any JMH result viewer.
+ */
+public final class BenchMain {
+    
+    private BenchMain() {}
+    
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json"));
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,97 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.loot.ConditionalLootTable;
+import com.nenf.edenbazaar.core.loot.LootCondition;
+import com.nenf.edenbazaar.core.loot.LootContext;
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding the loot table for a spawn's context when a quarter of the {@code poolSize} items
+ * carry conditions drawn from {@code rules} distinct ones, against filtering the pool and building
+ * a composer on every spawn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConditionalLootTableBenchmark {
+    
+    @Param({"1024", "16384"})
+    private int poolSize;
+    
+    @Param({"4", "10", "32"})
+    private int rules;
+    
+    private record Loot(int id, String tier, int weight, List<LootCondition> conditions) {}
+    
+    private List<Loot> loot;
+    private ConditionalLootTable<Loot> table;
+    private LootContext[] contexts;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        List<LootCondition> conditions = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            conditions.add(switch (i % 4) {
+                case 0 -> new LootCondition.InWorld(Set.of("world_" + i));
+                case 1 -> new LootCondition.OnlinePlayers(i, Integer.MAX_VALUE);
+                case 2 -> new LootCondition.OnDays(Set.of(DayOfWeek.of(1 + i % 7)));
+                default -> new LootCondition.DuringEvent(Set.of("event_" + i));
+            });
+        }
+        
+        SplittableRandom seed = new SplittableRandom(42);
+        loot = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            List<LootCondition> needs = i % 4 == 0 ? List.of(conditions.get(seed.nextInt(rules))) : List.of();
+            loot.add(new Loot(i, Fixtures.TIERS.get(i % Fixtures.TIERS.size()), 1 + seed.nextInt(100), needs));
+        }
+        table = ConditionalLootTable.compile(loot, Loot::conditions, ConditionalLootTableBenchmark::compose);
+        
+        contexts = new LootContext[16];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = new LootContext("world_" + seed.nextInt(rules), seed.nextBoolean(), seed.nextInt(40),
+                DayOfWeek.of(1 + seed.nextInt(7)), Set.of("event_" + seed.nextInt(rules)));
+        }
+    }
+    
+    private static RotationComposer<Loot> compose(List<Loot> items) {
+        return RotationComposer.of(items, Loot::tier, Loot::weight, Map.of());
+    }
+    
+    @Benchmark
+    public RotationComposer<Loot> selectCompiled() {
+        return table.select(contexts[next++ & (contexts.length - 1)]);
+    }
+    
+    /**
+     * Baseline: test every item's conditions and build a composer for the ones that pass.
+     */
+    @Benchmark
+    public RotationComposer<Loot> filterPerSpawn() {
+        LootContext context = contexts[next++ & (contexts.length - 1)];
+        List<Loot> active = new ArrayList<>(loot.size());
+        for (Loot item : loot) {
+            if (item.conditions().stream().allMatch(condition -> condition.test(context))) {
+                active.add(item);
+            }
+        }
+        return compose(active);
+    }
+}
\ No newline at end of file
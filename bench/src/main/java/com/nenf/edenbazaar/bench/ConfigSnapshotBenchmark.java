@@ -0,0 +1,94 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.config.ConfigSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reads of the configuration snapshot while a reload swaps it, through the {@link ConfigSnapshot} behind
+ * {@code ConfigManager.getConfigSnapshot}. {@code ConfigData} needs the server API, so a record of similar shape
+ * stands in for it; what is read does not change the cost of reading it. The lock-guarded variant is the
+ * alternative the snapshot replaced, kept for comparison.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigSnapshotBenchmark {
+    
+    private static final long RELOAD_PAUSE_TOKENS = 10_000;
+    
+    private final ConfigSnapshot<Snapshot> snapshot = new ConfigSnapshot<>(Snapshot.of(0));
+    
+    // Touched by the reloading thread only
+    private long sequence;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Snapshot guarded = Snapshot.of(0);
+    
+    @Benchmark
+    @Group("volatileSnapshot")
+    @GroupThreads(7)
+    public int volatileRead() {
+        return snapshot.get().maxShopItems();
+    }
+    
+    @Benchmark
+    @Group("volatileSnapshot")
+    @GroupThreads(1)
+    public void volatileReload() {
+        Blackhole.consumeCPU(RELOAD_PAUSE_TOKENS);
+        long next = ++sequence;
+        if (snapshot.advance(next)) {
+            snapshot.set(Snapshot.of(next));
+        }
+    }
+    
+    @Benchmark
+    @Group("lockedSnapshot")
+    @GroupThreads(7)
+    public int lockedRead() {
+        lock.readLock().lock();
+        try {
+            return guarded.maxShopItems();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Benchmark
+    @Group("lockedSnapshot")
+    @GroupThreads(1)
+    public void lockedReload() {
+        Blackhole.consumeCPU(RELOAD_PAUSE_TOKENS);
+        lock.writeLock().lock();
+        try {
+            guarded = Snapshot.of(guarded.version() + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Stand-in for {@code ConfigData} with a similar shape.
+     */
+    record Snapshot(long version, int maxShopItems, List<String> worlds, Map<String, String> messages) {
+        
+        static Snapshot of(long version) {
+            return new Snapshot(version, 5, List.of("world", "world_nether"),
+                Map.of("purchase_success", "<green>Bought {item}</green>"));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.text.TextRenderer;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inputs shared by the benchmarks, copied from the default plugin configuration.
+ */
+public final class Fixtures {
+    
+    public static final String ITEM_NAME_FORMAT = "<white>{item}</white> <color:#ADB5BD>({tier})</color>";
+    
+    public static final List<String> ITEM_LORE = List.of(
+        "<color:#ADB5BD>Price:</color> <color:#51CF66>{price} coins</color>",
+        "<color:#ADB5BD>Tier:</color> <color:#FFB3C6>{tier}</color>",
+        "",
+        "<color:#06FFA5>Click to purchase!</color>",
+        "<color:#FF6B6B>⚠ Limited stock!</color>");
+    
+    public static final List<String> INFO_LORE = List.of(
+        "<color:#ADB5BD>Location:</color> <white>{location}</white>",
+        "<color:#ADB5BD>Available Items:</color> <white>{items}</white>",
+        "",
+        "<color:#06FFA5>⚡ Click items to purchase!</color>",
+        "<color:#FF6B6B>⚠ Items are limited stock!</color>");
+    
+    public static final Map<String, String> MESSAGES = Map.of(
+        "no_permission", "<color:#FF6B6B>❌ You don't have permission to use this command!</color>",
+        "bazaar_not_active", "<color:#FF6B6B>❌ The bazaar is not currently active!</color>",
+        "offer_unavailable", "<color:#FF6B6B>❌ This offer has changed! Open the bazaar again.</color>",
+        "purchase_limit", "<color:#FF6B6B>❌ You have bought as many of this as you may this rotation!</color>",
+        "out_of_stock", "<color:#FF6B6B>❌ This item is sold out!</color>");
+    
+    public static final List<String> TIERS = List.of("common", "uncommon", "rare", "epic", "legendary");
+    
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    
+    /**
+     * Same conversion as {@code ConfigManager.renderLegacy}: MiniMessage to section-sign legacy text.
+     */
+    public static final TextRenderer LEGACY = markup ->
+        LegacyComponentSerializer.legacySection().serialize(MINI_MESSAGE.deserialize(markup));
+    
+    private Fixtures() {}
+}
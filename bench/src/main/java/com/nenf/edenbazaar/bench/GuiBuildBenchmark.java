@@ -0,0 +1,130 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.jfr.GuiRenderEvent;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+import com.nenf.edenbazaar.core.text.LineTemplates;
+import com.nenf.edenbazaar.core.text.TextRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a {@code BazaarGUI} the way the interact listener does on every open: background, offers, the info
+ * item with its rendered lore and the close button, timed into the {@code gui.build} histogram.
+ * Items and inventories are thin stand-ins for the server's, so Bukkit's own item copying is left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GuiBuildBenchmark {
+    
+    /** 5 is the shipped gui.yml; 28 fills the inner slots of a double chest. */
+    @Param({"5", "28"})
+    public int offers;
+    
+    private final TextRenderer renderer = Fixtures.LEGACY;
+    private Layout layout;
+    private List<Item> shopItems;
+    private LatencyHistogram buildTimes;
+    
+    @Setup
+    public void setup() {
+        layout = offers <= 5
+            ? Layout.of(27, new int[] {10, 12, 14, 16, 22}, 4, 26, renderer)
+            : Layout.of(54, innerSlots(54), 4, 49, renderer);
+        shopItems = new ArrayList<>(offers);
+        for (int i = 0; i < offers; i++) {
+            String tier = Fixtures.TIERS.get(i % Fixtures.TIERS.size());
+            String name = renderer.render(
+                Fixtures.ITEM_NAME_FORMAT.replace("{item}", "Item " + i).replace("{tier}", tier));
+            List<String> lore = new ArrayList<>();
+            for (String line : Fixtures.ITEM_LORE) {
+                lore.add(renderer.render(line.replace("{price}", String.valueOf(100 + i)).replace("{tier}", tier)));
+            }
+            shopItems.add(new Item("DIAMOND", name, lore));
+        }
+        buildTimes = new MetricsRegistry().histogram("gui.build");
+    }
+    
+    @Benchmark
+    public Item[] build() {
+        GuiRenderEvent renderEvent = new GuiRenderEvent();
+        renderEvent.begin();
+        long start = System.nanoTime();
+        
+        Item[] inventory = new Item[layout.size];
+        for (int i = 0; i < inventory.length; i++) {
+            inventory[i] = layout.background;
+        }
+        int[] itemSlots = layout.itemSlots;
+        for (int i = 0; i < Math.min(shopItems.size(), itemSlots.length); i++) {
+            inventory[itemSlots[i]] = shopItems.get(i);
+        }
+        if (layout.infoSlot < inventory.length) {
+            String itemCount = String.valueOf(shopItems.size());
+            List<String> lore = layout.infoLore.render(placeholder -> switch (placeholder) {
+                case "location" -> "Spawn Plaza";
+                case "items" -> itemCount;
+                default -> null;
+            }, renderer);
+            inventory[layout.infoSlot] = new Item("PAPER", layout.infoName, lore);
+        }
+        if (layout.closeSlot < inventory.length) {
+            inventory[layout.closeSlot] = layout.closeButton;
+        }
+        
+        buildTimes.recordSince(start);
+        renderEvent.end();
+        if (renderEvent.shouldCommit()) {
+            renderEvent.player = "Steve";
+            renderEvent.items = shopItems.size();
+            renderEvent.commit();
+        }
+        return inventory;
+    }
+    
+    /**
+     * Slots of a chest inventory away from its border.
+     */
+    private static int[] innerSlots(int size) {
+        int rows = size / 9;
+        int[] slots = new int[(rows - 2) * 7];
+        int next = 0;
+        for (int row = 1; row < rows - 1; row++) {
+            for (int column = 1; column < 8; column++) {
+                slots[next++] = row * 9 + column;
+            }
+        }
+        return slots;
+    }
+    
+    /**
+     * Stand-in for an item stack with its display name and lore set.
+     */
+    public record Item(String material, String name, List<String> lore) {}
+    
+    /**
+     * Stand-in for {@code BazaarLayout}: what is rendered once per gui.yml change.
+     */
+    private record Layout(int size, int[] itemSlots, int infoSlot, int closeSlot, Item background, Item closeButton,
+                          String infoName, LineTemplates infoLore) {
+        
+        static Layout of(int size, int[] itemSlots, int infoSlot, int closeSlot, TextRenderer renderer) {
+            return new Layout(size, itemSlots, infoSlot, closeSlot,
+                new Item("GRAY_STAINED_GLASS_PANE", renderer.render(" "), List.of()),
+                new Item("BARRIER", renderer.render("<bold><color:#FF6B6B>Close</color></bold>"), List.of()),
+                renderer.render("<bold><color:#FFB3C6>Bazaar Information</color></bold>"),
+                new LineTemplates(Fixtures.INFO_LORE, renderer));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.jfr.PurchaseEvent;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a purchase event as the listener emits it, with no recording running and with one recording it.
+ * Without a recording the event should be optimized away entirely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JfrEventBenchmark {
+    
+    @Param({"off", "on"})
+    public String recording;
+    
+    private Recording active;
+    private long price = 100;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        if (recording.equals("on")) {
+            active = new Recording();
+            active.enable(PurchaseEvent.class).withoutStackTrace();
+            active.setToDisk(false);
+            active.setMaxSize(16 * 1024 * 1024);
+            active.start();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (active != null) {
+            active.close();
+        }
+    }
+    
+    @Benchmark
+    public long purchaseEvent() {
+        PurchaseEvent event = new PurchaseEvent();
+        event.begin();
+        long result = price * 3;
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = "Steve";
+            event.tier = "legendary";
+            event.price = price;
+            event.outcome = "PURCHASED";
+            event.payTime = 1_000;
+            event.commit();
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.ledger.FileLedgerStore;
+import com.nenf.edenbazaar.core.ledger.InMemoryLedger;
+import com.nenf.edenbazaar.core.ledger.Journal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * The built-in economy's ledger at server scale: withdrawals against {@code accounts} balances,
+ * with and without the file journal, and writing and reading a full snapshot.
+ */
+@Fork(1)
+public class LedgerBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Accounts {
+        
+        @Param({"1000000"})
+        int accounts;
+        
+        @Param({"none", "file"})
+        String journal;
+        
+        UUID[] ids;
+        Path directory;
+        FileLedgerStore store;
+        InMemoryLedger ledger;
+        
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            directory = Files.createTempDirectory("edenbazaar-bench");
+            store = new FileLedgerStore(directory.resolve("balances.txt"), Logger.getLogger("bench"));
+            ledger = new InMemoryLedger(1000.0, journal.equals("file") ? store : Journal.NONE);
+            ids = new UUID[accounts];
+            Map<UUID, Double> balances = new HashMap<>(accounts * 2);
+            for (int i = 0; i < accounts; i++) {
+                ids[i] = new UUID(0x5EED, i);
+                balances.put(ids[i], 1_000_000.0);
+            }
+            ledger.restore(balances);
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            store.close();
+            deleteRecursively(directory);
+        }
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean withdraw(Accounts state) {
+        UUID id = state.ids[ThreadLocalRandom.current().nextInt(state.ids.length)];
+        return state.ledger.withdraw(id, 1.0);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public void save(Accounts state) throws IOException {
+        state.store.writeSnapshot(state.ledger.checkpoint());
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int load(Accounts state) throws IOException {
+        if (!Files.exists(state.directory.resolve("balances.txt"))) {
+            state.store.writeSnapshot(state.ledger.checkpoint());
+        }
+        return state.store.load().size();
+    }
+    
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.jfr.PurchaseEvent;
+import com.nenf.edenbazaar.core.metrics.Counter;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+import com.nenf.edenbazaar.core.shop.Allowance;
+import com.nenf.edenbazaar.core.shop.Checkout;
+import com.nenf.edenbazaar.core.shop.Customer;
+import com.nenf.edenbazaar.core.shop.PurchaseLimits;
+import com.nenf.edenbazaar.core.shop.RotationLimits;
+import com.nenf.edenbazaar.core.shop.Stock;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The listener's reject paths, which a rush sends most clicks down: no permission to open the bazaar, a click
+ * on an empty slot, a GUI from an earlier rotation, a closed bazaar, a sold-out offer and a reached limit.
+ * Each follows {@code BazaarListener} down to the message it sends, parsed as {@code ConfigManager} does;
+ * the player, the GUI and the shop items are thin stand-ins around the real core types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ListenerRejectBenchmark {
+    
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final long ROTATION = 7;
+    private static final int SOLD_OUT_SLOT = 10;
+    private static final int LIMITED_SLOT = 12;
+    
+    private final UUID buyer = UUID.randomUUID();
+    private final RotationLimits rotations = new RotationLimits();
+    private final Map<Checkout.Outcome, Counter> outcomeCounts = new EnumMap<>(Checkout.Outcome.class);
+    private LatencyHistogram purchaseTimes;
+    private Gui current;
+    private Gui stale;
+    private boolean shopActive;
+    
+    @Setup
+    public void setup() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        purchaseTimes = metrics.histogram("purchase.total");
+        for (Checkout.Outcome outcome : Checkout.Outcome.values()) {
+            outcomeCounts.put(outcome, metrics.counter(
+                MetricsRegistry.labeled("purchase.outcome", "outcome", outcome.name().toLowerCase(Locale.ROOT))));
+        }
+        
+        Stock soldOut = Stock.of(1);
+        soldOut.tryTake();
+        List<Offer> offers = List.of(
+            new Offer(soldOut, 100, "rare"),
+            new Offer(Stock.of(1_000_000), 250, "legendary"),
+            new Offer(Stock.unlimited(), 40, "common"));
+        current = Gui.of(27, new int[] {SOLD_OUT_SLOT, LIMITED_SLOT, 14}, offers, ROTATION);
+        stale = Gui.of(27, new int[] {SOLD_OUT_SLOT, LIMITED_SLOT, 14}, offers, ROTATION - 1);
+        shopActive = true;
+        
+        // The buyer already took the one unit of the limited offer they may have
+        PurchaseLimits limits = rotations.forRotation(ROTATION);
+        limits.tryClaim(buyer, current.itemIndex(LIMITED_SLOT), 1, 1, 0);
+    }
+    
+    @Benchmark
+    public Component interactWithoutPermission() {
+        return message("no_permission");
+    }
+    
+    @Benchmark
+    public Component clickEmptySlot() {
+        return click(current, 0);
+    }
+    
+    @Benchmark
+    public Component clickStaleRotation() {
+        return click(stale, SOLD_OUT_SLOT);
+    }
+    
+    @Benchmark
+    public Component clickClosedBazaar() {
+        shopActive = false;
+        try {
+            return click(current, SOLD_OUT_SLOT);
+        } finally {
+            shopActive = true;
+        }
+    }
+    
+    @Benchmark
+    public Component clickSoldOut() {
+        return click(current, SOLD_OUT_SLOT);
+    }
+    
+    @Benchmark
+    public Component clickLimitReached() {
+        return click(current, LIMITED_SLOT);
+    }
+    
+    /**
+     * {@code onInventoryClick} and {@code processPurchaseTransaction} for a single unit, with purchase limits on.
+     *
+     * @return the message sent, or null if the click was ignored
+     */
+    private Component click(Gui gui, int slot) {
+        Offer offer = gui.offer(slot);
+        if (offer == null) {
+            return null;
+        }
+        if (gui.rotation() != ROTATION) {
+            return message("offer_unavailable");
+        }
+        PurchaseLimits counts = rotations.forRotation(ROTATION);
+        Allowance allowance = counts == null ? Allowance.NONE : counts.allowance(buyer, gui.itemIndex(slot), 1, 0);
+        if (!shopActive) {
+            return message("bazaar_not_active");
+        }
+        
+        Checkout.Outcome outcome = null;
+        PurchaseEvent event = new PurchaseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            outcome = Checkout.purchase(offer.stock(), allowance, offer.price(), 1, UnreachedCustomer.INSTANCE);
+            outcomeCounts.get(outcome).increment();
+        } finally {
+            purchaseTimes.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.player = "Steve";
+                event.tier = offer.tier();
+                event.price = offer.price();
+                event.units = 1;
+                event.outcome = outcome != null ? outcome.name() : "ERROR";
+                event.commit();
+            }
+        }
+        return switch (outcome) {
+            case LIMIT_REACHED -> message("purchase_limit");
+            case OUT_OF_STOCK -> message("out_of_stock");
+            default -> throw new IllegalStateException("Not a reject path: " + outcome);
+        };
+    }
+    
+    private static Component message(String key) {
+        return MINI_MESSAGE.deserialize(Fixtures.MESSAGES.get(key));
+    }
+    
+    /**
+     * Stand-in for a shop item: only what the checkout reads.
+     */
+    private record Offer(Stock stock, double price, String tier) {}
+    
+    /**
+     * Stand-in for {@code BazaarGUI} and its layout's slot table.
+     */
+    private record Gui(int[] itemIndexBySlot, List<Offer> offers, long rotation) {
+        
+        static Gui of(int size, int[] itemSlots, List<Offer> offers, long rotation) {
+            int[] itemIndexBySlot = new int[size];
+            Arrays.fill(itemIndexBySlot, -1);
+            for (int i = 0; i < itemSlots.length; i++) {
+                itemIndexBySlot[itemSlots[i]] = i;
+            }
+            return new Gui(itemIndexBySlot, offers, rotation);
+        }
+        
+        int itemIndex(int slot) {
+            return slot >= 0 && slot < itemIndexBySlot.length ? itemIndexBySlot[slot] : -1;
+        }
+        
+        Offer offer(int slot) {
+            int index = itemIndex(slot);
+            return index >= 0 && index < offers.size() ? offers.get(index) : null;
+        }
+    }
+    
+    /**
+     * The reject paths end before the checkout asks the player anything.
+     */
+    private enum UnreachedCustomer implements Customer {
+        INSTANCE;
+        
+        @Override
+        public boolean canAfford(double price) {
+            throw new AssertionError("Reject path reached the economy");
+        }
+        
+        @Override
+        public boolean hasRoom(int units) {
+            throw new AssertionError("Reject path reached the inventory");
+        }
+        
+        @Override
+        public boolean pay(double price) {
+            throw new AssertionError("Reject path reached the economy");
+        }
+        
+        @Override
+        public boolean deliver(int units) {
+            throw new AssertionError("Reject path reached the inventory");
+        }
+        
+        @Override
+        public boolean refund(double price) {
+            throw new AssertionError("Reject path reached the economy");
+        }
+    }
+}
\ No newline at end of file
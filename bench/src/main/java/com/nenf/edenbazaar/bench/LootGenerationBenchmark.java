@@ -0,0 +1,83 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.loot.LootItems;
+import com.nenf.edenbazaar.core.loot.OfferGenerator;
+import com.nenf.edenbazaar.core.loot.OfferGenerator.Offer;
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+import com.nenf.edenbazaar.core.sampling.RotationComposer.TierQuota;
+import com.nenf.edenbazaar.core.sampling.RotationSeeds;
+import com.nenf.edenbazaar.core.text.LineTemplates;
+import com.nenf.edenbazaar.core.text.Template;
+import com.nenf.edenbazaar.core.text.TextRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shop inventory generation through {@link OfferGenerator}, which {@code LootGenerator} calls: compose a rotation
+ * without replacement within the shipped tier quotas, seeded from the server seed and rotation number, roll and
+ * adjust the prices and render name and lore. Wrapping the offers in item stacks needs a server and is left out.
+ * Also measures rebuilding the table, which happens on every loot reload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LootGenerationBenchmark {
+    
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int poolSize;
+    
+    @Param({"5"})
+    private int maxShopItems;
+    
+    @Param({"plain", "legacy"})
+    private String renderer;
+    
+    // The shipped config.yml: one legendary item in 10% of rotations
+    private static final Map<String, TierQuota> QUOTAS = Map.of("legendary", new TierQuota(1, 1, 0.1));
+    private static final long SERVER_SEED = 42;
+    
+    private List<Loot> loot;
+    private RotationComposer<Loot> table;
+    private OfferGenerator<Loot> offers;
+    private long rotation;
+    
+    @Setup
+    public void setup() {
+        SplittableRandom seed = new SplittableRandom(42);
+        loot = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            int minPrice = 10 + seed.nextInt(1000);
+            loot.add(new Loot("Item " + i, Fixtures.TIERS.get(i % Fixtures.TIERS.size()),
+                1 + seed.nextInt(100), minPrice, minPrice + seed.nextInt(1000)));
+        }
+        table = RotationComposer.of(loot, Loot::tier, Loot::weight, QUOTAS);
+        TextRenderer textRenderer = renderer.equals("legacy") ? Fixtures.LEGACY : TextRenderer.PLAIN;
+        LootItems<Loot> items = new LootItems<>(Loot::name, Loot::tier, Loot::minPrice, Loot::maxPrice, item -> 1.0);
+        offers = new OfferGenerator<>(items, Template.compile(Fixtures.ITEM_NAME_FORMAT),
+            new LineTemplates(Fixtures.ITEM_LORE, textRenderer), textRenderer);
+    }
+    
+    @Benchmark
+    public List<Offer<Loot>> generateShopInventory() {
+        return offers.generate(table, maxShopItems, true, RotationSeeds.random(SERVER_SEED, ++rotation));
+    }
+    
+    @Benchmark
+    public RotationComposer<Loot> buildLootTable() {
+        return RotationComposer.of(loot, Loot::tier, Loot::weight, QUOTAS);
+    }
+    
+    record Loot(String name, String tier, int weight, int minPrice, int maxPrice) {}
+}
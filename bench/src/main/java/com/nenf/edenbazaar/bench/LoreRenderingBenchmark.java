@@ -0,0 +1,57 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.text.LineTemplates;
+import com.nenf.edenbazaar.core.text.TextRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the GUI info lore, the text work done on every {@code BazaarGUI} construction.
+ * Compares replacing placeholders and parsing every line per call with compiled {@link LineTemplates},
+ * which parse the static lines once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoreRenderingBenchmark {
+    
+    private final TextRenderer renderer = Fixtures.LEGACY;
+    private LineTemplates compiled;
+    
+    @Setup
+    public void setup() {
+        compiled = new LineTemplates(Fixtures.INFO_LORE, renderer);
+    }
+    
+    @Benchmark
+    public List<String> replaceEveryLine() {
+        List<String> lore = new ArrayList<>(Fixtures.INFO_LORE.size());
+        for (String line : Fixtures.INFO_LORE) {
+            lore.add(renderer.render(line.replace("{location}", "Spawn Plaza").replace("{items}", "5")));
+        }
+        return lore;
+    }
+    
+    @Benchmark
+    public List<String> compiledTemplates() {
+        return compiled.render(placeholder -> switch (placeholder) {
+            case "location" -> "Spawn Plaza";
+            case "items" -> "5";
+            default -> null;
+        }, renderer);
+    }
+    
+    @Benchmark
+    public String parseSingleLine() {
+        return renderer.render(Fixtures.INFO_LORE.get(3));
+    }
+}
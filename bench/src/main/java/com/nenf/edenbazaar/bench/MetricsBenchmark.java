@@ -0,0 +1,48 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.metrics.Counter;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead the metrics add to an instrumented call. Run with {@code -t} above 1 to see contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+    
+    private LatencyHistogram histogram;
+    private Counter counter;
+    
+    @Setup
+    public void setup() {
+        MetricsRegistry registry = new MetricsRegistry();
+        histogram = registry.histogram("bench.timing");
+        counter = registry.counter("bench.count");
+    }
+    
+    @Benchmark
+    public void recordTiming() {
+        histogram.recordSince(System.nanoTime() - 12_345);
+    }
+    
+    @Benchmark
+    public void incrementCounter() {
+        counter.increment();
+    }
+    
+    @Benchmark
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+import com.nenf.edenbazaar.core.sampling.RotationComposer.TierQuota;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of drawing a rotation of {@code slots} distinct items from a pool of {@code poolSize},
+ * against rebuilding a cumulative-weight sampler after every draw.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RotationComposerBenchmark {
+    
+    @Param({"64", "1024", "16384"})
+    private int poolSize;
+    
+    @Param({"9", "54"})
+    private int slots;
+    
+    private record Loot(int id, String tier, int weight) {}
+    
+    private List<Loot> loot;
+    private RotationComposer<Loot> composer;
+    private RotationComposer<Loot> quotaComposer;
+    private SplittableRandom random;
+    
+    @Setup
+    public void setup() {
+        SplittableRandom seed = new SplittableRandom(42);
+        loot = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            loot.add(new Loot(i, Fixtures.TIERS.get(i % Fixtures.TIERS.size()), 1 + seed.nextInt(100)));
+        }
+        composer = RotationComposer.of(loot, Loot::tier, Loot::weight, Map.of());
+        quotaComposer = RotationComposer.of(loot, Loot::tier, Loot::weight, Map.of(
+            "legendary", new TierQuota(1, 1, 0.1),
+            "epic", new TierQuota(1, 3, 1.0)));
+        random = new SplittableRandom(7);
+    }
+    
+    @Benchmark
+    public List<Loot> composeUnique() {
+        return composer.compose(slots, true, random);
+    }
+    
+    @Benchmark
+    public List<Loot> composeWithQuotas() {
+        return quotaComposer.compose(slots, true, random);
+    }
+    
+    /**
+     * Baseline: remove each drawn item from a list and rebuild the cumulative weights, O(n) per draw.
+     */
+    @Benchmark
+    public List<Loot> rebuildPerDraw() {
+        List<Loot> remaining = new ArrayList<>(loot);
+        List<Loot> result = new ArrayList<>(slots);
+        long[] cumulative = new long[remaining.size()];
+        for (int i = 0; i < slots && !remaining.isEmpty(); i++) {
+            long total = 0;
+            for (int j = 0; j < remaining.size(); j++) {
+                total += remaining.get(j).weight();
+                cumulative[j] = total;
+            }
+            long target = random.nextLong(total);
+            int index = 0;
+            while (cumulative[index] <= target) {
+                index++;
+            }
+            result.add(remaining.remove(index));
+        }
+        return result;
+    }
+}
\ No newline at end of file
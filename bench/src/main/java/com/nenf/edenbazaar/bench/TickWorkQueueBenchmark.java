@@ -0,0 +1,47 @@
+package com.nenf.edenbazaar.bench;
+
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of queueing main-thread work: one tick that drains {@code tasks} small tasks spread over all priorities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TickWorkQueueBenchmark {
+    
+    private static final Priority[] PRIORITIES = Priority.values();
+    
+    @Param({"10", "1000"})
+    public int tasks;
+    
+    private TickWorkQueue queue;
+    
+    @Setup
+    public void setup() {
+        // A budget no benchmark tick reaches, so every tick drains the queue
+        queue = new TickWorkQueue(TimeUnit.SECONDS.toNanos(1), System::nanoTime, new MetricsRegistry());
+    }
+    
+    @Benchmark
+    public int submitAndDrain(Blackhole blackhole) {
+        for (int i = 0; i < tasks; i++) {
+            int value = i;
+            queue.submit(PRIORITIES[i % PRIORITIES.length], () -> blackhole.consume(value));
+        }
+        return queue.runTick((priority, e) -> { throw e; });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.nenf.edenbazaar.bench.load;
+
+import java.util.Arrays;
+
+/**
+ * Collects nanosecond samples and reports percentiles. Not thread-safe; use one per worker and merge.
+ */
+final class LatencyRecorder {
+    
+    private long[] samples = new long[1024];
+    private int count;
+    private boolean sorted = true;
+    
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        sorted = false;
+    }
+    
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samples[i]);
+        }
+    }
+    
+    int count() {
+        return count;
+    }
+    
+    /**
+     * Gets the sample at percentile {@code p} (0 to 100), or 0 if there are no samples.
+     */
+    long percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+        int index = (int) Math.ceil(p / 100.0 * count) - 1;
+        return samples[Math.clamp(index, 0, count - 1)];
+    }
+    
+    long max() {
+        return percentile(100);
+    }
+    
+    double mean() {
+        if (count == 0) {
+            return 0;
+        }
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total / count;
+    }
+}
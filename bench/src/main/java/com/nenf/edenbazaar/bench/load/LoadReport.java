@@ -0,0 +1,100 @@
+package com.nenf.edenbazaar.bench.load;
+
+import com.nenf.edenbazaar.core.shop.Checkout.Outcome;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Results of one scenario run. A run is consistent when no offer was oversold and every payment
+ * ended up as a delivered item or a refund.
+ */
+record LoadReport(
+    Scenario scenario,
+    long wallMillis,
+    LatencyRecorder tickTimes,
+    int ticksOverBudget,
+    LatencyRecorder purchaseLatencies,
+    int interactions,
+    Map<Outcome, Integer> outcomes,
+    int oversoldUnits,
+    int stockMismatches,
+    int lostPaymentPlayers,
+    double lostMoney
+) {
+    
+    boolean isConsistent() {
+        return oversoldUnits == 0 && stockMismatches == 0 && lostPaymentPlayers == 0;
+    }
+    
+    int clicks() {
+        return purchaseLatencies.count();
+    }
+    
+    int purchases() {
+        return outcomes.getOrDefault(Outcome.PURCHASED, 0);
+    }
+    
+    String format() {
+        double simulatedSeconds = scenario.durationTicks() / 20.0;
+        StringBuilder out = new StringBuilder();
+        out.append("== ").append(scenario.name()).append(" ==\n");
+        out.append(String.format(Locale.ROOT, "players %d, workers %d, %d ticks in %d ms%n",
+            scenario.players(), scenario.workers(), scenario.durationTicks(), wallMillis));
+        out.append(String.format(Locale.ROOT, "tick time ms    mean %.3f  p50 %.3f  p99 %.3f  max %.3f  over %.0f ms: %d%n",
+            tickTimes.mean() / 1e6, millis(tickTimes.percentile(50)), millis(tickTimes.percentile(99)),
+            millis(tickTimes.max()), scenario.tickBudgetMillis(), ticksOverBudget));
+        out.append(String.format(Locale.ROOT, "click latency us p50 %.1f  p95 %.1f  p99 %.1f  max %.1f%n",
+            micros(purchaseLatencies.percentile(50)), micros(purchaseLatencies.percentile(95)),
+            micros(purchaseLatencies.percentile(99)), micros(purchaseLatencies.max())));
+        out.append(String.format(Locale.ROOT, "throughput      %d clicks, %d purchases, %.1f purchases/s (game time), %d interactions%n",
+            clicks(), purchases(), purchases() / simulatedSeconds, interactions));
+        out.append("outcomes       ");
+        outcomes.forEach((outcome, count) -> out.append(' ').append(outcome).append('=').append(count));
+        out.append('\n');
+        out.append(String.format(Locale.ROOT, "consistency     oversold %d, stock mismatches %d, lost payments %d (%.2f)%s%n",
+            oversoldUnits, stockMismatches, lostPaymentPlayers, lostMoney, isConsistent() ? "" : "  FAILED"));
+        return out.toString();
+    }
+    
+    String toJson() {
+        StringBuilder outcomeJson = new StringBuilder();
+        outcomes.forEach((outcome, count) -> {
+            if (!outcomeJson.isEmpty()) {
+                outcomeJson.append(", ");
+            }
+            outcomeJson.append('"').append(outcome.name()).append("\": ").append(count);
+        });
+        return String.format(Locale.ROOT, """
+            {"scenario": "%s", "players": %d, "workers": %d, "ticks": %d, "wallMillis": %d, \
+            "tickMillis": {"mean": %.4f, "p50": %.4f, "p99": %.4f, "max": %.4f, "overBudget": %d}, \
+            "clickMicros": {"p50": %.2f, "p95": %.2f, "p99": %.2f, "max": %.2f}, \
+            "clicks": %d, "purchases": %d, "interactions": %d, "outcomes": {%s}, \
+            "oversoldUnits": %d, "stockMismatches": %d, "lostPaymentPlayers": %d, "lostMoney": %.2f, "consistent": %b}""",
+            scenario.name().replace("\\", "\\\\").replace("\"", "\\\""), scenario.players(), scenario.workers(),
+            scenario.durationTicks(), wallMillis,
+            tickTimes.mean() / 1e6, millis(tickTimes.percentile(50)), millis(tickTimes.percentile(99)),
+            millis(tickTimes.max()), ticksOverBudget,
+            micros(purchaseLatencies.percentile(50)), micros(purchaseLatencies.percentile(95)),
+            micros(purchaseLatencies.percentile(99)), micros(purchaseLatencies.max()),
+            clicks(), purchases(), interactions, outcomeJson,
+            oversoldUnits, stockMismatches, lostPaymentPlayers, lostMoney, isConsistent());
+    }
+    
+    static Map<Outcome, Integer> emptyOutcomes() {
+        Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, 0);
+        }
+        return outcomes;
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+    
+    private static double micros(long nanos) {
+        return nanos / 1e3;
+    }
+}
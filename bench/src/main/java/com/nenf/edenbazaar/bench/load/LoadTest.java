@@ -0,0 +1,240 @@
+package com.nenf.edenbazaar.bench.load;
+
+import com.nenf.edenbazaar.bench.Fixtures;
+import com.nenf.edenbazaar.core.shop.Checkout;
+import com.nenf.edenbazaar.core.shop.Checkout.Outcome;
+import com.nenf.edenbazaar.core.shop.Stock;
+import com.nenf.edenbazaar.core.text.LineTemplates;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless load test: simulated players open the shop and click offers tick by tick, driving the same
+ * {@link Checkout} the plugin's purchase listener uses against a simulated economy.
+ * Reports tick time, click latency, throughput, and whether any offer was oversold or payment lost.
+ * <p>
+ * Usage: {@code LoadTest [--json <file>] <scenario.properties>...}. Exits with status 1 if a run is inconsistent.
+ */
+public final class LoadTest {
+    
+    private static final double TICKS_PER_SECOND = 20.0;
+    
+    private final Scenario scenario;
+    private final LineTemplates infoLore = new LineTemplates(Fixtures.INFO_LORE, Fixtures.LEGACY);
+    
+    LoadTest(Scenario scenario) {
+        this.scenario = scenario;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Path jsonFile = null;
+        List<Path> scenarioFiles = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--json") && i + 1 < args.length) {
+                jsonFile = Path.of(args[++i]);
+            } else {
+                scenarioFiles.add(Path.of(args[i]));
+            }
+        }
+        if (scenarioFiles.isEmpty()) {
+            System.err.println("Usage: LoadTest [--json <file>] <scenario.properties>...");
+            System.exit(2);
+        }
+        
+        boolean consistent = true;
+        List<String> results = new ArrayList<>();
+        for (Path file : scenarioFiles) {
+            LoadReport report = new LoadTest(Scenario.load(file)).run();
+            System.out.println(report.format());
+            results.add(report.toJson());
+            consistent &= report.isConsistent();
+        }
+        if (jsonFile != null) {
+            writeJson(jsonFile, results);
+        }
+        if (!consistent) {
+            System.exit(1);
+        }
+    }
+    
+    private static void writeJson(Path file, List<String> results) throws IOException {
+        Files.writeString(file, "[\n  " + String.join(",\n  ", results) + "\n]\n", StandardCharsets.UTF_8);
+    }
+    
+    LoadReport run() throws Exception {
+        SplittableRandom random = new SplittableRandom(scenario.seed());
+        SimulatedEconomy economy = new SimulatedEconomy(scenario);
+        
+        Stock[] stocks = new Stock[scenario.items()];
+        double[] prices = new double[scenario.items()];
+        for (int i = 0; i < stocks.length; i++) {
+            stocks[i] = Stock.of(scenario.stockPerItem());
+            prices[i] = random.nextInt(scenario.minPrice(), scenario.maxPrice() + 1);
+        }
+        
+        // Players are split by index so each stays on one worker, like entities owned by a region thread
+        List<List<SimulatedPlayer>> partitions = new ArrayList<>();
+        for (int w = 0; w < scenario.workers(); w++) {
+            partitions.add(new ArrayList<>());
+        }
+        List<SimulatedPlayer> players = new ArrayList<>(scenario.players());
+        for (int i = 0; i < scenario.players(); i++) {
+            int arrivalTick = (int) ((long) i * scenario.arrivalTicks() / scenario.players());
+            int freeSlots = random.nextDouble() < scenario.fullInventoryChance() ? 0 : scenario.freeSlots();
+            SimulatedPlayer player = new SimulatedPlayer(new UUID(scenario.seed(), i), arrivalTick, freeSlots,
+                economy, scenario.deliveryFailureRate(), random.split());
+            players.add(player);
+            partitions.get(i % scenario.workers()).add(player);
+        }
+        
+        List<Worker> workers = new ArrayList<>();
+        for (List<SimulatedPlayer> partition : partitions) {
+            workers.add(new Worker(partition, stocks, prices));
+        }
+        
+        LatencyRecorder tickTimes = new LatencyRecorder();
+        int ticksOverBudget = 0;
+        long budgetNanos = (long) (scenario.tickBudgetMillis() * 1_000_000);
+        ExecutorService executor = scenario.workers() > 1 ? Executors.newFixedThreadPool(scenario.workers()) : null;
+        long startedAt = System.nanoTime();
+        try {
+            for (int tick = 0; tick < scenario.durationTicks(); tick++) {
+                long tickStart = System.nanoTime();
+                runTick(tick, workers, executor);
+                long tickTime = System.nanoTime() - tickStart;
+                tickTimes.record(tickTime);
+                if (tickTime > budgetNanos) {
+                    ticksOverBudget++;
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        long wallMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        
+        // Merge what the workers saw and check the invariants
+        LatencyRecorder latencies = new LatencyRecorder();
+        Map<Outcome, Integer> outcomes = LoadReport.emptyOutcomes();
+        int[] delivered = new int[stocks.length];
+        int interactions = 0;
+        for (Worker worker : workers) {
+            latencies.merge(worker.latencies);
+            worker.outcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Integer::sum));
+            for (int i = 0; i < delivered.length; i++) {
+                delivered[i] += worker.delivered[i];
+            }
+            interactions += worker.interactions;
+        }
+        
+        int oversold = 0;
+        int stockMismatches = 0;
+        if (scenario.stockPerItem() > 0) {
+            for (int i = 0; i < stocks.length; i++) {
+                oversold += Math.max(0, delivered[i] - scenario.stockPerItem());
+                if (stocks[i].remaining() + delivered[i] != scenario.stockPerItem()) {
+                    stockMismatches++;
+                }
+            }
+        }
+        
+        int lostPaymentPlayers = 0;
+        double lostMoney = 0;
+        for (SimulatedPlayer player : players) {
+            double unaccounted = player.unaccountedMoney(scenario.startBalance());
+            if (Math.abs(unaccounted) > 1e-6) {
+                lostPaymentPlayers++;
+                lostMoney += unaccounted;
+            }
+        }
+        
+        return new LoadReport(scenario, wallMillis, tickTimes, ticksOverBudget, latencies, interactions, outcomes,
+            oversold, stockMismatches, lostPaymentPlayers, lostMoney);
+    }
+    
+    private void runTick(int tick, List<Worker> workers, ExecutorService executor) throws Exception {
+        if (executor == null) {
+            workers.getFirst().tick(tick);
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(workers.size());
+        for (Worker worker : workers) {
+            tasks.add(() -> {
+                worker.tick(tick);
+                return null;
+            });
+        }
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+    }
+    
+    /**
+     * Drives one partition of players. Counters are per worker and merged after the run.
+     */
+    private final class Worker {
+        private final List<SimulatedPlayer> players;
+        private final Stock[] stocks;
+        private final double[] prices;
+        private final double clickChance = scenario.clicksPerSecond() / TICKS_PER_SECOND;
+        
+        final LatencyRecorder latencies = new LatencyRecorder();
+        final Map<Outcome, Integer> outcomes = LoadReport.emptyOutcomes();
+        final int[] delivered;
+        int interactions;
+        
+        Worker(List<SimulatedPlayer> players, Stock[] stocks, double[] prices) {
+            this.players = players;
+            this.stocks = stocks;
+            this.prices = prices;
+            this.delivered = new int[stocks.length];
+        }
+        
+        void tick(int tick) {
+            for (SimulatedPlayer player : players) {
+                if (tick == player.arrivalTick) {
+                    interact(player);
+                } else if (tick > player.arrivalTick && player.random.nextDouble() < clickChance) {
+                    click(player);
+                }
+            }
+        }
+        
+        private void interact(SimulatedPlayer player) {
+            // Opening the shop renders the info item lore, as BazaarGUI does
+            String itemCount = String.valueOf(stocks.length);
+            infoLore.render(placeholder -> switch (placeholder) {
+                case "location" -> "Spawn Plaza";
+                case "items" -> itemCount;
+                default -> null;
+            }, Fixtures.LEGACY);
+            interactions++;
+        }
+        
+        private void click(SimulatedPlayer player) {
+            int offer = player.random.nextInt(stocks.length);
+            int deliveredBefore = player.delivered();
+            
+            long start = System.nanoTime();
+            Outcome outcome = Checkout.purchase(stocks[offer], prices[offer], player);
+            latencies.record(System.nanoTime() - start);
+            
+            outcomes.merge(outcome, 1, Integer::sum);
+            // Counted from what the player received, not from the reported outcome
+            delivered[offer] += player.delivered() - deliveredBefore;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.nenf.edenbazaar.bench.load;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * A load-test scenario, read from a {@code .properties} file. Missing keys take the defaults below.
+ *
+ * @param name scenario name used in reports
+ * @param seed seed for every random choice, so runs are repeatable
+ * @param players number of simulated players
+ * @param arrivalTicks players arrive evenly spread over this many ticks; 0 means all at once
+ * @param durationTicks length of the run in server ticks
+ * @param clicksPerSecond purchase clicks per player and second once the shop is open
+ * @param items number of offers in the shop
+ * @param stockPerItem units per offer; 0 means unlimited
+ * @param minPrice lowest offer price
+ * @param maxPrice highest offer price
+ * @param startBalance balance every player starts with
+ * @param freeSlots free inventory slots per player
+ * @param fullInventoryChance share of players who arrive with no free slot
+ * @param economyLatencyMicros minimum latency of every economy call
+ * @param economyLatencyJitterMicros extra random latency of every economy call
+ * @param withdrawFailureRate share of withdrawals the economy rejects even though funds suffice
+ * @param depositFailureRate share of refunds the economy rejects
+ * @param deliveryFailureRate share of deliveries that fail after payment
+ * @param workers threads processing a tick; 1 is a single main thread, more models region threads
+ * @param tickBudgetMillis tick duration counted as overrun, 50 for 20 TPS
+ */
+public record Scenario(
+    String name,
+    long seed,
+    int players,
+    int arrivalTicks,
+    int durationTicks,
+    double clicksPerSecond,
+    int items,
+    int stockPerItem,
+    int minPrice,
+    int maxPrice,
+    double startBalance,
+    int freeSlots,
+    double fullInventoryChance,
+    long economyLatencyMicros,
+    long economyLatencyJitterMicros,
+    double withdrawFailureRate,
+    double depositFailureRate,
+    double deliveryFailureRate,
+    int workers,
+    double tickBudgetMillis
+) {
+    
+    public Scenario {
+        if (players <= 0 || durationTicks <= 0 || items <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("players, duration_ticks, items and workers must be positive");
+        }
+        if (arrivalTicks < 0 || stockPerItem < 0 || freeSlots < 0) {
+            throw new IllegalArgumentException("arrival_ticks, stock_per_item and free_slots cannot be negative");
+        }
+        if (minPrice < 0 || minPrice > maxPrice) {
+            throw new IllegalArgumentException("Prices must satisfy 0 <= min_price <= max_price");
+        }
+        if (economyLatencyMicros < 0 || economyLatencyJitterMicros < 0) {
+            throw new IllegalArgumentException("Economy latency cannot be negative");
+        }
+        checkRate("full_inventory_chance", fullInventoryChance);
+        checkRate("withdraw_failure_rate", withdrawFailureRate);
+        checkRate("deposit_failure_rate", depositFailureRate);
+        checkRate("delivery_failure_rate", deliveryFailureRate);
+    }
+    
+    private static void checkRate(String key, double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException(key + " must be between 0 and 1, got: " + rate);
+        }
+    }
+    
+    public static Scenario load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        String fileName = file.getFileName().toString();
+        String defaultName = fileName.endsWith(".properties")
+            ? fileName.substring(0, fileName.length() - ".properties".length())
+            : fileName;
+        
+        try {
+            return new Scenario(
+                properties.getProperty("name", defaultName),
+                Long.parseLong(properties.getProperty("seed", "42")),
+                Integer.parseInt(properties.getProperty("players", "100")),
+                Integer.parseInt(properties.getProperty("arrival_ticks", "0")),
+                Integer.parseInt(properties.getProperty("duration_ticks", "600")),
+                Double.parseDouble(properties.getProperty("clicks_per_second", "2")),
+                Integer.parseInt(properties.getProperty("items", "5")),
+                Integer.parseInt(properties.getProperty("stock_per_item", "0")),
+                Integer.parseInt(properties.getProperty("min_price", "100")),
+                Integer.parseInt(properties.getProperty("max_price", "1000")),
+                Double.parseDouble(properties.getProperty("start_balance", "1000")),
+                Integer.parseInt(properties.getProperty("free_slots", "36")),
+                Double.parseDouble(properties.getProperty("full_inventory_chance", "0")),
+                Long.parseLong(properties.getProperty("economy_latency_micros", "0")),
+                Long.parseLong(properties.getProperty("economy_latency_jitter_micros", "0")),
+                Double.parseDouble(properties.getProperty("withdraw_failure_rate", "0")),
+                Double.parseDouble(properties.getProperty("deposit_failure_rate", "0")),
+                Double.parseDouble(properties.getProperty("delivery_failure_rate", "0")),
+                Integer.parseInt(properties.getProperty("workers", "1")),
+                Double.parseDouble(properties.getProperty("tick_budget_millis", "50")));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + file + ": " + e.getMessage(), e);
+        }
+    }
+}
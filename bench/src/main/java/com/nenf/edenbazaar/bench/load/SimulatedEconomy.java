@@ -0,0 +1,59 @@
+package com.nenf.edenbazaar.bench.load;
+
+import com.nenf.edenbazaar.core.ledger.InMemoryLedger;
+import com.nenf.edenbazaar.core.ledger.Journal;
+
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Economy backed by the built-in ledger, with the latency and failures of an external economy plugin.
+ * The random generator is passed per call, so each worker can use its own.
+ */
+final class SimulatedEconomy {
+    
+    private final InMemoryLedger ledger;
+    private final Scenario scenario;
+    
+    SimulatedEconomy(Scenario scenario) {
+        this.scenario = scenario;
+        this.ledger = new InMemoryLedger(scenario.startBalance(), Journal.NONE);
+    }
+    
+    boolean has(UUID account, double amount, RandomGenerator random) {
+        delay(random);
+        return ledger.balance(account) >= amount;
+    }
+    
+    boolean withdraw(UUID account, double amount, RandomGenerator random) {
+        delay(random);
+        if (random.nextDouble() < scenario.withdrawFailureRate()) {
+            return false;
+        }
+        return ledger.withdraw(account, amount);
+    }
+    
+    boolean deposit(UUID account, double amount, RandomGenerator random) {
+        delay(random);
+        if (random.nextDouble() < scenario.depositFailureRate()) {
+            return false;
+        }
+        ledger.deposit(account, amount);
+        return true;
+    }
+    
+    double balance(UUID account) {
+        return ledger.balance(account);
+    }
+    
+    private void delay(RandomGenerator random) {
+        long micros = scenario.economyLatencyMicros();
+        if (scenario.economyLatencyJitterMicros() > 0) {
+            micros += random.nextLong(scenario.economyLatencyJitterMicros() + 1);
+        }
+        if (micros > 0) {
+            LockSupport.parkNanos(micros * 1000);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nenf.edenbazaar.bench.load;
+
+import com.nenf.edenbazaar.core.shop.Customer;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * A simulated shopper. Each player is only ever driven by one worker, so its state needs no synchronization.
+ */
+final class SimulatedPlayer implements Customer {
+    
+    final UUID id;
+    final int arrivalTick;
+    final SplittableRandom random;
+    
+    private final SimulatedEconomy economy;
+    private final double deliveryFailureRate;
+    private int freeSlots;
+    private double pendingPrice;
+    private double deliveredValue;
+    private int delivered;
+    
+    SimulatedPlayer(UUID id, int arrivalTick, int freeSlots, SimulatedEconomy economy, double deliveryFailureRate,
+                    SplittableRandom random) {
+        this.id = id;
+        this.arrivalTick = arrivalTick;
+        this.freeSlots = freeSlots;
+        this.economy = economy;
+        this.deliveryFailureRate = deliveryFailureRate;
+        this.random = random;
+    }
+    
+    @Override
+    public boolean canAfford(double price) {
+        return economy.has(id, price, random);
+    }
+    
+    @Override
+    public boolean hasRoom(int units) {
+        return freeSlots >= units;
+    }
+    
+    @Override
+    public boolean pay(double price) {
+        if (economy.withdraw(id, price, random)) {
+            pendingPrice = price;
+            return true;
+        }
+        return false;
+    }
+    
+    @Override
+    public boolean deliver(int units) {
+        if (random.nextDouble() < deliveryFailureRate) {
+            return false;
+        }
+        freeSlots -= units;
+        delivered += units;
+        deliveredValue += pendingPrice;
+        return true;
+    }
+    
+    @Override
+    public boolean refund(double price) {
+        return economy.deposit(id, price, random);
+    }
+    
+    /**
+     * Money that left the player's account without a delivered item or a refund to show for it.
+     */
+    double unaccountedMoney(double startBalance) {
+        return startBalance - economy.balance(id) - deliveredValue;
+    }
+    
+    int delivered() {
+        return delivered;
+    }
+}
@@ -0,0 +1,174 @@
+package com.nenf.edenbazaar.bench.sim;
+
+import com.nenf.edenbazaar.core.loot.ConditionalLootTable;
+import com.nenf.edenbazaar.core.loot.LootCondition;
+import com.nenf.edenbazaar.core.loot.LootContext;
+import com.nenf.edenbazaar.core.loot.LootItems;
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+import com.nenf.edenbazaar.core.sampling.RotationComposer.TierQuota;
+import com.nenf.edenbazaar.core.sim.LootSimulation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Headless loot simulator: draws millions of rotations from a loot.yml and config.yml with the plugin's own
+ * conditional table, sampler and price rolls, and reports item frequencies, revenue, droughts and the currency sink.
+ * Demand pricing is left out, as its multipliers only exist on a running server.
+ * <p>
+ * Usage: {@code LootSimulator <simulation.properties>...}, from the repository root so the default paths resolve.
+ */
+public final class LootSimulator {
+    
+    // Items listed in the report, most frequent first
+    private static final int LISTED_ITEMS = 40;
+    
+    private record SimItem(String name, String tier, int minPrice, int maxPrice, int weight, List<LootCondition> conditions) {}
+    
+    private LootSimulator() {}
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LootSimulator <simulation.properties>...");
+            System.exit(2);
+        }
+        for (String arg : args) {
+            Path file = Path.of(arg);
+            System.out.println("== " + file.getFileName());
+            System.out.println(run(file).format(LISTED_ITEMS));
+        }
+    }
+    
+    static LootSimulation.Report run(Path file) throws IOException, InterruptedException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        SimpleYaml loot = SimpleYaml.load(Path.of(properties.getProperty("loot", "plugin/src/main/resources/loot.yml")));
+        SimpleYaml config = SimpleYaml.load(Path.of(properties.getProperty("config", "plugin/src/main/resources/config.yml")));
+        
+        try {
+            Map<String, TierQuota> quotas = loadQuotas(config);
+            ConditionalLootTable<SimItem> table = ConditionalLootTable.compile(loadItems(loot), SimItem::conditions,
+                active -> RotationComposer.of(active, SimItem::tier, SimItem::weight, quotas));
+            
+            LootContext context = new LootContext(
+                properties.getProperty("world", "world"),
+                Boolean.parseBoolean(properties.getProperty("night", "false")),
+                Integer.parseInt(properties.getProperty("players", "20")),
+                DayOfWeek.valueOf(properties.getProperty("day", LocalDate.now().getDayOfWeek().name()).toUpperCase(Locale.ROOT)),
+                Set.copyOf(list(properties.getProperty("events", ""))));
+            
+            // A configured seed of 0 means the main world's seed, which only a server knows
+            int threads = Integer.parseInt(properties.getProperty("threads", "0"));
+            LootSimulation.Settings settings = new LootSimulation.Settings(
+                Long.parseLong(properties.getProperty("rotations", "10000000")),
+                Long.parseLong(properties.getProperty("seed", config.getString("settings.rotations.seed", "0"))),
+                Integer.parseInt(config.getString("settings.max_shop_items", "5")),
+                Boolean.parseBoolean(config.getString("settings.rotations.unique_items", "true")),
+                Math.max(0, Integer.parseInt(config.getString("settings.stock_per_item", "0"))),
+                properties.getProperty("tracked_tier", "legendary"),
+                Long.parseLong(config.getString("settings.spawn_interval", "43200")) / 3600.0,
+                new LootSimulation.Buyers(Double.parseDouble(properties.getProperty("units_per_offer", "0")),
+                    Double.parseDouble(properties.getProperty("price_sensitivity", "0.5"))),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+            
+            LootItems<SimItem> items = new LootItems<>(SimItem::name, SimItem::tier,
+                SimItem::minPrice, SimItem::maxPrice, item -> 1.0);
+            return new LootSimulation<>(table.select(context), items, settings).run();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + file + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Loot items in file order, with the defaults the plugin applies.
+     */
+    private static List<SimItem> loadItems(SimpleYaml loot) {
+        List<SimItem> items = new ArrayList<>();
+        for (Map.Entry<String, Object> tier : loot.section("loot_pools").entrySet()) {
+            if (!(tier.getValue() instanceof Map<?, ?> tierItems)) {
+                continue;
+            }
+            for (Map.Entry<?, ?> entry : tierItems.entrySet()) {
+                if (!(entry.getValue() instanceof Map<?, ?> item) || !(item.get("item") instanceof String material)) {
+                    throw new IllegalArgumentException("Item '" + entry.getKey() + "' in tier '" + tier.getKey() + "' missing material");
+                }
+                List<String> priceRange = item.get("price_range") instanceof List<?> range ? strings(range) : List.of();
+                int minPrice = priceRange.size() > 0 ? Integer.parseInt(priceRange.get(0)) : 10;
+                int maxPrice = priceRange.size() > 1 ? Integer.parseInt(priceRange.get(1)) : 100;
+                int weight = item.get("weight") instanceof String value ? Integer.parseInt(value) : 1;
+                List<LootCondition> conditions = item.get("conditions") instanceof Map<?, ?> section ? loadConditions(section) : List.of();
+                items.add(new SimItem(material.toUpperCase(Locale.ROOT), tier.getKey(), minPrice, maxPrice, weight, conditions));
+            }
+        }
+        return items;
+    }
+    
+    /**
+     * Same conditions as the plugin reads from an item's {@code conditions} section.
+     */
+    private static List<LootCondition> loadConditions(Map<?, ?> section) {
+        List<LootCondition> conditions = new ArrayList<>();
+        if (section.containsKey("worlds")) {
+            conditions.add(new LootCondition.InWorld(new HashSet<>(strings(section.get("worlds")))));
+        }
+        if (section.get("time") instanceof String time) {
+            conditions.add(new LootCondition.AtTime(time.equalsIgnoreCase("night")));
+        }
+        if (section.containsKey("min_players") || section.containsKey("max_players")) {
+            conditions.add(new LootCondition.OnlinePlayers(
+                section.get("min_players") instanceof String min ? Integer.parseInt(min) : 0,
+                section.get("max_players") instanceof String max ? Integer.parseInt(max) : Integer.MAX_VALUE));
+        }
+        if (section.containsKey("days")) {
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            for (String day : strings(section.get("days"))) {
+                days.add(DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT)));
+            }
+            conditions.add(new LootCondition.OnDays(days));
+        }
+        if (section.containsKey("events")) {
+            conditions.add(new LootCondition.DuringEvent(new HashSet<>(strings(section.get("events")))));
+        }
+        return List.copyOf(conditions);
+    }
+    
+    private static Map<String, TierQuota> loadQuotas(SimpleYaml config) {
+        Map<String, TierQuota> quotas = new HashMap<>();
+        for (Map.Entry<String, Object> tier : config.section("settings.rotations.tiers").entrySet()) {
+            if (tier.getValue() instanceof Map<?, ?> quota) {
+                quotas.put(tier.getKey(), new TierQuota(
+                    quota.get("min") instanceof String min ? Integer.parseInt(min) : 0,
+                    quota.get("max") instanceof String max ? Integer.parseInt(max) : Integer.MAX_VALUE,
+                    quota.get("chance") instanceof String chance ? Double.parseDouble(chance) : 1.0));
+            }
+        }
+        return quotas;
+    }
+    
+    private static List<String> strings(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
+        }
+        return value == null ? List.of() : List.of(String.valueOf(value));
+    }
+    
+    private static List<String> list(String value) {
+        return value.isBlank() ? List.of() : List.of(value.split("\\s*,\\s*"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.nenf.edenbazaar.bench.sim;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the part of YAML the plugin's own files use: nested maps by indentation, scalars, quoted strings,
+ * flow lists such as {@code [10, 50]}, block lists and comments. Values are strings, lists of strings or maps,
+ * in file order. The benchmarks have no YAML library, and the simulator only needs loot.yml and a few settings.
+ */
+final class SimpleYaml {
+    
+    private final Map<String, Object> root;
+    
+    private SimpleYaml(Map<String, Object> root) {
+        this.root = root;
+    }
+    
+    /**
+     * A key whose value is on the following, deeper lines.
+     */
+    private record Frame(int indent, Map<String, Object> parent, String key, Map<String, Object> children) {}
+    
+    static SimpleYaml load(Path file) throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        Deque<Frame> frames = new ArrayDeque<>();
+        frames.push(new Frame(-1, null, null, root));
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            String content = stripComment(line).stripTrailing();
+            if (content.isBlank()) {
+                continue;
+            }
+            int indent = content.length() - content.stripLeading().length();
+            content = content.strip();
+            while (frames.peek().indent() >= indent) {
+                frames.pop();
+            }
+            Frame frame = frames.peek();
+            
+            if (content.startsWith("- ")) {
+                if (frame.parent() == null) {
+                    throw new IOException(file + ":" + lineNumber + ": list item outside of a key");
+                }
+                Object list = frame.parent().get(frame.key());
+                if (!(list instanceof List<?>)) {
+                    list = new ArrayList<String>();
+                    frame.parent().put(frame.key(), list);
+                }
+                @SuppressWarnings("unchecked")
+                List<String> items = (List<String>) list;
+                items.add(unquote(content.substring(2).strip()));
+                continue;
+            }
+            
+            int colon = content.indexOf(':');
+            if (colon <= 0) {
+                throw new IOException(file + ":" + lineNumber + ": expected 'key: value', got: " + content);
+            }
+            String key = unquote(content.substring(0, colon).strip());
+            String value = content.substring(colon + 1).strip();
+            if (value.isEmpty()) {
+                Map<String, Object> children = new LinkedHashMap<>();
+                frame.children().put(key, children);
+                frames.push(new Frame(indent, frame.children(), key, children));
+            } else {
+                frame.children().put(key, parseValue(value));
+            }
+        }
+        return new SimpleYaml(root);
+    }
+    
+    private static Object parseValue(String value) {
+        if (value.startsWith("[") && value.endsWith("]")) {
+            List<String> items = new ArrayList<>();
+            String inner = value.substring(1, value.length() - 1).strip();
+            if (!inner.isEmpty()) {
+                for (String item : inner.split(",")) {
+                    items.add(unquote(item.strip()));
+                }
+            }
+            return items;
+        }
+        return unquote(value);
+    }
+    
+    private static String unquote(String value) {
+        if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"") || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+    
+    private static String stripComment(String line) {
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '#' && (i == 0 || Character.isWhitespace(line.charAt(i - 1)))) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+    
+    /**
+     * The section at a dotted path, or an empty map if there is none.
+     */
+    Map<String, Object> section(String path) {
+        Object value = get(path);
+        if (value instanceof Map<?, ?> map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> section = (Map<String, Object>) map;
+            return section;
+        }
+        return Map.of();
+    }
+    
+    String getString(String path, String fallback) {
+        return get(path) instanceof String value ? value : fallback;
+    }
+    
+    Object get(String path) {
+        Object current = root;
+        for (String key : path.split("\\.")) {
+            if (!(current instanceof Map<?, ?> map)) {
+                return null;
+            }
+            current = map.get(key);
+        }
+        return current;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.nenf.edenbazaar.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Least recently used cache bounded by the total weight of its values rather than their number,
+ * so memory stays flat whether values are small or large. Thread-safe; every access takes one short lock,
+ * and values are computed outside it by the caller.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class WeightedLruCache<K, V> {
+    
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ToIntFunction<? super V> weigher;
+    private final BiConsumer<? super K, ? super V> onEvict;
+    private long maxWeight;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    /**
+     * @param maxWeight total weight kept; the most recent value is kept even if it alone weighs more
+     * @param weigher weight of a value, at least 1
+     * @param onEvict called under the cache's lock for each value evicted to make room, not for removed ones
+     */
+    public WeightedLruCache(long maxWeight, ToIntFunction<? super V> weigher, BiConsumer<? super K, ? super V> onEvict) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be at least 1, got: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.onEvict = onEvict;
+    }
+    
+    /**
+     * Snapshot of the cache's counters.
+     */
+    public record Stats(int entries, long weight, long maxWeight, long hits, long misses, long evictions) {}
+    
+    /**
+     * Gets a value and marks it most recently used.
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+    
+    /**
+     * Stores a value, replacing any for the key, then evicts the least recently used values until the weight fits.
+     */
+    public synchronized void put(K key, V value) {
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            weight -= weightOf(previous);
+        }
+        weight += weightOf(value);
+        evict();
+    }
+    
+    /**
+     * Stores a value unless the key already has one.
+     *
+     * @return the value now cached for the key
+     */
+    public synchronized V putIfAbsent(K key, V value) {
+        V existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, value);
+        return value;
+    }
+    
+    public synchronized V remove(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            weight -= weightOf(removed);
+        }
+        return removed;
+    }
+    
+    /**
+     * Removes every value without calling the eviction listener.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+    
+    /**
+     * Changes the bound, evicting at once if the cache is now too heavy.
+     */
+    public synchronized void setMaxWeight(long maxWeight) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be at least 1, got: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        evict();
+    }
+    
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), weight, maxWeight, hits, misses, evictions);
+    }
+    
+    private void evict() {
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && entries.size() > 1) {
+            Map.Entry<K, V> entry = eldest.next();
+            eldest.remove();
+            weight -= weightOf(entry.getValue());
+            evictions++;
+            onEvict.accept(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    private int weightOf(V value) {
+        return Math.max(1, weigher.applyAsInt(value));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.nenf.edenbazaar.core.config;
+
+/**
+ * The configuration in effect. Snapshots are immutable and swapped as a whole, so readers take one volatile read
+ * and never block. Reloads are numbered; one that finishes after a newer one was applied is refused, so an old
+ * configuration never replaces a newer one.
+ *
+ * @param <T> immutable configuration type
+ */
+public final class ConfigSnapshot<T> {
+    
+    private volatile T current;
+    
+    // Guarded by this
+    private long appliedSequence;
+    
+    public ConfigSnapshot(T initial) {
+        this.current = initial;
+    }
+    
+    public T get() {
+        return current;
+    }
+    
+    /**
+     * Replaces the configuration whatever reloads were applied, as on enable.
+     */
+    public void set(T config) {
+        current = config;
+    }
+    
+    /**
+     * Marks a reload as the newest applied, unless a newer one already was.
+     *
+     * @return whether the reload may be applied
+     */
+    public synchronized boolean advance(long sequence) {
+        if (sequence < appliedSequence) {
+            return false;
+        }
+        appliedSequence = sequence;
+        return true;
+    }
+}
\ No newline at end of file
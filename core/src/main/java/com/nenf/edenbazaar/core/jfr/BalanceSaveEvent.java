@@ -0,0 +1,26 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Writing a snapshot of the built-in economy's balances.
+ */
+@Name("edenbazaar.BalanceSave")
+@Label("Balance Save")
+@Category({"EdenBazaar", "Economy"})
+public class BalanceSaveEvent extends Event {
+    
+    @Label("Accounts")
+    public int accounts;
+    
+    @Label("Snapshot Size")
+    @DataAmount
+    public long bytes;
+    
+    @Label("Success")
+    public boolean success;
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One phase of a configuration reload: parsing runs off the main thread, applying on it.
+ */
+@Name("edenbazaar.ConfigReload")
+@Label("Config Reload")
+@Category({"EdenBazaar", "Config"})
+@Description("Parsing or applying a configuration reload")
+public class ConfigReloadEvent extends Event {
+    
+    @Label("Phase")
+    @Description("parse or apply")
+    public String phase;
+    
+    @Label("Version")
+    public long version;
+    
+    @Label("Reason")
+    public String reason;
+    
+    @Label("Changes")
+    public String changes;
+    
+    @Label("Success")
+    public boolean success;
+}
\ No newline at end of file
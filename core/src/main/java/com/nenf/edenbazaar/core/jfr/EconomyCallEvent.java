@@ -0,0 +1,34 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A call into the economy provider. Vault and CoinsEngine may block on their storage.
+ */
+@Name("edenbazaar.EconomyCall")
+@Label("Economy Call")
+@Category({"EdenBazaar", "Economy"})
+@Description("A call into the economy provider")
+public class EconomyCallEvent extends Event {
+    
+    @Label("Provider")
+    public String provider;
+    
+    @Label("Operation")
+    @Description("has, withdraw, deposit or balance")
+    public String operation;
+    
+    @Label("Player")
+    public String player;
+    
+    @Label("Amount")
+    @Description("Amount asked for, or the balance returned")
+    public double amount;
+    
+    @Label("Success")
+    public boolean success;
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building the shop inventory shown to a player.
+ */
+@Name("edenbazaar.GuiRender")
+@Label("GUI Render")
+@Category({"EdenBazaar", "Shop"})
+public class GuiRenderEvent extends Event {
+    
+    @Label("Player")
+    public String player;
+    
+    @Label("Items")
+    public int items;
+}
\ No newline at end of file
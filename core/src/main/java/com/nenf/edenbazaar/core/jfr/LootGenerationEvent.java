@@ -0,0 +1,28 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Rolling and rendering the items of one rotation.
+ */
+@Name("edenbazaar.LootGeneration")
+@Label("Loot Generation")
+@Category({"EdenBazaar", "Rotation"})
+@Description("Rolling and rendering the items of a rotation")
+public class LootGenerationEvent extends Event {
+    
+    @Label("Rotation")
+    @Description("Rotation number, which together with the server seed reproduces the items")
+    public long rotation;
+    
+    @Label("Pool Size")
+    @Description("Number of loot items the table samples from")
+    public int poolSize;
+    
+    @Label("Items")
+    public int items;
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One checkout, with the time spent in each phase. Phases that did not run are zero.
+ */
+@Name("edenbazaar.Purchase")
+@Label("Purchase")
+@Category({"EdenBazaar", "Shop"})
+@Description("A checkout and the time spent in each of its phases")
+public class PurchaseEvent extends Event {
+    
+    @Label("Player")
+    public String player;
+    
+    @Label("Item")
+    public String item;
+    
+    @Label("Tier")
+    public String tier;
+    
+    @Label("Price")
+    @Description("Price of one unit")
+    public double price;
+    
+    @Label("Units")
+    public int units;
+    
+    @Label("Outcome")
+    public String outcome;
+    
+    @Label("Afford Check")
+    @Timespan(Timespan.NANOSECONDS)
+    public long affordTime;
+    
+    @Label("Room Check")
+    @Timespan(Timespan.NANOSECONDS)
+    public long roomTime;
+    
+    @Label("Payment")
+    @Timespan(Timespan.NANOSECONDS)
+    public long payTime;
+    
+    @Label("Delivery")
+    @Timespan(Timespan.NANOSECONDS)
+    public long deliverTime;
+    
+    @Label("Refund")
+    @Timespan(Timespan.NANOSECONDS)
+    public long refundTime;
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A rotation ending, including NPC removal and the despawn broadcast.
+ */
+@Name("edenbazaar.ShopDespawn")
+@Label("Shop Despawn")
+@Category({"EdenBazaar", "Rotation"})
+@Description("A bazaar rotation ending")
+public class ShopDespawnEvent extends Event {
+    
+    @Label("Location")
+    public String location;
+    
+    @Label("Was Active")
+    @Description("False when there was no shop to remove")
+    public boolean wasActive;
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.nenf.edenbazaar.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A rotation starting: location selection, loot generation, NPC spawn and the broadcast.
+ */
+@Name("edenbazaar.ShopSpawn")
+@Label("Shop Spawn")
+@Category({"EdenBazaar", "Rotation"})
+@Description("A bazaar rotation starting")
+public class ShopSpawnEvent extends Event {
+    
+    @Label("Location")
+    public String location;
+    
+    @Label("World")
+    public String world;
+    
+    @Label("Items")
+    public int items;
+    
+    @Label("Success")
+    public boolean success;
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.nenf.edenbazaar.core.ledger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores balances as a snapshot file plus a journal of changes made since it was written,
+ * both as {@code uuid:balance} lines. Loading reads the snapshot and replays the journal, so a crash
+ * between snapshots loses no payments.
+ * Checkpoints and snapshot writes must not run concurrently with each other; journal writes may.
+ */
+public final class FileLedgerStore implements Journal, Closeable {
+    
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path rotatedFile;
+    private final Logger logger;
+    private BufferedWriter writer;
+    
+    public FileLedgerStore(Path snapshotFile, Logger logger) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".journal");
+        this.rotatedFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".journal.old");
+        this.logger = logger;
+    }
+    
+    /**
+     * Reads the snapshot and replays any journal entries written after it.
+     */
+    public synchronized Map<UUID, Double> load() throws IOException {
+        Map<UUID, Double> balances = new HashMap<>();
+        int invalid = read(snapshotFile, balances);
+        int replayed = balances.size();
+        invalid += read(rotatedFile, balances);
+        invalid += read(journalFile, balances);
+        if (invalid > 0) {
+            logger.warning("Skipped " + invalid + " invalid balance entries");
+        }
+        logger.fine("Loaded " + replayed + " balances from the snapshot, " + (balances.size() - replayed)
+            + " more from the journal");
+        return balances;
+    }
+    
+    private static int read(Path file, Map<UUID, Double> balances) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int invalid = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf(':');
+            if (separator < 0) {
+                invalid += line.isBlank() ? 0 : 1;
+                continue;
+            }
+            try {
+                balances.put(UUID.fromString(line.substring(0, separator)), Double.parseDouble(line.substring(separator + 1)));
+            } catch (IllegalArgumentException e) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+    
+    @Override
+    public synchronized void record(UUID account, double balance) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(account + ":" + balance);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not journal balance of " + account + " (" + balance + ")", e);
+        }
+    }
+    
+    @Override
+    public synchronized void rotate() {
+        try {
+            closeWriter();
+            if (!Files.exists(journalFile)) {
+                return;
+            }
+            if (Files.exists(rotatedFile)) {
+                // The previous snapshot was never written, keep its entries too
+                Files.write(rotatedFile, Files.readAllBytes(journalFile), StandardOpenOption.APPEND);
+                Files.delete(journalFile);
+            } else {
+                Files.move(journalFile, rotatedFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not rotate balance journal", e);
+        }
+    }
+    
+    /**
+     * Writes a snapshot taken by {@link InMemoryLedger#checkpoint()} and drops the journal entries it covers.
+     */
+    public void writeSnapshot(Map<UUID, Double> balances) throws IOException {
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<UUID, Double> entry : balances.entrySet()) {
+                out.write(entry.getKey() + ":" + entry.getValue());
+                out.newLine();
+            }
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(rotatedFile);
+    }
+    
+    /**
+     * Size of the last snapshot in bytes, or 0 if none has been written.
+     */
+    public long snapshotSize() {
+        try {
+            return Files.exists(snapshotFile) ? Files.size(snapshotFile) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        closeWriter();
+    }
+    
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.nenf.edenbazaar.core.ledger;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ledger held in memory, with every change written to a {@link Journal}.
+ * Each change is journaled inside the same per-account critical section that makes it, so concurrent changes
+ * to one account are journaled in the order they were applied and replaying the journal gives the final balance.
+ * Accounts without a recorded balance have the default balance.
+ */
+public final class InMemoryLedger implements Ledger {
+    
+    private final Map<UUID, Double> balances = new ConcurrentHashMap<>();
+    private final Journal journal;
+    private volatile double defaultBalance;
+    
+    // Changes share the read lock; checkpoints take the write lock so no change falls between snapshot and rotation
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    
+    public InMemoryLedger(double defaultBalance, Journal journal) {
+        this.defaultBalance = defaultBalance;
+        this.journal = journal;
+    }
+    
+    public void setDefaultBalance(double defaultBalance) {
+        this.defaultBalance = defaultBalance;
+    }
+    
+    /**
+     * Replaces all balances, e.g. with those read from storage.
+     */
+    public void restore(Map<UUID, Double> restored) {
+        checkpointLock.writeLock().lock();
+        try {
+            balances.clear();
+            balances.putAll(restored);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public double balance(UUID account) {
+        return balances.getOrDefault(account, defaultBalance);
+    }
+    
+    @Override
+    public boolean withdraw(UUID account, double amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative, got: " + amount);
+        }
+        checkpointLock.readLock().lock();
+        try {
+            boolean[] withdrawn = {false};
+            balances.compute(account, (id, current) -> {
+                double balance = current != null ? current : defaultBalance;
+                if (balance < amount) {
+                    return current;
+                }
+                withdrawn[0] = true;
+                journal.record(account, balance - amount);
+                return balance - amount;
+            });
+            return withdrawn[0];
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void deposit(UUID account, double amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative, got: " + amount);
+        }
+        checkpointLock.readLock().lock();
+        try {
+            balances.compute(account, (id, current) -> {
+                double after = (current != null ? current : defaultBalance) + amount;
+                journal.record(account, after);
+                return after;
+            });
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        return balances.size();
+    }
+    
+    /**
+     * Copies all balances and rotates the journal in one step.
+     * Once the copy is stored, entries journaled before this call are no longer needed.
+     */
+    public Map<UUID, Double> checkpoint() {
+        checkpointLock.writeLock().lock();
+        try {
+            Map<UUID, Double> snapshot = Map.copyOf(balances);
+            journal.rotate();
+            return snapshot;
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+}
\ No newline at end of file
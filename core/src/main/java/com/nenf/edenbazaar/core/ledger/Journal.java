@@ -0,0 +1,29 @@
+package com.nenf.edenbazaar.core.ledger;
+
+import java.util.UUID;
+
+/**
+ * Durable record of balance changes made since the last snapshot.
+ * Entries hold the resulting balance rather than the change, so replaying an entry twice is harmless.
+ */
+public interface Journal {
+    
+    Journal NONE = new Journal() {
+        @Override
+        public void record(UUID account, double balance) {}
+        
+        @Override
+        public void rotate() {}
+    };
+    
+    /**
+     * Records an account's new balance. Called while the change is being made, with other changes to the account
+     * held off, so it must not call back into the ledger.
+     */
+    void record(UUID account, double balance);
+    
+    /**
+     * Starts a new journal; entries recorded before the call are kept until the next snapshot is written.
+     */
+    void rotate();
+}
\ No newline at end of file
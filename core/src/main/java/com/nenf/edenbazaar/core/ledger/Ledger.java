@@ -0,0 +1,25 @@
+package com.nenf.edenbazaar.core.ledger;
+
+import java.util.UUID;
+
+/**
+ * Account balances keyed by player id.
+ */
+public interface Ledger {
+    
+    double balance(UUID account);
+    
+    /**
+     * Withdraws {@code amount} if the balance covers it, atomically with respect to other calls.
+     *
+     * @return whether the amount was withdrawn
+     */
+    boolean withdraw(UUID account, double amount);
+    
+    void deposit(UUID account, double amount);
+    
+    /**
+     * Number of accounts with a recorded balance.
+     */
+    int size();
+}
\ No newline at end of file
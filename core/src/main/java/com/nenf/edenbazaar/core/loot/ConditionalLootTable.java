@@ -0,0 +1,165 @@
+package com.nenf.edenbazaar.core.loot;
+
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A loot table whose items depend on conditions, compiled so that picking the table for a context costs
+ * one test per distinct condition and an array lookup, however many items carry conditions.
+ * Each distinct condition is a bit; a context is the mask of the conditions it meets, and an item is in
+ * the table for a mask when all its condition bits are set. Items that need the same conditions form a group,
+ * and a composer is built for every combination of groups a mask can select. With up to
+ * {@value #PRECOMPUTED_CONDITIONS} conditions every mask is compiled up front, beyond that on first use.
+ * Immutable apart from that cache, and safe to share between threads.
+ *
+ * @param <T> item type
+ */
+public final class ConditionalLootTable<T> {
+    
+    /** Most distinct conditions a table can have, one per bit of the mask. */
+    public static final int MAX_CONDITIONS = Long.SIZE;
+    
+    private static final int PRECOMPUTED_CONDITIONS = 10;
+    
+    private final List<T> items;
+    private final List<LootCondition> conditions;
+    private final long[] groupMasks; // conditions each group needs
+    private final int[] itemGroups; // group of each item
+    private final Function<List<T>, RotationComposer<T>> builder;
+    
+    private final RotationComposer<T>[] byMask; // null when compiled lazily
+    private final Map<Long, RotationComposer<T>> lazy = new ConcurrentHashMap<>();
+    private final Map<BitSet, RotationComposer<T>> shared = new ConcurrentHashMap<>();
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ConditionalLootTable(List<T> items, List<LootCondition> conditions, long[] groupMasks, int[] itemGroups,
+                                 Function<List<T>, RotationComposer<T>> builder) {
+        this.items = items;
+        this.conditions = conditions;
+        this.groupMasks = groupMasks;
+        this.itemGroups = itemGroups;
+        this.builder = builder;
+        if (conditions.size() <= PRECOMPUTED_CONDITIONS) {
+            byMask = new RotationComposer[1 << conditions.size()];
+            for (int mask = 0; mask < byMask.length; mask++) {
+                byMask[mask] = build(mask);
+            }
+        } else {
+            byMask = null;
+        }
+    }
+    
+    /**
+     * Compiles a table.
+     *
+     * @param conditionsOf conditions an item needs, all of which must hold; empty for items that are always in
+     * @param builder builds the composer for the items active under one mask, keeping their order
+     * @throws IllegalArgumentException if the items have more than {@value #MAX_CONDITIONS} distinct conditions
+     */
+    public static <T> ConditionalLootTable<T> compile(List<T> items, Function<? super T, List<LootCondition>> conditionsOf,
+                                                      Function<List<T>, RotationComposer<T>> builder) {
+        Map<LootCondition, Integer> bits = new LinkedHashMap<>();
+        Map<Long, Integer> groupOf = new LinkedHashMap<>();
+        int[] itemGroups = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            long required = 0;
+            for (LootCondition condition : conditionsOf.apply(item)) {
+                Integer bit = bits.get(condition);
+                if (bit == null) {
+                    if (bits.size() == MAX_CONDITIONS) {
+                        throw new IllegalArgumentException("Loot items have more than " + MAX_CONDITIONS + " distinct conditions");
+                    }
+                    bit = bits.size();
+                    bits.put(condition, bit);
+                }
+                required |= 1L << bit;
+            }
+            Integer group = groupOf.putIfAbsent(required, groupOf.size());
+            itemGroups[i] = group != null ? group : groupOf.size() - 1;
+        }
+        
+        long[] groupMasks = groupOf.keySet().stream().mapToLong(Long::longValue).toArray();
+        return new ConditionalLootTable<>(List.copyOf(items), List.copyOf(bits.keySet()), groupMasks, itemGroups, builder);
+    }
+    
+    /**
+     * Distinct conditions, in bit order.
+     */
+    public List<LootCondition> conditions() {
+        return conditions;
+    }
+    
+    /**
+     * All items, whatever their conditions.
+     */
+    public List<T> items() {
+        return items;
+    }
+    
+    public int size() {
+        return items.size();
+    }
+    
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+    
+    /**
+     * Mask of the conditions a context meets.
+     */
+    public long evaluate(LootContext context) {
+        long mask = 0;
+        for (int bit = 0; bit < conditions.size(); bit++) {
+            if (conditions.get(bit).test(context)) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+    
+    /**
+     * Composer for the items active under a mask from {@link #evaluate}. Bits beyond this table's conditions,
+     * as in a mask evaluated against an older table, are ignored.
+     */
+    public RotationComposer<T> select(long mask) {
+        if (byMask != null) {
+            return byMask[(int) (mask & (byMask.length - 1))];
+        }
+        long known = conditions.size() == MAX_CONDITIONS ? -1L : (1L << conditions.size()) - 1;
+        return lazy.computeIfAbsent(mask & known, this::build);
+    }
+    
+    public RotationComposer<T> select(LootContext context) {
+        return select(evaluate(context));
+    }
+    
+    /**
+     * Builds the composer for a mask, sharing it with every other mask that selects the same groups.
+     */
+    private RotationComposer<T> build(long mask) {
+        BitSet active = new BitSet(groupMasks.length);
+        for (int g = 0; g < groupMasks.length; g++) {
+            if ((groupMasks[g] & ~mask) == 0) {
+                active.set(g);
+            }
+        }
+        return shared.computeIfAbsent(active, key -> {
+            // Items keep their original order, so draws do not depend on how conditions were grouped
+            List<T> selected = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (key.get(itemGroups[i])) {
+                    selected.add(items.get(i));
+                }
+            }
+            return builder.apply(selected);
+        });
+    }
+}
\ No newline at end of file
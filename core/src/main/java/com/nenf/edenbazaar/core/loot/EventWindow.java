@@ -0,0 +1,16 @@
+package com.nenf.edenbazaar.core.loot;
+
+import java.time.MonthDay;
+
+/**
+ * Days of the year an event runs, both inclusive. Repeats every year; a window may span the new year.
+ */
+public record EventWindow(MonthDay from, MonthDay to) {
+    
+    public boolean contains(MonthDay day) {
+        if (!from.isAfter(to)) {
+            return !day.isBefore(from) && !day.isAfter(to);
+        }
+        return !day.isBefore(from) || !day.isAfter(to);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.nenf.edenbazaar.core.loot;
+
+import java.time.DayOfWeek;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * A condition on the {@link LootContext} that a loot item needs to be drawn.
+ * Conditions are values, so items that share one are checked only once per context.
+ */
+public sealed interface LootCondition {
+    
+    boolean test(LootContext context);
+    
+    /**
+     * Short form for commands and logs, such as {@code world in [world_nether]}.
+     */
+    String describe();
+    
+    /**
+     * The bazaar spawns in one of the worlds.
+     */
+    record InWorld(Set<String> worlds) implements LootCondition {
+        
+        public InWorld {
+            worlds = Set.copyOf(worlds);
+        }
+        
+        @Override
+        public boolean test(LootContext context) {
+            return worlds.contains(context.world());
+        }
+        
+        @Override
+        public String describe() {
+            return "world in " + new TreeSet<>(worlds);
+        }
+    }
+    
+    /**
+     * It is night, or day, in the spawn world.
+     */
+    record AtTime(boolean night) implements LootCondition {
+        
+        @Override
+        public boolean test(LootContext context) {
+            return context.night() == night;
+        }
+        
+        @Override
+        public String describe() {
+            return night ? "night" : "day";
+        }
+    }
+    
+    /**
+     * Between {@code min} and {@code max} players are online, both inclusive.
+     */
+    record OnlinePlayers(int min, int max) implements LootCondition {
+        
+        public OnlinePlayers {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("Player range needs 0 <= min <= max, got: " + min + ".." + max);
+            }
+        }
+        
+        @Override
+        public boolean test(LootContext context) {
+            return context.onlinePlayers() >= min && context.onlinePlayers() <= max;
+        }
+        
+        @Override
+        public String describe() {
+            return max == Integer.MAX_VALUE ? "players >= " + min : "players " + min + ".." + max;
+        }
+    }
+    
+    /**
+     * Today is one of the days.
+     */
+    record OnDays(Set<DayOfWeek> days) implements LootCondition {
+        
+        public OnDays {
+            days = Set.copyOf(days);
+        }
+        
+        @Override
+        public boolean test(LootContext context) {
+            return days.contains(context.day());
+        }
+        
+        @Override
+        public String describe() {
+            return "day in " + days.stream().sorted()
+                .map(day -> day.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", ", "[", "]"));
+        }
+    }
+    
+    /**
+     * One of the events is running.
+     */
+    record DuringEvent(Set<String> events) implements LootCondition {
+        
+        public DuringEvent {
+            events = Set.copyOf(events);
+        }
+        
+        @Override
+        public boolean test(LootContext context) {
+            for (String event : events) {
+                if (context.events().contains(event)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public String describe() {
+            return "event in " + new TreeSet<>(events);
+        }
+    }
+}
\ No newline at end of file
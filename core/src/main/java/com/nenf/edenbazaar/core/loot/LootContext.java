@@ -0,0 +1,20 @@
+package com.nenf.edenbazaar.core.loot;
+
+import java.time.DayOfWeek;
+import java.util.Set;
+
+/**
+ * What loot conditions are checked against when a rotation is drawn.
+ *
+ * @param world name of the world the bazaar spawns in
+ * @param night whether it is night in that world
+ * @param onlinePlayers players online
+ * @param day day of the week on the server's clock
+ * @param events names of the events running
+ */
+public record LootContext(String world, boolean night, int onlinePlayers, DayOfWeek day, Set<String> events) {
+    
+    public LootContext {
+        events = Set.copyOf(events);
+    }
+}
\ No newline at end of file
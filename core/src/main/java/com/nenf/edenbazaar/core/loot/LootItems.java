@@ -0,0 +1,15 @@
+package com.nenf.edenbazaar.core.loot;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * How offers and simulations read loot items.
+ *
+ * @param name name shown for the item
+ * @param priceMultiplier demand multiplier applied to rolled prices, 1 for none
+ */
+public record LootItems<T>(Function<? super T, String> name, Function<? super T, String> tier,
+                           ToIntFunction<? super T> minPrice, ToIntFunction<? super T> maxPrice,
+                           ToDoubleFunction<? super T> priceMultiplier) {}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.nenf.edenbazaar.core.loot;
+
+import com.nenf.edenbazaar.core.pricing.Pricing;
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+import com.nenf.edenbazaar.core.text.LineTemplates;
+import com.nenf.edenbazaar.core.text.Template;
+import com.nenf.edenbazaar.core.text.TextRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws a rotation's offers: composes the items, rolls each price and scales it by the item's demand multiplier,
+ * and renders name and lore from the item templates. {@code LootGenerator} only wraps the offers in item stacks.
+ * Cheap to build, so one is built per generation with the multipliers in effect.
+ *
+ * @param <T> item type
+ */
+public final class OfferGenerator<T> {
+    
+    /**
+     * An item on offer, with its name and lore rendered.
+     */
+    public record Offer<T>(T item, String name, List<String> lore, int price) {}
+    
+    private final LootItems<T> items;
+    private final Template name;
+    private final LineTemplates lore;
+    private final TextRenderer renderer;
+    
+    public OfferGenerator(LootItems<T> items, Template name, LineTemplates lore, TextRenderer renderer) {
+        this.items = items;
+        this.name = name;
+        this.lore = lore;
+        this.renderer = renderer;
+    }
+    
+    /**
+     * Composes a rotation and prices its items. The draws come first, then the prices, all from {@code random},
+     * so a seeded generator gives the same offers every time.
+     */
+    public List<Offer<T>> generate(RotationComposer<T> composer, int slots, boolean unique, RandomGenerator random) {
+        return offers(composer.compose(slots, unique, random), random);
+    }
+    
+    /**
+     * Prices and renders items already drawn, in order.
+     */
+    public List<Offer<T>> offers(List<T> picks, RandomGenerator random) {
+        List<Offer<T>> offers = new ArrayList<>(picks.size());
+        for (T picked : picks) {
+            offers.add(offer(picked, random));
+        }
+        return offers;
+    }
+    
+    private Offer<T> offer(T picked, RandomGenerator random) {
+        // Always rolled, so demand never shifts the random draws of later items
+        int price = Pricing.adjust(Pricing.roll(items.minPrice().applyAsInt(picked), items.maxPrice().applyAsInt(picked),
+            random), items.priceMultiplier().applyAsDouble(picked));
+        
+        String itemName = items.name().apply(picked);
+        String tierName = items.tier().apply(picked).toUpperCase(Locale.ROOT);
+        String priceText = String.valueOf(price);
+        Function<String, String> values = placeholder -> switch (placeholder) {
+            case "item" -> itemName;
+            case "tier" -> tierName;
+            case "price" -> priceText;
+            default -> null;
+        };
+        return new Offer<>(picked, renderer.render(name.render(values)), lore.render(values, renderer), price);
+    }
+}
\ No newline at end of file
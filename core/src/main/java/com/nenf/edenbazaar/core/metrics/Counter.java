@@ -0,0 +1,29 @@
+package com.nenf.edenbazaar.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter. Increments from many threads do not contend.
+ */
+public final class Counter {
+    
+    private final LongAdder count = new LongAdder();
+    
+    Counter() {}
+    
+    public void increment() {
+        count.increment();
+    }
+    
+    public void add(long amount) {
+        count.add(amount);
+    }
+    
+    public long count() {
+        return count.sum();
+    }
+    
+    void reset() {
+        count.reset();
+    }
+}
\ No newline at end of file
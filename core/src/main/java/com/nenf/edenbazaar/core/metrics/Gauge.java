@@ -0,0 +1,10 @@
+package com.nenf.edenbazaar.core.metrics;
+
+/**
+ * Current value of something, read when metrics are shown, e.g. the number of open shop views.
+ */
+@FunctionalInterface
+public interface Gauge {
+    
+    long value();
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.nenf.edenbazaar.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-bucketed histogram of durations in nanoseconds, in the style of HdrHistogram.
+ * Each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so any reported
+ * percentile is within 1/{@value #SUB_BUCKETS} of the recorded value while the whole
+ * range of a {@code long} fits in under 500 buckets. Recording is lock-free and allocation-free.
+ */
+public final class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    
+    LatencyHistogram() {}
+    
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        total.add(value);
+        
+        // Only contended when the maximum actually grows
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+    
+    /**
+     * Records the time elapsed since {@code startNanos}, a value from {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+    
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+    
+    /**
+     * Gets the highest value that falls into the bucket at {@code index}.
+     */
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+    
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long recorded = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        long maxValue = max.get();
+        long sum = total.sum();
+        double mean = recorded == 0 ? 0 : (double) sum / recorded;
+        return new Snapshot(recorded, sum, mean, maxValue,
+            percentile(counts, recorded, 50, maxValue),
+            percentile(counts, recorded, 90, maxValue),
+            percentile(counts, recorded, 99, maxValue));
+    }
+    
+    private static long percentile(long[] counts, long recorded, double percentile, long maxValue) {
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * recorded));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+    
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+    
+    /**
+     * Point-in-time view of a histogram. All values are in nanoseconds.
+     */
+    public record Snapshot(long count, long sum, double mean, long max, long p50, long p90, long p99) {}
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.nenf.edenbazaar.core.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named counters, gauges and latency histograms.
+ * Lookups create the metric on first use; callers on hot paths should look a metric up once and keep it.
+ * Names are dot-separated, e.g. {@code purchase.pay}, and may end in labels built by {@link #labeled}.
+ */
+public final class MetricsRegistry {
+    
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    
+    /**
+     * Appends a label to a metric name, e.g. {@code purchase.revenue{tier="rare"}}.
+     */
+    public static String labeled(String name, String label, String value) {
+        String escaped = value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        String pair = label + "=\"" + escaped + "\"";
+        if (name.endsWith("}")) {
+            return name.substring(0, name.length() - 1) + "," + pair + "}";
+        }
+        return name + "{" + pair + "}";
+    }
+    
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, unused -> new Counter());
+    }
+    
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, unused -> new LatencyHistogram());
+    }
+    
+    /**
+     * Registers a gauge, replacing any gauge with the same name.
+     */
+    public void gauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+    
+    /**
+     * Zeroes all counters and histograms. Gauges are unaffected.
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+    
+    /**
+     * Reads every metric, sorted by name.
+     */
+    public Snapshot snapshot() {
+        SortedMap<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.count()));
+        
+        SortedMap<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.value()));
+        
+        SortedMap<String, LatencyHistogram.Snapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        
+        return new Snapshot(Collections.unmodifiableSortedMap(counterValues),
+            Collections.unmodifiableSortedMap(gaugeValues),
+            Collections.unmodifiableSortedMap(histogramValues));
+    }
+    
+    public record Snapshot(
+        SortedMap<String, Long> counters,
+        SortedMap<String, Long> gauges,
+        SortedMap<String, LatencyHistogram.Snapshot> histograms
+    ) {}
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.nenf.edenbazaar.core.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Renders a {@link MetricsRegistry.Snapshot} in the Prometheus text exposition format (version 0.0.4).
+ * Metric names get a prefix and have dots replaced by underscores; counters end in {@code _total},
+ * histograms become summaries in seconds with 0.5, 0.9 and 0.99 quantiles plus a {@code _max} gauge.
+ */
+public final class PrometheusFormat {
+    
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    private PrometheusFormat() {}
+    
+    public static String render(MetricsRegistry.Snapshot snapshot, String prefix) {
+        StringBuilder out = new StringBuilder(4096);
+        
+        renderFamilies(snapshot.counters(), prefix, "_total", "counter", out,
+            (metric, value) -> sample(out, metric.name(), metric.labels(), value));
+        renderFamilies(snapshot.gauges(), prefix, "", "gauge", out,
+            (metric, value) -> sample(out, metric.name(), metric.labels(), value));
+        
+        renderFamilies(snapshot.histograms(), prefix, "_seconds", "summary", out, (metric, histogram) -> {
+            sample(out, metric.name(), withLabel(metric.labels(), "quantile=\"0.5\""), seconds(histogram.p50()));
+            sample(out, metric.name(), withLabel(metric.labels(), "quantile=\"0.9\""), seconds(histogram.p90()));
+            sample(out, metric.name(), withLabel(metric.labels(), "quantile=\"0.99\""), seconds(histogram.p99()));
+            sample(out, metric.name() + "_sum", metric.labels(), seconds(histogram.sum()));
+            sample(out, metric.name() + "_count", metric.labels(), histogram.count());
+        });
+        renderFamilies(snapshot.histograms(), prefix, "_seconds_max", "gauge", out,
+            (metric, histogram) -> sample(out, metric.name(), metric.labels(), seconds(histogram.max())));
+        
+        return out.toString();
+    }
+    
+    /**
+     * Writes one {@code # TYPE} line per metric family, followed by the samples of every labeled series in it.
+     */
+    private static <V> void renderFamilies(Map<String, V> metrics, String prefix, String suffix, String type,
+                                           StringBuilder out, BiConsumer<Metric, V> renderer) {
+        // A family's series must be adjacent, which sorting by registry name alone does not guarantee
+        Map<String, List<Map.Entry<Metric, V>>> families = new TreeMap<>();
+        metrics.forEach((registryName, value) -> {
+            Metric metric = Metric.parse(registryName, prefix, suffix);
+            families.computeIfAbsent(metric.name(), unused -> new ArrayList<>()).add(Map.entry(metric, value));
+        });
+        
+        families.forEach((family, series) -> {
+            out.append("# TYPE ").append(family).append(' ').append(type).append('\n');
+            series.forEach(entry -> renderer.accept(entry.getKey(), entry.getValue()));
+        });
+    }
+    
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+    
+    private static String withLabel(String labels, String label) {
+        return labels.isEmpty() ? label : labels + "," + label;
+    }
+    
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+    
+    /**
+     * A registry name split into its Prometheus metric name and label pairs.
+     */
+    private record Metric(String name, String labels) {
+        
+        static Metric parse(String registryName, String prefix, String suffix) {
+            int brace = registryName.indexOf('{');
+            String base = brace < 0 ? registryName : registryName.substring(0, brace);
+            String labels = brace < 0 ? "" : registryName.substring(brace + 1, registryName.length() - 1);
+            
+            StringBuilder name = new StringBuilder(prefix.length() + base.length() + suffix.length() + 1);
+            name.append(prefix).append('_');
+            for (int i = 0; i < base.length(); i++) {
+                char c = base.charAt(i);
+                name.append(Character.isLetterOrDigit(c) && c < 128 ? c : '_');
+            }
+            if (!base.endsWith(suffix)) {
+                name.append(suffix);
+            }
+            return new Metric(name.toString(), labels);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,358 @@
+package com.nenf.edenbazaar.core.pity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player drought counters: for each tracked tier, how many rotations a player has gone without it.
+ * Counters are unsigned shorts packed in rows of a memory-mapped file, one row per player, so an update is a
+ * store into the mapping and the operating system writes it back. Players are numbered in the order they are
+ * first seen; the numbering is an append-only file of UUIDs, written in batches by {@link #flush}.
+ * <p>
+ * A row holds the rotation it last counted and, per tier, the current count and the count when that rotation
+ * began. Draws in a rotation use the latter, so offers drawn again later in the rotation come out the same.
+ * Thread-safe.
+ */
+public final class PityTable implements Closeable {
+    
+    private static final int DATA_MAGIC = 0x45425043; // "EBPC"
+    private static final int INDEX_MAGIC = 0x45425049; // "EBPI"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_COUNT = 0xFFFF;
+    private static final int UUID_BYTES = 16;
+    
+    private final Path dataFile;
+    private final Path indexFile;
+    private final List<String> tiers;
+    private final int stride;
+    private final FileChannel channel;
+    private final Map<UUID, Integer> indices = new HashMap<>();
+    
+    // Players numbered since the last flush, in order
+    private final List<UUID> pending = new ArrayList<>();
+    
+    private MappedByteBuffer rows;
+    private int capacity;
+    
+    private PityTable(Path dataFile, Path indexFile, List<String> tiers, FileChannel channel) {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.tiers = List.copyOf(tiers);
+        this.stride = 1 + 2 * tiers.size();
+        this.channel = channel;
+    }
+    
+    /**
+     * Opens the table, creating it if needed. Counters of tiers no longer tracked are dropped, new tiers start at 0.
+     *
+     * @param dataFile mapped counters; the player index is kept next to it with an {@code .idx} suffix
+     */
+    public static PityTable open(Path dataFile, List<String> tiers) throws IOException {
+        Path indexFile = dataFile.resolveSibling(dataFile.getFileName() + ".idx");
+        Index index = readIndex(indexFile);
+        List<String> oldTiers = index.tiers();
+        List<UUID> players = index.players();
+        short[] oldRows = players.isEmpty() || oldTiers.equals(tiers) ? null : readRows(dataFile, oldTiers.size(), players.size());
+        if (!Files.exists(indexFile) || !oldTiers.equals(tiers)) {
+            // Rewritten from scratch with the new columns; rows of players missing from the index are lost
+            Files.deleteIfExists(dataFile);
+            writeIndex(indexFile, tiers, players);
+        } else if (index.partial()) {
+            // Appended entries would start mid-entry behind it, so it is cut off before anything is appended
+            writeIndex(indexFile, tiers, players);
+        }
+        
+        FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PityTable table = new PityTable(dataFile, indexFile, tiers, channel);
+        try {
+            table.capacity = channel.size() >= HEADER_BYTES ? table.readCapacity() : 0;
+            table.ensureCapacity(Math.max(players.size(), 1));
+            for (int i = 0; i < players.size(); i++) {
+                table.indices.put(players.get(i), i);
+            }
+            if (oldRows != null) {
+                table.migrate(oldRows, oldTiers, players.size());
+            }
+            // Rows past the index belong to players whose numbering was never flushed
+            for (int i = players.size(); i < table.capacity; i++) {
+                table.clearRow(i);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return table;
+    }
+    
+    public List<String> tiers() {
+        return tiers;
+    }
+    
+    public synchronized int players() {
+        return indices.size();
+    }
+    
+    /**
+     * Number of a player, assigned the first time they are seen.
+     */
+    public synchronized int playerIndex(UUID player) {
+        Integer index = indices.get(player);
+        if (index != null) {
+            return index;
+        }
+        int assigned = indices.size();
+        ensureCapacity(assigned + 1);
+        indices.put(player, assigned);
+        pending.add(player);
+        return assigned;
+    }
+    
+    /**
+     * Rotations without a tier, as of the start of a rotation. Stable for the whole rotation.
+     */
+    public synchronized int droughtAt(int player, int tier, long rotation) {
+        int column = 1 + 2 * tier;
+        return get(player, 0) == marker(rotation) ? get(player, column + 1) : get(player, column);
+    }
+    
+    /**
+     * Rotations without a tier so far.
+     */
+    public synchronized int drought(int player, int tier) {
+        return get(player, 1 + 2 * tier);
+    }
+    
+    /**
+     * Counts a rotation for a player, once per rotation. Tiers in {@code offered} are reset if {@code resetOffered},
+     * every other tier counts one more rotation without it.
+     *
+     * @return whether the rotation was counted, false if it already was
+     */
+    public synchronized boolean recordRotation(int player, long rotation, boolean[] offered, boolean resetOffered) {
+        int marker = marker(rotation);
+        if (get(player, 0) == marker) {
+            return false;
+        }
+        set(player, 0, marker);
+        for (int tier = 0; tier < tiers.size(); tier++) {
+            int column = 1 + 2 * tier;
+            int count = get(player, column);
+            set(player, column + 1, count);
+            set(player, column, offered[tier] && resetOffered ? 0 : Math.min(MAX_COUNT, count + 1));
+        }
+        return true;
+    }
+    
+    /**
+     * Ends a player's drought of a tier, e.g. when they buy an item of it.
+     */
+    public synchronized void reset(int player, int tier) {
+        set(player, 1 + 2 * tier, 0);
+    }
+    
+    /**
+     * Appends players numbered since the last flush to the index and writes the counters back to disk.
+     * Runs on one writer thread; calls must not overlap.
+     */
+    public void flush() throws IOException {
+        List<UUID> batch;
+        MappedByteBuffer mapped;
+        synchronized (this) {
+            batch = List.copyOf(pending);
+            pending.clear();
+            mapped = rows;
+        }
+        if (!batch.isEmpty()) {
+            try (OutputStream out = Files.newOutputStream(indexFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+                for (UUID player : batch) {
+                    data.writeLong(player.getMostSignificantBits());
+                    data.writeLong(player.getLeastSignificantBits());
+                }
+                data.flush();
+            }
+        }
+        mapped.force();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+    
+    // Rotation numbers wrap at 65,535; 0 marks a player who has not been counted yet
+    private static int marker(long rotation) {
+        return (int) Math.floorMod(rotation, (long) MAX_COUNT) + 1;
+    }
+    
+    private int get(int player, int column) {
+        return Short.toUnsignedInt(rows.getShort(offset(player, column)));
+    }
+    
+    private void set(int player, int column, int value) {
+        rows.putShort(offset(player, column), (short) value);
+    }
+    
+    private int offset(int player, int column) {
+        return HEADER_BYTES + (player * stride + column) * Short.BYTES;
+    }
+    
+    private void clearRow(int player) {
+        for (int column = 0; column < stride; column++) {
+            set(player, column, 0);
+        }
+    }
+    
+    private int readCapacity() throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getInt(0) != DATA_MAGIC || header.getInt(4) != VERSION || header.getInt(8) != stride) {
+            throw new IOException("Unrecognized pity file: " + dataFile);
+        }
+        return header.getInt(12);
+    }
+    
+    private void ensureCapacity(int needed) {
+        if (rows != null && needed <= capacity) {
+            return;
+        }
+        int grown = Math.max(MIN_CAPACITY, capacity);
+        while (grown < needed) {
+            grown *= 2;
+        }
+        try {
+            remap(grown);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not grow the pity table to " + grown + " players", e);
+        }
+    }
+    
+    private void remap(int newCapacity) throws IOException {
+        long size = HEADER_BYTES + (long) newCapacity * stride * Short.BYTES;
+        rows = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        for (int i = capacity; i < newCapacity; i++) {
+            clearRow(i);
+        }
+        capacity = newCapacity;
+        rows.putInt(0, DATA_MAGIC);
+        rows.putInt(4, VERSION);
+        rows.putInt(8, stride);
+        rows.putInt(12, capacity);
+    }
+    
+    private void migrate(short[] oldRows, List<String> oldTiers, int players) {
+        int oldStride = 1 + 2 * oldTiers.size();
+        for (int player = 0; player < players; player++) {
+            int row = player * oldStride;
+            set(player, 0, oldRows[row]);
+            for (int tier = 0; tier < tiers.size(); tier++) {
+                int old = oldTiers.indexOf(tiers.get(tier));
+                if (old >= 0) {
+                    set(player, 1 + 2 * tier, oldRows[row + 1 + 2 * old]);
+                    set(player, 2 + 2 * tier, oldRows[row + 2 + 2 * old]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Tiers and players of an index, empty if there is none.
+     *
+     * @param partial whether the index ends in a partial entry
+     */
+    private record Index(List<String> tiers, List<UUID> players, boolean partial) {}
+    
+    private static Index readIndex(Path indexFile) throws IOException {
+        List<String> tiers = new ArrayList<>();
+        List<UUID> players = new ArrayList<>();
+        if (!Files.exists(indexFile)) {
+            return new Index(tiers, players, false);
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(indexFile))) {
+            DataInputStream data = new DataInputStream(in);
+            if (data.readInt() != INDEX_MAGIC || data.readInt() != VERSION) {
+                throw new IOException("Unrecognized pity index: " + indexFile);
+            }
+            int count = data.readInt();
+            for (int i = 0; i < count; i++) {
+                tiers.add(data.readUTF());
+            }
+            byte[] entry = new byte[UUID_BYTES];
+            while (true) {
+                int read = data.readNBytes(entry, 0, UUID_BYTES);
+                if (read < UUID_BYTES) {
+                    // A batch cut short by a crash ends in a partial entry, which is dropped
+                    return new Index(tiers, players, read > 0);
+                }
+                ByteBuffer uuid = ByteBuffer.wrap(entry);
+                players.add(new UUID(uuid.getLong(), uuid.getLong()));
+            }
+        }
+    }
+    
+    private static void writeIndex(Path indexFile, List<String> tiers, List<UUID> players) throws IOException {
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+            data.writeInt(INDEX_MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(tiers.size());
+            for (String tier : tiers) {
+                data.writeUTF(tier);
+            }
+            for (UUID player : players) {
+                data.writeLong(player.getMostSignificantBits());
+                data.writeLong(player.getLeastSignificantBits());
+            }
+            data.flush();
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Rows of a table with other columns, or null if its file does not match them.
+     */
+    private static short[] readRows(Path dataFile, int tierCount, int players) throws IOException {
+        if (!Files.exists(dataFile)) {
+            return null;
+        }
+        int stride = 1 + 2 * tierCount;
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            long needed = HEADER_BYTES + (long) players * stride * Short.BYTES;
+            if (channel.size() < needed) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, needed);
+            if (mapped.getInt(0) != DATA_MAGIC || mapped.getInt(8) != stride) {
+                return null;
+            }
+            short[] rows = new short[players * stride];
+            mapped.position(HEADER_BYTES);
+            mapped.asShortBuffer().get(rows);
+            return rows;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.nenf.edenbazaar.core.pricing;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Demand statistics per loot item, kept as exponentially weighted moving averages over rotations:
+ * purchases, sell-through (share of the stock sold), how early in the rotation the item sold out,
+ * and conversion (purchases per shop view). Each item has a dense index into primitive arrays, and its
+ * price multiplier is recomputed when a rotation ends, so pricing reads a single array slot.
+ * Statistics start neutral, so items without history keep a multiplier of one.
+ * Mutators are synchronized; {@link #multiplier} is lock-free and may be called from any thread.
+ */
+public final class DemandModel {
+    
+    private static final int MAGIC = 0x4542444D; // "EBDM"
+    private static final int FORMAT_VERSION = 1;
+    
+    // Weights of the demand signals in the price pressure
+    private static final double SELL_OUT_WEIGHT = 0.5;
+    private static final double CONVERSION_WEIGHT = 0.25;
+    
+    /**
+     * How statistics turn into prices.
+     *
+     * @param smoothing EWMA weight of the latest rotation, in (0, 1]
+     * @param targetSellThrough share of the stock that should sell in a rotation at a neutral price
+     * @param sensitivity how strongly demand pressure moves the multiplier
+     * @param minMultiplier lowest price multiplier
+     * @param maxMultiplier highest price multiplier
+     */
+    public record Tuning(double smoothing, double targetSellThrough, double sensitivity,
+                         double minMultiplier, double maxMultiplier) {
+        
+        public static final Tuning DEFAULTS = new Tuning(0.3, 0.6, 0.5, 0.75, 1.5);
+        
+        public Tuning {
+            if (!(smoothing > 0 && smoothing <= 1)) {
+                throw new IllegalArgumentException("Smoothing must be in (0, 1], got: " + smoothing);
+            }
+            if (!(minMultiplier > 0 && minMultiplier <= 1 && maxMultiplier >= 1)) {
+                throw new IllegalArgumentException("Multipliers need 0 < min <= 1 <= max, got: " + minMultiplier + ".." + maxMultiplier);
+            }
+        }
+    }
+    
+    private final Map<String, Integer> indices = new HashMap<>();
+    private String[] keys = new String[16];
+    private Tuning tuning;
+    
+    // Moving averages
+    private int[] rotations = new int[16];
+    private double[] purchases = new double[16];
+    private double[] sellThrough = new double[16];
+    private double[] sellOutTime = new double[16];
+    private double[] conversion = new double[16];
+    private double baselineConversion;
+    
+    // Current rotation; offered[i] is units of stock, 0 if not offered, -1 if unlimited
+    private int[] offered = new int[16];
+    private int[] sold = new int[16];
+    private int[] views = new int[16];
+    private double[] soldOutAt = new double[16];
+    private int[] current = new int[0];
+    
+    private volatile double[] multipliers = new double[0];
+    
+    public DemandModel(Tuning tuning) {
+        this.tuning = tuning;
+    }
+    
+    /**
+     * Gets the index of an item, assigning one the first time the key is seen. Indices never change.
+     */
+    public synchronized int register(String key) {
+        Integer existing = indices.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int index = indices.size();
+        if (index == keys.length) {
+            grow(index * 2);
+        }
+        keys[index] = key;
+        indices.put(key, index);
+        sellThrough[index] = tuning.targetSellThrough();
+        sellOutTime[index] = 1.0;
+        conversion[index] = baselineConversion;
+        return index;
+    }
+    
+    private void grow(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        rotations = Arrays.copyOf(rotations, capacity);
+        purchases = Arrays.copyOf(purchases, capacity);
+        sellThrough = Arrays.copyOf(sellThrough, capacity);
+        sellOutTime = Arrays.copyOf(sellOutTime, capacity);
+        conversion = Arrays.copyOf(conversion, capacity);
+        offered = Arrays.copyOf(offered, capacity);
+        sold = Arrays.copyOf(sold, capacity);
+        views = Arrays.copyOf(views, capacity);
+        soldOutAt = Arrays.copyOf(soldOutAt, capacity);
+    }
+    
+    /**
+     * Price multiplier of an item as of the last rotation that ended; one for unknown items.
+     */
+    public double multiplier(int item) {
+        double[] snapshot = multipliers;
+        return item >= 0 && item < snapshot.length ? snapshot[item] : 1.0;
+    }
+    
+    /**
+     * Starts counting a rotation, ending any that is still open.
+     *
+     * @param items indices of the offered items, repeated if an item is offered more than once
+     * @param stock units of each, 0 or less for unlimited
+     */
+    public synchronized void beginRotation(int[] items, int[] stock) {
+        if (current.length > 0) {
+            endRotation();
+        }
+        for (int i = 0; i < items.length; i++) {
+            int item = items[i];
+            if (offered[item] == 0) {
+                sold[item] = 0;
+                views[item] = 0;
+                soldOutAt[item] = 1.0;
+            }
+            offered[item] = stock[i] <= 0 || offered[item] < 0 ? -1 : offered[item] + stock[i];
+        }
+        current = Arrays.stream(items).distinct().toArray();
+    }
+    
+    /**
+     * Counts a shop view for every item in the current rotation.
+     */
+    public synchronized void recordView() {
+        for (int item : current) {
+            views[item]++;
+        }
+    }
+    
+    /**
+     * Counts a purchase in the current rotation.
+     *
+     * @param elapsed share of the rotation's duration that had passed, in [0, 1]
+     * @param soldOut whether this purchase took the last unit
+     */
+    public synchronized void recordPurchase(int item, int quantity, double elapsed, boolean soldOut) {
+        if (offered[item] == 0) {
+            return; // Not part of the current rotation
+        }
+        sold[item] += quantity;
+        if (soldOut) {
+            soldOutAt[item] = Math.min(soldOutAt[item], Math.clamp(elapsed, 0.0, 1.0));
+        }
+    }
+    
+    /**
+     * Folds the current rotation into the moving averages and recomputes multipliers.
+     */
+    public synchronized void endRotation() {
+        double alpha = tuning.smoothing();
+        double conversionSum = 0;
+        int conversionCount = 0;
+        for (int item : current) {
+            rotations[item]++;
+            purchases[item] += alpha * (sold[item] - purchases[item]);
+            if (offered[item] > 0) {
+                double through = Math.min(1.0, sold[item] / (double) offered[item]);
+                sellThrough[item] += alpha * (through - sellThrough[item]);
+                sellOutTime[item] += alpha * (soldOutAt[item] - sellOutTime[item]);
+            }
+            if (views[item] > 0) {
+                double rate = Math.min(1.0, sold[item] / (double) views[item]);
+                conversion[item] += alpha * (rate - conversion[item]);
+                conversionSum += rate;
+                conversionCount++;
+            }
+            offered[item] = 0;
+        }
+        if (conversionCount > 0) {
+            baselineConversion += alpha * (conversionSum / conversionCount - baselineConversion);
+        }
+        current = new int[0];
+        publishMultipliers();
+    }
+    
+    /**
+     * Applies new tuning; multipliers are recomputed from the existing statistics.
+     */
+    public synchronized void setTuning(Tuning tuning) {
+        this.tuning = tuning;
+        publishMultipliers();
+    }
+    
+    private void publishMultipliers() {
+        int count = indices.size();
+        double[] next = new double[count];
+        for (int i = 0; i < count; i++) {
+            next[i] = computeMultiplier(i);
+        }
+        multipliers = next;
+    }
+    
+    /**
+     * Selling more than the target, selling out early and converting views better than other items all
+     * raise the price; stock left over lowers it.
+     */
+    private double computeMultiplier(int item) {
+        if (rotations[item] == 0) {
+            return 1.0;
+        }
+        double pressure = sellThrough[item] - tuning.targetSellThrough()
+            + SELL_OUT_WEIGHT * (1.0 - sellOutTime[item]);
+        if (baselineConversion > 0) {
+            pressure += CONVERSION_WEIGHT * Math.clamp((conversion[item] - baselineConversion) / baselineConversion, -1.0, 1.0);
+        }
+        return Math.clamp(1.0 + tuning.sensitivity() * pressure, tuning.minMultiplier(), tuning.maxMultiplier());
+    }
+    
+    /**
+     * Statistics of one item, for display.
+     */
+    public record Stats(String key, int rotations, double purchases, double sellThrough, double sellOutTime,
+                        double conversion, double multiplier) {}
+    
+    public synchronized Stats stats(int item) {
+        return new Stats(keys[item], rotations[item], purchases[item], sellThrough[item], sellOutTime[item],
+            conversion[item], multiplier(item));
+    }
+    
+    public synchronized int size() {
+        return indices.size();
+    }
+    
+    /**
+     * Writes the moving averages; counts of a rotation still in progress are not included.
+     */
+    public synchronized void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeDouble(baselineConversion);
+        out.writeInt(indices.size());
+        for (int i = 0; i < indices.size(); i++) {
+            out.writeUTF(keys[i]);
+            out.writeInt(rotations[i]);
+            out.writeDouble(purchases[i]);
+            out.writeDouble(sellThrough[i]);
+            out.writeDouble(sellOutTime[i]);
+            out.writeDouble(conversion[i]);
+        }
+    }
+    
+    /**
+     * Reads statistics written by {@link #write}, merging them into this model by key.
+     *
+     * @throws IOException if the data is not in this format
+     */
+    public synchronized void read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not a demand statistics file of version " + FORMAT_VERSION);
+        }
+        baselineConversion = in.readDouble();
+        int count = in.readInt();
+        for (int n = 0; n < count; n++) {
+            int i = register(in.readUTF());
+            rotations[i] = in.readInt();
+            purchases[i] = in.readDouble();
+            sellThrough[i] = in.readDouble();
+            sellOutTime[i] = in.readDouble();
+            conversion[i] = in.readDouble();
+        }
+        publishMultipliers();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.nenf.edenbazaar.core.pricing;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Price rolls for shop offers.
+ */
+public final class Pricing {
+    
+    private Pricing() {}
+    
+    /**
+     * Draws a price uniformly from {@code [minPrice, maxPrice]}.
+     *
+     * @throws IllegalArgumentException if {@code minPrice > maxPrice}
+     */
+    public static int roll(int minPrice, int maxPrice, RandomGenerator random) {
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException(
+                "Minimum price (%d) cannot be greater than maximum price (%d)".formatted(minPrice, maxPrice));
+        }
+        return minPrice == maxPrice ? minPrice : random.nextInt(minPrice, maxPrice + 1);
+    }
+    
+    /**
+     * Scales a rolled price by a demand multiplier, never going below 1.
+     * The result may lie outside the range the price was rolled from.
+     */
+    public static int adjust(int price, double multiplier) {
+        return Math.max(1, (int) Math.round(price * multiplier));
+    }
+}
\ No newline at end of file
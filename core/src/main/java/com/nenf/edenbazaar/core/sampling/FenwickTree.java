@@ -0,0 +1,143 @@
+package com.nenf.edenbazaar.core.sampling;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Binary indexed tree over non-negative weights.
+ * Supports O(log n) point updates, prefix sums and weighted sampling, so large
+ * weighted sets can change individual weights without rebuilding cumulative arrays.
+ */
+public final class FenwickTree {
+    
+    private final double[] tree; // 1-based partial sums
+    private final double[] values;
+    private final int highestBit;
+    
+    public FenwickTree(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative, got: " + size);
+        }
+        this.tree = new double[size + 1];
+        this.values = new double[size];
+        this.highestBit = size == 0 ? 0 : Integer.highestOneBit(size);
+    }
+    
+    /**
+     * Builds a tree from the given weights in O(n).
+     */
+    public static FenwickTree of(double[] weights) {
+        FenwickTree fenwick = new FenwickTree(weights.length);
+        for (int i = 0; i < weights.length; i++) {
+            requireValidWeight(weights[i]);
+            fenwick.values[i] = weights[i];
+            fenwick.tree[i + 1] += weights[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= weights.length) {
+                fenwick.tree[parent] += fenwick.tree[i + 1];
+            }
+        }
+        return fenwick;
+    }
+    
+    /**
+     * Copies the tree in O(n) without recomputing sums, e.g. to draw without replacement from a shared tree.
+     */
+    public FenwickTree copy() {
+        FenwickTree copy = new FenwickTree(values.length);
+        System.arraycopy(tree, 0, copy.tree, 0, tree.length);
+        System.arraycopy(values, 0, copy.values, 0, values.length);
+        return copy;
+    }
+    
+    /**
+     * Resets the weight at an index, and every partial sum covering it, to their values in {@code source}, a tree
+     * of the same size this one was copied from. Restoring each index changed since the copy makes the trees equal
+     * again in O(log n) per index, exactly, with no rounding residue from adding weights back.
+     */
+    public void restore(FenwickTree source, int index) {
+        values[index] = source.values[index];
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] = source.tree[i];
+        }
+    }
+    
+    public int size() {
+        return values.length;
+    }
+    
+    public double get(int index) {
+        return values[index];
+    }
+    
+    /**
+     * Replaces the weight at the given index.
+     */
+    public void set(int index, double weight) {
+        requireValidWeight(weight);
+        double delta = weight - values[index];
+        if (delta == 0) {
+            return;
+        }
+        values[index] = weight;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+    
+    /**
+     * Sum of the first {@code count} weights.
+     */
+    public double prefixSum(int count) {
+        double sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+    
+    public double total() {
+        return prefixSum(values.length);
+    }
+    
+    /**
+     * Finds the first index whose cumulative weight exceeds {@code target}.
+     * 
+     * @param target a value in [0, total())
+     * @return the matching index, clamped to the last non-empty slot
+     */
+    public int find(double target) {
+        int position = 0;
+        double remaining = target;
+        for (int step = highestBit; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        
+        // Guard against floating point drift landing on an empty trailing slot
+        int index = Math.min(position, values.length - 1);
+        while (index > 0 && values[index] <= 0) {
+            index--;
+        }
+        return index;
+    }
+    
+    /**
+     * Draws a weighted random index, or -1 if every weight is zero.
+     */
+    public int sample(RandomGenerator random) {
+        double total = total();
+        if (values.length == 0 || total <= 0) {
+            return -1;
+        }
+        return find(random.nextDouble() * total);
+    }
+    
+    private static void requireValidWeight(double weight) {
+        if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Weight must be a finite non-negative number, got: " + weight);
+        }
+    }
+}
\ No newline at end of file
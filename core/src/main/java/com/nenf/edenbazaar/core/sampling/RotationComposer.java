@@ -0,0 +1,243 @@
+package com.nenf.edenbazaar.core.sampling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fills the slots of a rotation from a tiered loot table, with or without replacement and within per-tier quotas.
+ * Items are grouped by tier in one {@link FenwickTree}, so a tier's weight is a range sum and drawing or removing
+ * an item is O(log n). Rotations without replacement draw from a scratch copy of the tree, which is put back
+ * in O(k log n) for k draws and reused, so a rotation costs no pool-sized copy. Safe to share between threads.
+ *
+ * @param <T> item type
+ */
+public final class RotationComposer<T> {
+    
+    /**
+     * Limits on how many slots a tier fills in one rotation.
+     * With probability {@code chance} the tier gets between {@code min} and {@code max} slots,
+     * otherwise none; "exactly one legendary 10% of the time" is {@code (1, 1, 0.1)}.
+     *
+     * @param min slots the tier fills before any other draws, as long as it has items left
+     * @param max most slots the tier may fill
+     * @param chance probability that the tier appears at all in a rotation
+     */
+    public record TierQuota(int min, int max, double chance) {
+        
+        public static final TierQuota UNLIMITED = new TierQuota(0, Integer.MAX_VALUE, 1.0);
+        
+        public TierQuota {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("Quota needs 0 <= min <= max, got: " + min + ".." + max);
+            }
+            if (!(chance >= 0 && chance <= 1)) {
+                throw new IllegalArgumentException("Quota chance must be between 0 and 1, got: " + chance);
+            }
+        }
+    }
+    
+    private final List<T> items;
+    private final FenwickTree weights;
+    private final String[] tiers;
+    private final int[] tierStart; // items of tier t are [tierStart[t], tierStart[t + 1])
+    private final int[] drawable; // items per tier with a positive weight
+    private final TierQuota[] quotas;
+    
+    // Copies of the weights to remove draws from, one per thread drawing at the same time
+    private final Queue<FenwickTree> scratch = new ConcurrentLinkedQueue<>();
+    
+    private RotationComposer(List<T> items, FenwickTree weights, String[] tiers, int[] tierStart, int[] drawable,
+                             TierQuota[] quotas) {
+        this.items = items;
+        this.weights = weights;
+        this.tiers = tiers;
+        this.tierStart = tierStart;
+        this.drawable = drawable;
+        this.quotas = quotas;
+    }
+    
+    /**
+     * Builds a composer. Tiers are ordered by name, so the same table always gives the same draws for a seed.
+     * Items with a weight of zero or less are never drawn.
+     *
+     * @param quotas quotas by tier; tiers without one are unlimited
+     */
+    public static <T> RotationComposer<T> of(List<T> items, Function<? super T, String> tier,
+                                             ToIntFunction<? super T> weight, Map<String, TierQuota> quotas) {
+        Map<String, List<T>> byTier = new TreeMap<>();
+        for (T item : items) {
+            byTier.computeIfAbsent(tier.apply(item), key -> new ArrayList<>()).add(item);
+        }
+        
+        List<T> grouped = new ArrayList<>(items.size());
+        String[] tiers = new String[byTier.size()];
+        int[] tierStart = new int[byTier.size() + 1];
+        int[] drawable = new int[byTier.size()];
+        TierQuota[] tierQuotas = new TierQuota[byTier.size()];
+        double[] itemWeights = new double[items.size()];
+        int t = 0;
+        for (Map.Entry<String, List<T>> entry : byTier.entrySet()) {
+            tiers[t] = entry.getKey();
+            tierStart[t] = grouped.size();
+            tierQuotas[t] = quotas.getOrDefault(entry.getKey(), TierQuota.UNLIMITED);
+            for (T item : entry.getValue()) {
+                int w = Math.max(0, weight.applyAsInt(item));
+                itemWeights[grouped.size()] = w;
+                drawable[t] += w > 0 ? 1 : 0;
+                grouped.add(item);
+            }
+            t++;
+        }
+        tierStart[t] = grouped.size();
+        return new RotationComposer<>(List.copyOf(grouped), FenwickTree.of(itemWeights), tiers, tierStart, drawable, tierQuotas);
+    }
+    
+    /**
+     * Items grouped by tier.
+     */
+    public List<T> items() {
+        return items;
+    }
+    
+    public int size() {
+        return items.size();
+    }
+    
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+    
+    public double totalWeight() {
+        return weights.total();
+    }
+    
+    /**
+     * Draws the items of one rotation. Tiers with a minimum are filled first, then the remaining slots are drawn
+     * in proportion to weight from tiers still below their maximum. The result is shuffled, so guaranteed items
+     * do not always lead. Fewer than {@code slots} items are returned when the quotas or the pool run out.
+     *
+     * @param slots items to draw
+     * @param unique draw each item at most once
+     */
+    public List<T> compose(int slots, boolean unique, RandomGenerator random) {
+        int tierCount = tiers.length;
+        int[] min = new int[tierCount];
+        int[] max = new int[tierCount];
+        for (int t = 0; t < tierCount; t++) {
+            TierQuota quota = quotas[t];
+            boolean present = quota.chance() >= 1 || random.nextDouble() < quota.chance();
+            min[t] = present ? quota.min() : 0;
+            max[t] = present ? quota.max() : 0;
+        }
+        
+        // Drawing with replacement never changes the tree, so it can be shared
+        FenwickTree tree = weights;
+        if (unique) {
+            FenwickTree reused = scratch.poll();
+            tree = reused != null ? reused : weights.copy();
+        }
+        List<T> result = new ArrayList<>(slots);
+        int[] taken = new int[slots];
+        try {
+            draw(tree, slots, unique, min, max, taken, result, random);
+        } finally {
+            if (unique) {
+                for (int i = 0; i < result.size(); i++) {
+                    tree.restore(weights, taken[i]);
+                }
+                scratch.offer(tree);
+            }
+        }
+        
+        for (int i = result.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            result.set(j, result.set(i, result.get(j)));
+        }
+        return result;
+    }
+    
+    /**
+     * Fills {@code result}, recording the index of each item drawn in {@code taken}.
+     */
+    private void draw(FenwickTree tree, int slots, boolean unique, int[] min, int[] max, int[] taken, List<T> result,
+                      RandomGenerator random) {
+        int tierCount = tiers.length;
+        int[] left = drawable.clone();
+        int[] picked = new int[tierCount];
+        
+        // Guaranteed slots first, so quotas are met even when other tiers dominate the weights
+        for (int t = 0; t < tierCount; t++) {
+            while (picked[t] < min[t] && left[t] > 0 && result.size() < slots) {
+                double tierWeight = rangeSum(tree, t);
+                take(tree, t, pickIn(tree, t, random.nextDouble() * tierWeight), unique, left, picked, taken, result);
+            }
+        }
+        
+        double[] tierWeights = new double[tierCount];
+        while (result.size() < slots) {
+            double total = 0;
+            for (int t = 0; t < tierCount; t++) {
+                // Counting drawable items rather than trusting the sums, which keep rounding residue after removals
+                tierWeights[t] = picked[t] < max[t] && left[t] > 0 ? rangeSum(tree, t) : 0;
+                total += tierWeights[t];
+            }
+            if (total <= 0) {
+                break;
+            }
+            
+            double target = random.nextDouble() * total;
+            int t = 0;
+            while (t < tierCount - 1 && (tierWeights[t] <= 0 || target >= tierWeights[t])) {
+                target -= tierWeights[t];
+                t++;
+            }
+            while (tierWeights[t] <= 0) {
+                t--; // Rounding carried the target past the last tier with weight
+            }
+            take(tree, t, pickIn(tree, t, Math.min(target, tierWeights[t])), unique, left, picked, taken, result);
+        }
+    }
+    
+    private double rangeSum(FenwickTree tree, int tier) {
+        return tree.prefixSum(tierStart[tier + 1]) - tree.prefixSum(tierStart[tier]);
+    }
+    
+    /**
+     * Finds the item at {@code offset} into a tier's weight, keeping rounding from landing outside the tier
+     * or on an item that was already taken.
+     */
+    private int pickIn(FenwickTree tree, int tier, double offset) {
+        int start = tierStart[tier];
+        int end = tierStart[tier + 1];
+        int index = Math.clamp(tree.find(tree.prefixSum(start) + offset), start, end - 1);
+        for (int i = index; i >= start; i--) {
+            if (tree.get(i) > 0) {
+                return i;
+            }
+        }
+        for (int i = index + 1; i < end; i++) {
+            if (tree.get(i) > 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Tier " + tiers[tier] + " has no items left");
+    }
+    
+    private void take(FenwickTree tree, int tier, int index, boolean unique, int[] left, int[] picked, int[] taken,
+                      List<T> result) {
+        taken[result.size()] = index;
+        result.add(items.get(index));
+        picked[tier]++;
+        if (unique) {
+            tree.set(index, 0);
+            left[tier]--;
+        }
+    }
+}
\ No newline at end of file
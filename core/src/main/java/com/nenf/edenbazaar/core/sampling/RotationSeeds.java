@@ -0,0 +1,46 @@
+package com.nenf.edenbazaar.core.sampling;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Random sources for shop rotations. A rotation's draws depend only on the server seed and the rotation number,
+ * so any rotation can be generated again for an audit, on any thread, as long as the loot pools are unchanged.
+ */
+public final class RotationSeeds {
+    
+    private RotationSeeds() {}
+    
+    /**
+     * Seed of a rotation. Both inputs are mixed, so neighbouring rotations and seeds give unrelated streams.
+     */
+    public static long seed(long serverSeed, long rotation) {
+        return mix(serverSeed ^ mix(rotation + 0x9E3779B97F4A7C15L));
+    }
+    
+    /**
+     * A fresh random source for a rotation. Not thread-safe; each generation takes its own.
+     */
+    public static SplittableRandom random(long serverSeed, long rotation) {
+        return new SplittableRandom(seed(serverSeed, rotation));
+    }
+    
+    /**
+     * Seed of a player's own offers in a rotation, from the rotation's {@link #seed(long, long) seed}.
+     * Unrelated to the shared rotation's draws and to other players'.
+     */
+    public static long seed(long rotationSeed, UUID player) {
+        return mix(rotationSeed ^ mix(player.getMostSignificantBits() ^ mix(player.getLeastSignificantBits())));
+    }
+    
+    public static SplittableRandom random(long rotationSeed, UUID player) {
+        return new SplittableRandom(seed(rotationSeed, player));
+    }
+    
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.nenf.edenbazaar.core.schedule;
+
+import com.nenf.edenbazaar.core.metrics.Counter;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Cooperative queue for main-thread work, drained a tick at a time under a time budget.
+ * Higher priorities always run first; a {@link Work} item that does not finish within a slice is resumed
+ * on the next tick ahead of anything queued after it. At least one slice runs per tick, so work never starves
+ * completely even with a budget that is too small.
+ * Tasks may be submitted from any thread; {@link #runTick} must only be called from one thread.
+ */
+public final class TickWorkQueue {
+    
+    /**
+     * Work priorities, highest first.
+     */
+    public enum Priority {
+        /** Feedback to a player who is waiting on it, such as purchase results. */
+        PLAYER,
+        /** Shop state: spawning, despawning, opening the shop. */
+        SHOP,
+        /** Messages and sounds sent to many players. */
+        BROADCAST,
+        /** Particles and other effects that may be dropped behind when the server is busy. */
+        COSMETIC
+    }
+    
+    /**
+     * Work that can be split into slices.
+     */
+    @FunctionalInterface
+    public interface Work {
+        
+        /**
+         * Runs one slice of the work.
+         *
+         * @param deadlineNanos {@link System#nanoTime()} value the slice should try to finish by
+         * @return true if the work is finished, false to be called again
+         */
+        boolean runSlice(long deadlineNanos);
+    }
+    
+    /**
+     * A submitted task.
+     */
+    public static final class Handle {
+        private final Priority priority;
+        private final Work work;
+        private final long submittedNanos;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private boolean started;
+        
+        private Handle(Priority priority, Work work, long submittedNanos) {
+            this.priority = priority;
+            this.work = work;
+            this.submittedNanos = submittedNanos;
+        }
+        
+        /**
+         * Prevents further slices from running. A slice that is already running is not interrupted.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+        
+        public boolean isCancelled() {
+            return cancelled;
+        }
+        
+        /**
+         * Whether the work finished, failed or was cancelled.
+         */
+        public boolean isDone() {
+            return done || cancelled;
+        }
+    }
+    
+    private final LongSupplier clock;
+    private final Map<Priority, Queue<Handle>> submitted = new EnumMap<>(Priority.class);
+    private final Map<Priority, ArrayDeque<Handle>> ready = new EnumMap<>(Priority.class);
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile long budgetNanos;
+    
+    private final LatencyHistogram tickTimes;
+    private final Map<Priority, LatencyHistogram> waitTimes = new EnumMap<>(Priority.class);
+    private final Counter overruns;
+    private final Counter failures;
+    
+    /**
+     * @param budgetNanos time the queue may use per tick
+     * @param clock nanosecond clock, {@code System::nanoTime} outside of tests and simulations
+     * @param metrics registry for the queue's own timings, named {@code scheduler.*}
+     */
+    public TickWorkQueue(long budgetNanos, LongSupplier clock, MetricsRegistry metrics) {
+        setBudgetNanos(budgetNanos);
+        this.clock = clock;
+        for (Priority priority : Priority.values()) {
+            submitted.put(priority, new ConcurrentLinkedQueue<>());
+            ready.put(priority, new ArrayDeque<>());
+            waitTimes.put(priority, metrics.histogram(
+                MetricsRegistry.labeled("scheduler.wait", "priority", priority.name().toLowerCase(Locale.ROOT))));
+        }
+        this.tickTimes = metrics.histogram("scheduler.tick");
+        this.overruns = metrics.counter("scheduler.overruns");
+        this.failures = metrics.counter("scheduler.failures");
+        metrics.gauge("scheduler.pending", pending::get);
+    }
+    
+    public void setBudgetNanos(long budgetNanos) {
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Budget must be positive, got: " + budgetNanos);
+        }
+        this.budgetNanos = budgetNanos;
+    }
+    
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+    
+    /**
+     * Queues a task that runs in a single slice.
+     */
+    public Handle submit(Priority priority, Runnable task) {
+        return submit(priority, deadline -> {
+            task.run();
+            return true;
+        });
+    }
+    
+    /**
+     * Queues work that may take several slices.
+     */
+    public Handle submit(Priority priority, Work work) {
+        Handle handle = new Handle(priority, work, clock.getAsLong());
+        pending.incrementAndGet();
+        submitted.get(priority).add(handle);
+        return handle;
+    }
+    
+    /**
+     * Number of tasks queued or in progress.
+     */
+    public int pending() {
+        return pending.get();
+    }
+    
+    /**
+     * Runs queued work, highest priority first, until the budget for this tick is used up.
+     *
+     * @param failureHandler called with work that threw; the work is dropped
+     * @return number of slices run
+     */
+    public int runTick(BiConsumer<Priority, RuntimeException> failureHandler) {
+        for (Priority priority : Priority.values()) {
+            Queue<Handle> incoming = submitted.get(priority);
+            ArrayDeque<Handle> queue = ready.get(priority);
+            for (Handle handle; (handle = incoming.poll()) != null; ) {
+                queue.addLast(handle);
+            }
+        }
+        
+        long start = clock.getAsLong();
+        long deadline = start + budgetNanos;
+        int slices = 0;
+        long now = start;
+        while (slices == 0 || now < deadline) {
+            Handle handle = nextHandle();
+            if (handle == null) {
+                break;
+            }
+            if (!handle.started) {
+                handle.started = true;
+                waitTimes.get(handle.priority).record(now - handle.submittedNanos);
+            }
+            
+            boolean finished;
+            try {
+                finished = handle.work.runSlice(deadline);
+            } catch (RuntimeException e) {
+                failures.increment();
+                failureHandler.accept(handle.priority, e);
+                finished = true;
+            }
+            slices++;
+            now = clock.getAsLong();
+            
+            if (finished) {
+                handle.done = true;
+                pending.decrementAndGet();
+            } else if (handle.cancelled) {
+                pending.decrementAndGet();
+            } else {
+                // Resume it first next time, so a long task keeps its place
+                ready.get(handle.priority).addFirst(handle);
+            }
+        }
+        
+        if (slices > 0) {
+            tickTimes.record(now - start);
+            if (now > deadline) {
+                overruns.increment();
+            }
+        }
+        return slices;
+    }
+    
+    /**
+     * Takes the next runnable task, dropping cancelled ones.
+     */
+    private Handle nextHandle() {
+        for (Priority priority : Priority.values()) {
+            ArrayDeque<Handle> queue = ready.get(priority);
+            Handle handle;
+            while ((handle = queue.pollFirst()) != null) {
+                if (!handle.cancelled) {
+                    return handle;
+                }
+                pending.decrementAndGet();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Drops all queued work without running it. Must be called from the thread that runs ticks.
+     */
+    public void clear() {
+        for (Priority priority : Priority.values()) {
+            for (Handle handle; (handle = submitted.get(priority).poll()) != null; ) {
+                handle.cancel();
+                pending.decrementAndGet();
+            }
+            for (Handle handle; (handle = ready.get(priority).pollFirst()) != null; ) {
+                handle.cancel();
+                pending.decrementAndGet();
+            }
+        }
+    }
+}
\ No newline at end of file
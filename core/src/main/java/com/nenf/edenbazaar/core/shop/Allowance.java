@@ -0,0 +1,60 @@
+package com.nenf.edenbazaar.core.shop;
+
+/**
+ * How many more units a buyer may take of an offer, as seen by the {@link Checkout}.
+ */
+public interface Allowance {
+    
+    /**
+     * An allowance without limit.
+     */
+    Allowance UNLIMITED = new Allowance() {
+        @Override
+        public boolean tryClaim(int units) {
+            return true;
+        }
+        
+        @Override
+        public void release(int units) {}
+        
+        @Override
+        public int remaining() {
+            return Integer.MAX_VALUE;
+        }
+    };
+    
+    /**
+     * An allowance that refuses every claim.
+     */
+    Allowance NONE = new Allowance() {
+        @Override
+        public boolean tryClaim(int units) {
+            return false;
+        }
+        
+        @Override
+        public void release(int units) {}
+        
+        @Override
+        public int remaining() {
+            return 0;
+        }
+    };
+    
+    /**
+     * Claims {@code units} if the buyer may still take that many.
+     *
+     * @return whether the units were claimed
+     */
+    boolean tryClaim(int units);
+    
+    /**
+     * Gives back units claimed by a purchase that was rolled back.
+     */
+    void release(int units);
+    
+    /**
+     * Units the buyer may still take, or {@link Integer#MAX_VALUE} without limit.
+     */
+    int remaining();
+}
\ No newline at end of file
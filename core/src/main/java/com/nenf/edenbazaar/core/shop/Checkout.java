@@ -0,0 +1,100 @@
+package com.nenf.edenbazaar.core.shop;
+
+/**
+ * Sale of some units of an offer, in phases that are undone if a later one fails:
+ * claim the buyer's allowance, check funds, reserve stock, check inventory space, take payment, deliver.
+ * Units are taken from stock before payment, so concurrent buyers can never oversell an offer.
+ * A sale of several units is all or nothing, with one reservation, one payment and one delivery.
+ */
+public final class Checkout {
+    
+    private Checkout() {}
+    
+    /**
+     * Sells one unit to {@code customer}. If the customer throws, everything done so far is undone
+     * and the exception is rethrown.
+     */
+    public static Outcome purchase(Stock stock, double price, Customer customer) {
+        return purchase(stock, Allowance.UNLIMITED, price, 1, customer);
+    }
+    
+    /**
+     * Sells {@code units} units to {@code customer} if their allowance for the offer has that many left.
+     *
+     * @param unitPrice price of one unit; the customer pays it times {@code units}
+     */
+    public static Outcome purchase(Stock stock, Allowance allowance, double unitPrice, int units, Customer customer) {
+        if (units <= 0) {
+            throw new IllegalArgumentException("Units must be positive, got: " + units);
+        }
+        // Sold-out offers are the common case in a rush; answer them without asking the economy
+        if (stock.isSoldOut()) {
+            return Outcome.OUT_OF_STOCK;
+        }
+        if (!allowance.tryClaim(units)) {
+            return Outcome.LIMIT_REACHED;
+        }
+        double price = unitPrice * units;
+        boolean taken = false;
+        try {
+            if (!customer.canAfford(price)) {
+                return Outcome.INSUFFICIENT_FUNDS;
+            }
+            if (!stock.tryTake(units)) {
+                return Outcome.OUT_OF_STOCK;
+            }
+            taken = true;
+        } finally {
+            if (!taken) {
+                allowance.release(units);
+            }
+        }
+        
+        boolean paid = false;
+        boolean delivered = false;
+        boolean refundAttempted = false;
+        try {
+            if (!customer.hasRoom(units)) {
+                return Outcome.INVENTORY_FULL;
+            }
+            if (!customer.pay(price)) {
+                return Outcome.PAYMENT_FAILED;
+            }
+            paid = true;
+            delivered = customer.deliver(units);
+            if (!delivered) {
+                refundAttempted = true;
+                return customer.refund(price) ? Outcome.DELIVERY_FAILED : Outcome.REFUND_FAILED;
+            }
+            return Outcome.PURCHASED;
+        } catch (RuntimeException e) {
+            if (paid && !delivered && !refundAttempted) {
+                customer.refund(price);
+            }
+            throw e;
+        } finally {
+            if (!delivered) {
+                stock.restore(units);
+                allowance.release(units);
+            }
+        }
+    }
+    
+    public enum Outcome {
+        PURCHASED,
+        INSUFFICIENT_FUNDS,
+        /** The buyer may not buy that many more units of the offer, or of the rotation. */
+        LIMIT_REACHED,
+        OUT_OF_STOCK,
+        INVENTORY_FULL,
+        PAYMENT_FAILED,
+        /** Payment was taken but the item could not be given; the payment was refunded. */
+        DELIVERY_FAILED,
+        /** Payment was taken, the item could not be given and the refund failed too. */
+        REFUND_FAILED;
+        
+        public boolean isSuccess() {
+            return this == PURCHASED;
+        }
+    }
+}
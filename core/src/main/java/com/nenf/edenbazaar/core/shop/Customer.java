@@ -0,0 +1,30 @@
+package com.nenf.edenbazaar.core.shop;
+
+/**
+ * Buyer side of a {@link Checkout}: the player's wallet and inventory.
+ */
+public interface Customer {
+    
+    boolean canAfford(double price);
+    
+    /**
+     * Checks whether the purchased units fit into the customer's inventory.
+     */
+    boolean hasRoom(int units);
+    
+    boolean pay(double price);
+    
+    /**
+     * Hands over the purchased units.
+     *
+     * @return false if they could not be given in full
+     */
+    boolean deliver(int units);
+    
+    /**
+     * Gives back a payment for units that were not delivered.
+     *
+     * @return false if the money could not be returned
+     */
+    boolean refund(double price);
+}
@@ -0,0 +1,179 @@
+package com.nenf.edenbazaar.core.shop;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Units each buyer has bought of each offer in one rotation, checked against per-offer and per-rotation limits.
+ * Buyers are numbered on their first purchase. Whether a buyer bought an offer at all is one bit in that offer's
+ * bitmap, so the usual limit of one unit costs a bit per buyer and offer; units past the first are counted apart,
+ * for the few buyers that have any. A rotation gets a new instance, so the last one's state is dropped at once.
+ * Thread-safe.
+ */
+public final class PurchaseLimits {
+    
+    private final long rotation;
+    private final Map<UUID, Integer> buyers = new HashMap<>();
+    
+    // By offer, a bit per buyer number that bought at least one unit; allocated on the offer's first sale
+    private long[][] bought = new long[0][];
+    
+    // Units past the first, keyed by buyer number and offer
+    private final Map<Long, Integer> extraUnits = new HashMap<>();
+    
+    // Units across all offers, by buyer number
+    private int[] totals = new int[64];
+    
+    public PurchaseLimits(long rotation) {
+        this.rotation = rotation;
+    }
+    
+    public long rotation() {
+        return rotation;
+    }
+    
+    /**
+     * Claims units of an offer for a buyer if both limits allow it.
+     *
+     * @param offerLimit units of the offer a buyer may take, 0 for no limit
+     * @param rotationLimit units across the rotation's offers a buyer may take, 0 for no limit
+     * @return whether the units were claimed
+     */
+    public synchronized boolean tryClaim(UUID buyer, int offer, int units, int offerLimit, int rotationLimit) {
+        if (units <= 0 || offer < 0) {
+            throw new IllegalArgumentException("Units must be positive and offer not negative, got: " + units + ", " + offer);
+        }
+        int number = number(buyer);
+        int held = units(number, offer);
+        if (offerLimit > 0 && held + units > offerLimit || rotationLimit > 0 && totals[number] + units > rotationLimit) {
+            return false;
+        }
+        setUnits(number, offer, held + units);
+        totals[number] += units;
+        return true;
+    }
+    
+    /**
+     * Gives back units claimed by a purchase that was rolled back.
+     */
+    public synchronized void release(UUID buyer, int offer, int units) {
+        Integer number = buyers.get(buyer);
+        if (number == null) {
+            return;
+        }
+        int held = units(number, offer);
+        int released = Math.min(held, units);
+        setUnits(number, offer, held - released);
+        totals[number] -= released;
+    }
+    
+    /**
+     * Units of an offer a buyer has bought.
+     */
+    public synchronized int bought(UUID buyer, int offer) {
+        Integer number = buyers.get(buyer);
+        return number != null ? units(number, offer) : 0;
+    }
+    
+    /**
+     * Units across all offers a buyer has bought.
+     */
+    public synchronized int bought(UUID buyer) {
+        Integer number = buyers.get(buyer);
+        return number != null ? totals[number] : 0;
+    }
+    
+    /**
+     * Units of an offer a buyer may still claim, or {@link Integer#MAX_VALUE} if neither limit applies.
+     */
+    public synchronized int remaining(UUID buyer, int offer, int offerLimit, int rotationLimit) {
+        int remaining = Integer.MAX_VALUE;
+        if (offerLimit > 0) {
+            remaining = Math.max(0, offerLimit - bought(buyer, offer));
+        }
+        if (rotationLimit > 0) {
+            remaining = Math.min(remaining, Math.max(0, rotationLimit - bought(buyer)));
+        }
+        return remaining;
+    }
+    
+    public synchronized int buyers() {
+        return buyers.size();
+    }
+    
+    /**
+     * A buyer's allowance for an offer, for the {@link Checkout}.
+     */
+    public Allowance allowance(UUID buyer, int offer, int offerLimit, int rotationLimit) {
+        return new Allowance() {
+            @Override
+            public boolean tryClaim(int units) {
+                return PurchaseLimits.this.tryClaim(buyer, offer, units, offerLimit, rotationLimit);
+            }
+            
+            @Override
+            public void release(int units) {
+                PurchaseLimits.this.release(buyer, offer, units);
+            }
+            
+            @Override
+            public int remaining() {
+                return PurchaseLimits.this.remaining(buyer, offer, offerLimit, rotationLimit);
+            }
+        };
+    }
+    
+    private int number(UUID buyer) {
+        Integer number = buyers.get(buyer);
+        if (number != null) {
+            return number;
+        }
+        int assigned = buyers.size();
+        buyers.put(buyer, assigned);
+        if (assigned == totals.length) {
+            totals = Arrays.copyOf(totals, assigned * 2);
+        }
+        return assigned;
+    }
+    
+    private int units(int number, int offer) {
+        long[] bits = offer < bought.length ? bought[offer] : null;
+        int word = number >>> 6;
+        if (bits == null || word >= bits.length || (bits[word] & 1L << number) == 0) {
+            return 0;
+        }
+        return 1 + extraUnits.getOrDefault(key(number, offer), 0);
+    }
+    
+    private void setUnits(int number, int offer, int units) {
+        if (offer >= bought.length) {
+            bought = Arrays.copyOf(bought, offer + 1);
+        }
+        long[] bits = bought[offer];
+        int word = number >>> 6;
+        if (bits == null || word >= bits.length) {
+            if (units == 0) {
+                return;
+            }
+            bits = bits == null ? new long[Math.max(word + 1, buyers.size() + 63 >>> 6)]
+                : Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+            bought[offer] = bits;
+        }
+        if (units > 0) {
+            bits[word] |= 1L << number;
+        } else {
+            bits[word] &= ~(1L << number);
+        }
+        if (units > 1) {
+            extraUnits.put(key(number, offer), units - 1);
+        } else {
+            extraUnits.remove(key(number, offer));
+        }
+    }
+    
+    private static long key(int number, int offer) {
+        return (long) number << 32 | offer;
+    }
+}
\ No newline at end of file
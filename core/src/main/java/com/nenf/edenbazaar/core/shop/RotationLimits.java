@@ -0,0 +1,29 @@
+package com.nenf.edenbazaar.core.shop;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@link PurchaseLimits} of the newest rotation purchased from. Rotations only move forward: the first purchase
+ * of a newer rotation replaces the counts whole, while a purchase for an older one, e.g. from a click read just
+ * before the rotation changed, gets no limits and so cannot reset the newer counts. Thread-safe.
+ */
+public final class RotationLimits {
+    
+    private final AtomicReference<PurchaseLimits> current = new AtomicReference<>(new PurchaseLimits(0));
+    
+    /**
+     * Limits of a rotation, or null if a newer rotation is already counted.
+     */
+    public PurchaseLimits forRotation(long rotation) {
+        PurchaseLimits limits = current.updateAndGet(
+            held -> rotation > held.rotation() ? new PurchaseLimits(rotation) : held);
+        return limits.rotation() == rotation ? limits : null;
+    }
+    
+    /**
+     * Buyers counted in the newest rotation.
+     */
+    public int buyers() {
+        return current.get().buyers();
+    }
+}
\ No newline at end of file
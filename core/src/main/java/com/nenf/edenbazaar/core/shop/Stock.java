@@ -0,0 +1,79 @@
+package com.nenf.edenbazaar.core.shop;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remaining quantity of a single shop offer.
+ * Takes are atomic, so concurrent buyers can never oversell it.
+ */
+public final class Stock {
+    
+    private static final int UNLIMITED = -1;
+    
+    private final AtomicInteger remaining;
+    
+    private Stock(int remaining) {
+        this.remaining = new AtomicInteger(remaining);
+    }
+    
+    public static Stock unlimited() {
+        return new Stock(UNLIMITED);
+    }
+    
+    /**
+     * Creates a stock of {@code quantity} units; a quantity of zero or less means unlimited.
+     */
+    public static Stock of(int quantity) {
+        return new Stock(quantity > 0 ? quantity : UNLIMITED);
+    }
+    
+    /**
+     * Takes {@code amount} units if that many are left.
+     *
+     * @return whether the units were taken
+     */
+    public boolean tryTake(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive, got: " + amount);
+        }
+        while (true) {
+            int current = remaining.get();
+            if (current == UNLIMITED) {
+                return true;
+            }
+            if (current < amount) {
+                return false;
+            }
+            if (remaining.compareAndSet(current, current - amount)) {
+                return true;
+            }
+        }
+    }
+    
+    public boolean tryTake() {
+        return tryTake(1);
+    }
+    
+    /**
+     * Puts back units taken by a purchase that was rolled back.
+     */
+    public void restore(int amount) {
+        remaining.updateAndGet(current -> current == UNLIMITED ? UNLIMITED : current + amount);
+    }
+    
+    public boolean isUnlimited() {
+        return remaining.get() == UNLIMITED;
+    }
+    
+    public boolean isSoldOut() {
+        return remaining.get() == 0;
+    }
+    
+    /**
+     * Gets the units left, or {@link Integer#MAX_VALUE} if unlimited.
+     */
+    public int remaining() {
+        int current = remaining.get();
+        return current == UNLIMITED ? Integer.MAX_VALUE : current;
+    }
+}
\ No newline at end of file
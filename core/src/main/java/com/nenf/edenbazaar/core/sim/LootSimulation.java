@@ -0,0 +1,357 @@
+package com.nenf.edenbazaar.core.sim;
+
+import com.nenf.edenbazaar.core.loot.LootItems;
+import com.nenf.edenbazaar.core.pricing.Pricing;
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+import com.nenf.edenbazaar.core.sampling.RotationSeeds;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo run over many rotations, drawn the way the plugin draws them: the same {@link RotationComposer},
+ * seeds from {@link RotationSeeds} and price rolls from {@link Pricing}. Rotation n of a run therefore offers the
+ * items rotation n would offer on the server with the same loot pools, seed and context.
+ * Rotations are split into chunks that run on a fork-join pool, each with its own counters,
+ * which are merged in rotation order so droughts that span chunks are measured whole.
+ *
+ * @param <T> item type
+ */
+public final class LootSimulation<T> {
+    
+    private static final int CHUNK_ROTATIONS = 1 << 16;
+    
+    // Droughts up to this many rotations are counted exactly; longer ones share the last bucket
+    private static final int MAX_COUNTED_DROUGHT = 4096;
+    
+    // Purchases draw from their own stream, so they never change which items a rotation offers
+    private static final long BUYER_SALT = 0x5DEECE66DL;
+    
+    /**
+     * Simulated purchases. Each offer sells a Poisson-distributed number of units, at most its stock.
+     * The mean is {@code unitsPerOffer} for a price at the bottom of the item's range and falls linearly by
+     * {@code priceSensitivity} of that toward the top of the range.
+     */
+    public record Buyers(double unitsPerOffer, double priceSensitivity) {
+        
+        public static final Buyers NONE = new Buyers(0, 0);
+        
+        public Buyers {
+            if (unitsPerOffer < 0 || priceSensitivity < 0 || priceSensitivity > 1) {
+                throw new IllegalArgumentException("Buyers need units >= 0 and sensitivity in [0, 1]");
+            }
+        }
+    }
+    
+    /**
+     * @param rotations rotations to draw, numbered from 1
+     * @param serverSeed seed the rotations derive from
+     * @param slots items per rotation
+     * @param unique draw each item at most once per rotation
+     * @param stockPerItem units per offer, 0 for unlimited
+     * @param trackedTier tier whose droughts are measured
+     * @param hoursPerRotation hours between spawns, to turn the sink per rotation into a rate
+     * @param parallelism threads to run on
+     */
+    public record Settings(long rotations, long serverSeed, int slots, boolean unique, int stockPerItem,
+                           String trackedTier, double hoursPerRotation, Buyers buyers, int parallelism) {
+        
+        public Settings {
+            if (rotations < 1 || slots < 1 || stockPerItem < 0 || parallelism < 1) {
+                throw new IllegalArgumentException("Simulation needs rotations, slots and parallelism of at least 1");
+            }
+        }
+    }
+    
+    /**
+     * How often an item was offered.
+     */
+    public record ItemFrequency(String name, String tier, long appearances, double perRotation) {}
+    
+    /**
+     * Runs of rotations without the tracked tier. The start of the run counts as an appearance, and a drought
+     * still open at the end only counts toward the longest.
+     *
+     * @param rotationsWithTier rotations that offered at least one item of the tier
+     * @param droughts completed droughts, including zero-length ones between consecutive appearances
+     */
+    public record Droughts(String tier, long rotationsWithTier, long droughts, double mean, long p50, long p90,
+                           long p99, long longest) {}
+    
+    /**
+     * @param itemsPerRotation offers per rotation, below the slots when quotas or the pool run out
+     * @param listedValuePerRotation what a rotation's whole stock is worth at its prices, one unit per unlimited offer
+     * @param revenuePerRotation money spent on simulated purchases, which leaves the economy
+     * @param sinkPerHour revenue per hour of rotations
+     * @param items frequencies, most frequent first
+     */
+    public record Report(Settings settings, long elapsedNanos, double itemsPerRotation, double listedValuePerRotation,
+                         double revenuePerRotation, double revenueStdDev, double unitsPerRotation, double sinkPerHour,
+                         List<ItemFrequency> items, Droughts droughts) {
+        
+        /**
+         * Text report, listing at most {@code maxItems} items.
+         */
+        public String format(int maxItems) {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%,d rotations in %.2f s (%,.0f rotations/s) on %d threads%n",
+                settings.rotations(), elapsedNanos / 1e9, settings.rotations() / (elapsedNanos / 1e9), settings.parallelism()));
+            out.append(String.format(Locale.ROOT, "per rotation  %.2f items, listed value %.1f, revenue %.1f (sd %.1f), %.2f units sold%n",
+                itemsPerRotation, listedValuePerRotation, revenuePerRotation, revenueStdDev, unitsPerRotation));
+            if (settings.hoursPerRotation() > 0) {
+                out.append(String.format(Locale.ROOT, "currency sink %.1f per hour%n", sinkPerHour));
+            }
+            out.append(String.format(Locale.ROOT, "%s droughts  in %.2f%% of rotations, mean %.1f, p50 %d, p90 %d, p99 %d, longest %d%n",
+                droughts.tier(), 100.0 * droughts.rotationsWithTier() / settings.rotations(), droughts.mean(),
+                droughts.p50(), droughts.p90(), droughts.p99(), droughts.longest()));
+            out.append("appearances per rotation:\n");
+            for (int i = 0; i < Math.min(maxItems, items.size()); i++) {
+                ItemFrequency item = items.get(i);
+                out.append(String.format(Locale.ROOT, "  %-28s %-10s %.5f%n", item.name(), item.tier(), item.perRotation()));
+            }
+            if (items.size() > maxItems) {
+                out.append("  ... and ").append(items.size() - maxItems).append(" more\n");
+            }
+            return out.toString();
+        }
+    }
+    
+    private final RotationComposer<T> composer;
+    private final LootItems<T> describe;
+    private final Settings settings;
+    private final List<T> items;
+    private final Map<T, Integer> indices = new IdentityHashMap<>();
+    private final int[] minPrices;
+    private final int[] maxPrices;
+    private final double[] multipliers;
+    private final boolean[] tracked;
+    
+    public LootSimulation(RotationComposer<T> composer, LootItems<T> describe, Settings settings) {
+        if (composer.totalWeight() <= 0) {
+            throw new IllegalArgumentException("The loot table has no items with a positive weight");
+        }
+        this.composer = composer;
+        this.describe = describe;
+        this.settings = settings;
+        this.items = composer.items();
+        this.minPrices = new int[items.size()];
+        this.maxPrices = new int[items.size()];
+        this.multipliers = new double[items.size()];
+        this.tracked = new boolean[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            indices.put(item, i);
+            minPrices[i] = describe.minPrice().applyAsInt(item);
+            maxPrices[i] = describe.maxPrice().applyAsInt(item);
+            multipliers[i] = describe.priceMultiplier().applyAsDouble(item);
+            tracked[i] = settings.trackedTier().equals(describe.tier().apply(item));
+        }
+    }
+    
+    /**
+     * Runs the simulation on a fork-join pool of its own.
+     */
+    public Report run() throws InterruptedException {
+        long start = System.nanoTime();
+        int chunks = (int) ((settings.rotations() + CHUNK_ROTATIONS - 1) / CHUNK_ROTATIONS);
+        ForkJoinPool pool = new ForkJoinPool(settings.parallelism());
+        Tally total = new Tally(items.size());
+        try {
+            List<Future<Tally>> results = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                long first = 1 + (long) c * CHUNK_ROTATIONS;
+                long last = Math.min(settings.rotations(), first + CHUNK_ROTATIONS - 1);
+                int chunk = c;
+                results.add(pool.submit(() -> runChunk(chunk, first, last)));
+            }
+            for (Future<Tally> result : results) {
+                total.append(result.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return report(total, System.nanoTime() - start);
+    }
+    
+    private Tally runChunk(int chunk, long first, long last) {
+        Tally tally = new Tally(items.size());
+        SplittableRandom buyers = new SplittableRandom(RotationSeeds.seed(settings.serverSeed() ^ BUYER_SALT, chunk));
+        Buyers behavior = settings.buyers();
+        int stock = settings.stockPerItem();
+        for (long rotation = first; rotation <= last; rotation++) {
+            SplittableRandom random = RotationSeeds.random(settings.serverSeed(), rotation);
+            List<T> picks = composer.compose(settings.slots(), settings.unique(), random);
+            boolean hasTier = false;
+            double revenue = 0;
+            for (T pick : picks) {
+                int index = indices.get(pick);
+                tally.appearances[index]++;
+                hasTier |= tracked[index];
+                
+                // Rolled in draw order, like the loot generator, so prices match the server's
+                int price = Pricing.adjust(Pricing.roll(minPrices[index], maxPrices[index], random), multipliers[index]);
+                tally.listed += (double) price * (stock > 0 ? stock : 1);
+                if (behavior.unitsPerOffer() > 0) {
+                    int range = maxPrices[index] - minPrices[index];
+                    double position = range > 0 ? Math.clamp((price - minPrices[index]) / (double) range, 0.0, 1.0) : 0;
+                    int units = poisson(behavior.unitsPerOffer() * (1 - behavior.priceSensitivity() * position), buyers);
+                    if (stock > 0) {
+                        units = Math.min(units, stock);
+                    }
+                    tally.units += units;
+                    revenue += (double) price * units;
+                }
+            }
+            tally.offers += picks.size();
+            tally.revenue += revenue;
+            tally.revenueSquares += revenue * revenue;
+            tally.rotation(hasTier);
+        }
+        tally.finish();
+        return tally;
+    }
+    
+    private static int poisson(double mean, SplittableRandom random) {
+        if (mean <= 0) {
+            return 0;
+        }
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+    
+    private Report report(Tally total, long elapsedNanos) {
+        double rotations = settings.rotations();
+        List<ItemFrequency> frequencies = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            frequencies.add(new ItemFrequency(describe.name().apply(item), describe.tier().apply(item),
+                total.appearances[i], total.appearances[i] / rotations));
+        }
+        frequencies.sort(Comparator.comparingLong(ItemFrequency::appearances).reversed());
+        
+        double revenueMean = total.revenue / rotations;
+        double variance = Math.max(0, total.revenueSquares / rotations - revenueMean * revenueMean);
+        double sinkPerHour = settings.hoursPerRotation() > 0 ? revenueMean / settings.hoursPerRotation() : 0;
+        
+        long droughts = 0;
+        for (long count : total.droughtCounts) {
+            droughts += count;
+        }
+        Droughts drought = new Droughts(settings.trackedTier(), total.rotationsWithTier, droughts,
+            droughts > 0 ? total.droughtSum / (double) droughts : 0,
+            total.percentile(droughts, 0.50), total.percentile(droughts, 0.90), total.percentile(droughts, 0.99),
+            Math.max(total.longest, total.trailing));
+        
+        return new Report(settings, elapsedNanos, total.offers / rotations, total.listed / rotations, revenueMean,
+            Math.sqrt(variance), total.units / rotations, sinkPerHour, List.copyOf(frequencies), drought);
+    }
+    
+    /**
+     * Counters of a range of rotations.
+     */
+    private static final class Tally {
+        final long[] appearances;
+        final long[] droughtCounts = new long[MAX_COUNTED_DROUGHT + 1];
+        long offers;
+        long units;
+        double listed;
+        double revenue;
+        double revenueSquares;
+        long rotationsWithTier;
+        long droughtSum;
+        long longest;
+        
+        // Rotations before the first appearance and after the last one
+        boolean seen;
+        long leading;
+        long trailing;
+        
+        Tally(int items) {
+            this.appearances = new long[items];
+        }
+        
+        void rotation(boolean hasTier) {
+            if (!hasTier) {
+                trailing++;
+                return;
+            }
+            rotationsWithTier++;
+            if (seen) {
+                drought(trailing);
+            } else {
+                seen = true;
+                leading = trailing;
+            }
+            trailing = 0;
+        }
+        
+        void finish() {
+            if (!seen) {
+                leading = trailing;
+            }
+        }
+        
+        void drought(long length) {
+            droughtCounts[(int) Math.min(length, MAX_COUNTED_DROUGHT)]++;
+            droughtSum += length;
+            longest = Math.max(longest, length);
+        }
+        
+        /**
+         * Adds the next range of rotations. The run starts as if the tier had just appeared.
+         */
+        void append(Tally next) {
+            for (int i = 0; i < appearances.length; i++) {
+                appearances[i] += next.appearances[i];
+            }
+            for (int i = 0; i < droughtCounts.length; i++) {
+                droughtCounts[i] += next.droughtCounts[i];
+            }
+            offers += next.offers;
+            units += next.units;
+            listed += next.listed;
+            revenue += next.revenue;
+            revenueSquares += next.revenueSquares;
+            rotationsWithTier += next.rotationsWithTier;
+            droughtSum += next.droughtSum;
+            longest = Math.max(longest, next.longest);
+            if (next.seen) {
+                drought(trailing + next.leading);
+                trailing = next.trailing;
+            } else {
+                trailing += next.leading;
+            }
+        }
+        
+        long percentile(long droughts, double quantile) {
+            long rank = (long) Math.ceil(quantile * droughts);
+            long seenCount = 0;
+            for (int length = 0; length < droughtCounts.length; length++) {
+                seenCount += droughtCounts[length];
+                if (seenCount >= Math.max(1, rank)) {
+                    return length;
+                }
+            }
+            return 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.nenf.edenbazaar.core.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compiled multi-line template such as item lore. Lines without placeholders are rendered once,
+ * when the templates are built; only the others are rendered per call.
+ */
+public final class LineTemplates {
+    
+    private final Template[] lines;
+    private final String[] prerendered;
+    
+    public LineTemplates(List<String> sources, TextRenderer renderer) {
+        this.lines = new Template[sources.size()];
+        this.prerendered = new String[sources.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = Template.compile(sources.get(i));
+            if (!lines[i].hasPlaceholders()) {
+                prerendered[i] = renderer.render(lines[i].source());
+            }
+        }
+    }
+    
+    public int size() {
+        return lines.length;
+    }
+    
+    public List<String> render(Function<String, String> values, TextRenderer renderer) {
+        List<String> result = new ArrayList<>(lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            result.add(prerendered[i] != null ? prerendered[i] : renderer.render(lines[i].render(values)));
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.nenf.edenbazaar.core.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * String with {@code {name}} placeholders, split into literal and placeholder parts once,
+ * so rendering is a single pass without repeated replace calls.
+ */
+public final class Template {
+    
+    private final String source;
+    private final String[] literals; // one more than names
+    private final String[] names;
+    
+    private Template(String source, String[] literals, String[] names) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+    }
+    
+    /**
+     * Compiles a template. Braces that do not enclose a placeholder name are kept as literal text.
+     */
+    public static Template compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int literalStart = 0;
+        int open = source.indexOf('{');
+        while (open >= 0) {
+            int close = source.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            String name = source.substring(open + 1, close);
+            if (isPlaceholderName(name)) {
+                literals.add(source.substring(literalStart, open));
+                names.add(name);
+                literalStart = close + 1;
+                open = source.indexOf('{', literalStart);
+            } else {
+                open = source.indexOf('{', open + 1);
+            }
+        }
+        literals.add(source.substring(literalStart));
+        return new Template(source, literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+    
+    private static boolean isPlaceholderName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public String source() {
+        return source;
+    }
+    
+    public boolean hasPlaceholders() {
+        return names.length > 0;
+    }
+    
+    /**
+     * Fills in placeholders. Placeholders for which {@code values} returns null are left as they are.
+     */
+    public String render(Function<String, String> values) {
+        if (names.length == 0) {
+            return source;
+        }
+        StringBuilder result = new StringBuilder(source.length() + 16 * names.length);
+        for (int i = 0; i < names.length; i++) {
+            result.append(literals[i]);
+            String value = values.apply(names[i]);
+            if (value != null) {
+                result.append(value);
+            } else {
+                result.append('{').append(names[i]).append('}');
+            }
+        }
+        return result.append(literals[names.length]).toString();
+    }
+}
\ No newline at end of file
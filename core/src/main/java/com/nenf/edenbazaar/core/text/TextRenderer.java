@@ -0,0 +1,12 @@
+package com.nenf.edenbazaar.core.text;
+
+/**
+ * Turns markup, such as MiniMessage, into the text shown to players.
+ */
+@FunctionalInterface
+public interface TextRenderer {
+    
+    TextRenderer PLAIN = markup -> markup;
+    
+    String render(String markup);
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.nenf.edenbazaar.core.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryLedgerTest {
+    
+    private static final Logger LOGGER = Logger.getLogger(InMemoryLedgerTest.class.getName());
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void withdrawNeedsTheBalance() {
+        InMemoryLedger ledger = new InMemoryLedger(100, Journal.NONE);
+        UUID account = UUID.randomUUID();
+        assertTrue(ledger.withdraw(account, 60));
+        assertFalse(ledger.withdraw(account, 60));
+        assertEquals(40, ledger.balance(account));
+        ledger.deposit(account, 20);
+        assertEquals(60, ledger.balance(account));
+    }
+    
+    @Test
+    void journalReplaysToTheFinalBalanceUnderConcurrentChanges() throws IOException, InterruptedException {
+        Path snapshot = dir.resolve("balances.dat");
+        UUID account = UUID.randomUUID();
+        int threads = 8;
+        int changes = 2_000;
+        
+        try (FileLedgerStore store = new FileLedgerStore(snapshot, LOGGER)) {
+            InMemoryLedger ledger = new InMemoryLedger(0, store);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                boolean depositor = t % 2 == 0;
+                workers.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < changes; i++) {
+                        if (depositor) {
+                            ledger.deposit(account, 3);
+                        } else {
+                            ledger.withdraw(account, 1);
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            
+            Map<UUID, Double> replayed = new FileLedgerStore(snapshot, LOGGER).load();
+            assertEquals(ledger.balance(account), replayed.get(account));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.nenf.edenbazaar.core.pity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PityTableTest {
+    
+    private static final List<String> TIERS = List.of("legendary");
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void partialIndexEntryIsCutBeforeAppending() throws IOException {
+        Path dataFile = dir.resolve("pity.bin");
+        Path indexFile = dir.resolve("pity.bin.idx");
+        UUID first = UUID.randomUUID();
+        UUID lost = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        
+        try (PityTable table = PityTable.open(dataFile, TIERS)) {
+            table.recordRotation(table.playerIndex(first), 1, new boolean[1], true);
+            table.playerIndex(lost);
+        }
+        long fullSize = Files.size(indexFile);
+        
+        // A crash in the middle of the second entry
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            index.truncate(fullSize - 7);
+        }
+        
+        try (PityTable table = PityTable.open(dataFile, TIERS)) {
+            assertEquals(1, table.players());
+            assertEquals(fullSize - 16, Files.size(indexFile));
+            assertEquals(1, table.playerIndex(added));
+            table.recordRotation(1, 1, new boolean[1], true);
+            table.flush();
+        }
+        assertEquals(fullSize, Files.size(indexFile));
+        
+        try (PityTable table = PityTable.open(dataFile, TIERS)) {
+            assertEquals(2, table.players());
+            assertEquals(0, table.playerIndex(first));
+            assertEquals(1, table.playerIndex(added));
+            assertEquals(1, table.drought(0, 0));
+            assertEquals(1, table.drought(1, 0));
+        }
+    }
+}
\ No newline at end of file
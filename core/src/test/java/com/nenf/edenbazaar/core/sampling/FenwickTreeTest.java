@@ -0,0 +1,80 @@
+package com.nenf.edenbazaar.core.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FenwickTreeTest {
+    
+    @Test
+    void prefixSumsMatchTheWeights() {
+        double[] weights = {3, 0, 2, 5, 1, 4, 0, 6, 2};
+        FenwickTree tree = FenwickTree.of(weights);
+        double sum = 0;
+        for (int count = 0; count <= weights.length; count++) {
+            assertEquals(sum, tree.prefixSum(count));
+            if (count < weights.length) {
+                sum += weights[count];
+            }
+        }
+        assertEquals(sum, tree.total());
+    }
+    
+    @Test
+    void findReturnsTheSlotCoveringTheTarget() {
+        FenwickTree tree = FenwickTree.of(new double[] {3, 0, 2, 5});
+        assertEquals(0, tree.find(0));
+        assertEquals(0, tree.find(2.99));
+        // Boundaries belong to the next non-empty slot, skipping the empty one
+        assertEquals(2, tree.find(3));
+        assertEquals(2, tree.find(4.99));
+        assertEquals(3, tree.find(5));
+        assertEquals(3, tree.find(9.99));
+    }
+    
+    @Test
+    void findSkipsEmptyTrailingSlots() {
+        FenwickTree tree = FenwickTree.of(new double[] {1, 2, 0, 0});
+        assertEquals(1, tree.find(2.99));
+        // Drift past the total must not land on a zero-weight slot
+        assertEquals(1, tree.find(3));
+    }
+    
+    @Test
+    void setUpdatesSumsAndSearch() {
+        FenwickTree tree = FenwickTree.of(new double[] {1, 1, 1, 1, 1});
+        tree.set(2, 0);
+        tree.set(4, 3);
+        assertEquals(2, tree.prefixSum(3));
+        assertEquals(6, tree.total());
+        assertEquals(3, tree.find(2));
+        assertEquals(4, tree.find(3));
+    }
+    
+    @Test
+    void restoreUndoesChangesSinceTheCopy() {
+        FenwickTree source = FenwickTree.of(new double[] {0.1, 0.7, 0.3, 0.9, 0.2, 0.6});
+        FenwickTree copy = source.copy();
+        copy.set(1, 0);
+        copy.set(4, 0);
+        assertEquals(0.1 + 0.3 + 0.9 + 0.6, copy.total(), 1e-12);
+        
+        copy.restore(source, 1);
+        copy.restore(source, 4);
+        for (int count = 0; count <= source.size(); count++) {
+            assertEquals(source.prefixSum(count), copy.prefixSum(count));
+        }
+        assertEquals(source.get(4), copy.get(4));
+    }
+    
+    @Test
+    void rejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> FenwickTree.of(new double[] {1, -1}));
+        FenwickTree tree = new FenwickTree(2);
+        assertThrows(IllegalArgumentException.class, () -> tree.set(0, Double.NaN));
+        assertEquals(-1, tree.sample(RandomGenerator.getDefault()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.nenf.edenbazaar.core.sampling;
+
+import com.nenf.edenbazaar.core.sampling.RotationComposer.TierQuota;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotationComposerTest {
+    
+    private record Loot(int id, String tier, int weight) {}
+    
+    private static List<Loot> pool(int size) {
+        List<String> tiers = List.of("common", "rare", "epic", "legendary");
+        SplittableRandom seed = new SplittableRandom(42);
+        List<Loot> loot = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            loot.add(new Loot(i, tiers.get(i % tiers.size()), 1 + seed.nextInt(100)));
+        }
+        return loot;
+    }
+    
+    @Test
+    void uniqueRotationsHaveNoDuplicates() {
+        RotationComposer<Loot> composer = RotationComposer.of(pool(40), Loot::tier, Loot::weight, Map.of());
+        SplittableRandom random = new SplittableRandom(1);
+        for (int rotation = 0; rotation < 1000; rotation++) {
+            List<Loot> drawn = composer.compose(9, true, random);
+            assertEquals(9, drawn.size());
+            assertEquals(9, new HashSet<>(drawn).size());
+        }
+    }
+    
+    @Test
+    void uniqueRotationRunsOutWithThePool() {
+        RotationComposer<Loot> composer = RotationComposer.of(pool(6), Loot::tier, Loot::weight, Map.of());
+        List<Loot> drawn = composer.compose(10, true, new SplittableRandom(1));
+        assertEquals(6, new HashSet<>(drawn).size());
+        assertEquals(6, drawn.size());
+    }
+    
+    @Test
+    void quotasBoundEachTier() {
+        RotationComposer<Loot> composer = RotationComposer.of(pool(200), Loot::tier, Loot::weight, Map.of(
+            "legendary", new TierQuota(1, 1, 1.0),
+            "epic", new TierQuota(2, 3, 1.0),
+            "rare", new TierQuota(0, 0, 1.0)));
+        SplittableRandom random = new SplittableRandom(3);
+        for (int rotation = 0; rotation < 1000; rotation++) {
+            List<Loot> drawn = composer.compose(9, true, random);
+            assertEquals(9, drawn.size());
+            assertEquals(1, count(drawn, "legendary"));
+            long epic = count(drawn, "epic");
+            assertTrue(epic >= 2 && epic <= 3, "epic count " + epic);
+            assertEquals(0, count(drawn, "rare"));
+        }
+    }
+    
+    @Test
+    void tierChanceSkipsTheTier() {
+        RotationComposer<Loot> composer = RotationComposer.of(pool(200), Loot::tier, Loot::weight,
+            Map.of("legendary", new TierQuota(1, 1, 0.0)));
+        SplittableRandom random = new SplittableRandom(5);
+        for (int rotation = 0; rotation < 100; rotation++) {
+            assertEquals(0, count(composer.compose(9, true, random), "legendary"));
+        }
+    }
+    
+    @Test
+    void sameSeedGivesSameRotation() {
+        Map<String, TierQuota> quotas = Map.of("legendary", new TierQuota(1, 1, 0.1));
+        RotationComposer<Loot> used = RotationComposer.of(pool(1000), Loot::tier, Loot::weight, quotas);
+        RotationComposer<Loot> fresh = RotationComposer.of(pool(1000), Loot::tier, Loot::weight, quotas);
+        
+        // Draws put back into the reused tree must leave it exactly as built
+        SplittableRandom warmup = new SplittableRandom(11);
+        for (int rotation = 0; rotation < 10_000; rotation++) {
+            used.compose(9, true, warmup);
+        }
+        for (long rotation = 1; rotation <= 1000; rotation++) {
+            assertEquals(fresh.compose(9, true, RotationSeeds.random(42, rotation)),
+                used.compose(9, true, RotationSeeds.random(42, rotation)));
+        }
+    }
+    
+    private static long count(List<Loot> drawn, String tier) {
+        return drawn.stream().filter(loot -> loot.tier().equals(tier)).count();
+    }
+}
\ No newline at end of file
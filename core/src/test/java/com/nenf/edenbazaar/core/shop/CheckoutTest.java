@@ -0,0 +1,165 @@
+package com.nenf.edenbazaar.core.shop;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CheckoutTest {
+    
+    private static final UUID BUYER = UUID.randomUUID();
+    private static final int OFFER = 3;
+    
+    private Stock stock;
+    private PurchaseLimits limits;
+    private Allowance allowance;
+    private FakeCustomer customer;
+    
+    @BeforeEach
+    void setUp() {
+        stock = Stock.of(5);
+        limits = new PurchaseLimits(1);
+        allowance = limits.allowance(BUYER, OFFER, 4, 0);
+        customer = new FakeCustomer();
+    }
+    
+    @Test
+    void purchaseTakesStockAndAllowance() {
+        assertEquals(Checkout.Outcome.PURCHASED, Checkout.purchase(stock, allowance, 10, 2, customer));
+        assertEquals(3, stock.remaining());
+        assertEquals(2, limits.bought(BUYER, OFFER));
+        assertEquals(20, customer.paid);
+        assertEquals(2, customer.delivered);
+    }
+    
+    @Test
+    void insufficientFundsRestoresEverything() {
+        customer.canAfford = false;
+        assertEquals(Checkout.Outcome.INSUFFICIENT_FUNDS, Checkout.purchase(stock, allowance, 10, 2, customer));
+        assertUntouched();
+        assertEquals(0, customer.paid);
+    }
+    
+    @Test
+    void fullInventoryRestoresEverything() {
+        customer.hasRoom = false;
+        assertEquals(Checkout.Outcome.INVENTORY_FULL, Checkout.purchase(stock, allowance, 10, 2, customer));
+        assertUntouched();
+        assertEquals(0, customer.paid);
+    }
+    
+    @Test
+    void paymentFailureRestoresEverything() {
+        customer.pays = false;
+        assertEquals(Checkout.Outcome.PAYMENT_FAILED, Checkout.purchase(stock, allowance, 10, 2, customer));
+        assertUntouched();
+        assertEquals(0, customer.refunded);
+    }
+    
+    @Test
+    void deliveryFailureRefundsAndRestoresEverything() {
+        customer.delivers = false;
+        assertEquals(Checkout.Outcome.DELIVERY_FAILED, Checkout.purchase(stock, allowance, 10, 2, customer));
+        assertUntouched();
+        assertEquals(20, customer.refunded);
+    }
+    
+    @Test
+    void refundFailureStillRestoresEverything() {
+        customer.delivers = false;
+        customer.refunds = false;
+        assertEquals(Checkout.Outcome.REFUND_FAILED, Checkout.purchase(stock, allowance, 10, 2, customer));
+        assertUntouched();
+        assertEquals(1, customer.refundCalls);
+    }
+    
+    @Test
+    void deliveryExceptionRefundsRestoresAndRethrows() {
+        IllegalStateException failure = new IllegalStateException("inventory closed");
+        customer.deliveryFailure = failure;
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> Checkout.purchase(stock, allowance, 10, 2, customer)));
+        assertUntouched();
+        assertEquals(20, customer.refunded);
+    }
+    
+    @Test
+    void limitReachedTouchesNothing() {
+        assertEquals(Checkout.Outcome.LIMIT_REACHED, Checkout.purchase(stock, allowance, 10, 5, customer));
+        assertUntouched();
+        assertEquals(0, customer.canAffordCalls);
+    }
+    
+    @Test
+    void shortStockReleasesAllowance() {
+        Stock low = Stock.of(1);
+        assertEquals(Checkout.Outcome.OUT_OF_STOCK, Checkout.purchase(low, allowance, 10, 2, customer));
+        assertEquals(1, low.remaining());
+        assertEquals(0, limits.bought(BUYER, OFFER));
+    }
+    
+    private void assertUntouched() {
+        assertEquals(5, stock.remaining());
+        assertEquals(0, limits.bought(BUYER, OFFER));
+        assertEquals(0, customer.delivered);
+    }
+    
+    private static final class FakeCustomer implements Customer {
+        
+        boolean canAfford = true;
+        boolean hasRoom = true;
+        boolean pays = true;
+        boolean delivers = true;
+        boolean refunds = true;
+        RuntimeException deliveryFailure;
+        
+        int canAffordCalls;
+        int refundCalls;
+        double paid;
+        double refunded;
+        int delivered;
+        
+        @Override
+        public boolean canAfford(double price) {
+            canAffordCalls++;
+            return canAfford;
+        }
+        
+        @Override
+        public boolean hasRoom(int units) {
+            return hasRoom;
+        }
+        
+        @Override
+        public boolean pay(double price) {
+            if (pays) {
+                paid += price;
+            }
+            return pays;
+        }
+        
+        @Override
+        public boolean deliver(int units) {
+            if (deliveryFailure != null) {
+                throw deliveryFailure;
+            }
+            if (delivers) {
+                delivered += units;
+            }
+            return delivers;
+        }
+        
+        @Override
+        public boolean refund(double price) {
+            refundCalls++;
+            if (refunds) {
+                refunded += price;
+            }
+            return refunds;
+        }
+    }
+}
\ No newline at end of file
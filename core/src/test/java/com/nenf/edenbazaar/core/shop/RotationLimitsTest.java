@@ -0,0 +1,41 @@
+package com.nenf.edenbazaar.core.shop;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotationLimitsTest {
+    
+    private static final UUID BUYER = UUID.randomUUID();
+    
+    @Test
+    void olderRotationDoesNotResetCounts() {
+        RotationLimits rotations = new RotationLimits();
+        PurchaseLimits current = rotations.forRotation(5);
+        assertTrue(current.tryClaim(BUYER, 0, 1, 1, 0));
+        
+        assertNull(rotations.forRotation(4));
+        
+        assertSame(current, rotations.forRotation(5));
+        assertEquals(1, rotations.forRotation(5).bought(BUYER, 0));
+        assertEquals(1, rotations.buyers());
+    }
+    
+    @Test
+    void newerRotationStartsOver() {
+        RotationLimits rotations = new RotationLimits();
+        PurchaseLimits first = rotations.forRotation(5);
+        assertTrue(first.tryClaim(BUYER, 0, 1, 1, 0));
+        
+        PurchaseLimits next = rotations.forRotation(6);
+        assertNotSame(first, next);
+        assertEquals(0, next.bought(BUYER, 0));
+        assertNull(rotations.forRotation(5));
+    }
+}
\ No newline at end of file
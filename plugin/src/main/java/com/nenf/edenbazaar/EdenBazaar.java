@@ -0,0 +1,282 @@
+package com.nenf.edenbazaar;
+
+import com.nenf.edenbazaar.commands.BazaarCommand;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager;
+import com.nenf.edenbazaar.config.ConfigWatcher;
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+import com.nenf.edenbazaar.listeners.BazaarListener;
+import com.nenf.edenbazaar.listeners.PlayerDensityListener;
+import com.nenf.edenbazaar.listeners.SpawnSafetyListener;
+import com.nenf.edenbazaar.listeners.WorldListener;
+import com.nenf.edenbazaar.managers.BazaarManager;
+import com.nenf.edenbazaar.managers.DemandTracker;
+import com.nenf.edenbazaar.managers.EconomyManager;
+import com.nenf.edenbazaar.managers.LootGenerator;
+import com.nenf.edenbazaar.managers.MetricsEndpoint;
+import com.nenf.edenbazaar.managers.PersonalRotations;
+import com.nenf.edenbazaar.managers.PityTracker;
+import com.nenf.edenbazaar.managers.PlayerDensityTracker;
+import com.nenf.edenbazaar.managers.PurchaseLimiter;
+import com.nenf.edenbazaar.managers.RotationPlanner;
+import com.nenf.edenbazaar.managers.SpawnCatalog;
+import com.nenf.edenbazaar.managers.SpawnDiscovery;
+import com.nenf.edenbazaar.managers.SpawnSafetyValidator;
+import com.nenf.edenbazaar.managers.VisualHints;
+import com.nenf.edenbazaar.managers.WorkScheduler;
+import com.nenf.edenbazaar.scheduling.PlatformScheduler;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.logging.Level;
+
+public class EdenBazaar extends JavaPlugin {
+    
+    private static EdenBazaar instance;
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private PlatformScheduler platformScheduler;
+    private ConfigManager configManager;
+    private ConfigWatcher configWatcher;
+    private BazaarManager bazaarManager;
+    private DemandTracker demandTracker;
+    private LootGenerator lootGenerator;
+    private RotationPlanner rotationPlanner;
+    private PersonalRotations personalRotations;
+    private PityTracker pityTracker;
+    private PurchaseLimiter purchaseLimiter;
+    private VisualHints visualHints;
+    private EconomyManager economyManager;
+    private PlayerDensityTracker playerDensityTracker;
+    private SpawnCatalog spawnCatalog;
+    private SpawnSafetyValidator spawnSafetyValidator;
+    private SpawnDiscovery spawnDiscovery;
+    private MetricsEndpoint metricsEndpoint;
+    private WorkScheduler workScheduler;
+    
+    @Override
+    public void onEnable() {
+        instance = this;
+        
+        try {
+            // Paper runs everything on the main thread, Folia on the region that owns it
+            platformScheduler = PlatformScheduler.create(this);
+            
+            // Initialize config manager first
+            configManager = new ConfigManager(this);
+            
+            // Load configurations immediately
+            configManager.loadConfigs();
+            
+            // Heavy main-thread work is queued and spread over ticks from here on
+            workScheduler = new WorkScheduler(this);
+            workScheduler.start();
+            
+            // Initialize other managers after config is loaded
+            economyManager = new EconomyManager(this);
+            demandTracker = new DemandTracker(this);
+            lootGenerator = new LootGenerator(this);
+            rotationPlanner = new RotationPlanner(this);
+            pityTracker = new PityTracker(this);
+            personalRotations = new PersonalRotations(this);
+            purchaseLimiter = new PurchaseLimiter(this);
+            visualHints = new VisualHints(this);
+            playerDensityTracker = new PlayerDensityTracker(this);
+            spawnCatalog = new SpawnCatalog(this);
+            spawnCatalog.initialize();
+            spawnSafetyValidator = new SpawnSafetyValidator(this, spawnCatalog);
+            spawnDiscovery = new SpawnDiscovery(this, playerDensityTracker);
+            bazaarManager = new BazaarManager(this);
+            
+            // Register listeners
+            getServer().getPluginManager().registerEvents(new BazaarListener(this), this);
+            getServer().getPluginManager().registerEvents(new PlayerDensityListener(playerDensityTracker), this);
+            getServer().getPluginManager().registerEvents(new WorldListener(spawnCatalog, spawnSafetyValidator), this);
+            getServer().getPluginManager().registerEvents(new SpawnSafetyListener(spawnSafetyValidator), this);
+            
+            // Count players already online (e.g. after a plugin reload)
+            playerDensityTracker.rebuild();
+            
+            // Check spawn points in the background
+            spawnSafetyValidator.validateAll(true);
+            
+            // Reload when config files are edited
+            configWatcher = new ConfigWatcher(this);
+            if (configManager.getConfigSnapshot().watchFiles()) {
+                configWatcher.start();
+            }
+            
+            subscribeToConfigChanges();
+            
+            // Serve metrics for scraping if enabled
+            metricsEndpoint = new MetricsEndpoint(this);
+            metricsEndpoint.apply(configManager.getConfigSnapshot().metrics());
+            
+            // Register commands
+            getCommand("bazaar").setExecutor(new BazaarCommand(this));
+            
+            // Setup economy
+            economyManager.setupEconomy();
+            
+            // Start bazaar scheduler
+            bazaarManager.startScheduler();
+            
+            getLogger().info("EdenBazaar has been enabled successfully!");
+            getLogger().info("Economy System: " + economyManager.getEconomyType().getDisplayName());
+            getLogger().info("Scheduler: " + platformScheduler.name());
+        
+        } catch (Exception e) {
+            getLogger().log(Level.SEVERE, "Failed to enable EdenBazaar!", e);
+            getServer().getPluginManager().disablePlugin(this);
+        }
+    }
+    
+    @Override
+    public void onDisable() {
+        try {
+            getLogger().info("Shutting down EdenBazaar...");
+            
+            // Stop all schedulers and clean up resources
+            if (bazaarManager != null) {
+                bazaarManager.despawnShop();
+                bazaarManager.stopScheduler();
+            }
+            
+            if (visualHints != null) {
+                visualHints.stopParticleTask();
+            }
+            
+            if (workScheduler != null) {
+                workScheduler.stop();
+            }
+            
+            if (configWatcher != null) {
+                configWatcher.stop();
+            }
+            
+            if (metricsEndpoint != null) {
+                metricsEndpoint.stop();
+            }
+            
+            if (spawnDiscovery != null) {
+                spawnDiscovery.shutdown();
+            }
+            
+            if (rotationPlanner != null) {
+                rotationPlanner.shutdown();
+            }
+            
+            if (demandTracker != null) {
+                demandTracker.shutdown();
+            }
+            
+            if (pityTracker != null) {
+                pityTracker.shutdown();
+            }
+            
+            if (spawnSafetyValidator != null) {
+                spawnSafetyValidator.shutdown();
+            }
+            
+            if (economyManager != null) {
+                economyManager.shutdown();
+            }
+            
+            // Clear static reference
+            instance = null;
+            
+            getLogger().info("EdenBazaar has been disabled successfully!");
+        
+        } catch (Exception e) {
+            getLogger().log(Level.SEVERE, "Error during plugin shutdown", e);
+        }
+    }
+    
+    /**
+     * Refreshes plugin-level components when a reload changes what they depend on.
+     * Managers with their own derived state subscribe in their constructors.
+     */
+    private void subscribeToConfigChanges() {
+        // Cached safety results are keyed by location, so only new points need checking unless the checks changed
+        configManager.subscribe(ConfigDiff.section(ConfigDiff.Section.LOCATIONS).or(ConfigDiff.setting("safety")),
+            (config, diff) -> spawnSafetyValidator.validateAll(diff.touchesSetting("safety")));
+        
+        configManager.subscribe(ConfigDiff.setting("watchFiles"), (config, diff) -> {
+            if (config.watchFiles()) {
+                configWatcher.start();
+            } else {
+                configWatcher.stop();
+            }
+        });
+    }
+    
+    public static EdenBazaar getInstance() {
+        return instance;
+    }
+    
+    public ConfigManager getConfigManager() {
+        return configManager;
+    }
+    
+    public BazaarManager getBazaarManager() {
+        return bazaarManager;
+    }
+    
+    public DemandTracker getDemandTracker() {
+        return demandTracker;
+    }
+    
+    public LootGenerator getLootGenerator() {
+        return lootGenerator;
+    }
+    
+    public RotationPlanner getRotationPlanner() {
+        return rotationPlanner;
+    }
+    
+    public PersonalRotations getPersonalRotations() {
+        return personalRotations;
+    }
+    
+    public PityTracker getPityTracker() {
+        return pityTracker;
+    }
+    
+    public PurchaseLimiter getPurchaseLimiter() {
+        return purchaseLimiter;
+    }
+    
+    public VisualHints getVisualHints() {
+        return visualHints;
+    }
+    
+    public EconomyManager getEconomyManager() {
+        return economyManager;
+    }
+    
+    public PlayerDensityTracker getPlayerDensityTracker() {
+        return playerDensityTracker;
+    }
+    
+    public SpawnCatalog getSpawnCatalog() {
+        return spawnCatalog;
+    }
+    
+    public SpawnSafetyValidator getSpawnSafetyValidator() {
+        return spawnSafetyValidator;
+    }
+    
+    public SpawnDiscovery getSpawnDiscovery() {
+        return spawnDiscovery;
+    }
+    
+    public PlatformScheduler getPlatformScheduler() {
+        return platformScheduler;
+    }
+    
+    public WorkScheduler getWorkScheduler() {
+        return workScheduler;
+    }
+    
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,897 @@
+package com.nenf.edenbazaar.commands;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager;
+import com.nenf.edenbazaar.core.loot.LootContext;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+import com.nenf.edenbazaar.core.sim.LootSimulation;
+import com.nenf.edenbazaar.managers.LootGenerator;
+import com.nenf.edenbazaar.managers.RotationPlanner;
+import com.nenf.edenbazaar.managers.SpawnCatalog;
+import com.nenf.edenbazaar.managers.SpawnDiscovery;
+import com.nenf.edenbazaar.managers.SpawnSafetyValidator;
+import com.nenf.edenbazaar.models.LootItem;
+import com.nenf.edenbazaar.models.ShopItem;
+import com.nenf.edenbazaar.models.SpawnLocation;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Modern command executor with MiniMessage support and comprehensive validation.
+ */
+public class BazaarCommand implements CommandExecutor, TabCompleter {
+    
+    private final EdenBazaar plugin;
+    
+    // Valid command arguments for validation
+    private static final List<String> VALID_COMMANDS = List.of(
+        "spawn", "despawn", "setlocation", "additem", "reload", "info", "nearest", "validate", "discover", "stats", "preview", "lootcheck", "simulate", "help"
+    );
+    
+    private static final List<String> VALID_TIERS = List.of(
+        "common", "rare", "legendary", "epic", "mythic"
+    );
+    
+    // Define colors using MiniMessage color scheme
+    private static final TextColor PRIMARY_COLOR = TextColor.fromHexString("#9D4EDD");    // Purple
+    private static final TextColor ACCENT_COLOR = TextColor.fromHexString("#06FFA5");     // Cyan
+    private static final TextColor SUCCESS_COLOR = TextColor.fromHexString("#51CF66");    // Green
+    private static final TextColor ERROR_COLOR = TextColor.fromHexString("#FF6B6B");      // Red
+    private static final TextColor VALUE_COLOR = TextColor.fromHexString("#FFB3C6");      // Pink
+    private static final TextColor NEUTRAL_COLOR = TextColor.fromHexString("#ADB5BD");    // Gray
+    
+    // Items listed per tier by /bazaar lootcheck
+    private static final int LOOT_CHECK_ITEMS_PER_TIER = 10;
+    
+    // /bazaar simulate: most frequent items listed, and how much simulated buyers shy away from high prices
+    private static final int SIMULATION_ITEMS = 15;
+    private static final double SIMULATION_PRICE_SENSITIVITY = 0.5;
+    private static final String SIMULATION_TRACKED_TIER = "legendary";
+    
+    private final AtomicBoolean simulating = new AtomicBoolean();
+    
+    public BazaarCommand(EdenBazaar plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // Permission check
+        if (!sender.hasPermission("edenbazaar.admin")) {
+            Component message = plugin.getConfigManager().parseMessage(
+                plugin.getConfigManager().getMessage("no_permission")
+            );
+            sender.sendMessage(message);
+            return true;
+        }
+        
+        // Show help if no arguments
+        if (args.length == 0) {
+            sendHelp(sender);
+            return true;
+        }
+        
+        // Validate command argument
+        String subCommand = args[0].toLowerCase();
+        if (!VALID_COMMANDS.contains(subCommand)) {
+            Component errorMessage = Component.text("Unknown command: ", ERROR_COLOR)
+                .append(Component.text(args[0], VALUE_COLOR));
+            sender.sendMessage(errorMessage);
+            sendHelp(sender);
+            return true;
+        }
+        
+        // Handle command with proper error catching
+        try {
+            CommandResult result = switch (subCommand) {
+                case "spawn" -> handleSpawn(sender);
+                case "despawn" -> handleDespawn(sender);
+                case "setlocation" -> handleSetLocation(sender, args);
+                case "additem" -> handleAddItem(sender, args);
+                case "reload" -> handleReload(sender);
+                case "info" -> handleInfo(sender);
+                case "nearest" -> handleNearest(sender, args);
+                case "validate" -> handleValidate(sender, args);
+                case "discover" -> handleDiscover(sender, args);
+                case "stats" -> handleStats(sender, args);
+                case "preview" -> handlePreview(sender, args);
+                case "lootcheck" -> handleLootCheck(sender, args);
+                case "simulate" -> handleSimulate(sender, args);
+                case "help" -> { sendHelp(sender); yield CommandResult.ofSuccess(); }
+                default -> CommandResult.ofError("Unknown command: " + subCommand);
+            };
+            
+            if (!result.success()) {
+                Component errorMessage = Component.text(result.errorMessage(), ERROR_COLOR);
+                sender.sendMessage(errorMessage);
+            }
+        
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Error executing bazaar command", e);
+            Component errorMessage = Component.text("An internal error occurred while executing the command.", ERROR_COLOR);
+            sender.sendMessage(errorMessage);
+        }
+        
+        return true;
+    }
+    
+    private void sendHelp(CommandSender sender) {
+        sender.sendMessage(Component.text("=== EdenBazaar Commands ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        sender.sendMessage(Component.text("/bazaar spawn", ACCENT_COLOR).append(Component.text(" - Manually spawn the bazaar", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar despawn", ACCENT_COLOR).append(Component.text(" - Despawn the current bazaar", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar setlocation <name>", ACCENT_COLOR).append(Component.text(" - Add a spawn location", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar additem <tier> <material> <min> <max> [weight]", ACCENT_COLOR).append(Component.text(" - Add item to loot pool", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar reload", ACCENT_COLOR).append(Component.text(" - Reload configuration", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar info", ACCENT_COLOR).append(Component.text(" - Show current bazaar info", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar nearest [count]", ACCENT_COLOR).append(Component.text(" - List spawn locations closest to you", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar validate [spacing]", ACCENT_COLOR).append(Component.text(" - Check spawn locations for unsafe or crowded spots", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar discover <start|stop|status|apply|reset>", ACCENT_COLOR).append(Component.text(" - Scan the configured region for spawn locations", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar stats [reset]", ACCENT_COLOR).append(Component.text(" - Show timings of spawns, GUIs, purchases and economy calls", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar preview [count|at <rotation>]", ACCENT_COLOR).append(Component.text(" - Show upcoming rotations, or generate any rotation again", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar lootcheck [world]", ACCENT_COLOR).append(Component.text(" - Show which loot items their conditions allow right now", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar simulate [rotations] [buyers]", ACCENT_COLOR).append(Component.text(" - Simulate rotations and purchases with the live loot table", NEUTRAL_COLOR)));
+        sender.sendMessage(Component.text("/bazaar help", ACCENT_COLOR).append(Component.text(" - Show this help message", NEUTRAL_COLOR)));
+    }
+    
+    private CommandResult handleSpawn(CommandSender sender) {
+        if (plugin.getBazaarManager().isShopActive()) {
+            return CommandResult.ofError("Bazaar is already active!");
+        }
+        
+        // Shop state lives on the global tick; on Folia a player's command runs on their region
+        plugin.getPlatformScheduler().runGlobal(() -> plugin.getBazaarManager().spawnShop()
+            .whenComplete((success, error) -> {
+                if (error == null && success) {
+                    sender.sendMessage(Component.text("Bazaar spawned successfully!", SUCCESS_COLOR));
+                } else {
+                    sender.sendMessage(Component.text("Failed to spawn bazaar. Check console for details.", ERROR_COLOR));
+                }
+            }));
+        return CommandResult.ofSuccess();
+    }
+    
+    private CommandResult handleDespawn(CommandSender sender) {
+        if (!plugin.getBazaarManager().isShopActive()) {
+            return CommandResult.ofError("No active bazaar to despawn!");
+        }
+        
+        plugin.getPlatformScheduler().runGlobal(() -> {
+            plugin.getBazaarManager().despawnShop();
+            sender.sendMessage(Component.text("Bazaar despawned successfully!", SUCCESS_COLOR));
+        });
+        return CommandResult.ofSuccess();
+    }
+    
+    private CommandResult handleSetLocation(CommandSender sender, String[] args) {
+        // Validate sender is player
+        if (!(sender instanceof Player player)) {
+            return CommandResult.ofError("This command can only be used by players!");
+        }
+        
+        // Validate argument count
+        if (args.length < 2) {
+            return CommandResult.ofError("Usage: /bazaar setlocation <name>");
+        }
+        
+        // Validate location name
+        String locationName = args[1].trim();
+        if (locationName.isEmpty() || locationName.length() > 32) {
+            return CommandResult.ofError("Location name must be 1-32 characters long!");
+        }
+        
+        // Validate location name characters
+        if (!locationName.matches("^[a-zA-Z0-9_-]+$")) {
+            return CommandResult.ofError("Location name can only contain letters, numbers, underscores, and hyphens!");
+        }
+        
+        Location location = player.getLocation();
+        
+        // Validate world
+        if (location.getWorld() == null) {
+            return CommandResult.ofError("Invalid world!");
+        }
+        
+        plugin.getConfigManager().addSpawnLocation(locationName, location)
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to add location: " + locationName, error);
+                    sender.sendMessage(Component.text("Failed to save location. Check console for details.", ERROR_COLOR));
+                    return;
+                }
+                Component successMessage = Component.text("Location '", SUCCESS_COLOR)
+                    .append(Component.text(locationName, ACCENT_COLOR))
+                    .append(Component.text("' added successfully!", SUCCESS_COLOR));
+                sender.sendMessage(successMessage);
+            });
+        return CommandResult.ofSuccess();
+    }
+    
+    private CommandResult handleAddItem(CommandSender sender, String[] args) {
+        // Validate argument count
+        if (args.length < 5) {
+            return CommandResult.ofError("Usage: /bazaar additem <tier> <material> <min_price> <max_price> [weight]");
+        }
+        
+        // Validate tier
+        String tier = args[1].toLowerCase();
+        if (!VALID_TIERS.contains(tier)) {
+            return CommandResult.ofError("Invalid tier! Valid tiers: " + String.join(", ", VALID_TIERS));
+        }
+        
+        // Validate material
+        String materialName = args[2].toUpperCase();
+        Material material;
+        try {
+            material = Material.valueOf(materialName);
+        } catch (IllegalArgumentException e) {
+            return CommandResult.ofError("Invalid material: " + args[2]);
+        }
+        
+        // Validate material is an item
+        if (!material.isItem()) {
+            return CommandResult.ofError("Material " + material.name() + " is not a valid item!");
+        }
+        
+        // Validate price arguments
+        ValidationResult<Integer> minPriceResult = validateInteger(args[3], "minimum price", 1, 1_000_000);
+        if (!minPriceResult.isValid()) {
+            return CommandResult.ofError(minPriceResult.errorMessage());
+        }
+        
+        ValidationResult<Integer> maxPriceResult = validateInteger(args[4], "maximum price", 1, 1_000_000);
+        if (!maxPriceResult.isValid()) {
+            return CommandResult.ofError(maxPriceResult.errorMessage());
+        }
+        
+        int minPrice = minPriceResult.value();
+        int maxPrice = maxPriceResult.value();
+        
+        // Validate price relationship
+        if (minPrice > maxPrice) {
+            return CommandResult.ofError("Minimum price cannot be greater than maximum price!");
+        }
+        
+        // Validate weight (optional)
+        int weight = 1;
+        if (args.length > 5) {
+            ValidationResult<Integer> weightResult = validateInteger(args[5], "weight", 1, 1000);
+            if (!weightResult.isValid()) {
+                return CommandResult.ofError(weightResult.errorMessage());
+            }
+            weight = weightResult.value();
+        }
+        
+        try {
+            plugin.getConfigManager().addLootItem(tier, material, minPrice, maxPrice, weight)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        plugin.getLogger().log(Level.SEVERE, "Failed to add loot item", error);
+                        sender.sendMessage(Component.text("Failed to add item. Check console for details.", ERROR_COLOR));
+                        return;
+                    }
+                    Component successMessage = Component.text("Item ", SUCCESS_COLOR)
+                        .append(Component.text(material.name(), VALUE_COLOR))
+                        .append(Component.text(" added to tier '", SUCCESS_COLOR))
+                        .append(Component.text(tier, PRIMARY_COLOR))
+                        .append(Component.text("' successfully!", SUCCESS_COLOR));
+                    sender.sendMessage(successMessage);
+                });
+            return CommandResult.ofSuccess();
+        } catch (IllegalArgumentException e) {
+            return CommandResult.ofError("Invalid item: " + e.getMessage());
+        }
+    }
+    
+    private CommandResult handleReload(CommandSender sender) {
+        sender.sendMessage(Component.text("Reloading configuration...", NEUTRAL_COLOR));
+        plugin.getConfigManager().reloadAsync("/bazaar reload by " + sender.getName())
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to reload config", error);
+                    sender.sendMessage(Component.text("Failed to reload configuration. Check console for details.", ERROR_COLOR));
+                    return;
+                }
+                sendReloadResult(sender, result);
+            });
+        return CommandResult.ofSuccess();
+    }
+    
+    private void sendReloadResult(CommandSender sender, ConfigManager.ReloadResult result) {
+        if (!result.errors().isEmpty()) {
+            sender.sendMessage(Component.text("Configuration has " + result.errors().size()
+                + " errors, keeping the previous configuration:", ERROR_COLOR));
+            result.errors().stream().limit(10)
+                .forEach(error -> sender.sendMessage(Component.text("- " + error, NamedTextColor.WHITE)));
+            return;
+        }
+        
+        if (!result.applied()) {
+            sender.sendMessage(Component.text("Configuration reloaded, nothing changed.", SUCCESS_COLOR));
+            return;
+        }
+        
+        sender.sendMessage(Component.text("Configuration reloaded: " + result.diff().summary()
+            + " (" + result.parseMillis() + "ms)", SUCCESS_COLOR));
+        List<ConfigDiff.Change> changes = result.diff().changes();
+        int shown = Math.min(changes.size(), 10);
+        for (int i = 0; i < shown; i++) {
+            sender.sendMessage(Component.text(changes.get(i).toString(), NamedTextColor.WHITE));
+        }
+        if (changes.size() > shown) {
+            sender.sendMessage(Component.text("... and " + (changes.size() - shown) + " more", NEUTRAL_COLOR));
+        }
+        if (!result.warnings().isEmpty()) {
+            sender.sendMessage(Component.text(result.warnings().size() + " warnings, see console", NEUTRAL_COLOR));
+        }
+    }
+    
+    private CommandResult handleInfo(CommandSender sender) {
+        if (!plugin.getBazaarManager().isShopActive()) {
+            return CommandResult.ofError("No active bazaar!");
+        }
+        
+        var status = plugin.getBazaarManager().getShopStatus();
+        
+        sender.sendMessage(Component.text("=== Bazaar Information ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        sender.sendMessage(Component.text("Location: ", PRIMARY_COLOR).append(Component.text(status.locationName(), NamedTextColor.WHITE)));
+        
+        if (status.location() != null) {
+            sender.sendMessage(Component.text("Coordinates: ", PRIMARY_COLOR).append(Component.text(
+                String.format("%.1f, %.1f, %.1f", status.location().getX(), status.location().getY(), status.location().getZ()), 
+                NamedTextColor.WHITE)));
+            sender.sendMessage(Component.text("World: ", PRIMARY_COLOR).append(Component.text(status.location().getWorld().getName(), NamedTextColor.WHITE)));
+        }
+        
+        sender.sendMessage(Component.text("Items: ", PRIMARY_COLOR).append(Component.text(String.valueOf(status.itemCount()), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Rotation: ", PRIMARY_COLOR).append(Component.text("#" + status.rotation(), NamedTextColor.WHITE)));
+        
+        if (status.hasTimeLeft()) {
+            long minutes = status.timeLeftSeconds() / 60;
+            sender.sendMessage(Component.text("Time left: ", PRIMARY_COLOR).append(Component.text(minutes + " minutes", NamedTextColor.WHITE)));
+        }
+        
+        var broadcast = plugin.getBazaarManager().getLastBroadcastReport();
+        if (broadcast != null) {
+            sender.sendMessage(Component.text("Announcement: ", PRIMARY_COLOR).append(Component.text(
+                String.format("%d players over %d ticks, peak %.2fms/tick", broadcast.recipients(), broadcast.ticks(),
+                    broadcast.peakTickNanos() / 1_000_000.0), NamedTextColor.WHITE)));
+        }
+        
+        return CommandResult.ofSuccess();
+    }
+    
+    private CommandResult handleNearest(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            return CommandResult.ofError("This command can only be used by players!");
+        }
+        
+        int count = 5;
+        if (args.length > 1) {
+            ValidationResult<Integer> countResult = validateInteger(args[1], "count", 1, 50);
+            if (!countResult.isValid()) {
+                return CommandResult.ofError(countResult.errorMessage());
+            }
+            count = countResult.value();
+        }
+        
+        Location location = player.getLocation();
+        List<SpawnCatalog.Match> matches = plugin.getSpawnCatalog().nearest(
+            location.getWorld().getName(), location.getX(), location.getY(), location.getZ(), count);
+        
+        if (matches.isEmpty()) {
+            return CommandResult.ofError("No spawn locations in this world!");
+        }
+        
+        sender.sendMessage(Component.text("=== Nearest Spawn Locations ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        for (int i = 0; i < matches.size(); i++) {
+            SpawnCatalog.Match match = matches.get(i);
+            SpawnLocation spawnLocation = match.location();
+            sender.sendMessage(Component.text((i + 1) + ". ", NEUTRAL_COLOR)
+                .append(Component.text(spawnLocation.getName(), ACCENT_COLOR))
+                .append(Component.text(String.format(" %.1f blocks", match.distance()), NamedTextColor.WHITE))
+                .append(Component.text(String.format(" (%d, %d, %d) weight %.2f",
+                    spawnLocation.getBlockX(), spawnLocation.getBlockY(), spawnLocation.getBlockZ(),
+                    spawnLocation.getWeight()), NEUTRAL_COLOR)));
+        }
+        
+        return CommandResult.ofSuccess();
+    }
+    
+    private CommandResult handleValidate(CommandSender sender, String[] args) {
+        int minSpacing = 8;
+        if (args.length > 1) {
+            ValidationResult<Integer> spacingResult = validateInteger(args[1], "spacing", 1, 512);
+            if (!spacingResult.isValid()) {
+                return CommandResult.ofError(spacingResult.errorMessage());
+            }
+            minSpacing = spacingResult.value();
+        }
+        
+        SpawnCatalog catalog = plugin.getSpawnCatalog();
+        List<SpawnLocation> locations = catalog.getLocations();
+        Map<SpawnLocation, Integer> indices = new IdentityHashMap<>();
+        for (int i = 0; i < locations.size(); i++) {
+            indices.put(locations.get(i), i);
+        }
+        
+        SpawnSafetyValidator safetyValidator = plugin.getSpawnSafetyValidator();
+        List<String> issues = new ArrayList<>();
+        int unchecked = 0;
+        for (int i = 0; i < locations.size(); i++) {
+            SpawnLocation spawnLocation = locations.get(i);
+            org.bukkit.World world = catalog.getWorld(spawnLocation);
+            
+            if (world == null) {
+                issues.add(spawnLocation.getName() + ": world '" + spawnLocation.getWorldName() + "' is not loaded");
+            } else if (spawnLocation.getY() < world.getMinHeight() || spawnLocation.getY() >= world.getMaxHeight()) {
+                issues.add(spawnLocation.getName() + ": y=" + spawnLocation.getBlockY() + " is outside the world height");
+            } else {
+                SpawnSafetyValidator.SafetyResult safety = safetyValidator.getCached(spawnLocation);
+                if (safety == null) {
+                    unchecked++;
+                } else if (safety.status() == SpawnSafetyValidator.Status.UNSAFE) {
+                    issues.add(spawnLocation.getName() + ": unsafe, " + safety.reason());
+                } else if (safety.status() == SpawnSafetyValidator.Status.NUDGED) {
+                    issues.add(String.format("%s: %s, will be moved to %.1f, %.1f, %.1f",
+                        spawnLocation.getName(), safety.reason(), safety.x(), safety.y(), safety.z()));
+                }
+            }
+            
+            if (spawnLocation.getWeight() == 0) {
+                issues.add(spawnLocation.getName() + ": weight is 0, it will never be picked");
+            }
+            
+            // Report each crowded pair once, from the lower index
+            for (SpawnCatalog.Match match : catalog.withinRadius(spawnLocation.getWorldName(),
+                    spawnLocation.getX(), spawnLocation.getY(), spawnLocation.getZ(), minSpacing)) {
+                if (indices.get(match.location()) > i) {
+                    issues.add(String.format("%s and %s are only %.1f blocks apart",
+                        spawnLocation.getName(), match.location().getName(), match.distance()));
+                }
+            }
+        }
+        
+        Component summary = Component.text("Validated ", NEUTRAL_COLOR)
+            .append(Component.text(locations.size(), VALUE_COLOR))
+            .append(Component.text(" spawn locations: ", NEUTRAL_COLOR))
+            .append(Component.text(issues.size() + " issues", issues.isEmpty() ? SUCCESS_COLOR : ERROR_COLOR));
+        sender.sendMessage(summary);
+        
+        int shown = Math.min(issues.size(), 15);
+        for (int i = 0; i < shown; i++) {
+            sender.sendMessage(Component.text("- " + issues.get(i), NamedTextColor.WHITE));
+        }
+        if (issues.size() > shown) {
+            sender.sendMessage(Component.text("... and " + (issues.size() - shown) + " more", NEUTRAL_COLOR));
+        }
+        
+        // Check anything not yet covered by the background validator
+        if (unchecked > 0 && plugin.getConfigManager().getConfigSnapshot().safety().enabled()) {
+            sender.sendMessage(Component.text(unchecked + " locations have not been safety-checked yet, checking now. Run this command again shortly.", NEUTRAL_COLOR));
+            safetyValidator.validateAll(false);
+        }
+        
+        return CommandResult.ofSuccess();
+    }
+    
+    private CommandResult handleDiscover(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            return CommandResult.ofError("Usage: /bazaar discover <start|stop|status|apply|reset>");
+        }
+        
+        SpawnDiscovery discovery = plugin.getSpawnDiscovery();
+        switch (args[1].toLowerCase()) {
+            case "start" -> {
+                String error = discovery.start();
+                if (error != null) {
+                    return CommandResult.ofError(error);
+                }
+                sender.sendMessage(Component.text("Spawn discovery started. Use /bazaar discover status to follow it.", SUCCESS_COLOR));
+            }
+            case "stop" -> {
+                if (!discovery.isRunning()) {
+                    return CommandResult.ofError("Discovery is not running!");
+                }
+                discovery.stop();
+                sender.sendMessage(Component.text("Spawn discovery paused, progress saved.", SUCCESS_COLOR));
+            }
+            case "status" -> sendDiscoveryStatus(sender, discovery.getProgress());
+            case "apply" -> {
+                int written = discovery.apply();
+                if (written == 0) {
+                    return CommandResult.ofError("No candidates that are far enough from existing spawn locations!");
+                }
+                sender.sendMessage(Component.text("Added " + written + " discovered spawn locations.", SUCCESS_COLOR));
+            }
+            case "reset" -> {
+                discovery.reset();
+                sender.sendMessage(Component.text("Spawn discovery progress cleared.", SUCCESS_COLOR));
+            }
+            default -> {
+                return CommandResult.ofError("Usage: /bazaar discover <start|stop|status|apply|reset>");
+            }
+        }
+        return CommandResult.ofSuccess();
+    }
+    
+    private void sendDiscoveryStatus(CommandSender sender, SpawnDiscovery.Progress progress) {
+        String state = progress.running() ? "running" : progress.finished() ? "finished" : progress.processed() > 0 ? "paused" : "idle";
+        
+        sender.sendMessage(Component.text("=== Spawn Discovery ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        sender.sendMessage(Component.text("State: ", PRIMARY_COLOR).append(Component.text(state + " in " + progress.world(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Chunks: ", PRIMARY_COLOR).append(Component.text(String.format("%d / %d (%.1f%%), %d not generated, %d failed",
+            progress.processed(), progress.total(), progress.percent(), progress.skipped(), progress.failed()), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Candidates: ", PRIMARY_COLOR).append(Component.text(String.format("%d, best score %.2f",
+            progress.candidates(), progress.bestScore()), NamedTextColor.WHITE)));
+        
+        String timing = String.format("%ds elapsed, peak tick %.2fms", progress.elapsedMillis() / 1000, progress.peakTickMillis());
+        if (progress.running() && progress.etaMillis() >= 0) {
+            timing += ", about " + (progress.etaMillis() / 1000) + "s left";
+        }
+        sender.sendMessage(Component.text("Time: ", PRIMARY_COLOR).append(Component.text(timing, NamedTextColor.WHITE)));
+    }
+    
+    private CommandResult handleStats(CommandSender sender, String[] args) {
+        if (args.length >= 2) {
+            if (!args[1].equalsIgnoreCase("reset")) {
+                return CommandResult.ofError("Usage: /bazaar stats [reset]");
+            }
+            plugin.getMetrics().reset();
+            sender.sendMessage(Component.text("Bazaar statistics reset.", SUCCESS_COLOR));
+            return CommandResult.ofSuccess();
+        }
+        
+        MetricsRegistry.Snapshot snapshot = plugin.getMetrics().snapshot();
+        sender.sendMessage(Component.text("=== Bazaar Stats ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        
+        sender.sendMessage(Component.text("Timings (count, p50 / p99 / max):", PRIMARY_COLOR));
+        boolean anyTimings = false;
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : snapshot.histograms().entrySet()) {
+            LatencyHistogram.Snapshot timing = entry.getValue();
+            if (timing.count() == 0) {
+                continue;
+            }
+            anyTimings = true;
+            sender.sendMessage(Component.text("  " + entry.getKey() + ": ", NEUTRAL_COLOR)
+                .append(Component.text(timing.count() + ", " + formatNanos(timing.p50()) + " / "
+                    + formatNanos(timing.p99()) + " / " + formatNanos(timing.max()), NamedTextColor.WHITE)));
+        }
+        if (!anyTimings) {
+            sender.sendMessage(Component.text("  Nothing recorded yet", NEUTRAL_COLOR));
+        }
+        
+        StringBuilder counters = new StringBuilder();
+        snapshot.counters().forEach((name, count) -> {
+            if (count > 0) {
+                counters.append(counters.isEmpty() ? "" : ", ").append(name).append('=').append(count);
+            }
+        });
+        if (!counters.isEmpty()) {
+            sender.sendMessage(Component.text("Counters: ", PRIMARY_COLOR).append(Component.text(counters.toString(), NamedTextColor.WHITE)));
+        }
+        
+        StringBuilder gauges = new StringBuilder();
+        snapshot.gauges().forEach((name, value) ->
+            gauges.append(gauges.isEmpty() ? "" : ", ").append(name).append('=').append(value));
+        if (!gauges.isEmpty()) {
+            sender.sendMessage(Component.text("Gauges: ", PRIMARY_COLOR).append(Component.text(gauges.toString(), NamedTextColor.WHITE)));
+        }
+        
+        return CommandResult.ofSuccess();
+    }
+    
+    private CommandResult handlePreview(CommandSender sender, String[] args) {
+        RotationPlanner planner = plugin.getRotationPlanner();
+        
+        // Any rotation can be generated again from its number, e.g. to check what a past bazaar sold
+        if (args.length >= 2 && args[1].equalsIgnoreCase("at")) {
+            if (args.length < 3) {
+                return CommandResult.ofError("Usage: /bazaar preview at <rotation>");
+            }
+            long number;
+            try {
+                number = Long.parseLong(args[2]);
+            } catch (NumberFormatException e) {
+                return CommandResult.ofError("Invalid rotation: must be a valid number");
+            }
+            if (number < 1) {
+                return CommandResult.ofError("Invalid rotation: must be at least 1");
+            }
+            plugin.getPlatformScheduler().runGlobal(() -> planner.reproduce(number)
+                .whenComplete((rotation, error) -> sendRotations(sender, rotation != null ? List.of(rotation) : null, error)));
+            return CommandResult.ofSuccess();
+        }
+        
+        int count = 3;
+        if (args.length > 1) {
+            ValidationResult<Integer> countResult = validateInteger(args[1], "count", 1, 10);
+            if (!countResult.isValid()) {
+                return CommandResult.ofError(countResult.errorMessage());
+            }
+            count = countResult.value();
+        }
+        
+        // The planner lives on the global tick; the preview completes on its worker
+        int previewCount = count;
+        plugin.getPlatformScheduler().runGlobal(() -> planner.preview(previewCount)
+            .whenComplete((rotations, error) -> sendRotations(sender, rotations, error)));
+        return CommandResult.ofSuccess();
+    }
+    
+    private void sendRotations(CommandSender sender, List<RotationPlanner.Rotation> rotations, Throwable error) {
+        if (error != null) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to generate rotations", error);
+            sender.sendMessage(Component.text("Failed to generate rotations. Check console for details.", ERROR_COLOR));
+            return;
+        }
+        
+        String currency = plugin.getConfigManager().getConfigSnapshot().currencySymbol();
+        sender.sendMessage(Component.text("=== Bazaar Rotations ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        for (RotationPlanner.Rotation rotation : rotations) {
+            sender.sendMessage(Component.text("#" + rotation.number(), ACCENT_COLOR)
+                .append(Component.text(" seed " + Long.toHexString(rotation.seed()), NEUTRAL_COLOR)));
+            for (ShopItem item : rotation.items()) {
+                sender.sendMessage(Component.text("  " + item.getItemStack().getType().name(), NamedTextColor.WHITE)
+                    .append(Component.text(" [" + item.getTier() + "] ", VALUE_COLOR))
+                    .append(Component.text(currency + String.format("%.0f", item.getPrice()), NEUTRAL_COLOR)));
+            }
+        }
+    }
+    
+    private CommandResult handleLootCheck(CommandSender sender, String[] args) {
+        World world;
+        if (args.length > 1) {
+            world = Bukkit.getWorld(args[1]);
+            if (world == null) {
+                return CommandResult.ofError("Unknown world: " + args[1]);
+            }
+        } else if (sender instanceof Player player) {
+            world = player.getWorld();
+        } else {
+            List<World> worlds = Bukkit.getWorlds();
+            if (worlds.isEmpty()) {
+                return CommandResult.ofError("No worlds are loaded");
+            }
+            world = worlds.getFirst();
+        }
+        
+        // World time and the online count are read on the global tick
+        LootGenerator loot = plugin.getLootGenerator();
+        plugin.getPlatformScheduler().runGlobal(() -> sendLootCheck(sender, loot.check(loot.contextFor(world))));
+        return CommandResult.ofSuccess();
+    }
+    
+    private void sendLootCheck(CommandSender sender, LootGenerator.LootCheck check) {
+        LootContext context = check.context();
+        sender.sendMessage(Component.text("=== Bazaar Loot Check ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        sender.sendMessage(Component.text("Context: ", PRIMARY_COLOR).append(Component.text(String.format("%s, %s, %d players, %s, events %s",
+            context.world(), context.night() ? "night" : "day", context.onlinePlayers(),
+            context.day().name().toLowerCase(), context.events().isEmpty() ? "none" : String.join(", ", context.events())), NamedTextColor.WHITE)));
+        
+        if (check.conditions().isEmpty()) {
+            sender.sendMessage(Component.text("Conditions: ", PRIMARY_COLOR).append(Component.text("none, every item is always offered", NEUTRAL_COLOR)));
+        } else {
+            sender.sendMessage(Component.text("Conditions:", PRIMARY_COLOR));
+            check.conditions().forEach((condition, met) -> sender.sendMessage(
+                Component.text(met ? "  ✔ " : "  ✘ ", met ? SUCCESS_COLOR : ERROR_COLOR)
+                    .append(Component.text(condition.describe(), NamedTextColor.WHITE))));
+        }
+        
+        int active = check.items().values().stream().mapToInt(List::size).sum();
+        long totalWeight = check.items().values().stream().flatMap(List::stream).mapToLong(LootItem::weight).sum();
+        sender.sendMessage(Component.text("Active items: ", PRIMARY_COLOR)
+            .append(Component.text(active + " of " + check.poolSize(), NamedTextColor.WHITE)));
+        check.items().forEach((tier, items) -> {
+            long tierWeight = items.stream().mapToLong(LootItem::weight).sum();
+            sender.sendMessage(Component.text("  " + tier, VALUE_COLOR)
+                .append(Component.text(String.format(" %d items, %.1f%% of weight", items.size(), 100.0 * tierWeight / totalWeight), NEUTRAL_COLOR)));
+            for (int i = 0; i < Math.min(items.size(), LOOT_CHECK_ITEMS_PER_TIER); i++) {
+                LootItem item = items.get(i);
+                sender.sendMessage(Component.text("    " + item.material().name(), NamedTextColor.WHITE)
+                    .append(Component.text(" weight " + item.weight() + (item.conditions().isEmpty() ? "" : ", conditional"), NEUTRAL_COLOR)));
+            }
+            if (items.size() > LOOT_CHECK_ITEMS_PER_TIER) {
+                sender.sendMessage(Component.text("    ... and " + (items.size() - LOOT_CHECK_ITEMS_PER_TIER) + " more", NEUTRAL_COLOR));
+            }
+        });
+    }
+    
+    private CommandResult handleSimulate(CommandSender sender, String[] args) {
+        int rotations = 1_000_000;
+        if (args.length > 1) {
+            ValidationResult<Integer> rotationsResult = validateInteger(args[1], "rotations", 1, 100_000_000);
+            if (!rotationsResult.isValid()) {
+                return CommandResult.ofError(rotationsResult.errorMessage());
+            }
+            rotations = rotationsResult.value();
+        }
+        double units = 0;
+        if (args.length > 2) {
+            try {
+                units = Double.parseDouble(args[2]);
+            } catch (NumberFormatException e) {
+                return CommandResult.ofError("Invalid buyers: must be a valid number");
+            }
+            if (!(units >= 0 && units <= 1000)) {
+                return CommandResult.ofError("Invalid buyers: must be between 0 and 1000 units per offer");
+            }
+        }
+        World world = sender instanceof Player player ? player.getWorld() : Bukkit.getWorlds().stream().findFirst().orElse(null);
+        if (world == null) {
+            return CommandResult.ofError("No worlds are loaded");
+        }
+        if (!simulating.compareAndSet(false, true)) {
+            return CommandResult.ofError("A simulation is already running");
+        }
+        
+        // The context and seed are read on the global tick, then the run gets a thread of its own so no pool is blocked
+        LootGenerator loot = plugin.getLootGenerator();
+        long total = rotations;
+        LootSimulation.Buyers buyers = new LootSimulation.Buyers(units, SIMULATION_PRICE_SENSITIVITY);
+        sender.sendMessage(Component.text("Simulating " + String.format("%,d", total) + " rotations...", NEUTRAL_COLOR));
+        plugin.getPlatformScheduler().runGlobal(() -> {
+            LootContext context = loot.contextFor(world);
+            long serverSeed = plugin.getRotationPlanner().getServerSeed();
+            Thread.ofPlatform().daemon().name("EdenBazaar-Simulation").start(() -> {
+                try {
+                    sendSimulation(sender, loot.simulate(context, serverSeed, total, SIMULATION_TRACKED_TIER, buyers));
+                } catch (Exception e) {
+                    plugin.getLogger().log(Level.SEVERE, "Loot simulation failed", e);
+                    sender.sendMessage(Component.text("Simulation failed: " + e.getMessage(), ERROR_COLOR));
+                } finally {
+                    simulating.set(false);
+                }
+            });
+        });
+        return CommandResult.ofSuccess();
+    }
+    
+    private void sendSimulation(CommandSender sender, LootSimulation.Report report) {
+        String currency = plugin.getConfigManager().getConfigSnapshot().currencySymbol();
+        sender.sendMessage(Component.text("=== Bazaar Simulation ===", PRIMARY_COLOR).decorate(net.kyori.adventure.text.format.TextDecoration.BOLD));
+        sender.sendMessage(Component.text("Run: ", PRIMARY_COLOR).append(Component.text(String.format("%,d rotations in %.2fs on %d threads",
+            report.settings().rotations(), report.elapsedNanos() / 1e9, report.settings().parallelism()), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Per rotation: ", PRIMARY_COLOR).append(Component.text(String.format("%.2f items, listed %s%.0f",
+            report.itemsPerRotation(), currency, report.listedValuePerRotation()), NamedTextColor.WHITE)));
+        if (report.settings().buyers().unitsPerOffer() > 0) {
+            sender.sendMessage(Component.text("Revenue: ", PRIMARY_COLOR).append(Component.text(String.format("%s%.1f per rotation (sd %.1f), %.2f units, sink %s%.1f/h",
+                currency, report.revenuePerRotation(), report.revenueStdDev(), report.unitsPerRotation(), currency, report.sinkPerHour()), NamedTextColor.WHITE)));
+        }
+        LootSimulation.Droughts droughts = report.droughts();
+        sender.sendMessage(Component.text("Droughts (" + droughts.tier() + "): ", PRIMARY_COLOR).append(Component.text(String.format(
+            "mean %.1f, p50 %d, p90 %d, p99 %d, longest %d rotations", droughts.mean(), droughts.p50(), droughts.p90(), droughts.p99(), droughts.longest()),
+            NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Most offered:", PRIMARY_COLOR));
+        for (int i = 0; i < Math.min(SIMULATION_ITEMS, report.items().size()); i++) {
+            LootSimulation.ItemFrequency item = report.items().get(i);
+            sender.sendMessage(Component.text("  " + item.name(), NamedTextColor.WHITE)
+                .append(Component.text(" [" + item.tier() + "] ", VALUE_COLOR))
+                .append(Component.text(String.format("%.2f%% of rotations", 100 * item.perRotation()), NEUTRAL_COLOR)));
+        }
+    }
+    
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+    
+    /**
+     * Validates an integer argument with bounds checking.
+     */
+    private ValidationResult<Integer> validateInteger(String input, String fieldName, int min, int max) {
+        try {
+            int value = Integer.parseInt(input);
+            if (value < min || value > max) {
+                return ValidationResult.ofError("Invalid " + fieldName + ": must be between " + min + " and " + max);
+            }
+            return ValidationResult.ofSuccess(value);
+        } catch (NumberFormatException e) {
+            return ValidationResult.ofError("Invalid " + fieldName + ": must be a valid number");
+        }
+    }
+    
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (!sender.hasPermission("edenbazaar.admin")) {
+            return List.of();
+        }
+        
+        List<String> completions = new ArrayList<>();
+        
+        switch (args.length) {
+            case 1 -> completions.addAll(VALID_COMMANDS);
+            case 2 -> {
+                if ("additem".equalsIgnoreCase(args[0])) {
+                    completions.addAll(VALID_TIERS);
+                } else if ("nearest".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("1", "5", "10", "25"));
+                } else if ("validate".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("4", "8", "16", "32"));
+                } else if ("discover".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("start", "stop", "status", "apply", "reset"));
+                } else if ("stats".equalsIgnoreCase(args[0])) {
+                    completions.add("reset");
+                } else if ("preview".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("1", "3", "5", "10", "at"));
+                } else if ("lootcheck".equalsIgnoreCase(args[0])) {
+                    Bukkit.getWorlds().forEach(world -> completions.add(world.getName()));
+                } else if ("simulate".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("100000", "1000000", "10000000"));
+                }
+            }
+            case 3 -> {
+                if ("additem".equalsIgnoreCase(args[0])) {
+                    // Add common materials
+                    completions.addAll(List.of("DIAMOND", "EMERALD", "IRON_INGOT", "GOLD_INGOT", "ENCHANTED_BOOK", "NETHERITE_INGOT"));
+                } else if ("simulate".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("0", "0.5", "1", "2"));
+                }
+            }
+            case 4, 5 -> {
+                if ("additem".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("1", "10", "100", "1000"));
+                }
+            }
+            case 6 -> {
+                if ("additem".equalsIgnoreCase(args[0])) {
+                    completions.addAll(List.of("1", "5", "10", "25", "50"));
+                }
+            }
+        }
+        
+        // Filter completions based on current input
+        String currentArg = args[args.length - 1].toLowerCase();
+        return completions.stream()
+            .filter(completion -> completion.toLowerCase().startsWith(currentArg))
+            .toList();
+    }
+    
+    /**
+     * Command execution result record.
+     */
+    private record CommandResult(boolean success, String errorMessage) {
+        
+        static CommandResult ofSuccess() {
+            return new CommandResult(true, null);
+        }
+        
+        static CommandResult ofError(String message) {
+            return new CommandResult(false, message);
+        }
+    }
+    
+    /**
+     * Generic validation result record.
+     */
+    private record ValidationResult<T>(boolean isValid, T value, String errorMessage) {
+        
+        static <T> ValidationResult<T> ofSuccess(T value) {
+            return new ValidationResult<>(true, value, null);
+        }
+        
+        static <T> ValidationResult<T> ofError(String message) {
+            return new ValidationResult<>(false, null, message);
+        }
+    }
+}
\ No newline at end of file
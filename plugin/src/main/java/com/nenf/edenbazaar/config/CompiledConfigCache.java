@@ -0,0 +1,389 @@
+package com.nenf.edenbazaar.config;
+
+import com.nenf.edenbazaar.core.loot.LootCondition;
+import com.nenf.edenbazaar.models.LootItem;
+import com.nenf.edenbazaar.models.SpawnLocation;
+import org.bukkit.Material;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of validated config sections keyed by the SHA-256 of their source file.
+ * Unchanged files are decoded from a compact binary image instead of being parsed as YAML,
+ * and within one server run they are not decoded again at all, so an unchanged file yields
+ * the very same objects on every reload.
+ * Not thread-safe; callers serialize access (ConfigManager holds its config lock).
+ */
+public class CompiledConfigCache {
+    
+    // Bump when a codec or a parser changes what it produces
+    private static final int FORMAT_VERSION = 2;
+    private static final int MAGIC = 0x45424343; // "EBCC"
+    
+    private final File imageFile;
+    private final Logger logger;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean loaded;
+    private boolean dirty;
+    private int hits;
+    private int misses;
+    
+    /**
+     * Parses a YAML file into a value, reporting problems the same way as the other ConfigManager loaders.
+     */
+    @FunctionalInterface
+    public interface Parser<T> {
+        T parse(FileConfiguration config, List<String> errors, List<String> warnings);
+    }
+    
+    /**
+     * Binary form of a parsed value.
+     */
+    public interface Codec<T> {
+        void write(DataOutputStream out, T value) throws IOException;
+        
+        T read(DataInputStream in) throws IOException;
+    }
+    
+    /**
+     * A parsed or decoded value with the validation messages produced when it was parsed.
+     */
+    public record Compiled<T>(T value, List<String> errors, List<String> warnings) {}
+    
+    private static final class Entry {
+        final byte[] hash;
+        final byte[] payload;
+        final List<String> errors;
+        final List<String> warnings;
+        Object value;
+        
+        Entry(byte[] hash, byte[] payload, List<String> errors, List<String> warnings, Object value) {
+            this.hash = hash;
+            this.payload = payload;
+            this.errors = errors;
+            this.warnings = warnings;
+            this.value = value;
+        }
+    }
+    
+    public CompiledConfigCache(File imageFile, Logger logger) {
+        this.imageFile = imageFile;
+        this.logger = logger;
+    }
+    
+    /**
+     * Gets the compiled form of a file, parsing it only if its content changed since it was last compiled.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Compiled<T> load(File file, Codec<T> codec, Parser<T> parser) {
+        loadImage();
+        
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            return new Compiled<>(parser.parse(new YamlConfiguration(), new ArrayList<>(), new ArrayList<>()),
+                List.of("Could not read " + file.getName() + ": " + e.getMessage()), List.of());
+        }
+        byte[] hash = sha256(content);
+        
+        Entry entry = entries.get(file.getName());
+        if (entry != null && Arrays.equals(entry.hash, hash)) {
+            if (entry.value == null) {
+                try {
+                    entry.value = codec.read(new DataInputStream(new ByteArrayInputStream(entry.payload)));
+                } catch (IOException | IllegalArgumentException e) {
+                    // E.g. a material that no longer exists after a server update
+                    logger.log(Level.FINE, "Discarding compiled " + file.getName(), e);
+                    entry = null;
+                }
+            }
+            if (entry != null) {
+                hits++;
+                return new Compiled<>((T) entry.value, entry.errors, entry.warnings);
+            }
+        }
+        
+        misses++;
+        List<String> errors = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(new String(content, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            errors.add("Invalid YAML in " + file.getName() + ": " + e.getMessage());
+        }
+        T value = parser.parse(yaml, errors, warnings);
+        
+        byte[] payload;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            codec.write(new DataOutputStream(bytes), value);
+            payload = bytes.toByteArray();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not compile " + file.getName(), e);
+            return new Compiled<>(value, List.copyOf(errors), List.copyOf(warnings));
+        }
+        
+        entries.put(file.getName(), new Entry(hash, payload, List.copyOf(errors), List.copyOf(warnings), value));
+        dirty = true;
+        return new Compiled<>(value, List.copyOf(errors), List.copyOf(warnings));
+    }
+    
+    /**
+     * Writes the image if anything was recompiled since it was last written.
+     */
+    public void save() {
+        if (!dirty) {
+            return;
+        }
+        
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                out.writeUTF(mapEntry.getKey());
+                out.write(entry.hash);
+                writeStrings(out, entry.errors);
+                writeStrings(out, entry.warnings);
+                out.writeInt(entry.payload.length);
+                out.write(entry.payload);
+            }
+            out.flush();
+            
+            File parent = imageFile.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Could not create " + parent);
+            }
+            File temp = new File(parent, imageFile.getName() + ".tmp");
+            Files.write(temp.toPath(), bytes.toByteArray());
+            Files.move(temp.toPath(), imageFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not write compiled config cache", e);
+        }
+    }
+    
+    /**
+     * Returns and resets the number of files served from and compiled into the cache since the last call.
+     */
+    public int[] drainStats() {
+        int[] stats = {hits, misses};
+        hits = 0;
+        misses = 0;
+        return stats;
+    }
+    
+    private void loadImage() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!imageFile.exists()) {
+            return;
+        }
+        
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(imageFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.fine("Compiled config cache has an old format, rebuilding it");
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte[] hash = in.readNBytes(32);
+                List<String> errors = readStrings(in);
+                List<String> warnings = readStrings(in);
+                byte[] payload = in.readNBytes(in.readInt());
+                entries.put(name, new Entry(hash, payload, errors, warnings, null));
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Compiled config cache is unreadable, rebuilding it", e);
+            entries.clear();
+        }
+    }
+    
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static void writeCondition(DataOutputStream out, LootCondition condition) throws IOException {
+        switch (condition) {
+            case LootCondition.InWorld world -> {
+                out.writeByte(0);
+                writeStrings(out, List.copyOf(world.worlds()));
+            }
+            case LootCondition.AtTime time -> {
+                out.writeByte(1);
+                out.writeBoolean(time.night());
+            }
+            case LootCondition.OnlinePlayers players -> {
+                out.writeByte(2);
+                out.writeInt(players.min());
+                out.writeInt(players.max());
+            }
+            case LootCondition.OnDays days -> {
+                out.writeByte(3);
+                writeStrings(out, days.days().stream().map(DayOfWeek::name).toList());
+            }
+            case LootCondition.DuringEvent event -> {
+                out.writeByte(4);
+                writeStrings(out, List.copyOf(event.events()));
+            }
+        }
+    }
+    
+    private static LootCondition readCondition(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case 0 -> new LootCondition.InWorld(Set.copyOf(readStrings(in)));
+            case 1 -> new LootCondition.AtTime(in.readBoolean());
+            case 2 -> new LootCondition.OnlinePlayers(in.readInt(), in.readInt());
+            case 3 -> new LootCondition.OnDays(readStrings(in).stream().map(DayOfWeek::valueOf).collect(Collectors.toSet()));
+            case 4 -> new LootCondition.DuringEvent(Set.copyOf(readStrings(in)));
+            default -> throw new IOException("Unknown loot condition type");
+        };
+    }
+    
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(in.readUTF());
+        }
+        return List.copyOf(values);
+    }
+    
+    public static final Codec<List<SpawnLocation>> SPAWN_LOCATIONS = new Codec<>() {
+        @Override
+        public void write(DataOutputStream out, List<SpawnLocation> locations) throws IOException {
+            out.writeInt(locations.size());
+            for (SpawnLocation location : locations) {
+                out.writeUTF(location.getWorldName());
+                out.writeDouble(location.getX());
+                out.writeDouble(location.getY());
+                out.writeDouble(location.getZ());
+                out.writeFloat(location.getYaw());
+                out.writeFloat(location.getPitch());
+                out.writeUTF(location.getName());
+                out.writeDouble(location.getWeight());
+            }
+        }
+        
+        @Override
+        public List<SpawnLocation> read(DataInputStream in) throws IOException {
+            int count = in.readInt();
+            List<SpawnLocation> locations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                locations.add(new SpawnLocation(in.readUTF(), in.readDouble(), in.readDouble(), in.readDouble(),
+                    in.readFloat(), in.readFloat(), in.readUTF(), in.readDouble()));
+            }
+            return List.copyOf(locations);
+        }
+    };
+    
+    public static final Codec<Map<String, List<LootItem>>> LOOT_POOLS = new Codec<>() {
+        @Override
+        public void write(DataOutputStream out, Map<String, List<LootItem>> pools) throws IOException {
+            out.writeInt(pools.size());
+            for (Map.Entry<String, List<LootItem>> pool : pools.entrySet()) {
+                out.writeUTF(pool.getKey());
+                out.writeInt(pool.getValue().size());
+                for (LootItem item : pool.getValue()) {
+                    out.writeUTF(item.material().name());
+                    out.writeInt(item.minPrice());
+                    out.writeInt(item.maxPrice());
+                    out.writeInt(item.weight());
+                    out.writeInt(item.conditions().size());
+                    for (LootCondition condition : item.conditions()) {
+                        writeCondition(out, condition);
+                    }
+                }
+            }
+        }
+        
+        @Override
+        public Map<String, List<LootItem>> read(DataInputStream in) throws IOException {
+            int tiers = in.readInt();
+            Map<String, List<LootItem>> pools = new LinkedHashMap<>();
+            for (int i = 0; i < tiers; i++) {
+                String tier = in.readUTF();
+                int count = in.readInt();
+                List<LootItem> items = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    Material material = Material.valueOf(in.readUTF());
+                    int minPrice = in.readInt();
+                    int maxPrice = in.readInt();
+                    int weight = in.readInt();
+                    int conditionCount = in.readInt();
+                    List<LootCondition> conditions = new ArrayList<>(conditionCount);
+                    for (int k = 0; k < conditionCount; k++) {
+                        conditions.add(readCondition(in));
+                    }
+                    items.add(new LootItem(material, minPrice, maxPrice, weight, conditions));
+                }
+                pools.put(tier, List.copyOf(items));
+            }
+            return Map.copyOf(pools);
+        }
+    };
+    
+    public static final Codec<Map<String, String>> MESSAGES = new Codec<>() {
+        @Override
+        public void write(DataOutputStream out, Map<String, String> messages) throws IOException {
+            out.writeInt(messages.size());
+            for (Map.Entry<String, String> message : messages.entrySet()) {
+                out.writeUTF(message.getKey());
+                out.writeUTF(message.getValue());
+            }
+        }
+        
+        @Override
+        public Map<String, String> read(DataInputStream in) throws IOException {
+            int count = in.readInt();
+            Map<String, String> messages = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                messages.put(in.readUTF(), in.readUTF());
+            }
+            return Map.copyOf(messages);
+        }
+    };
+}
\ No newline at end of file
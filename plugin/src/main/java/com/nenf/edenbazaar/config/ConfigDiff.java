@@ -0,0 +1,192 @@
+package com.nenf.edenbazaar.config;
+
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData;
+import com.nenf.edenbazaar.models.LootItem;
+import com.nenf.edenbazaar.models.SpawnLocation;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Structured difference between two configuration snapshots.
+ * Settings are compared per record component, locations by name, loot items per tier and material,
+ * and messages by key.
+ */
+public record ConfigDiff(List<Change> changes) {
+    
+    public static final ConfigDiff EMPTY = new ConfigDiff(List.of());
+    
+    // Collections that are diffed entry by entry instead of as a single setting
+    private static final Set<String> COLLECTIONS = Set.of("spawnLocations", "lootPools", "messages");
+    
+    // Differs between any two snapshots, so it is not a change in itself
+    private static final String VERSION = "version";
+    
+    private static final Set<String> SETTINGS = Arrays.stream(ConfigData.class.getRecordComponents())
+        .map(RecordComponent::getName)
+        .filter(name -> !COLLECTIONS.contains(name) && !name.equals(VERSION))
+        .collect(Collectors.toUnmodifiableSet());
+    
+    public enum Section { SETTINGS, LOCATIONS, LOOT, MESSAGES }
+    
+    /**
+     * A single changed entry; {@code before} is null for additions and {@code after} is null for removals.
+     */
+    public record Change(Section section, String key, String before, String after) {
+        
+        @Override
+        public String toString() {
+            if (before == null) {
+                return "+ " + key + ": " + after;
+            }
+            if (after == null) {
+                return "- " + key + ": " + before;
+            }
+            return "~ " + key + ": " + before + " -> " + after;
+        }
+    }
+    
+    /**
+     * Computes the changes from {@code before} to {@code after}. A null {@code before} reports everything as added.
+     */
+    public static ConfigDiff between(ConfigData before, ConfigData after) {
+        List<Change> changes = new ArrayList<>();
+        
+        for (RecordComponent component : ConfigData.class.getRecordComponents()) {
+            if (!SETTINGS.contains(component.getName())) {
+                continue;
+            }
+            Object oldValue = before != null ? read(component, before) : null;
+            Object newValue = read(component, after);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.add(new Change(Section.SETTINGS, component.getName(),
+                    before != null ? String.valueOf(oldValue) : null, String.valueOf(newValue)));
+            }
+        }
+        
+        compare(Section.LOCATIONS,
+            before != null ? locations(before.spawnLocations()) : Map.of(), locations(after.spawnLocations()), changes);
+        compare(Section.LOOT,
+            before != null ? lootItems(before.lootPools()) : Map.of(), lootItems(after.lootPools()), changes);
+        compare(Section.MESSAGES,
+            before != null ? before.messages() : Map.of(), after.messages(), changes);
+        
+        return changes.isEmpty() ? EMPTY : new ConfigDiff(List.copyOf(changes));
+    }
+    
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+    
+    public boolean touches(Section section) {
+        return changes.stream().anyMatch(change -> change.section() == section);
+    }
+    
+    /**
+     * Whether a setting changed, by its {@link ConfigData} component name.
+     */
+    public boolean touchesSetting(String name) {
+        return changes.stream().anyMatch(change -> change.section() == Section.SETTINGS && change.key().equals(name));
+    }
+    
+    /**
+     * Subscription filter matching diffs that touch any of the given sections.
+     */
+    public static Predicate<ConfigDiff> section(Section... sections) {
+        Set<Section> wanted = Set.of(sections);
+        return diff -> diff.changes.stream().anyMatch(change -> wanted.contains(change.section()));
+    }
+    
+    /**
+     * Subscription filter matching diffs that change any of the given settings, named by their
+     * {@link ConfigData} component, e.g. {@code "particles"} or {@code "gui"}.
+     * 
+     * @throws IllegalArgumentException if a name is not a setting
+     */
+    public static Predicate<ConfigDiff> setting(String... names) {
+        Set<String> wanted = Set.of(names);
+        for (String name : wanted) {
+            if (!SETTINGS.contains(name)) {
+                throw new IllegalArgumentException("Unknown setting: " + name);
+            }
+        }
+        return diff -> diff.changes.stream()
+            .anyMatch(change -> change.section() == Section.SETTINGS && wanted.contains(change.key()));
+    }
+    
+    public List<Change> in(Section section) {
+        return changes.stream().filter(change -> change.section() == section).toList();
+    }
+    
+    /**
+     * One-line summary such as "2 settings, 1 location changed".
+     */
+    public String summary() {
+        if (changes.isEmpty()) {
+            return "no changes";
+        }
+        List<String> parts = new ArrayList<>();
+        for (Section section : Section.values()) {
+            int count = in(section).size();
+            if (count > 0) {
+                String noun = switch (section) {
+                    case SETTINGS -> "setting";
+                    case LOCATIONS -> "location";
+                    case LOOT -> "loot item";
+                    case MESSAGES -> "message";
+                };
+                parts.add(count + " " + noun + (count == 1 ? "" : "s"));
+            }
+        }
+        return String.join(", ", parts) + " changed";
+    }
+    
+    private static void compare(Section section, Map<String, String> before, Map<String, String> after, List<Change> changes) {
+        Set<String> keys = new TreeSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        for (String key : keys) {
+            String oldValue = before.get(key);
+            String newValue = after.get(key);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.add(new Change(section, key, oldValue, newValue));
+            }
+        }
+    }
+    
+    private static Map<String, String> locations(List<SpawnLocation> locations) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (SpawnLocation location : locations) {
+            result.putIfAbsent(location.getName(), String.format("%s %.1f, %.1f, %.1f weight %.2f",
+                location.getWorldName(), location.getX(), location.getY(), location.getZ(), location.getWeight()));
+        }
+        return result;
+    }
+    
+    private static Map<String, String> lootItems(Map<String, List<LootItem>> pools) {
+        Map<String, String> result = new LinkedHashMap<>();
+        pools.forEach((tier, items) -> {
+            for (LootItem item : items) {
+                result.putIfAbsent(tier + "." + item.material().name().toLowerCase(),
+                    item.minPrice() + "-" + item.maxPrice() + " weight " + item.weight());
+            }
+        });
+        return result;
+    }
+    
+    private static Object read(RecordComponent component, ConfigData data) {
+        try {
+            return component.getAccessor().invoke(data);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read config component " + component.getName(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,1721 @@
+package com.nenf.edenbazaar.config;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.core.config.ConfigSnapshot;
+import com.nenf.edenbazaar.core.jfr.ConfigReloadEvent;
+import com.nenf.edenbazaar.core.loot.ConditionalLootTable;
+import com.nenf.edenbazaar.core.loot.EventWindow;
+import com.nenf.edenbazaar.core.loot.LootCondition;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.pricing.DemandModel;
+import com.nenf.edenbazaar.core.sampling.RotationComposer.TierQuota;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Priority;
+import com.nenf.edenbazaar.models.LootItem;
+import com.nenf.edenbazaar.models.SpawnLocation;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Modern configuration manager with MiniMessage support, thread safety, validation, and error handling.
+ * Follows contemporary Java 21 patterns and configuration best practices.
+ */
+public class ConfigManager {
+    
+    private final EdenBazaar plugin;
+    private final Logger logger;
+    private final ReadWriteLock configLock = new ReentrantReadWriteLock();
+    private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    
+    // Configuration files
+    private final ConfigFiles configFiles;
+    private final CompiledConfigCache compiledCache;
+    private final LatencyHistogram parseTimes;
+    private final LatencyHistogram applyTimes;
+    
+    // Reloads parse off the main thread and are swapped in on it, newest request wins
+    private final ConfigSnapshot<ConfigData> snapshot = new ConfigSnapshot<>(null);
+    private final Executor mainThread;
+    private final AtomicLong reloadSequence = new AtomicLong();
+    
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Immutable configuration file references.
+     */
+    private record ConfigFiles(
+        File config,
+        File locations,
+        File loot,
+        File gui,
+        File messages
+    ) {}
+    
+    /**
+     * Immutable configuration data container.
+     */
+    public record ConfigData(
+        // Increases with every configuration that is loaded or swapped in
+        long version,
+        
+        // Basic settings
+        String prefix,
+        boolean debugMode,
+        boolean watchFiles,
+        long spawnInterval,
+        int despawnTime,
+        int maxShopItems,
+        int stockPerItem,
+        int maxBulkUnits,
+        
+        // Sounds and effects
+        String spawnSound,
+        String purchaseSound,
+        boolean particlesEnabled,
+        String particleType,
+        double particleRange,
+        ParticleSettings particles,
+        
+        // Economy settings
+        boolean useVault,
+        String currencyName,
+        String currencySymbol,
+        double defaultBalance,
+        
+        // gui.yml
+        GuiSettings gui,
+        
+        // Spawn location selection
+        SpawnSelectionSettings spawnSelection,
+        SafetySettings safety,
+        DiscoverySettings discovery,
+        BroadcastSettings broadcast,
+        
+        // Rotations
+        RotationSettings rotations,
+        
+        // Demand-driven pricing
+        PricingSettings pricing,
+        
+        // Events loot conditions can depend on
+        EventSettings events,
+        
+        // Offers drawn for each player
+        PersonalSettings personalRotations,
+        
+        // Drought protection
+        PitySettings pity,
+        
+        // How much one player may buy
+        PurchaseLimitSettings purchaseLimits,
+        
+        // Main thread work
+        SchedulerSettings scheduler,
+        
+        // Monitoring
+        MetricsSettings metrics,
+        
+        // Cached collections
+        List<SpawnLocation> spawnLocations,
+        Map<String, List<LootItem>> lootPools,
+        Map<String, String> messages
+    ) {
+        
+        /**
+         * Shape and timing of the particle effect above the bazaar.
+         * 
+         * @param updateInterval ticks between particle updates
+         * @param count particles in the circle
+         * @param circleRadius radius of the circle, in blocks
+         * @param verticalMovement amplitude of the up and down movement, in blocks
+         * @param showTrails whether players further away see a trail towards the bazaar
+         * @param trailRange distance in blocks up to which trails are shown
+         */
+        public record ParticleSettings(
+            int updateInterval,
+            int count,
+            double circleRadius,
+            double verticalMovement,
+            boolean showTrails,
+            double trailRange
+        ) {
+            public static final ParticleSettings DEFAULTS = new ParticleSettings(20, 16, 0.5, 0.2, true, 50.0);
+        }
+        
+        /**
+         * Shop inventory layout, NPC appearance and item formatting from gui.yml.
+         * Names, lore and formats are MiniMessage strings.
+         * 
+         * @param title inventory title
+         * @param size inventory size, a multiple of 9
+         * @param itemSlots slots that hold shop items, in order
+         * @param infoSlot slot of the info item
+         * @param closeSlot slot of the close button
+         * @param npcType entity type of the bazaar NPC
+         * @param itemNameFormat display name of shop items, with {item} and {tier} placeholders
+         * @param itemLoreTemplate lore of shop items, with {price}, {tier} and {item} placeholders
+         */
+        public record GuiSettings(
+            String title,
+            int size,
+            List<Integer> itemSlots,
+            int infoSlot,
+            int closeSlot,
+            Material backgroundMaterial,
+            String backgroundName,
+            Material infoMaterial,
+            String infoName,
+            List<String> infoLore,
+            Material closeMaterial,
+            String closeName,
+            String npcName,
+            String npcType,
+            String itemNameFormat,
+            List<String> itemLoreTemplate
+        ) {
+            public static final GuiSettings DEFAULTS = new GuiSettings(
+                "<bold><color:#FFB3C6>Mobile Bazaar</color></bold>", 27, List.of(10, 12, 14, 16, 22), 4, 26,
+                Material.GRAY_STAINED_GLASS_PANE, " ",
+                Material.PAPER, "<bold><color:#FFB3C6>Bazaar Information</color></bold>", List.of(),
+                Material.BARRIER, "<bold><color:#FF6B6B>Close</color></bold>",
+                "<bold><color:#FFB3C6>Mobile Bazaar</color></bold>", "VILLAGER",
+                "<white>{item}</white> <color:#ADB5BD>({tier})</color>", List.of());
+        }
+        
+        /**
+         * Settings for weighted spawn location selection.
+         * 
+         * @param densityWeight extra weight per nearby player, relative to the location's own weight
+         * @param maxDensityMultiplier upper bound for the player density multiplier
+         * @param densityCellChunks edge length of a density grid cell, in chunks
+         * @param recencyCooldown number of rotations a location is skipped after being used
+         */
+        public record SpawnSelectionSettings(
+            double densityWeight,
+            double maxDensityMultiplier,
+            int densityCellChunks,
+            int recencyCooldown
+        ) {
+            public static final SpawnSelectionSettings DEFAULTS = new SpawnSelectionSettings(0.25, 5.0, 8, 1);
+        }
+        
+        /**
+         * Settings for spawn point safety validation.
+         * 
+         * @param enabled whether points are checked before use
+         * @param nudgeRadius how far (in blocks) an unsafe point may be moved to a safe spot
+         * @param workerThreads number of threads used for block checks
+         */
+        public record SafetySettings(
+            boolean enabled,
+            int nudgeRadius,
+            int workerThreads
+        ) {
+            public static final SafetySettings DEFAULTS = new SafetySettings(true, 3, 2);
+        }
+        
+        /**
+         * Settings for delivering the spawn announcement.
+         * 
+         * @param spreadTicks number of ticks the announcement is spread over
+         * @param scope which players receive the announcement
+         * @param radius distance in blocks from the bazaar for {@link Scope#RADIUS}
+         * @param permission permission players need for {@link Scope#OPT_IN}
+         */
+        public record BroadcastSettings(
+            int spreadTicks,
+            Scope scope,
+            double radius,
+            String permission
+        ) {
+            public static final BroadcastSettings DEFAULTS = new BroadcastSettings(10, Scope.ALL, 500.0, "edenbazaar.notify");
+            
+            public enum Scope { ALL, WORLD, RADIUS, OPT_IN }
+        }
+        
+        /**
+         * Settings for seeded rotations.
+         * 
+         * @param seed seed every rotation derives from, 0 to use the seed of the main world
+         * @param pregenerate rotations generated ahead of time on a worker thread
+         * @param uniqueItems draw each loot item at most once per rotation
+         * @param tierQuotas slot limits by tier name; tiers without one are unlimited
+         */
+        public record RotationSettings(
+            long seed,
+            int pregenerate,
+            boolean uniqueItems,
+            Map<String, TierQuota> tierQuotas
+        ) {
+            public static final RotationSettings DEFAULTS = new RotationSettings(0L, 3, true, Map.of());
+        }
+        
+        /**
+         * Settings for prices that follow demand.
+         * 
+         * @param enabled apply demand multipliers to rolled prices; statistics are kept either way
+         * @param tuning how demand statistics turn into price multipliers
+         */
+        public record PricingSettings(
+            boolean enabled,
+            DemandModel.Tuning tuning
+        ) {
+            public static final PricingSettings DEFAULTS = new PricingSettings(true, DemandModel.Tuning.DEFAULTS);
+        }
+        
+        /**
+         * Yearly events that loot items can be limited to.
+         * 
+         * @param windows days each event runs, by event name
+         */
+        public record EventSettings(
+            Map<String, EventWindow> windows
+        ) {
+            public static final EventSettings DEFAULTS = new EventSettings(Map.of());
+            
+            /**
+             * Names of the events running on a day.
+             */
+            public Set<String> runningOn(MonthDay day) {
+                Set<String> running = new HashSet<>();
+                windows.forEach((name, window) -> {
+                    if (window.contains(day)) {
+                        running.add(name);
+                    }
+                });
+                return running;
+            }
+        }
+        
+        /**
+         * Settings for offers drawn for each player rather than one set shared by everyone.
+         * 
+         * @param enabled give every player their own offers, drawn when they first open the shop in a rotation
+         * @param maxCachedItems shop items kept across all players' offers; the least recently opened are dropped
+         * @param ranks tier limits by permission, checked in order; players without a matching rank see every tier
+         */
+        public record PersonalSettings(
+            boolean enabled,
+            int maxCachedItems,
+            List<Rank> ranks
+        ) {
+            public static final PersonalSettings DEFAULTS = new PersonalSettings(false, 20_000, List.of());
+            
+            /**
+             * Tiers a rank's offers are drawn from.
+             * 
+             * @param permission permission that grants the rank, empty for everyone
+             */
+            public record Rank(String name, String permission, Set<String> tiers) {}
+        }
+        
+        /**
+         * Settings for drought protection: players who go many rotations without a tier are drawn it more often.
+         * 
+         * @param enabled count droughts and boost draws; only personal rotations can be boosted
+         * @param resetOnPurchase end a drought when the player buys an item of the tier, not when they are offered one
+         * @param flushIntervalSeconds seconds between writes of new players and counters to disk
+         * @param tiers protection by tier name
+         */
+        public record PitySettings(
+            boolean enabled,
+            boolean resetOnPurchase,
+            int flushIntervalSeconds,
+            Map<String, TierPity> tiers
+        ) {
+            public static final PitySettings DEFAULTS = new PitySettings(false, false, 30, Map.of());
+            
+            /**
+             * @param threshold rotations without the tier before draws are boosted
+             * @param boost multiplier of the tier's weights and quota chance at the threshold
+             * @param step added to the multiplier for every rotation past the threshold
+             * @param maxBoost upper limit of the multiplier
+             */
+            public record TierPity(int threshold, double boost, double step, double maxBoost) {
+                
+                public double multiplier(int drought) {
+                    return drought < threshold ? 1.0 : Math.min(maxBoost, boost + step * (drought - threshold));
+                }
+            }
+        }
+        
+        /**
+         * Settings for how much one player may buy in a rotation.
+         * 
+         * @param perItem units of one offer a player may buy, 0 for no limit
+         * @param perRotation units across all offers a player may buy, 0 for no limit
+         * @param tiers units of one offer a player may buy by tier, in place of perItem
+         */
+        public record PurchaseLimitSettings(int perItem, int perRotation, Map<String, Integer> tiers) {
+            public static final PurchaseLimitSettings DEFAULTS = new PurchaseLimitSettings(0, 0, Map.of());
+            
+            public boolean enabled() {
+                return perItem > 0 || perRotation > 0 || tiers.values().stream().anyMatch(limit -> limit > 0);
+            }
+            
+            /**
+             * Units of one offer of a tier a player may buy, 0 for no limit.
+             */
+            public int itemLimit(String tier) {
+                return tiers.getOrDefault(tier, perItem);
+            }
+        }
+        
+        /**
+         * Settings for the queue that spreads heavy main-thread work over several ticks.
+         * 
+         * @param tickBudgetMillis main thread time queued work may use per tick
+         */
+        public record SchedulerSettings(
+            double tickBudgetMillis
+        ) {
+            public static final SchedulerSettings DEFAULTS = new SchedulerSettings(2.0);
+            
+            public long tickBudgetNanos() {
+                return (long) (tickBudgetMillis * 1_000_000);
+            }
+        }
+        
+        /**
+         * Settings for the Prometheus metrics endpoint. It only ever binds to the loopback address.
+         * 
+         * @param enabled whether the endpoint is served
+         * @param port local port to listen on
+         * @param path request path the metrics are served under
+         */
+        public record MetricsSettings(
+            boolean enabled,
+            int port,
+            String path
+        ) {
+            public static final MetricsSettings DEFAULTS = new MetricsSettings(false, 9464, "/metrics");
+        }
+        
+        /**
+         * Settings for automatic spawn point discovery over a world region.
+         * 
+         * @param world world to scan
+         * @param minX lower block X bound of the region
+         * @param maxX upper block X bound of the region
+         * @param minZ lower block Z bound of the region
+         * @param maxZ upper block Z bound of the region
+         * @param chunkStride scan every n-th chunk along each axis
+         * @param tickBudgetMillis main thread time the scan may use per tick
+         * @param maxChunksPerTick upper bound on chunks requested per tick
+         * @param topCandidates number of spawn points written when the scan finishes
+         * @param minSpacing minimum distance in blocks between written points
+         * @param threads fork-join parallelism used for scoring
+         * @param onlyGenerated skip chunks that were never generated instead of generating them
+         * @param namePrefix prefix for the keys of written points
+         */
+        public record DiscoverySettings(
+            String world,
+            int minX,
+            int maxX,
+            int minZ,
+            int maxZ,
+            int chunkStride,
+            double tickBudgetMillis,
+            int maxChunksPerTick,
+            int topCandidates,
+            int minSpacing,
+            int threads,
+            boolean onlyGenerated,
+            String namePrefix
+        ) {
+            public static final DiscoverySettings DEFAULTS = new DiscoverySettings(
+                "world", -2000, 2000, -2000, 2000, 2, 2.0, 8, 20, 128, 2, true, "discovered");
+            
+            /**
+             * Identifies the scanned region, so saved progress is discarded when the region changes.
+             */
+            public String regionSignature() {
+                return world + ":" + minX + ":" + maxX + ":" + minZ + ":" + maxZ + ":" + chunkStride;
+            }
+        }
+        
+        /**
+         * Creates a builder for ConfigData.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+        
+        public static class Builder {
+            private long version = 0L;
+            private String prefix = "<color:#ADB5BD>[EdenBazaar]</color> ";
+            private boolean debugMode = false;
+            private boolean watchFiles = true;
+            private long spawnInterval = 43200L;
+            private int despawnTime = 6;
+            private int maxShopItems = 5;
+            private int stockPerItem = 0;
+            private int maxBulkUnits = 64;
+            private String spawnSound = "BLOCK_NOTE_BLOCK_XYLOPHONE";
+            private String purchaseSound = "ENTITY_EXPERIENCE_ORB_PICKUP";
+            private boolean particlesEnabled = true;
+            private String particleType = "END_ROD";
+            private double particleRange = 100.0;
+            private ParticleSettings particles = ParticleSettings.DEFAULTS;
+            private boolean useVault = true;
+            private String currencyName = "coins";
+            private String currencySymbol = "⚡";
+            private double defaultBalance = 1000.0;
+            private GuiSettings gui = GuiSettings.DEFAULTS;
+            private SpawnSelectionSettings spawnSelection = SpawnSelectionSettings.DEFAULTS;
+            private SafetySettings safety = SafetySettings.DEFAULTS;
+            private DiscoverySettings discovery = DiscoverySettings.DEFAULTS;
+            private BroadcastSettings broadcast = BroadcastSettings.DEFAULTS;
+            private RotationSettings rotations = RotationSettings.DEFAULTS;
+            private PricingSettings pricing = PricingSettings.DEFAULTS;
+            private EventSettings events = EventSettings.DEFAULTS;
+            private PersonalSettings personalRotations = PersonalSettings.DEFAULTS;
+            private PitySettings pity = PitySettings.DEFAULTS;
+            private PurchaseLimitSettings purchaseLimits = PurchaseLimitSettings.DEFAULTS;
+            private SchedulerSettings scheduler = SchedulerSettings.DEFAULTS;
+            private MetricsSettings metrics = MetricsSettings.DEFAULTS;
+            private List<SpawnLocation> spawnLocations = List.of();
+            private Map<String, List<LootItem>> lootPools = Map.of();
+            private Map<String, String> messages = Map.of();
+            
+            public Builder version(long version) { this.version = version; return this; }
+            public Builder prefix(String prefix) { this.prefix = prefix; return this; }
+            public Builder debugMode(boolean debugMode) { this.debugMode = debugMode; return this; }
+            public Builder watchFiles(boolean watchFiles) { this.watchFiles = watchFiles; return this; }
+            public Builder spawnInterval(long spawnInterval) { this.spawnInterval = spawnInterval; return this; }
+            public Builder despawnTime(int despawnTime) { this.despawnTime = despawnTime; return this; }
+            public Builder maxShopItems(int maxShopItems) { this.maxShopItems = maxShopItems; return this; }
+            public Builder stockPerItem(int stockPerItem) { this.stockPerItem = stockPerItem; return this; }
+            public Builder maxBulkUnits(int maxBulkUnits) { this.maxBulkUnits = maxBulkUnits; return this; }
+            public Builder spawnSound(String spawnSound) { this.spawnSound = spawnSound; return this; }
+            public Builder purchaseSound(String purchaseSound) { this.purchaseSound = purchaseSound; return this; }
+            public Builder particlesEnabled(boolean particlesEnabled) { this.particlesEnabled = particlesEnabled; return this; }
+            public Builder particleType(String particleType) { this.particleType = particleType; return this; }
+            public Builder particleRange(double particleRange) { this.particleRange = particleRange; return this; }
+            public Builder particles(ParticleSettings particles) { this.particles = particles; return this; }
+            public Builder useVault(boolean useVault) { this.useVault = useVault; return this; }
+            public Builder currencyName(String currencyName) { this.currencyName = currencyName; return this; }
+            public Builder currencySymbol(String currencySymbol) { this.currencySymbol = currencySymbol; return this; }
+            public Builder defaultBalance(double defaultBalance) { this.defaultBalance = defaultBalance; return this; }
+            public Builder gui(GuiSettings gui) { this.gui = gui; return this; }
+            public Builder spawnSelection(SpawnSelectionSettings spawnSelection) { this.spawnSelection = spawnSelection; return this; }
+            public Builder safety(SafetySettings safety) { this.safety = safety; return this; }
+            public Builder discovery(DiscoverySettings discovery) { this.discovery = discovery; return this; }
+            public Builder broadcast(BroadcastSettings broadcast) { this.broadcast = broadcast; return this; }
+            public Builder rotations(RotationSettings rotations) { this.rotations = rotations; return this; }
+            public Builder pricing(PricingSettings pricing) { this.pricing = pricing; return this; }
+            public Builder events(EventSettings events) { this.events = events; return this; }
+            public Builder personalRotations(PersonalSettings personalRotations) { this.personalRotations = personalRotations; return this; }
+            public Builder pity(PitySettings pity) { this.pity = pity; return this; }
+            public Builder purchaseLimits(PurchaseLimitSettings purchaseLimits) { this.purchaseLimits = purchaseLimits; return this; }
+            public Builder scheduler(SchedulerSettings scheduler) { this.scheduler = scheduler; return this; }
+            public Builder metrics(MetricsSettings metrics) { this.metrics = metrics; return this; }
+            public Builder spawnLocations(List<SpawnLocation> spawnLocations) { this.spawnLocations = List.copyOf(spawnLocations); return this; }
+            public Builder lootPools(Map<String, List<LootItem>> lootPools) { this.lootPools = Map.copyOf(lootPools); return this; }
+            public Builder messages(Map<String, String> messages) { this.messages = Map.copyOf(messages); return this; }
+            
+            public ConfigData build() {
+                return new ConfigData(
+                    version,
+                    prefix, debugMode, watchFiles, spawnInterval, despawnTime, maxShopItems, stockPerItem,
+                    maxBulkUnits, spawnSound, purchaseSound, particlesEnabled, particleType, particleRange, particles,
+                    useVault, currencyName, currencySymbol, defaultBalance,
+                    gui,
+                    spawnSelection, safety, discovery, broadcast,
+                    rotations,
+                    pricing,
+                    events,
+                    personalRotations,
+                    pity,
+                    purchaseLimits,
+                    scheduler,
+                    metrics,
+                    spawnLocations, lootPools, messages
+                );
+            }
+        }
+    }
+    
+    public ConfigManager(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.configFiles = initializeConfigFiles();
+        this.compiledCache = new CompiledConfigCache(new File(plugin.getDataFolder(), "cache/compiled-config.bin"), logger);
+        this.mainThread = task -> plugin.getWorkScheduler().submit(Priority.SHOP, task);
+        this.parseTimes = plugin.getMetrics().histogram("config.parse");
+        this.applyTimes = plugin.getMetrics().histogram("config.apply");
+    }
+    
+    private ConfigFiles initializeConfigFiles() {
+        File dataFolder = plugin.getDataFolder();
+        if (!dataFolder.exists() && !dataFolder.mkdirs()) {
+            logger.severe("Failed to create plugin data folder!");
+        }
+        
+        return new ConfigFiles(
+            new File(dataFolder, "config.yml"),
+            new File(dataFolder, "locations.yml"),
+            new File(dataFolder, "loot.yml"),
+            new File(dataFolder, "gui.yml"),
+            new File(dataFolder, "messages.yml")
+        );
+    }
+    
+    /**
+     * Outcome of a reload.
+     * 
+     * @param applied whether the new configuration was swapped in
+     * @param diff what changed, empty if nothing was applied
+     * @param errors validation errors that caused the new configuration to be rejected
+     * @param warnings validation warnings
+     * @param parseMillis time spent reading and validating the files
+     */
+    public record ReloadResult(boolean applied, ConfigDiff diff, List<String> errors,
+                               List<String> warnings, long parseMillis) {}
+    
+    /**
+     * Rebuilds state derived from the configuration. Called on the main thread right after a new
+     * configuration was swapped in, once per reload whose changes it subscribed to.
+     */
+    @FunctionalInterface
+    public interface ConfigListener {
+        void onConfigChanged(ConfigData config, ConfigDiff diff);
+    }
+    
+    private record Subscription(Predicate<ConfigDiff> interest, ConfigListener listener) {}
+    
+    /**
+     * Registers a listener for changes matching {@code interest}, see {@link ConfigDiff#section} and
+     * {@link ConfigDiff#setting}. Listeners are not called for the configuration that is active when they subscribe.
+     */
+    public void subscribe(Predicate<ConfigDiff> interest, ConfigListener listener) {
+        subscriptions.add(new Subscription(interest, listener));
+    }
+    
+    public void unsubscribe(ConfigListener listener) {
+        subscriptions.removeIf(subscription -> subscription.listener() == listener);
+    }
+    
+    /**
+     * Loads all configuration files with proper error handling and validation.
+     * Blocks the calling thread; used on enable, when the rest of the plugin needs a configuration right away.
+     */
+    public void loadConfigs() {
+        long version = reloadSequence.incrementAndGet();
+        configLock.writeLock().lock();
+        try {
+            saveDefaultConfigs();
+            
+            LoadResult result = parseConfigurations(loadedWorldNames(), version);
+            ValidationResult validation = result.validation();
+            validation.logResults(logger);
+            
+            if (!validation.isValid()) {
+                logger.severe("Configuration validation failed! Using default values where possible.");
+                snapshot.set(ConfigData.builder().version(version).build()); // Use defaults
+                return;
+            }
+            
+            snapshot.set(result.data());
+            logger.info("Configuration loaded successfully in " + result.parseMillis() + "ms" + 
+                (validation.warnings().isEmpty() ? "" : " with " + validation.warnings().size() + " warnings"));
+        
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to load configuration", e);
+            snapshot.set(ConfigData.builder().version(version).build()); // Fallback to defaults
+        } finally {
+            configLock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Re-reads and validates all files on a virtual thread, then swaps the result in on the main thread.
+     * The previous configuration stays active if validation fails. Must be called from the main thread.
+     * 
+     * @param reason shown in the log, e.g. the command or the changed file
+     */
+    public CompletableFuture<ReloadResult> reloadAsync(String reason) {
+        return reloadAsync(reason, null);
+    }
+    
+    /**
+     * Applies a file change and reloads, both off the main thread.
+     */
+    private CompletableFuture<ReloadResult> reloadAsync(String reason, FileChange change) {
+        long sequence = reloadSequence.incrementAndGet();
+        Set<String> worlds = loadedWorldNames();
+        
+        CompletableFuture<LoadResult> parsed = new CompletableFuture<>();
+        Thread.ofVirtual().name("EdenBazaar-ConfigReload").start(() -> {
+            configLock.writeLock().lock();
+            try {
+                if (change != null) {
+                    change.apply();
+                }
+                saveDefaultConfigs();
+                parsed.complete(parseConfigurations(worlds, sequence));
+            } catch (Throwable t) {
+                parsed.completeExceptionally(t);
+            } finally {
+                configLock.writeLock().unlock();
+            }
+        });
+        
+        return parsed.thenApplyAsync(result -> applyReload(result, sequence, reason), mainThread);
+    }
+    
+    /**
+     * Swaps a parsed configuration in. Runs on the main thread, so readers see either the old or the new snapshot.
+     */
+    private ReloadResult applyReload(LoadResult result, long sequence, String reason) {
+        ConfigReloadEvent event = new ConfigReloadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ReloadResult applied = null;
+        try {
+            applied = apply(result, sequence, reason);
+            return applied;
+        } finally {
+            applyTimes.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = "apply";
+                event.version = sequence;
+                event.reason = reason;
+                event.changes = applied != null ? applied.diff().summary() : null;
+                event.success = applied != null && applied.applied();
+                event.commit();
+            }
+        }
+    }
+    
+    private ReloadResult apply(LoadResult result, long sequence, String reason) {
+        ValidationResult validation = result.validation();
+        validation.logResults(logger);
+        
+        if (!validation.isValid()) {
+            logger.severe("Reload (" + reason + ") failed validation with " + validation.errors().size()
+                + " errors, keeping the previous configuration");
+            return new ReloadResult(false, ConfigDiff.EMPTY, validation.errors(), validation.warnings(), result.parseMillis());
+        }
+        
+        // An older reload finishing after a newer one must not overwrite it
+        if (!snapshot.advance(sequence)) {
+            return new ReloadResult(false, ConfigDiff.EMPTY, List.of(), validation.warnings(), result.parseMillis());
+        }
+        
+        ConfigDiff diff = ConfigDiff.between(snapshot.get(), result.data());
+        if (diff.isEmpty()) {
+            logger.fine("Reload (" + reason + "): no changes");
+            return new ReloadResult(false, diff, List.of(), validation.warnings(), result.parseMillis());
+        }
+        
+        ConfigData config = result.data();
+        snapshot.set(config);
+        logger.info("Configuration reloaded (" + reason + "): " + diff.summary() + " in " + result.parseMillis()
+            + "ms, now version " + config.version());
+        if (config.debugMode()) {
+            diff.changes().forEach(change -> logger.info("  " + change));
+        }
+        notifyListeners(config, diff);
+        return new ReloadResult(true, diff, List.of(), validation.warnings(), result.parseMillis());
+    }
+    
+    private void notifyListeners(ConfigData config, ConfigDiff diff) {
+        int notified = 0;
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.interest().test(diff)) {
+                continue;
+            }
+            try {
+                subscription.listener().onConfigChanged(config, diff);
+                notified++;
+            } catch (Exception e) {
+                // One broken listener must not keep the others on the old configuration
+                logger.log(Level.SEVERE, "Config listener failed for version " + config.version(), e);
+            }
+        }
+        logger.fine("Notified " + notified + " of " + subscriptions.size() + " config listeners");
+    }
+    
+    private Set<String> loadedWorldNames() {
+        Set<String> names = new HashSet<>();
+        for (World world : plugin.getServer().getWorlds()) {
+            names.add(world.getName());
+        }
+        return Set.copyOf(names);
+    }
+    
+    private void saveDefaultConfigs() {
+        try {
+            if (!configFiles.config().exists()) plugin.saveResource("config.yml", false);
+            if (!configFiles.locations().exists()) plugin.saveResource("locations.yml", false);
+            if (!configFiles.loot().exists()) plugin.saveResource("loot.yml", false);
+            if (!configFiles.gui().exists()) plugin.saveResource("gui.yml", false);
+            if (!configFiles.messages().exists()) plugin.saveResource("messages.yml", false);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed to save default config files", e);
+        }
+    }
+    
+    /**
+     * Reads and validates all files without touching the active configuration; safe on any thread.
+     * 
+     * @param version version given to the parsed configuration
+     */
+    private LoadResult parseConfigurations(Set<String> loadedWorlds, long version) {
+        ConfigReloadEvent event = new ConfigReloadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        LoadResult parsed = null;
+        try {
+            parsed = parseFiles(loadedWorlds, version);
+            return parsed;
+        } finally {
+            parseTimes.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = "parse";
+                event.version = version;
+                event.success = parsed != null && parsed.validation().isValid();
+                event.commit();
+            }
+        }
+    }
+    
+    private LoadResult parseFiles(Set<String> loadedWorlds, long version) {
+        List<String> errors = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        long start = System.nanoTime();
+        
+        try {
+            // config.yml and gui.yml are small and always parsed; the collection files come from the compiled cache when unchanged
+            FileConfiguration config = YamlConfiguration.loadConfiguration(configFiles.config());
+            FileConfiguration guiConfig = YamlConfiguration.loadConfiguration(configFiles.gui());
+            
+            ConfigData.Builder builder = ConfigData.builder().version(version);
+            
+            // Load and validate basic settings
+            loadBasicSettings(config, builder, errors, warnings);
+            builder.gui(loadGuiSettings(guiConfig, warnings));
+            
+            // Load collections
+            var locations = compiledCache.load(configFiles.locations(), CompiledConfigCache.SPAWN_LOCATIONS, this::loadSpawnLocations);
+            var lootPools = compiledCache.load(configFiles.loot(), CompiledConfigCache.LOOT_POOLS, this::loadLootPools);
+            var messages = compiledCache.load(configFiles.messages(), CompiledConfigCache.MESSAGES, this::loadMessages);
+            for (var compiled : List.of(locations, lootPools, messages)) {
+                errors.addAll(compiled.errors());
+                warnings.addAll(compiled.warnings());
+            }
+            warnUnloadedWorlds(locations.value(), loadedWorlds, warnings);
+            
+            compiledCache.save();
+            int[] cacheStats = compiledCache.drainStats();
+            logger.fine("Parsed configuration in " + elapsedMillis(start) + "ms, " + cacheStats[0]
+                + " files from the compiled cache, " + cacheStats[1] + " recompiled");
+            
+            builder.spawnLocations(locations.value())
+                   .lootPools(lootPools.value())
+                   .messages(messages.value());
+            
+            return new LoadResult(builder.build(),
+                new ValidationResult(errors.isEmpty(), List.copyOf(errors), List.copyOf(warnings)), elapsedMillis(start));
+        
+        } catch (Exception e) {
+            errors.add("Failed to load configuration files: " + e.getMessage());
+            return new LoadResult(null, new ValidationResult(false, errors, warnings), elapsedMillis(start));
+        }
+    }
+    
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+    
+    private void loadBasicSettings(FileConfiguration config, ConfigData.Builder builder, 
+                                 List<String> errors, List<String> warnings) {
+        // Prefix validation - now supports MiniMessage format
+        String prefix = config.getString("settings.prefix", "<color:#ADB5BD>[EdenBazaar]</color> ");
+        if (prefix.trim().isEmpty()) {
+            errors.add("Plugin prefix cannot be empty");
+            prefix = "<color:#ADB5BD>[EdenBazaar]</color> ";
+        }
+        builder.prefix(prefix); // Store as MiniMessage format
+        
+        // Spawn interval validation
+        long spawnInterval = config.getLong("settings.spawn_interval", 43200L);
+        if (spawnInterval < 60) {
+            warnings.add("Spawn interval is very low (" + spawnInterval + "s), consider increasing it");
+            spawnInterval = Math.max(60, spawnInterval);
+        }
+        builder.spawnInterval(spawnInterval);
+        
+        // Despawn time validation  
+        int despawnTime = config.getInt("settings.despawn_time", 6);
+        if (despawnTime < 1) {
+            errors.add("Despawn time must be at least 1 hour, got: " + despawnTime);
+            despawnTime = 6;
+        }
+        builder.despawnTime(despawnTime);
+        
+        // Max shop items validation
+        int maxShopItems = config.getInt("settings.max_shop_items", 5);
+        if (maxShopItems < 1 || maxShopItems > 54) {
+            warnings.add("Max shop items should be between 1 and 54, got: " + maxShopItems);
+            maxShopItems = Math.clamp(maxShopItems, 1, 54);
+        }
+        builder.maxShopItems(maxShopItems);
+        
+        // Stock validation, 0 means unlimited
+        int stockPerItem = config.getInt("settings.stock_per_item", 0);
+        if (stockPerItem < 0) {
+            warnings.add("Stock per item cannot be negative, got: " + stockPerItem + ", using unlimited stock");
+            stockPerItem = 0;
+        }
+        builder.stockPerItem(stockPerItem);
+        
+        int maxBulkUnits = config.getInt("settings.max_bulk_units", 64);
+        if (maxBulkUnits < 1) {
+            warnings.add("Max bulk units must be at least 1, got: " + maxBulkUnits + ", shift-clicks buy one unit");
+            maxBulkUnits = 1;
+        }
+        builder.maxBulkUnits(maxBulkUnits);
+        
+        // Other settings
+        builder.debugMode(config.getBoolean("settings.debug", false))
+               .watchFiles(config.getBoolean("settings.watch_files", true))
+               .spawnSound(config.getString("settings.spawn_sound", "BLOCK_NOTE_BLOCK_XYLOPHONE"))
+               .purchaseSound(config.getString("settings.purchase_sound", "ENTITY_EXPERIENCE_ORB_PICKUP"))
+               .particlesEnabled(config.getBoolean("settings.particles.enabled", true))
+               .particleType(config.getString("settings.particles.type", "END_ROD"))
+               .particleRange(config.getDouble("settings.particles.range", 100.0))
+               .useVault(config.getBoolean("economy.use_vault", true))
+               .currencyName(config.getString("economy.currency_name", "coins"))
+               .currencySymbol(config.getString("economy.currency_symbol", "⚡"))
+               .defaultBalance(config.getDouble("economy.default_balance", 1000.0));
+        
+        builder.particles(loadParticleSettings(config, warnings))
+               .spawnSelection(loadSpawnSelectionSettings(config, warnings))
+               .safety(loadSafetySettings(config, warnings))
+               .discovery(loadDiscoverySettings(config, warnings))
+               .broadcast(loadBroadcastSettings(config, warnings))
+               .rotations(loadRotationSettings(config, warnings))
+               .pricing(loadPricingSettings(config, warnings))
+               .events(loadEventSettings(config, warnings))
+               .personalRotations(loadPersonalSettings(config, warnings))
+               .pity(loadPitySettings(config, warnings))
+               .purchaseLimits(loadPurchaseLimitSettings(config, warnings))
+               .scheduler(loadSchedulerSettings(config, warnings))
+               .metrics(loadMetricsSettings(config, warnings));
+    }
+    
+    private ConfigData.ParticleSettings loadParticleSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.ParticleSettings.DEFAULTS;
+        
+        int updateInterval = config.getInt("settings.particles.update_interval", defaults.updateInterval());
+        if (updateInterval < 1) {
+            warnings.add("Particle update_interval must be at least 1 tick, got: " + updateInterval);
+            updateInterval = 1;
+        }
+        
+        int count = config.getInt("settings.particles.count", defaults.count());
+        if (count < 1 || count > 256) {
+            warnings.add("Particle count should be between 1 and 256, got: " + count);
+            count = Math.clamp(count, 1, 256);
+        }
+        
+        return new ConfigData.ParticleSettings(
+            updateInterval,
+            count,
+            config.getDouble("settings.particles.circle_radius", defaults.circleRadius()),
+            config.getDouble("settings.particles.vertical_movement", defaults.verticalMovement()),
+            config.getBoolean("settings.particles.show_trails", defaults.showTrails()),
+            config.getDouble("settings.particles.trail_range", defaults.trailRange())
+        );
+    }
+    
+    private ConfigData.GuiSettings loadGuiSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.GuiSettings.DEFAULTS;
+        
+        int size = config.getInt("gui.size", defaults.size());
+        if (size < 9 || size > 54 || size % 9 != 0) {
+            int rounded = Math.clamp((size + 8) / 9 * 9, 9, 54);
+            warnings.add("GUI size must be a multiple of 9 between 9 and 54, got: " + size + ", using " + rounded);
+            size = rounded;
+        }
+        
+        List<Integer> itemSlots = new ArrayList<>();
+        for (int slot : config.getIntegerList("gui.item_slots")) {
+            if (slot < 0 || slot >= size) {
+                warnings.add("GUI item slot " + slot + " is outside the inventory, ignoring it");
+            } else if (!itemSlots.contains(slot)) {
+                itemSlots.add(slot);
+            }
+        }
+        if (itemSlots.isEmpty()) {
+            itemSlots.addAll(defaults.itemSlots());
+        }
+        
+        return new ConfigData.GuiSettings(
+            config.getString("gui.title", defaults.title()),
+            size,
+            List.copyOf(itemSlots),
+            config.getInt("gui.info_slot", defaults.infoSlot()),
+            config.getInt("gui.close_slot", defaults.closeSlot()),
+            loadMaterial(config, "gui.background.material", defaults.backgroundMaterial(), warnings),
+            config.getString("gui.background.name", defaults.backgroundName()),
+            loadMaterial(config, "gui.info.material", defaults.infoMaterial(), warnings),
+            config.getString("gui.info.name", defaults.infoName()),
+            List.copyOf(config.getStringList("gui.info.lore")),
+            loadMaterial(config, "gui.close.material", defaults.closeMaterial(), warnings),
+            config.getString("gui.close.name", defaults.closeName()),
+            config.getString("npc.name", defaults.npcName()),
+            config.getString("npc.type", defaults.npcType()).toUpperCase(),
+            config.getString("items.name_format", defaults.itemNameFormat()),
+            List.copyOf(config.getStringList("items.lore_template"))
+        );
+    }
+    
+    private static Material loadMaterial(FileConfiguration config, String path, Material fallback, List<String> warnings) {
+        String name = config.getString(path, fallback.name());
+        try {
+            return Material.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            warnings.add("Invalid material for " + path + ": " + name + ", using " + fallback.name());
+            return fallback;
+        }
+    }
+    
+    private ConfigData.BroadcastSettings loadBroadcastSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.BroadcastSettings.DEFAULTS;
+        
+        int spreadTicks = config.getInt("settings.broadcast.spread_ticks", defaults.spreadTicks());
+        if (spreadTicks < 1 || spreadTicks > 200) {
+            warnings.add("Broadcast spread_ticks should be between 1 and 200, got: " + spreadTicks);
+            spreadTicks = Math.clamp(spreadTicks, 1, 200);
+        }
+        
+        String scopeName = config.getString("settings.broadcast.scope", defaults.scope().name());
+        ConfigData.BroadcastSettings.Scope scope;
+        try {
+            scope = ConfigData.BroadcastSettings.Scope.valueOf(scopeName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            warnings.add("Invalid broadcast scope: " + scopeName + ", using " + defaults.scope());
+            scope = defaults.scope();
+        }
+        
+        double radius = config.getDouble("settings.broadcast.radius", defaults.radius());
+        if (radius <= 0) {
+            warnings.add("Broadcast radius must be positive, got: " + radius);
+            radius = defaults.radius();
+        }
+        
+        return new ConfigData.BroadcastSettings(
+            spreadTicks,
+            scope,
+            radius,
+            config.getString("settings.broadcast.permission", defaults.permission())
+        );
+    }
+    
+    private ConfigData.RotationSettings loadRotationSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.RotationSettings.DEFAULTS;
+        
+        int pregenerate = config.getInt("settings.rotations.pregenerate", defaults.pregenerate());
+        if (pregenerate < 1 || pregenerate > 32) {
+            warnings.add("Rotations pregenerate should be between 1 and 32, got: " + pregenerate);
+            pregenerate = Math.clamp(pregenerate, 1, 32);
+        }
+        
+        Map<String, TierQuota> quotas = new HashMap<>();
+        ConfigurationSection tiers = config.getConfigurationSection("settings.rotations.tiers");
+        if (tiers != null) {
+            for (String tier : tiers.getKeys(false)) {
+                ConfigurationSection quota = tiers.getConfigurationSection(tier);
+                if (quota == null) {
+                    warnings.add("Rotation quota for tier '" + tier + "' must be a section with min, max and chance");
+                    continue;
+                }
+                try {
+                    quotas.put(tier, new TierQuota(quota.getInt("min", 0), quota.getInt("max", Integer.MAX_VALUE),
+                        quota.getDouble("chance", 1.0)));
+                } catch (IllegalArgumentException e) {
+                    warnings.add("Ignoring rotation quota for tier '" + tier + "': " + e.getMessage());
+                }
+            }
+        }
+        
+        return new ConfigData.RotationSettings(config.getLong("settings.rotations.seed", defaults.seed()), pregenerate,
+            config.getBoolean("settings.rotations.unique_items", defaults.uniqueItems()), Map.copyOf(quotas));
+    }
+    
+    private ConfigData.PricingSettings loadPricingSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.PricingSettings.DEFAULTS;
+        var tuning = defaults.tuning();
+        
+        double smoothing = config.getDouble("settings.pricing.smoothing", tuning.smoothing());
+        if (smoothing <= 0 || smoothing > 1) {
+            warnings.add("Pricing smoothing must be between 0 and 1, got: " + smoothing);
+            smoothing = Math.clamp(smoothing, 0.01, 1.0);
+        }
+        
+        double target = config.getDouble("settings.pricing.target_sell_through", tuning.targetSellThrough());
+        if (target < 0 || target > 1) {
+            warnings.add("Pricing target_sell_through must be between 0 and 1, got: " + target);
+            target = Math.clamp(target, 0.0, 1.0);
+        }
+        
+        double sensitivity = config.getDouble("settings.pricing.sensitivity", tuning.sensitivity());
+        if (sensitivity < 0) {
+            warnings.add("Pricing sensitivity cannot be negative, got: " + sensitivity);
+            sensitivity = 0;
+        }
+        
+        double minMultiplier = config.getDouble("settings.pricing.min_multiplier", tuning.minMultiplier());
+        if (minMultiplier <= 0 || minMultiplier > 1) {
+            warnings.add("Pricing min_multiplier must be above 0 and at most 1, got: " + minMultiplier);
+            minMultiplier = Math.clamp(minMultiplier, 0.01, 1.0);
+        }
+        
+        double maxMultiplier = config.getDouble("settings.pricing.max_multiplier", tuning.maxMultiplier());
+        if (maxMultiplier < 1) {
+            warnings.add("Pricing max_multiplier must be at least 1, got: " + maxMultiplier);
+            maxMultiplier = 1;
+        }
+        
+        return new ConfigData.PricingSettings(config.getBoolean("settings.pricing.enabled", defaults.enabled()),
+            new DemandModel.Tuning(smoothing, target, sensitivity, minMultiplier, maxMultiplier));
+    }
+    
+    private ConfigData.EventSettings loadEventSettings(FileConfiguration config, List<String> warnings) {
+        ConfigurationSection section = config.getConfigurationSection("settings.events");
+        if (section == null) {
+            return ConfigData.EventSettings.DEFAULTS;
+        }
+        
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("MM-dd");
+        Map<String, EventWindow> windows = new HashMap<>();
+        for (String name : section.getKeys(false)) {
+            try {
+                MonthDay from = MonthDay.parse(section.getString(name + ".from", ""), format);
+                MonthDay to = MonthDay.parse(section.getString(name + ".to", ""), format);
+                windows.put(name, new EventWindow(from, to));
+            } catch (DateTimeParseException e) {
+                warnings.add("Event '" + name + "' needs from and to dates as MM-dd, ignoring it");
+            }
+        }
+        return new ConfigData.EventSettings(Map.copyOf(windows));
+    }
+    
+    private ConfigData.PersonalSettings loadPersonalSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.PersonalSettings.DEFAULTS;
+        
+        int maxCachedItems = config.getInt("settings.personal_rotations.max_cached_items", defaults.maxCachedItems());
+        if (maxCachedItems < 100) {
+            warnings.add("Personal rotations max_cached_items should be at least 100, got: " + maxCachedItems);
+            maxCachedItems = 100;
+        }
+        
+        List<ConfigData.PersonalSettings.Rank> ranks = new ArrayList<>();
+        ConfigurationSection section = config.getConfigurationSection("settings.personal_rotations.ranks");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                List<String> tiers = section.getStringList(name + ".tiers");
+                if (tiers.isEmpty()) {
+                    warnings.add("Personal rotation rank '" + name + "' lists no tiers, ignoring it");
+                    continue;
+                }
+                ranks.add(new ConfigData.PersonalSettings.Rank(name, section.getString(name + ".permission", ""), Set.copyOf(tiers)));
+            }
+        }
+        
+        return new ConfigData.PersonalSettings(config.getBoolean("settings.personal_rotations.enabled", defaults.enabled()),
+            maxCachedItems, List.copyOf(ranks));
+    }
+    
+    private ConfigData.PitySettings loadPitySettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.PitySettings.DEFAULTS;
+        
+        String resetOn = config.getString("settings.pity.reset_on", "seen").toLowerCase(Locale.ROOT);
+        if (!resetOn.equals("seen") && !resetOn.equals("bought")) {
+            warnings.add("Pity reset_on must be seen or bought, got: " + resetOn + ", using seen");
+            resetOn = "seen";
+        }
+        
+        int flushInterval = config.getInt("settings.pity.flush_interval_seconds", defaults.flushIntervalSeconds());
+        if (flushInterval < 1) {
+            warnings.add("Pity flush_interval_seconds must be at least 1, got: " + flushInterval);
+            flushInterval = 1;
+        }
+        
+        Map<String, ConfigData.PitySettings.TierPity> tiers = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("settings.pity.tiers");
+        if (section != null) {
+            for (String tier : section.getKeys(false)) {
+                int threshold = section.getInt(tier + ".threshold", 10);
+                double boost = section.getDouble(tier + ".boost", 2.0);
+                double step = section.getDouble(tier + ".step", 0.0);
+                double maxBoost = section.getDouble(tier + ".max_boost", boost);
+                if (threshold < 1 || boost < 1 || step < 0 || maxBoost < boost) {
+                    warnings.add("Pity for tier '" + tier + "' needs threshold >= 1, boost >= 1, step >= 0 and max_boost >= boost, ignoring it");
+                    continue;
+                }
+                tiers.put(tier, new ConfigData.PitySettings.TierPity(threshold, boost, step, maxBoost));
+            }
+        }
+        
+        return new ConfigData.PitySettings(config.getBoolean("settings.pity.enabled", defaults.enabled()),
+            resetOn.equals("bought"), flushInterval, Map.copyOf(tiers));
+    }
+    
+    private ConfigData.PurchaseLimitSettings loadPurchaseLimitSettings(FileConfiguration config, List<String> warnings) {
+        int perItem = config.getInt("settings.purchase_limits.per_item", 0);
+        if (perItem < 0) {
+            warnings.add("Purchase limit per_item must not be negative, got: " + perItem + ", using no limit");
+            perItem = 0;
+        }
+        int perRotation = config.getInt("settings.purchase_limits.per_rotation", 0);
+        if (perRotation < 0) {
+            warnings.add("Purchase limit per_rotation must not be negative, got: " + perRotation + ", using no limit");
+            perRotation = 0;
+        }
+        
+        Map<String, Integer> tiers = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("settings.purchase_limits.tiers");
+        if (section != null) {
+            for (String tier : section.getKeys(false)) {
+                int limit = section.getInt(tier, 0);
+                if (limit < 0) {
+                    warnings.add("Purchase limit for tier '" + tier + "' must not be negative, got: " + limit + ", ignoring it");
+                    continue;
+                }
+                tiers.put(tier, limit);
+            }
+        }
+        
+        return new ConfigData.PurchaseLimitSettings(perItem, perRotation, Map.copyOf(tiers));
+    }
+    
+    private ConfigData.SchedulerSettings loadSchedulerSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.SchedulerSettings.DEFAULTS;
+        
+        double tickBudget = config.getDouble("settings.scheduler.tick_budget_ms", defaults.tickBudgetMillis());
+        if (tickBudget <= 0 || tickBudget > 25) {
+            warnings.add("Scheduler tick_budget_ms should be between 0 and 25, got: " + tickBudget);
+            tickBudget = Math.clamp(tickBudget, 0.1, 25.0);
+        }
+        
+        return new ConfigData.SchedulerSettings(tickBudget);
+    }
+    
+    private ConfigData.MetricsSettings loadMetricsSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.MetricsSettings.DEFAULTS;
+        
+        int port = config.getInt("metrics.port", defaults.port());
+        if (port < 1 || port > 65535) {
+            warnings.add("Metrics port must be between 1 and 65535, got: " + port + ", using " + defaults.port());
+            port = defaults.port();
+        }
+        
+        String path = config.getString("metrics.path", defaults.path());
+        if (!path.startsWith("/")) {
+            warnings.add("Metrics path must start with '/', got: " + path + ", using " + defaults.path());
+            path = defaults.path();
+        }
+        
+        return new ConfigData.MetricsSettings(config.getBoolean("metrics.enabled", defaults.enabled()), port, path);
+    }
+    
+    private ConfigData.DiscoverySettings loadDiscoverySettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.DiscoverySettings.DEFAULTS;
+        
+        int minX = config.getInt("discovery.region.min_x", defaults.minX());
+        int maxX = config.getInt("discovery.region.max_x", defaults.maxX());
+        int minZ = config.getInt("discovery.region.min_z", defaults.minZ());
+        int maxZ = config.getInt("discovery.region.max_z", defaults.maxZ());
+        if (minX > maxX || minZ > maxZ) {
+            warnings.add("Discovery region min values must not exceed max values, using the default region");
+            minX = defaults.minX();
+            maxX = defaults.maxX();
+            minZ = defaults.minZ();
+            maxZ = defaults.maxZ();
+        }
+        
+        int chunkStride = config.getInt("discovery.chunk_stride", defaults.chunkStride());
+        if (chunkStride < 1) {
+            warnings.add("Discovery chunk_stride must be at least 1, got: " + chunkStride);
+            chunkStride = 1;
+        }
+        
+        double tickBudget = config.getDouble("discovery.tick_budget_ms", defaults.tickBudgetMillis());
+        if (tickBudget <= 0 || tickBudget > 25) {
+            warnings.add("Discovery tick_budget_ms should be between 0 and 25, got: " + tickBudget);
+            tickBudget = Math.clamp(tickBudget, 0.1, 25.0);
+        }
+        
+        int maxChunksPerTick = Math.max(1, config.getInt("discovery.max_chunks_per_tick", defaults.maxChunksPerTick()));
+        int topCandidates = Math.max(1, config.getInt("discovery.top_candidates", defaults.topCandidates()));
+        int minSpacing = Math.max(0, config.getInt("discovery.min_spacing", defaults.minSpacing()));
+        int threads = Math.max(1, config.getInt("discovery.threads", defaults.threads()));
+        
+        return new ConfigData.DiscoverySettings(
+            config.getString("discovery.world", defaults.world()),
+            minX, maxX, minZ, maxZ,
+            chunkStride, tickBudget, maxChunksPerTick, topCandidates, minSpacing, threads,
+            config.getBoolean("discovery.only_generated", defaults.onlyGenerated()),
+            config.getString("discovery.name_prefix", defaults.namePrefix())
+        );
+    }
+    
+    private ConfigData.SafetySettings loadSafetySettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.SafetySettings.DEFAULTS;
+        
+        int nudgeRadius = config.getInt("settings.safety.nudge_radius", defaults.nudgeRadius());
+        if (nudgeRadius < 0 || nudgeRadius > 8) {
+            warnings.add("Safety nudge_radius should be between 0 and 8, got: " + nudgeRadius);
+            nudgeRadius = Math.clamp(nudgeRadius, 0, 8);
+        }
+        
+        int workerThreads = config.getInt("settings.safety.worker_threads", defaults.workerThreads());
+        if (workerThreads < 1) {
+            warnings.add("Safety worker_threads must be at least 1, got: " + workerThreads);
+            workerThreads = 1;
+        }
+        
+        return new ConfigData.SafetySettings(
+            config.getBoolean("settings.safety.enabled", defaults.enabled()),
+            nudgeRadius,
+            workerThreads
+        );
+    }
+    
+    private ConfigData.SpawnSelectionSettings loadSpawnSelectionSettings(FileConfiguration config, List<String> warnings) {
+        var defaults = ConfigData.SpawnSelectionSettings.DEFAULTS;
+        
+        double densityWeight = config.getDouble("settings.spawn_selection.density_weight", defaults.densityWeight());
+        if (densityWeight < 0) {
+            warnings.add("Spawn selection density_weight cannot be negative, got: " + densityWeight);
+            densityWeight = 0;
+        }
+        
+        double maxMultiplier = config.getDouble("settings.spawn_selection.max_density_multiplier", defaults.maxDensityMultiplier());
+        if (maxMultiplier < 1.0) {
+            warnings.add("Spawn selection max_density_multiplier should be at least 1.0, got: " + maxMultiplier);
+            maxMultiplier = 1.0;
+        }
+        
+        int cellChunks = config.getInt("settings.spawn_selection.density_cell_chunks", defaults.densityCellChunks());
+        if (cellChunks < 1 || cellChunks > 64) {
+            warnings.add("Spawn selection density_cell_chunks should be between 1 and 64, got: " + cellChunks);
+            cellChunks = Math.clamp(cellChunks, 1, 64);
+        }
+        
+        int recencyCooldown = config.getInt("settings.spawn_selection.recency_cooldown", defaults.recencyCooldown());
+        if (recencyCooldown < 0) {
+            warnings.add("Spawn selection recency_cooldown cannot be negative, got: " + recencyCooldown);
+            recencyCooldown = 0;
+        }
+        
+        return new ConfigData.SpawnSelectionSettings(densityWeight, maxMultiplier, cellChunks, recencyCooldown);
+    }
+    
+    private List<SpawnLocation> loadSpawnLocations(FileConfiguration config, 
+                                                 List<String> errors, List<String> warnings) {
+        List<SpawnLocation> locations = new ArrayList<>();
+        ConfigurationSection section = config.getConfigurationSection("spawn_points");
+        
+        if (section == null) {
+            warnings.add("No spawn locations configured");
+            return List.of();
+        }
+        
+        for (String key : section.getKeys(false)) {
+            try {
+                ConfigurationSection locationSection = section.getConfigurationSection(key);
+                if (locationSection == null) continue;
+                
+                String worldName = locationSection.getString("world");
+                if (worldName == null) {
+                    errors.add("Location '" + key + "' missing world name");
+                    continue;
+                }
+                
+                double x = locationSection.getDouble("x");
+                double y = locationSection.getDouble("y");
+                double z = locationSection.getDouble("z");
+                float yaw = (float) locationSection.getDouble("yaw", 0);
+                float pitch = (float) locationSection.getDouble("pitch", 0);
+                String name = locationSection.getString("name", key);
+                double weight = locationSection.getDouble("weight", 1.0);
+                if (weight < 0) {
+                    warnings.add("Location '" + key + "' has a negative weight, using 1.0");
+                    weight = 1.0;
+                }
+                
+                locations.add(new SpawnLocation(worldName, x, y, z, yaw, pitch, name, weight));
+            
+            } catch (Exception e) {
+                errors.add("Failed to load location '" + key + "': " + e.getMessage());
+            }
+        }
+        
+        return List.copyOf(locations);
+    }
+    
+    /**
+     * Worlds are resolved lazily; points in worlds that load later stay in the catalog.
+     * Checked separately from parsing because the set of loaded worlds is not part of the file content.
+     */
+    private void warnUnloadedWorlds(List<SpawnLocation> locations, Set<String> loadedWorlds, List<String> warnings) {
+        for (SpawnLocation location : locations) {
+            if (!loadedWorlds.contains(location.getWorldName())) {
+                warnings.add("World '" + location.getWorldName() + "' for location '" + location.getName()
+                    + "' is not loaded yet, it will be used once the world loads");
+            }
+        }
+    }
+    
+    private Map<String, List<LootItem>> loadLootPools(FileConfiguration config,
+                                                    List<String> errors, List<String> warnings) {
+        Map<String, List<LootItem>> lootPools = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("loot_pools");
+        
+        if (section == null) {
+            errors.add("No loot pools configured");
+            return Map.of();
+        }
+        
+        for (String tier : section.getKeys(false)) {
+            List<LootItem> items = new ArrayList<>();
+            ConfigurationSection tierSection = section.getConfigurationSection(tier);
+            
+            if (tierSection == null) continue;
+            
+            for (String key : tierSection.getKeys(false)) {
+                try {
+                    ConfigurationSection itemSection = tierSection.getConfigurationSection(key);
+                    if (itemSection == null) continue;
+                    
+                    String materialName = itemSection.getString("item");
+                    if (materialName == null) {
+                        errors.add("Item '" + key + "' in tier '" + tier + "' missing material");
+                        continue;
+                    }
+                    
+                    Material material = Material.valueOf(materialName.toUpperCase());
+                    List<Integer> priceRange = itemSection.getIntegerList("price_range");
+                    int weight = itemSection.getInt("weight", 1);
+                    
+                    int minPrice = priceRange.size() > 0 ? priceRange.get(0) : 10;
+                    int maxPrice = priceRange.size() > 1 ? priceRange.get(1) : 100;
+                    
+                    List<LootCondition> conditions = loadLootConditions(itemSection.getConfigurationSection("conditions"));
+                    LootItem lootItem = new LootItem(material, minPrice, maxPrice, weight, conditions);
+                    items.add(lootItem);
+                
+                } catch (IllegalArgumentException e) {
+                    errors.add("Invalid material or values for item '" + key + "' in tier '" + tier + "': " + e.getMessage());
+                } catch (Exception e) {
+                    errors.add("Failed to load item '" + key + "' in tier '" + tier + "': " + e.getMessage());
+                }
+            }
+            
+            lootPools.put(tier, List.copyOf(items));
+        }
+        
+        // Each distinct condition is one bit of the compiled table's mask
+        long distinct = lootPools.values().stream().flatMap(List::stream)
+            .flatMap(item -> item.conditions().stream()).distinct().count();
+        if (distinct > ConditionalLootTable.MAX_CONDITIONS) {
+            errors.add("Loot items use " + distinct + " distinct conditions, at most "
+                + ConditionalLootTable.MAX_CONDITIONS + " are supported");
+        }
+        
+        return Map.copyOf(lootPools);
+    }
+    
+    /**
+     * Reads the conditions of a loot item. Every listed condition must hold; lists inside one condition
+     * match any of their values.
+     * 
+     * @throws IllegalArgumentException if a condition has an invalid value
+     */
+    private static List<LootCondition> loadLootConditions(ConfigurationSection section) {
+        if (section == null) {
+            return List.of();
+        }
+        List<LootCondition> conditions = new ArrayList<>();
+        if (section.isSet("worlds")) {
+            conditions.add(new LootCondition.InWorld(Set.copyOf(section.getStringList("worlds"))));
+        }
+        if (section.isSet("time")) {
+            String time = section.getString("time", "").toLowerCase(Locale.ROOT);
+            if (!time.equals("day") && !time.equals("night")) {
+                throw new IllegalArgumentException("time must be day or night, got: " + time);
+            }
+            conditions.add(new LootCondition.AtTime(time.equals("night")));
+        }
+        if (section.isSet("min_players") || section.isSet("max_players")) {
+            conditions.add(new LootCondition.OnlinePlayers(section.getInt("min_players", 0),
+                section.getInt("max_players", Integer.MAX_VALUE)));
+        }
+        if (section.isSet("days")) {
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            for (String day : section.getStringList("days")) {
+                days.add(DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT)));
+            }
+            conditions.add(new LootCondition.OnDays(days));
+        }
+        if (section.isSet("events")) {
+            conditions.add(new LootCondition.DuringEvent(Set.copyOf(section.getStringList("events"))));
+        }
+        return List.copyOf(conditions);
+    }
+    
+    private Map<String, String> loadMessages(FileConfiguration config,
+                                           List<String> errors, List<String> warnings) {
+        Map<String, String> messages = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("messages");
+        
+        if (section == null) {
+            warnings.add("No messages configured, using defaults");
+            return getDefaultMessages();
+        }
+        
+        for (String key : section.getKeys(false)) {
+            String message = section.getString(key);
+            if (message != null) {
+                // Store as MiniMessage format (no need to translate anymore)
+                messages.put(key, message);
+            }
+        }
+        
+        // Ensure required messages exist
+        Map<String, String> defaults = getDefaultMessages();
+        for (Map.Entry<String, String> entry : defaults.entrySet()) {
+            messages.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        
+        return Map.copyOf(messages);
+    }
+    
+    private Map<String, String> getDefaultMessages() {
+        return Map.of(
+            "shop_spawned", "<bold><color:#9D4EDD>[MOBILE BAZAAR]</color></bold> <white>Has appeared!</white>",
+            "shop_despawned", "<bold><color:#9D4EDD>[MOBILE BAZAAR]</color></bold> <white>Has vanished!</white>",
+            "purchase_success", "<color:#51CF66>Successfully purchased {item} for {price}!</color>",
+            "purchase_success_bulk", "<color:#51CF66>Successfully purchased {amount}x {item} for {price}!</color>",
+            "not_enough_money", "<color:#FF6B6B>You don't have enough money!</color>",
+            "inventory_full", "<color:#FF6B6B>Your inventory is full!</color>",
+            "out_of_stock", "<color:#FF6B6B>This item is sold out!</color>",
+            "offer_unavailable", "<color:#FF6B6B>This offer has changed! Open the bazaar again.</color>",
+            "purchase_limit", "<color:#FF6B6B>You have bought as many of this as you may this rotation!</color>",
+            "no_permission", "<color:#FF6B6B>You don't have permission!</color>"
+        );
+    }
+    
+    // Thread-safe getters
+    public ConfigData getConfigSnapshot() {
+        return snapshot.get();
+    }
+    
+    // Legacy support methods
+    public FileConfiguration getConfig() {
+        return YamlConfiguration.loadConfiguration(configFiles.config());
+    }
+    
+    public FileConfiguration getGuiConfig() {
+        return YamlConfiguration.loadConfiguration(configFiles.gui());
+    }
+    
+    public List<SpawnLocation> getSpawnLocations() {
+        return getConfigSnapshot().spawnLocations();
+    }
+    
+    public Map<String, List<LootItem>> getLootPools() {
+        return getConfigSnapshot().lootPools();
+    }
+    
+    // Modern MiniMessage methods
+    public String getMessage(String key) {
+        Map<String, String> messages = getConfigSnapshot().messages();
+        return messages.getOrDefault(key, "<color:#FF6B6B>Message not found: " + key + "</color>");
+    }
+    
+    public String getMessage(String key, String... replacements) {
+        String message = getMessage(key);
+        
+        // Modern replacement with validation
+        for (int i = 0; i < replacements.length - 1; i += 2) {
+            String placeholder = replacements[i];
+            String replacement = replacements[i + 1];
+            if (placeholder != null && replacement != null) {
+                message = message.replace(placeholder, replacement);
+            }
+        }
+        
+        return message;
+    }
+    
+    /**
+     * Converts a MiniMessage string to a Component.
+     */
+    public Component parseMessage(String miniMessageString) {
+        try {
+            return miniMessage.deserialize(miniMessageString);
+        } catch (Exception e) {
+            logger.warning("Failed to parse MiniMessage: " + miniMessageString + " - " + e.getMessage());
+            return Component.text(miniMessageString);
+        }
+    }
+    
+    /**
+     * Converts a MiniMessage string to legacy section-coded text, as used for item names and lore.
+     * Matches {@link com.nenf.edenbazaar.core.text.TextRenderer}, so it can render core templates.
+     */
+    public String renderLegacy(String miniMessageString) {
+        return LegacyComponentSerializer.legacySection().serialize(parseMessage(miniMessageString));
+    }
+    
+    /**
+     * Gets a message as a Component with placeholders.
+     */
+    public Component getMessageComponent(String key, TagResolver... placeholders) {
+        String messageString = getMessage(key);
+        try {
+            return miniMessage.deserialize(messageString, placeholders);
+        } catch (Exception e) {
+            logger.warning("Failed to parse message component for key: " + key + " - " + e.getMessage());
+            return Component.text(messageString);
+        }
+    }
+    
+    /**
+     * Helper method to create placeholder resolvers.
+     */
+    public static TagResolver placeholder(String key, String value) {
+        return Placeholder.unparsed(key, value);
+    }
+    
+    /**
+     * Helper method to create component placeholder resolvers.
+     */
+    public static TagResolver placeholder(String key, Component value) {
+        return Placeholder.component(key, value);
+    }
+    
+    // File modification methods with proper error handling
+    public CompletableFuture<ReloadResult> addSpawnLocation(String name, Location location) {
+        return addSpawnLocations(Map.of(name, new SpawnLocation(location, name)));
+    }
+    
+    /**
+     * Writes several spawn locations with a single save and reload, both off the main thread.
+     * 
+     * @param locations spawn locations keyed by their locations.yml key
+     */
+    public CompletableFuture<ReloadResult> addSpawnLocations(Map<String, SpawnLocation> locations) {
+        Map<String, SpawnLocation> toWrite = Map.copyOf(locations);
+        return reloadAsync("added " + toWrite.size() + " spawn locations", () -> {
+            FileConfiguration config = YamlConfiguration.loadConfiguration(configFiles.locations());
+            ConfigurationSection section = config.getConfigurationSection("spawn_points");
+            if (section == null) {
+                section = config.createSection("spawn_points");
+            }
+            
+            for (Map.Entry<String, SpawnLocation> entry : toWrite.entrySet()) {
+                SpawnLocation location = entry.getValue();
+                ConfigurationSection locationSection = section.createSection(entry.getKey());
+                locationSection.set("world", location.getWorldName());
+                locationSection.set("x", location.getX());
+                locationSection.set("y", location.getY());
+                locationSection.set("z", location.getZ());
+                locationSection.set("yaw", location.getYaw());
+                locationSection.set("pitch", location.getPitch());
+                locationSection.set("name", location.getName());
+                if (location.getWeight() != 1.0) {
+                    locationSection.set("weight", location.getWeight());
+                }
+            }
+            
+            try {
+                config.save(configFiles.locations());
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not save locations: " + toWrite.keySet(), e);
+                throw e;
+            }
+        });
+    }
+    
+    public CompletableFuture<ReloadResult> addLootItem(String tier, Material material, int minPrice, int maxPrice, int weight) {
+        // Validate inputs
+        new LootItem(material, minPrice, maxPrice, weight); // This will throw if invalid
+        
+        return reloadAsync("added loot item " + material.name(), () -> {
+            FileConfiguration config = YamlConfiguration.loadConfiguration(configFiles.loot());
+            ConfigurationSection section = config.getConfigurationSection("loot_pools." + tier);
+            if (section == null) {
+                section = config.createSection("loot_pools." + tier);
+            }
+            
+            String itemKey = material.name().toLowerCase();
+            ConfigurationSection itemSection = section.createSection(itemKey);
+            itemSection.set("item", material.name());
+            itemSection.set("price_range", List.of(minPrice, maxPrice));
+            itemSection.set("weight", weight);
+            
+            try {
+                config.save(configFiles.loot());
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not save loot item: " + material.name(), e);
+                throw e;
+            }
+        });
+    }
+    
+    /**
+     * A file edit applied on the reload thread before parsing.
+     */
+    @FunctionalInterface
+    private interface FileChange {
+        void apply() throws IOException;
+    }
+    
+    private record LoadResult(ConfigData data, ValidationResult validation, long parseMillis) {}
+    
+    /**
+     * Validation result record.
+     */
+    private record ValidationResult(boolean isValid, List<String> errors, List<String> warnings) {
+        
+        void logResults(Logger logger) {
+            warnings.forEach(warning -> logger.warning("Config warning: " + warning));
+            errors.forEach(error -> logger.severe("Config error: " + error));
+        }
+    }
+}
\ No newline at end of file
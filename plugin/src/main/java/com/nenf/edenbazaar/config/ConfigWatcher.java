@@ -0,0 +1,107 @@
+package com.nenf.edenbazaar.config;
+
+import com.nenf.edenbazaar.EdenBazaar;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Watches the data folder and reloads the configuration when one of its files changes.
+ * Events are debounced, so an editor saving a file in several steps triggers a single reload.
+ * Runs on a virtual thread; the reload itself is started on the main thread.
+ */
+public class ConfigWatcher {
+    
+    // Quiet period after the last event before a reload starts
+    private static final long DEBOUNCE_MILLIS = 500;
+    
+    private static final Set<String> WATCHED_FILES = Set.of(
+        "config.yml", "locations.yml", "loot.yml", "gui.yml", "messages.yml"
+    );
+    
+    private final EdenBazaar plugin;
+    private WatchService watchService;
+    private Thread thread;
+    
+    public ConfigWatcher(EdenBazaar plugin) {
+        this.plugin = plugin;
+    }
+    
+    public boolean isRunning() {
+        return thread != null;
+    }
+    
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        
+        try {
+            Path folder = plugin.getDataFolder().toPath();
+            watchService = FileSystems.getDefault().newWatchService();
+            folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not watch config files, use /bazaar reload after editing them", e);
+            return;
+        }
+        
+        thread = Thread.ofVirtual().name("EdenBazaar-ConfigWatcher").start(this::watch);
+        plugin.getLogger().fine("Watching config files for changes");
+    }
+    
+    private void watch() {
+        try {
+            while (true) {
+                Set<String> changed = new TreeSet<>();
+                WatchKey key = watchService.take();
+                
+                // Keep collecting until the folder has been quiet for the debounce period
+                while (key != null) {
+                    collect(key, changed);
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                
+                if (!changed.isEmpty()) {
+                    String reason = "file change: " + String.join(", ", changed);
+                    plugin.getPlatformScheduler().runGlobal(() -> plugin.getConfigManager().reloadAsync(reason));
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Config watcher stopped unexpectedly", e);
+        }
+    }
+    
+    private static void collect(WatchKey key, Set<String> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && WATCHED_FILES.contains(path.getFileName().toString())) {
+                changed.add(path.getFileName().toString());
+            }
+        }
+        key.reset();
+    }
+    
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Failed to close config watcher", e);
+        }
+        thread.interrupt();
+        thread = null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.nenf.edenbazaar.gui;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.models.ShopItem;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.List;
+
+/**
+ * Modern Bazaar GUI with MiniMessage support for beautiful, colorful interfaces.
+ * Layout, title and static items come from a precomputed {@link BazaarLayout}.
+ * Each GUI shows the offers of one rotation.
+ */
+public class BazaarGUI implements InventoryHolder {
+    
+    private final EdenBazaar plugin;
+    private final BazaarLayout layout;
+    private final Inventory inventory;
+    private final List<ShopItem> shopItems;
+    private final long rotation;
+    
+    public BazaarGUI(EdenBazaar plugin, BazaarLayout layout, List<ShopItem> shopItems, long rotation) {
+        this.plugin = plugin;
+        this.layout = layout;
+        this.shopItems = shopItems;
+        this.rotation = rotation;
+        this.inventory = Bukkit.createInventory(this, layout.size(), layout.title());
+        setupGUI();
+    }
+    
+    private void setupGUI() {
+        // Fill with background items
+        for (int i = 0; i < inventory.getSize(); i++) {
+            inventory.setItem(i, layout.background());
+        }
+        
+        // Add shop items
+        int[] itemSlots = layout.itemSlots();
+        for (int i = 0; i < Math.min(shopItems.size(), itemSlots.length); i++) {
+            inventory.setItem(itemSlots[i], shopItems.get(i).getItemStack());
+        }
+        
+        // Add info item
+        if (layout.infoSlot() < inventory.getSize()) {
+            inventory.setItem(layout.infoSlot(), createInfoItem());
+        }
+        
+        // Add close button
+        if (layout.closeSlot() < inventory.getSize()) {
+            inventory.setItem(layout.closeSlot(), layout.closeButton());
+        }
+    }
+    
+    private ItemStack createInfoItem() {
+        ItemStack item = new ItemStack(layout.infoMaterial());
+        ItemMeta meta = item.getItemMeta();
+        
+        if (meta != null) {
+            meta.setDisplayName(layout.infoName());
+            
+            String locationName = plugin.getBazaarManager().getCurrentLocationName().orElse("Unknown");
+            String itemCount = String.valueOf(shopItems.size());
+            
+            // Replace placeholders and parse MiniMessage
+            meta.setLore(layout.infoLore().render(placeholder -> switch (placeholder) {
+                case "location" -> locationName;
+                case "items" -> itemCount;
+                default -> null;
+            }, plugin.getConfigManager()::renderLegacy));
+            item.setItemMeta(meta);
+        }
+        
+        return item;
+    }
+    
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+    
+    public BazaarLayout getLayout() {
+        return layout;
+    }
+    
+    public List<ShopItem> getShopItems() {
+        return shopItems;
+    }
+    
+    public long getRotation() {
+        return rotation;
+    }
+    
+    public ShopItem getShopItem(int slot) {
+        int index = layout.itemIndex(slot);
+        if (index >= 0 && index < shopItems.size()) {
+            return shopItems.get(index);
+        }
+        
+        return null;
+    }
+    
+    public void openGUI(Player player) {
+        player.openInventory(inventory);
+    }
+}
\ No newline at end of file
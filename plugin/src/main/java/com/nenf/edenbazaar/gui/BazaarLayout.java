@@ -0,0 +1,74 @@
+package com.nenf.edenbazaar.gui;
+
+import com.nenf.edenbazaar.config.ConfigManager;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.GuiSettings;
+import com.nenf.edenbazaar.core.text.LineTemplates;
+import com.nenf.edenbazaar.core.text.TextRenderer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Arrays;
+
+/**
+ * Bazaar inventory layout derived from gui.yml: rendered title and static items, and a table from
+ * slot to shop item index. Built once per gui.yml change and shared by every opened bazaar inventory.
+ *
+ * @param itemIndexBySlot shop item index for each slot, -1 for slots without a shop item
+ * @param infoLore info lore, lines with placeholders are rendered per inventory
+ */
+public record BazaarLayout(
+    String title,
+    int size,
+    int[] itemSlots,
+    int[] itemIndexBySlot,
+    int infoSlot,
+    int closeSlot,
+    ItemStack background,
+    ItemStack closeButton,
+    Material infoMaterial,
+    String infoName,
+    LineTemplates infoLore
+) {
+    
+    public static BazaarLayout of(GuiSettings gui, ConfigManager configManager) {
+        TextRenderer renderer = configManager::renderLegacy;
+        int[] itemSlots = gui.itemSlots().stream().mapToInt(Integer::intValue).filter(slot -> slot < gui.size()).toArray();
+        int[] itemIndexBySlot = new int[gui.size()];
+        Arrays.fill(itemIndexBySlot, -1);
+        for (int i = 0; i < itemSlots.length; i++) {
+            itemIndexBySlot[itemSlots[i]] = i;
+        }
+        
+        return new BazaarLayout(
+            renderer.render(gui.title()),
+            gui.size(),
+            itemSlots,
+            itemIndexBySlot,
+            gui.infoSlot(),
+            gui.closeSlot(),
+            namedItem(gui.backgroundMaterial(), renderer.render(gui.backgroundName())),
+            namedItem(gui.closeMaterial(), renderer.render(gui.closeName())),
+            gui.infoMaterial(),
+            renderer.render(gui.infoName()),
+            new LineTemplates(gui.infoLore(), renderer)
+        );
+    }
+    
+    /**
+     * Gets the index of the shop item shown in a slot, or -1 if the slot holds none.
+     */
+    public int itemIndex(int slot) {
+        return slot >= 0 && slot < itemIndexBySlot.length ? itemIndexBySlot[slot] : -1;
+    }
+    
+    private static ItemStack namedItem(Material material, String name) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(name);
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,463 @@
+package com.nenf.edenbazaar.listeners;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.core.jfr.GuiRenderEvent;
+import com.nenf.edenbazaar.core.jfr.PurchaseEvent;
+import com.nenf.edenbazaar.core.metrics.Counter;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.metrics.MetricsRegistry;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Priority;
+import com.nenf.edenbazaar.core.shop.Allowance;
+import com.nenf.edenbazaar.core.shop.Checkout;
+import com.nenf.edenbazaar.core.shop.Customer;
+import com.nenf.edenbazaar.gui.BazaarGUI;
+import com.nenf.edenbazaar.gui.BazaarLayout;
+import com.nenf.edenbazaar.models.ShopItem;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+
+import static com.nenf.edenbazaar.config.ConfigManager.placeholder;
+
+/**
+ * Modern event listener with MiniMessage support and transaction safety.
+ */
+public class BazaarListener implements Listener {
+    
+    private final EdenBazaar plugin;
+    
+    // Rebuilt when gui.yml changes
+    private volatile BazaarLayout layout;
+    
+    // Timings of GUI builds and of each purchase phase, shown by /bazaar stats
+    private final LatencyHistogram guiBuildTimes;
+    private final LatencyHistogram purchaseTimes;
+    private final LatencyHistogram affordTimes;
+    private final LatencyHistogram roomTimes;
+    private final LatencyHistogram payTimes;
+    private final LatencyHistogram deliverTimes;
+    private final LatencyHistogram refundTimes;
+    private final Map<Checkout.Outcome, Counter> outcomeCounts = new EnumMap<>(Checkout.Outcome.class);
+    
+    // Color constants
+    private static final TextColor ERROR_COLOR = TextColor.fromHexString("#FF6B6B");
+    
+    public BazaarListener(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.layout = BazaarLayout.of(plugin.getConfigManager().getConfigSnapshot().gui(), plugin.getConfigManager());
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("gui"),
+            (config, diff) -> layout = BazaarLayout.of(config.gui(), plugin.getConfigManager()));
+        
+        MetricsRegistry metrics = plugin.getMetrics();
+        this.guiBuildTimes = metrics.histogram("gui.build");
+        this.purchaseTimes = metrics.histogram("purchase.total");
+        this.affordTimes = metrics.histogram("purchase.afford");
+        this.roomTimes = metrics.histogram("purchase.room");
+        this.payTimes = metrics.histogram("purchase.pay");
+        this.deliverTimes = metrics.histogram("purchase.deliver");
+        this.refundTimes = metrics.histogram("purchase.refund");
+        for (Checkout.Outcome outcome : Checkout.Outcome.values()) {
+            outcomeCounts.put(outcome, metrics.counter(
+                MetricsRegistry.labeled("purchase.outcome", "outcome", outcome.name().toLowerCase(Locale.ROOT))));
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPlayerInteractEntity(PlayerInteractEntityEvent event) {
+        if (!(event.getRightClicked() instanceof LivingEntity livingEntity)) {
+            return;
+        }
+        
+        // Check if this is our bazaar shop
+        if (!plugin.getBazaarManager().isShopActive() || 
+            plugin.getBazaarManager().getCurrentShop().map(shop -> !livingEntity.equals(shop)).orElse(true)) {
+            return;
+        }
+        
+        event.setCancelled(true);
+        
+        Player player = event.getPlayer();
+        
+        // Check permission
+        if (!player.hasPermission("edenbazaar.use")) {
+            Component message = plugin.getConfigManager().getMessageComponent("no_permission");
+            player.sendMessage(message);
+            return;
+        }
+        
+        // Open GUI
+        try {
+            GuiRenderEvent renderEvent = new GuiRenderEvent();
+            renderEvent.begin();
+            long start = System.nanoTime();
+            long rotation = plugin.getBazaarManager().getCurrentRotation();
+            List<ShopItem> inventory = plugin.getBazaarManager().getInventoryFor(player);
+            BazaarGUI gui = new BazaarGUI(plugin, layout, inventory, rotation);
+            guiBuildTimes.recordSince(start);
+            renderEvent.end();
+            if (renderEvent.shouldCommit()) {
+                renderEvent.player = player.getName();
+                renderEvent.items = inventory != null ? inventory.size() : 0;
+                renderEvent.commit();
+            }
+            gui.openGUI(player);
+            if (inventory != null && rotation != 0) {
+                plugin.getPityTracker().recordRotation(player.getUniqueId(), rotation, inventory);
+            }
+            // Demand statistics follow the shared rotation, which a player with their own offers never saw
+            if (!plugin.getPersonalRotations().isEnabled()) {
+                plugin.getDemandTracker().recordView();
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to open bazaar GUI for " + player.getName(), e);
+            Component errorMessage = Component.text("Failed to open shop! Please try again.", ERROR_COLOR);
+            player.sendMessage(errorMessage);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) {
+            return;
+        }
+        
+        InventoryHolder holder = event.getInventory().getHolder();
+        
+        if (!(holder instanceof BazaarGUI gui)) {
+            return;
+        }
+        
+        event.setCancelled(true);
+        
+        int slot = event.getRawSlot();
+        
+        // Check if player clicked on close button
+        if (slot == gui.getLayout().closeSlot()) {
+            player.closeInventory();
+            return;
+        }
+        
+        // Check if player clicked on a shop item
+        ShopItem shopItem = gui.getShopItem(slot);
+        if (shopItem == null) {
+            return;
+        }
+        
+        // Players may only buy from their own current offers, whose stock is the one that counts
+        if (plugin.getPersonalRotations().isEnabled()) {
+            shopItem = ownOffer(player, gui, slot, shopItem);
+            if (shopItem == null) {
+                player.sendMessage(plugin.getConfigManager().getMessageComponent("offer_unavailable"));
+                return;
+            }
+        }
+        
+        // Limits count offers by their place in the current rotation, which a GUI from an earlier one does not show
+        long rotation = plugin.getBazaarManager().getCurrentRotation();
+        if (plugin.getPurchaseLimiter().isEnabled() && gui.getRotation() != rotation) {
+            player.sendMessage(plugin.getConfigManager().getMessageComponent("offer_unavailable"));
+            return;
+        }
+        Allowance allowance = plugin.getPurchaseLimiter()
+            .allowanceFor(player.getUniqueId(), rotation, gui.getLayout().itemIndex(slot), shopItem.getTier());
+        int units = event.isShiftClick() ? bulkUnits(shopItem, allowance) : 1;
+        
+        // Process purchase with transaction safety
+        processPurchaseTransaction(player, shopItem, allowance, units);
+    }
+    
+    /**
+     * Units a shift-click buys: enough to fill a stack, within the configured maximum, the stock left and
+     * the player's limit. At least one, so a sold-out offer or a reached limit is reported as usual.
+     */
+    private int bulkUnits(ShopItem shopItem, Allowance allowance) {
+        ItemStack item = shopItem.getItemStack();
+        int perStack = Math.max(1, item.getMaxStackSize() / Math.max(1, item.getAmount()));
+        int units = Math.min(perStack, plugin.getConfigManager().getConfigSnapshot().maxBulkUnits());
+        units = Math.min(units, Math.min(shopItem.getStock().remaining(), allowance.remaining()));
+        return Math.max(1, units);
+    }
+    
+    /**
+     * The player's own offer in a clicked slot, or null if the GUI shows another rotation or an offer
+     * the player no longer has, e.g. after their rank changed.
+     */
+    private ShopItem ownOffer(Player player, BazaarGUI gui, int slot, ShopItem shown) {
+        if (gui.getRotation() != plugin.getBazaarManager().getCurrentRotation()) {
+            return null;
+        }
+        int index = gui.getLayout().itemIndex(slot);
+        List<ShopItem> offers = plugin.getBazaarManager().getInventoryFor(player);
+        if (index < 0 || index >= offers.size()) {
+            return null;
+        }
+        // Offers are redrawn identically after an eviction, so they match by content rather than identity
+        ShopItem own = offers.get(index);
+        boolean same = own.getItemStack().getType() == shown.getItemStack().getType()
+            && own.getPrice() == shown.getPrice() && own.getTier().equals(shown.getTier());
+        return same ? own : null;
+    }
+    
+    /**
+     * Processes a purchase with full transaction safety and rollback capability.
+     */
+    private void processPurchaseTransaction(Player player, ShopItem shopItem, Allowance allowance, int units) {
+        double price = shopItem.getPrice() * units;
+        
+        // Check if shop is still active
+        if (!plugin.getBazaarManager().isShopActive()) {
+            player.sendMessage(plugin.getConfigManager().getMessageComponent("bazaar_not_active"));
+            return;
+        }
+        
+        // Stock, payment and delivery are rolled back by the checkout if a later phase fails
+        Checkout.Outcome outcome = null;
+        PlayerCustomer customer = new PlayerCustomer(player, shopItem, units);
+        PurchaseEvent event = new PurchaseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            outcome = Checkout.purchase(shopItem.getStock(), allowance, shopItem.getPrice(), units, customer);
+            outcomeCounts.get(outcome).increment();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Error during purchase transaction for " + player.getName(), e);
+            Component errorMessage = Component.text("An error occurred during purchase. Any money taken has been refunded.", ERROR_COLOR);
+            player.sendMessage(errorMessage);
+            return;
+        } finally {
+            purchaseTimes.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                commitPurchaseEvent(event, customer, outcome);
+            }
+        }
+        
+        switch (outcome) {
+            case PURCHASED -> {
+                plugin.getDemandTracker().recordPurchase(shopItem, units);
+                plugin.getPityTracker().recordPurchase(player.getUniqueId(), shopItem);
+                // Prices are rolled as whole numbers
+                plugin.getMetrics().counter(MetricsRegistry.labeled("purchase.revenue", "tier", shopItem.getTier()))
+                    .add(Math.round(price));
+                // Inventories must not be closed from inside a click event; the queue runs player work first
+                plugin.getWorkScheduler().submitFor(Priority.PLAYER, player, () -> completePurchase(player, shopItem, units, price));
+            }
+            case INSUFFICIENT_FUNDS -> {
+                String message = plugin.getConfigManager().getMessage("not_enough_money",
+                    "{price}", plugin.getEconomyManager().formatMoney(price),
+                    "{balance}", plugin.getEconomyManager().formatMoney(plugin.getEconomyManager().getBalance(player)));
+                player.sendMessage(plugin.getConfigManager().parseMessage(message));
+            }
+            case LIMIT_REACHED -> player.sendMessage(plugin.getConfigManager().getMessageComponent("purchase_limit"));
+            case OUT_OF_STOCK -> player.sendMessage(plugin.getConfigManager().getMessageComponent("out_of_stock"));
+            case INVENTORY_FULL -> player.sendMessage(plugin.getConfigManager().getMessageComponent("inventory_full"));
+            case PAYMENT_FAILED, DELIVERY_FAILED, REFUND_FAILED ->
+                player.sendMessage(plugin.getConfigManager().getMessageComponent("payment_failed"));
+        }
+    }
+    
+    private static void commitPurchaseEvent(PurchaseEvent event, PlayerCustomer customer, Checkout.Outcome outcome) {
+        event.player = customer.player.getName();
+        event.item = customer.shopItem.getItemStack().getType().name();
+        event.tier = customer.shopItem.getTier();
+        event.price = customer.shopItem.getPrice();
+        event.units = customer.units;
+        event.outcome = outcome != null ? outcome.name() : "ERROR";
+        event.affordTime = customer.affordNanos;
+        event.roomTime = customer.roomNanos;
+        event.payTime = customer.payNanos;
+        event.deliverTime = customer.deliverNanos;
+        event.refundTime = customer.refundNanos;
+        event.commit();
+    }
+    
+    /**
+     * An amount of an item split into full stacks.
+     */
+    private static ItemStack[] stacks(ItemStack template, int amount) {
+        int maxStackSize = template.getMaxStackSize();
+        ItemStack[] stacks = new ItemStack[(amount + maxStackSize - 1) / maxStackSize];
+        for (int i = 0; i < stacks.length; i++) {
+            stacks[i] = template.clone();
+            stacks[i].setAmount(Math.min(maxStackSize, amount - i * maxStackSize));
+        }
+        return stacks;
+    }
+    
+    /**
+     * One message, sound and particle burst for a purchase, however many units it bought.
+     *
+     * @param price total paid
+     */
+    private void completePurchase(Player player, ShopItem shopItem, int units, double price) {
+        // Send success message with placeholders
+        String itemDisplayName = shopItem.getItemStack().getItemMeta() != null ? 
+            shopItem.getItemStack().getItemMeta().getDisplayName() : 
+            shopItem.getItemStack().getType().name();
+        String formattedPrice = plugin.getEconomyManager().formatMoney(price);
+        
+        Component message = plugin.getConfigManager().getMessageComponent(units > 1 ? "purchase_success_bulk" : "purchase_success",
+            placeholder("item", itemDisplayName),
+            placeholder("price", formattedPrice),
+            placeholder("amount", String.valueOf(units)));
+        player.sendMessage(message);
+        
+        // Play purchase sound
+        playPurchaseSound(player);
+        
+        // Create particle burst effect at purchase location
+        plugin.getVisualHints().createParticleBurst(
+            player.getLocation().add(0, 1, 0), 
+            org.bukkit.Particle.HAPPY_VILLAGER, 
+            10
+        );
+        
+        // Close inventory
+        player.closeInventory();
+    }
+    
+    private void playPurchaseSound(Player player) {
+        String soundName = plugin.getConfigManager().getConfigSnapshot().purchaseSound();
+        try {
+            player.playSound(player.getLocation(), org.bukkit.Sound.valueOf(soundName), 1.0f, 1.0f);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid purchase sound: " + soundName);
+        }
+    }
+    
+    /**
+     * A player buying units of one shop item, as seen by the {@link Checkout}.
+     */
+    private class PlayerCustomer implements Customer {
+        private final Player player;
+        private final ShopItem shopItem;
+        private final int units;
+        
+        // Time spent in each phase, for the purchase event
+        private long affordNanos;
+        private long roomNanos;
+        private long payNanos;
+        private long deliverNanos;
+        private long refundNanos;
+        
+        PlayerCustomer(Player player, ShopItem shopItem, int units) {
+            this.player = player;
+            this.shopItem = shopItem;
+            this.units = units;
+        }
+        
+        @Override
+        public boolean canAfford(double price) {
+            long start = System.nanoTime();
+            try {
+                return plugin.getEconomyManager().hasEnoughMoney(player, price);
+            } finally {
+                affordNanos = System.nanoTime() - start;
+                affordTimes.record(affordNanos);
+            }
+        }
+        
+        @Override
+        public boolean hasRoom(int units) {
+            long start = System.nanoTime();
+            try {
+                return hasRoomFor(units);
+            } finally {
+                roomNanos = System.nanoTime() - start;
+                roomTimes.record(roomNanos);
+            }
+        }
+        
+        /**
+         * Checks the storage slots in one pass, counting empty slots and room left in stacks of the same item,
+         * as {@code addItem} fills those first.
+         */
+        private boolean hasRoomFor(int units) {
+            ItemStack item = shopItem.getItemStack();
+            int maxStackSize = item.getMaxStackSize();
+            int needed = item.getAmount() * units;
+            for (ItemStack slot : player.getInventory().getStorageContents()) {
+                if (slot == null || slot.getType().isAir()) {
+                    needed -= maxStackSize;
+                } else if (slot.isSimilar(item)) {
+                    needed -= Math.max(0, maxStackSize - slot.getAmount());
+                }
+                if (needed <= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public boolean pay(double price) {
+            long start = System.nanoTime();
+            try {
+                return plugin.getEconomyManager().withdrawMoney(player, price);
+            } finally {
+                payNanos = System.nanoTime() - start;
+                payTimes.record(payNanos);
+            }
+        }
+        
+        @Override
+        public boolean deliver(int units) {
+            long start = System.nanoTime();
+            try {
+                // Handed over in one call, which tops up partial stacks first
+                ItemStack template = shopItem.getItemStack();
+                int amount = template.getAmount() * units;
+                Map<Integer, ItemStack> failed = player.getInventory().addItem(stacks(template, amount));
+                
+                if (failed.isEmpty()) {
+                    return true;
+                }
+                // This should not happen since space was checked on the main thread just before
+                plugin.getLogger().severe("Critical: Failed to give full item stack to " + player.getName() + 
+                    " after successful payment");
+                // The whole purchase is rolled back, so whatever did fit is taken back too
+                int delivered = amount - failed.values().stream().mapToInt(ItemStack::getAmount).sum();
+                if (delivered > 0) {
+                    player.getInventory().removeItem(stacks(template, delivered));
+                }
+                return false;
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Exception while giving item to " + player.getName(), e);
+                return false;
+            } finally {
+                deliverNanos = System.nanoTime() - start;
+                deliverTimes.record(deliverNanos);
+            }
+        }
+        
+        @Override
+        public boolean refund(double price) {
+            plugin.getLogger().info("Refunding " + price + " to " + player.getName() + " due to transaction rollback");
+            long start = System.nanoTime();
+            boolean refunded = plugin.getEconomyManager().depositMoney(player, price);
+            refundNanos = System.nanoTime() - start;
+            refundTimes.record(refundNanos);
+            if (refunded) {
+                return true;
+            }
+            plugin.getLogger().severe("Could not refund " + price + " to " + player.getName() + 
+                " - manual intervention required");
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.nenf.edenbazaar.listeners;
+
+import com.nenf.edenbazaar.managers.PlayerDensityTracker;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+/**
+ * Feeds player position changes into the density grid.
+ * Movement within a chunk is filtered out before touching the tracker. On Folia these events fire on each
+ * player's region thread, which the tracker is safe for.
+ */
+public class PlayerDensityListener implements Listener {
+    
+    private final PlayerDensityTracker densityTracker;
+    
+    public PlayerDensityListener(PlayerDensityTracker densityTracker) {
+        this.densityTracker = densityTracker;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        densityTracker.updatePlayer(event.getPlayer().getUniqueId(), event.getPlayer().getLocation());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        densityTracker.removePlayer(event.getPlayer().getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        handleMove(event);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        handleMove(event);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        densityTracker.updatePlayer(event.getPlayer().getUniqueId(), event.getPlayer().getLocation());
+    }
+    
+    private void handleMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null) {
+            return;
+        }
+        
+        // Cheap reject: same world and same chunk cannot change the cell
+        if (from.getWorld() == to.getWorld()
+            && (from.getBlockX() >> 4) == (to.getBlockX() >> 4)
+            && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4)) {
+            return;
+        }
+        
+        densityTracker.updatePlayer(event.getPlayer().getUniqueId(), to);
+    }
+}
\ No newline at end of file
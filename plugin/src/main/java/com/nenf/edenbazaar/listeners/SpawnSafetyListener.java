@@ -0,0 +1,48 @@
+package com.nenf.edenbazaar.listeners;
+
+import com.nenf.edenbazaar.managers.SpawnSafetyValidator;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+/**
+ * Invalidates cached spawn safety results when terrain changes near a spawn point.
+ */
+public class SpawnSafetyListener implements Listener {
+    
+    private final SpawnSafetyValidator validator;
+    
+    public SpawnSafetyListener(SpawnSafetyValidator validator) {
+        this.validator = validator;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        validator.invalidateNear(event.getBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        validator.invalidateNear(event.getBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLiquidFlow(BlockFromToEvent event) {
+        validator.invalidateNear(event.getToBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        event.blockList().forEach(validator::invalidateNear);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        event.blockList().forEach(validator::invalidateNear);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.nenf.edenbazaar.listeners;
+
+import com.nenf.edenbazaar.managers.SpawnCatalog;
+import com.nenf.edenbazaar.managers.SpawnSafetyValidator;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Keeps the spawn catalog's view of loaded worlds current and checks points in newly loaded worlds.
+ */
+public class WorldListener implements Listener {
+    
+    private final SpawnCatalog spawnCatalog;
+    private final SpawnSafetyValidator safetyValidator;
+    
+    public WorldListener(SpawnCatalog spawnCatalog, SpawnSafetyValidator safetyValidator) {
+        this.spawnCatalog = spawnCatalog;
+        this.safetyValidator = safetyValidator;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        spawnCatalog.onWorldLoad(event.getWorld());
+        safetyValidator.validateAll(false);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        spawnCatalog.onWorldUnload(event.getWorld());
+    }
+}
\ No newline at end of file
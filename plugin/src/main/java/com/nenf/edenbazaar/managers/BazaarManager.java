@@ -0,0 +1,660 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.GuiSettings;
+import com.nenf.edenbazaar.core.jfr.ShopDespawnEvent;
+import com.nenf.edenbazaar.core.jfr.ShopSpawnEvent;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Priority;
+import com.nenf.edenbazaar.models.ShopItem;
+import com.nenf.edenbazaar.models.SpawnLocation;
+import com.nenf.edenbazaar.scheduling.PlatformScheduler;
+import com.nenf.edenbazaar.scheduling.TaskHandle;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Villager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+
+import static com.nenf.edenbazaar.config.ConfigManager.placeholder;
+
+/**
+ * Modern bazaar manager with MiniMessage support, thread safety, proper resource management, and Java 21 features.
+ */
+public class BazaarManager {
+    
+    // Locations tried per spawn before giving up on unsafe points
+    private static final int MAX_LOCATION_ATTEMPTS = 5;
+    
+    private final EdenBazaar plugin;
+    private final ReadWriteLock shopLock = new ReentrantReadWriteLock();
+    private final SpawnSelector spawnSelector;
+    private final SpawnBroadcaster spawnBroadcaster;
+    private final LatencyHistogram spawnTimes;
+    private final LatencyHistogram despawnTimes;
+    private final AtomicBoolean spawning = new AtomicBoolean();
+    
+    // Volatile fields for safe concurrent access - using LivingEntity for configurability
+    private volatile LivingEntity currentShop;
+    private volatile Location currentLocation;
+    private volatile String currentLocationName;
+    private volatile List<ShopItem> currentInventory;
+    private volatile long currentRotation;
+    private volatile long currentRotationSeed;
+    private volatile long currentConditionMask;
+    
+    // Scheduler management
+    private TaskHandle despawnTask;
+    private TaskHandle spawnTask;
+    private volatile long despawnAtMillis;
+    
+    public BazaarManager(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.spawnSelector = new SpawnSelector(plugin, plugin.getPlayerDensityTracker(), plugin.getSpawnCatalog());
+        this.spawnBroadcaster = new SpawnBroadcaster(plugin);
+        this.spawnTimes = plugin.getMetrics().histogram("shop.spawn");
+        this.despawnTimes = plugin.getMetrics().histogram("shop.despawn");
+        // Read without the lock or the entity, gauges may be read from any thread
+        plugin.getMetrics().gauge("shop.active", () -> currentShop != null ? 1 : 0);
+    }
+    
+    /**
+     * Starts the automatic bazaar spawning scheduler.
+     */
+    public void startScheduler() {
+        shopLock.writeLock().lock();
+        try {
+            // Stop any existing scheduler first
+            stopScheduler();
+            
+            long spawnInterval = plugin.getConfigManager().getConfigSnapshot().spawnInterval() * 20L; // Convert to ticks
+            
+            // Queued rather than run inline, so purchases already waiting go first
+            spawnTask = plugin.getPlatformScheduler().runGlobalTimer(() -> plugin.getWorkScheduler().submit(Priority.SHOP, () -> {
+                if (!isShopActive()) {
+                    spawnShop();
+                }
+            }), 100L, spawnInterval); // Small delay on startup
+            
+            plugin.getLogger().info("Bazaar scheduler started with " + (spawnInterval / 20) + "s interval");
+        
+        } finally {
+            shopLock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Stops all schedulers and cleans up resources.
+     */
+    public void stopScheduler() {
+        shopLock.writeLock().lock();
+        try {
+            if (spawnTask != null && !spawnTask.isCancelled()) {
+                spawnTask.cancel();
+                spawnTask = null;
+            }
+            
+            cancelDespawnTask();
+            
+            plugin.getLogger().fine("Bazaar schedulers stopped");
+        
+        } finally {
+            shopLock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Spawns a new bazaar shop with full error handling and validation.
+     * Must be called on the global tick. The location check and the NPC run on the thread that owns
+     * the chosen location, so on Folia the result completes on a later tick.
+     * 
+     * @return whether a shop was spawned
+     */
+    public CompletableFuture<Boolean> spawnShop() {
+        if (!spawning.compareAndSet(false, true)) {
+            plugin.getLogger().warning("Cannot spawn bazaar: a spawn is already in progress");
+            return CompletableFuture.completedFuture(false);
+        }
+        ShopSpawnEvent event = new ShopSpawnEvent();
+        event.begin();
+        long start = System.nanoTime();
+        
+        CompletableFuture<Boolean> result;
+        try {
+            // Clean up existing shop first
+            if (isShopActive()) {
+                despawnShop();
+            }
+            result = prepareSpawn();
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        
+        return result.handle((spawned, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to spawn bazaar", error);
+            }
+            boolean success = error == null && spawned;
+            spawning.set(false);
+            spawnTimes.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                Location location = currentLocation;
+                event.location = currentLocationName;
+                event.world = location != null && location.getWorld() != null ? location.getWorld().getName() : null;
+                event.items = currentInventory != null ? currentInventory.size() : 0;
+                event.success = success;
+                event.commit();
+            }
+            return success;
+        });
+    }
+    
+    private CompletableFuture<Boolean> prepareSpawn() {
+        // Get available spawn locations
+        List<SpawnLocation> locations = plugin.getConfigManager().getSpawnLocations();
+        if (locations.isEmpty()) {
+            plugin.getLogger().warning("Cannot spawn bazaar: No spawn locations configured!");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        // Select location by weight, player density and recency, skipping unsafe points
+        return spawnAtSafeLocation(null, new HashSet<>());
+    }
+    
+    /**
+     * Picks a location on the global tick, loads its chunk off-thread, then checks it and spawns the shop on the
+     * thread that owns it.
+     * An unsafe location sends the next attempt back to the global tick, where the selector state lives.
+     * Only the location the shop spawned at goes on cooldown.
+     * The rotation is taken once a world is known, since loot conditions may depend on it.
+     * 
+     * @param taken rotation taken by an earlier attempt, or null
+     * @param tried locations earlier attempts could not use, only touched on the global tick
+     */
+    private CompletableFuture<Boolean> spawnAtSafeLocation(RotationPlanner.Rotation taken, Set<SpawnLocation> tried) {
+        Optional<SpawnLocation> selected = tried.size() < MAX_LOCATION_ATTEMPTS ? spawnSelector.select(tried) : Optional.empty();
+        if (selected.isEmpty()) {
+            plugin.getLogger().warning("Cannot spawn bazaar: No eligible spawn locations!");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        SpawnLocation spawnLocation = selected.get();
+        World world = plugin.getSpawnCatalog().getWorld(spawnLocation);
+        if (world == null) {
+            plugin.getLogger().warning("Skipping location " + spawnLocation.getName() + ": world is not loaded");
+            tried.add(spawnLocation);
+            return spawnAtSafeLocation(taken, tried);
+        }
+        
+        // Usually generated ahead of time; a later attempt keeps the rotation number, redrawn if the world changes it
+        RotationPlanner planner = plugin.getRotationPlanner();
+        RotationPlanner.Rotation rotation = taken == null ? planner.take(world) : planner.retarget(taken, world);
+        if (rotation.items().isEmpty()) {
+            plugin.getLogger().warning("Cannot spawn bazaar: No items generated!");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        PlatformScheduler scheduler = plugin.getPlatformScheduler();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Location point = new Location(world, spawnLocation.getX(), spawnLocation.getY(), spawnLocation.getZ());
+        // Loaded off-thread and completed on the thread that owns the point, so the check never loads it in place
+        world.getChunkAtAsync(point).whenComplete((chunk, loadError) -> {
+            if (loadError != null) {
+                result.completeExceptionally(loadError);
+                return;
+            }
+            try {
+                SpawnSafetyValidator.SafetyResult safety = plugin.getSpawnSafetyValidator().checkNow(spawnLocation, world);
+                if (!safety.usable()) {
+                    plugin.getLogger().warning("Skipping unsafe location " + spawnLocation.getName() + ": " + safety.reason());
+                    scheduler.runGlobal(() -> {
+                        tried.add(spawnLocation);
+                        spawnAtSafeLocation(rotation, tried).whenComplete((spawned, error) -> {
+                            if (error != null) {
+                                result.completeExceptionally(error);
+                            } else {
+                                result.complete(spawned);
+                            }
+                        });
+                    });
+                    return;
+                }
+                if (safety.status() == SpawnSafetyValidator.Status.NUDGED) {
+                    plugin.getLogger().info("Nudged location " + spawnLocation.getName() + " to a safe spot (" + safety.reason() + ")");
+                }
+                
+                // A nudged point may sit just across a region border
+                Location location = safety.toLocation(world, spawnLocation);
+                scheduler.runAt(location, () -> {
+                    try {
+                        boolean spawned = spawnAt(spawnLocation, location, rotation);
+                        if (spawned) {
+                            scheduler.runGlobal(() -> spawnSelector.markSpawned(spawnLocation));
+                        }
+                        result.complete(spawned);
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+                });
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Spawns the NPC and starts the rotation. Runs on the thread that owns the location.
+     */
+    private boolean spawnAt(SpawnLocation spawnLocation, Location location, RotationPlanner.Rotation rotation) {
+        // Spawn NPC (now configurable)
+        LivingEntity npc = spawnNPC(location);
+        if (npc == null) {
+            plugin.getLogger().severe("Failed to spawn bazaar NPC at " + spawnLocation.getName());
+            return false;
+        }
+        
+        // Update state
+        shopLock.writeLock().lock();
+        try {
+            currentShop = npc;
+            currentLocation = location;
+            currentLocationName = spawnLocation.getName();
+            currentInventory = List.copyOf(rotation.items()); // Immutable copy
+            currentRotation = rotation.number();
+            currentRotationSeed = rotation.seed();
+            currentConditionMask = rotation.conditionMask();
+            plugin.getPersonalRotations().beginRotation(rotation.number());
+        } finally {
+            shopLock.writeLock().unlock();
+        }
+        
+        long duration = plugin.getConfigManager().getConfigSnapshot().despawnTime() * 3_600_000L;
+        plugin.getDemandTracker().beginRotation(rotation.items(), duration);
+        
+        // Broadcast, schedule the despawn and start visual effects, all global state
+        plugin.getPlatformScheduler().runGlobal(() -> {
+            broadcastSpawnMessage();
+            scheduleDespawn();
+            plugin.getVisualHints().startParticleTask(location);
+        });
+        
+        // Create spawn particle burst
+        plugin.getVisualHints().createParticleBurst(
+            location.clone().add(0, 1, 0), 
+            org.bukkit.Particle.FIREWORK, 
+            20
+        );
+        
+        plugin.getLogger().info("Bazaar spawned at " + spawnLocation.getName() + " with " + rotation.items().size()
+            + " items (rotation #" + rotation.number() + ", seed " + Long.toHexString(rotation.seed()) + ")");
+        return true;
+    }
+    
+    private LivingEntity spawnNPC(Location location) {
+        try {
+            // Read NPC type from configuration
+            GuiSettings gui = plugin.getConfigManager().getConfigSnapshot().gui();
+            String npcTypeStr = gui.npcType();
+            
+            EntityType npcType;
+            try {
+                npcType = EntityType.valueOf(npcTypeStr);
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Invalid NPC type in config: " + npcTypeStr + ". Using VILLAGER as fallback.");
+                npcType = EntityType.VILLAGER;
+            }
+            
+            // Validate entity type is living and spawnable
+            if (!npcType.isAlive() || !npcType.isSpawnable()) {
+                plugin.getLogger().warning("NPC type " + npcTypeStr + " is not a valid living entity. Using VILLAGER as fallback.");
+                npcType = EntityType.VILLAGER;
+            }
+            
+            // Spawn the entity
+            LivingEntity npc = (LivingEntity) location.getWorld().spawnEntity(location, npcType);
+            
+            // Configure common properties for all living entities
+            npc.setAI(false);
+            npc.setInvulnerable(true);
+            npc.setSilent(true);
+            npc.setPersistent(true);
+            
+            // Set custom name using MiniMessage
+            Component customName = plugin.getConfigManager().parseMessage(gui.npcName());
+            npc.customName(customName);
+            npc.setCustomNameVisible(true);
+            
+            // Apply specific configurations based on entity type
+            configureSpecificNPC(npc, npcType);
+            
+            plugin.getLogger().info("Spawned bazaar NPC of type: " + npcType.name());
+            return npc;
+        
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to spawn NPC", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Apply entity-specific configurations
+     */
+    private void configureSpecificNPC(LivingEntity npc, EntityType type) {
+        switch (type) {
+            case VILLAGER -> {
+                // Villager-specific configuration
+                if (npc instanceof Villager villager) {
+                    villager.setProfession(Villager.Profession.NITWIT);
+                    villager.setVillagerType(Villager.Type.PLAINS);
+                }
+            }
+            case PLAYER -> {
+                // Player-type NPCs might need special handling
+                // Note: Spawning PLAYER entities is complex and may not work as expected
+                plugin.getLogger().warning("PLAYER entity type may not work as expected for NPCs");
+            }
+            case WANDERING_TRADER -> {
+                // Wandering trader specific settings
+                plugin.getLogger().fine("Configured wandering trader NPC");
+            }
+            case ZOMBIE_VILLAGER -> {
+                // Zombie villager specific settings
+                if (npc instanceof Villager villager) {
+                    villager.setProfession(Villager.Profession.NITWIT);
+                }
+            }
+            default -> {
+                // Generic configuration for other entity types
+                plugin.getLogger().fine("Using generic configuration for NPC type: " + type.name());
+            }
+        }
+    }
+    
+    private void broadcastSpawnMessage() {
+        try {
+            var configData = plugin.getConfigManager().getConfigSnapshot();
+            
+            String messageTemplate = plugin.getConfigManager().getMessage("shop_spawned");
+            Component message = plugin.getConfigManager().parseMessage(messageTemplate
+                .replace("{location}", currentLocationName)
+                .replace("{duration}", String.valueOf(configData.despawnTime())));
+            
+            // Delivered in batches over the next ticks, outside this lock
+            spawnBroadcaster.announce(message, currentLocation);
+        
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to broadcast spawn message", e);
+        }
+    }
+    
+    /**
+     * Gets the cost of the most recent spawn announcement, or null if none completed yet.
+     */
+    public SpawnBroadcaster.BroadcastReport getLastBroadcastReport() {
+        return spawnBroadcaster.getLastReport();
+    }
+    
+    private void scheduleDespawn() {
+        shopLock.writeLock().lock();
+        try {
+            // Cancel existing despawn task
+            cancelDespawnTask();
+            
+            long despawnTime = plugin.getConfigManager().getConfigSnapshot().despawnTime() * 3600 * 20L; // Convert hours to ticks
+            
+            despawnAtMillis = System.currentTimeMillis() + despawnTime * 50;
+            despawnTask = plugin.getPlatformScheduler().runGlobalLater(
+                () -> plugin.getWorkScheduler().submit(Priority.SHOP, this::despawnShop), despawnTime);
+        
+        } finally {
+            shopLock.writeLock().unlock();
+        }
+    }
+    
+    private void cancelDespawnTask() {
+        if (despawnTask != null && !despawnTask.isCancelled()) {
+            despawnTask.cancel();
+        }
+        despawnTask = null;
+        despawnAtMillis = 0;
+    }
+    
+    /**
+     * Despawns the current bazaar shop with proper cleanup.
+     */
+    public void despawnShop() {
+        ShopDespawnEvent event = new ShopDespawnEvent();
+        event.begin();
+        long start = System.nanoTime();
+        shopLock.writeLock().lock();
+        try {
+            boolean wasActive = isShopActive();
+            event.wasActive = wasActive;
+            event.location = currentLocationName;
+            Location despawnLocation = currentLocation; // Save location before clearing
+            
+            // Remove NPC on the thread that owns it
+            LivingEntity npc = currentShop;
+            if (npc != null && !npc.isDead()) {
+                try {
+                    plugin.getPlatformScheduler().runFor(npc, npc::remove);
+                } catch (RuntimeException e) {
+                    // Folia refuses new tasks once the plugin is disabling
+                    plugin.getLogger().log(Level.WARNING, "Could not remove the bazaar NPC", e);
+                }
+            }
+            
+            // Stop visual effects and any announcement still being delivered
+            plugin.getVisualHints().stopParticleTask();
+            spawnBroadcaster.cancel();
+            
+            // Create despawn particle burst if location is available
+            if (wasActive && despawnLocation != null) {
+                plugin.getVisualHints().createParticleBurst(
+                    despawnLocation.clone().add(0, 1, 0), 
+                    org.bukkit.Particle.CLOUD, 
+                    15
+                );
+            }
+            
+            // Cancel despawn task
+            cancelDespawnTask();
+            
+            // Clear state
+            currentShop = null;
+            currentLocation = null;
+            currentLocationName = null;
+            currentInventory = null;
+            currentRotation = 0;
+            plugin.getPersonalRotations().beginRotation(0);
+            
+            if (wasActive) {
+                // New demand statistics change prices, so rotations generated ahead are out of date
+                plugin.getDemandTracker().endRotation();
+                if (plugin.getConfigManager().getConfigSnapshot().pricing().enabled()) {
+                    plugin.getRotationPlanner().regenerate();
+                }
+                
+                // Broadcast despawn message
+                String messageTemplate = plugin.getConfigManager().getMessage("shop_despawned");
+                Component message = plugin.getConfigManager().parseMessage(messageTemplate);
+                plugin.getWorkScheduler().submit(Priority.BROADCAST, () -> Bukkit.getServer().sendMessage(message));
+                
+                plugin.getLogger().info("Bazaar despawned");
+            }
+        
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Error during bazaar despawn", e);
+        } finally {
+            shopLock.writeLock().unlock();
+            despawnTimes.recordSince(start);
+            event.commit();
+        }
+    }
+    
+    /**
+     * Thread-safe check if shop is currently active.
+     */
+    public boolean isShopActive() {
+        shopLock.readLock().lock();
+        try {
+            return currentShop != null && !currentShop.isDead();
+        } finally {
+            shopLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the current shop NPC safely.
+     */
+    public Optional<LivingEntity> getCurrentShop() {
+        shopLock.readLock().lock();
+        try {
+            return Optional.ofNullable(currentShop);
+        } finally {
+            shopLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the current location safely.
+     */
+    public Optional<Location> getCurrentLocation() {
+        shopLock.readLock().lock();
+        try {
+            return Optional.ofNullable(currentLocation);
+        } finally {
+            shopLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the current location name safely.
+     */
+    public Optional<String> getCurrentLocationName() {
+        shopLock.readLock().lock();
+        try {
+            return Optional.ofNullable(currentLocationName);
+        } finally {
+            shopLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the current inventory safely.
+     */
+    public List<ShopItem> getCurrentInventory() {
+        shopLock.readLock().lock();
+        try {
+            return currentInventory != null ? List.copyOf(currentInventory) : List.of();
+        } finally {
+            shopLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the offers a player sees: their own when personal rotations are on, otherwise the shared inventory.
+     * Must be called on the player's thread.
+     */
+    public List<ShopItem> getInventoryFor(Player player) {
+        PersonalRotations personal = plugin.getPersonalRotations();
+        long rotation;
+        long seed;
+        long conditionMask;
+        shopLock.readLock().lock();
+        try {
+            if (currentInventory == null || !personal.isEnabled()) {
+                return currentInventory != null ? List.copyOf(currentInventory) : List.of();
+            }
+            rotation = currentRotation;
+            seed = currentRotationSeed;
+            conditionMask = currentConditionMask;
+        } finally {
+            shopLock.readLock().unlock();
+        }
+        // Drawn outside the lock, so a first open never holds up a despawn
+        return personal.offersFor(player, rotation, seed, conditionMask);
+    }
+    
+    /**
+     * Gets the number of the rotation on offer, 0 when no shop is up.
+     */
+    public long getCurrentRotation() {
+        return currentRotation;
+    }
+    
+    /**
+     * Forces a shop respawn (admin command). Must be called on the global tick.
+     */
+    public CompletableFuture<Boolean> forceRespawn() {
+        plugin.getLogger().info("Force respawning bazaar...");
+        despawnShop();
+        return spawnShop();
+    }
+    
+    /**
+     * Gets comprehensive shop status information.
+     */
+    public ShopStatus getShopStatus() {
+        shopLock.readLock().lock();
+        try {
+            if (!isShopActive()) {
+                return new ShopStatus(false, null, null, 0, 0, -1);
+            }
+            
+            long timeLeft = -1;
+            long despawnAt = despawnAtMillis;
+            if (despawnAt > 0) {
+                // Wall-clock estimate, a lagging server despawns a little later
+                timeLeft = Math.max(0, despawnAt - System.currentTimeMillis()) / 50;
+            }
+            
+            return new ShopStatus(
+                true,
+                currentLocationName,
+                currentLocation,
+                currentInventory != null ? currentInventory.size() : 0,
+                currentRotation,
+                timeLeft
+            );
+        } finally {
+            shopLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Shop status record for information queries.
+     */
+    public record ShopStatus(
+        boolean active,
+        String locationName,
+        Location location,
+        int itemCount,
+        long rotation,
+        long timeLeftTicks
+    ) {
+        
+        public boolean hasTimeLeft() {
+            return timeLeftTicks > 0;
+        }
+        
+        public long timeLeftSeconds() {
+            return timeLeftTicks / 20;
+        }
+    }
+}
\ No newline at end of file
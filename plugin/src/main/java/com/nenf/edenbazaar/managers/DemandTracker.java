@@ -0,0 +1,179 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.core.pricing.DemandModel;
+import com.nenf.edenbazaar.models.LootItem;
+import com.nenf.edenbazaar.models.ShopItem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Collects demand for loot items across rotations and turns it into price multipliers for the loot generator.
+ * Shop views and purchases are counted during a rotation and folded into the statistics when it ends.
+ * Statistics are saved to demand.bin when a rotation ends and on shutdown. Safe to use from any thread.
+ */
+public class DemandTracker {
+    
+    private final EdenBazaar plugin;
+    private final DemandModel model;
+    private final File stateFile;
+    private final ExecutorService writer;
+    
+    private volatile long rotationStartMillis;
+    private volatile long rotationEndMillis;
+    
+    public DemandTracker(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.model = new DemandModel(plugin.getConfigManager().getConfigSnapshot().pricing().tuning());
+        this.stateFile = new File(plugin.getDataFolder(), "demand.bin");
+        this.writer = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name("EdenBazaar-Demand").factory());
+        load();
+        
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("pricing"),
+            (config, diff) -> model.setTuning(config.pricing().tuning()));
+    }
+    
+    /**
+     * Gets the index the statistics of a loot item are kept under. Items are identified by tier and material,
+     * so statistics survive reloads and restarts as long as the item stays in its tier.
+     */
+    public int register(String tier, LootItem item) {
+        return model.register(tier + ":" + item.material().name());
+    }
+    
+    /**
+     * Price multiplier for an item, as of the last rotation that ended.
+     */
+    public double multiplier(int index) {
+        return model.multiplier(index);
+    }
+    
+    /**
+     * Starts counting demand for a rotation that has just spawned.
+     *
+     * @param durationMillis time until the rotation despawns
+     */
+    public void beginRotation(List<ShopItem> items, long durationMillis) {
+        int[] indices = new int[items.size()];
+        int[] stock = new int[items.size()];
+        int count = 0;
+        for (ShopItem item : items) {
+            if (item.getDemandIndex() >= 0) {
+                indices[count] = item.getDemandIndex();
+                stock[count] = item.getStock().isUnlimited() ? 0 : item.getStock().remaining();
+                count++;
+            }
+        }
+        rotationStartMillis = System.currentTimeMillis();
+        rotationEndMillis = rotationStartMillis + durationMillis;
+        model.beginRotation(Arrays.copyOf(indices, count), Arrays.copyOf(stock, count));
+    }
+    
+    /**
+     * Counts a player opening the shop, which shows every item of the rotation.
+     */
+    public void recordView() {
+        model.recordView();
+    }
+    
+    /**
+     * Counts a completed purchase. Must be called after the stock was taken, so a sell-out is seen.
+     */
+    public void recordPurchase(ShopItem item, int quantity) {
+        if (item.getDemandIndex() < 0) {
+            return;
+        }
+        long duration = rotationEndMillis - rotationStartMillis;
+        double elapsed = duration > 0 ? (System.currentTimeMillis() - rotationStartMillis) / (double) duration : 1.0;
+        model.recordPurchase(item.getDemandIndex(), quantity, elapsed, item.getStock().isSoldOut());
+    }
+    
+    /**
+     * Folds the finished rotation into the statistics and saves them.
+     */
+    public void endRotation() {
+        model.endRotation();
+        save();
+    }
+    
+    public DemandModel getModel() {
+        return model;
+    }
+    
+    private void load() {
+        if (!stateFile.exists()) {
+            return;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(stateFile.toPath()))) {
+            model.read(new DataInputStream(in));
+            plugin.getLogger().info("Loaded demand statistics for " + model.size() + " items");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not load demand statistics, starting fresh", e);
+        }
+    }
+    
+    /**
+     * Serializes on the calling thread and writes on the writer thread, which keeps writes in order.
+     */
+    private void save() {
+        byte[] contents = serialize();
+        if (contents != null) {
+            writer.execute(() -> write(contents));
+        }
+    }
+    
+    private byte[] serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(bytes))) {
+            model.write(out);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not serialize demand statistics", e);
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+    
+    private void write(byte[] contents) {
+        try {
+            File temp = new File(stateFile.getParentFile(), stateFile.getName() + ".tmp");
+            Files.write(temp.toPath(), contents);
+            Files.move(temp.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not save demand statistics", e);
+        }
+    }
+    
+    /**
+     * Saves the statistics. A rotation still in progress is not counted.
+     */
+    public void shutdown() {
+        // Let a pending save finish first, so it cannot replace the file after this write
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] contents = serialize();
+        if (contents != null) {
+            write(contents);
+        }
+    }
+}
\ No newline at end of file
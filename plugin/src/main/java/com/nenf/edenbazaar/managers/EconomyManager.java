@@ -1,6 +1,13 @@
 package com.nenf.edenbazaar.managers;
 
 import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData;
+import com.nenf.edenbazaar.core.jfr.BalanceSaveEvent;
+import com.nenf.edenbazaar.core.jfr.EconomyCallEvent;
+import com.nenf.edenbazaar.core.ledger.FileLedgerStore;
+import com.nenf.edenbazaar.core.ledger.InMemoryLedger;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -8,12 +15,6 @@ import org.bukkit.plugin.RegisteredServiceProvider;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +30,12 @@ public class EconomyManager {
     private EconomyType economyType = EconomyType.NONE;
     private final BuiltInEconomy builtInEconomy;
     
+    // Economy plugins may block on storage, so every call is timed
+    private final LatencyHistogram hasTimes;
+    private final LatencyHistogram withdrawTimes;
+    private final LatencyHistogram depositTimes;
+    private final LatencyHistogram balanceTimes;
+    
     // Virtual thread executor for file operations
     private final ScheduledExecutorService virtualExecutor = 
         Executors.newScheduledThreadPool(1, Thread.ofVirtual().factory());
@@ -36,6 +43,12 @@ public class EconomyManager {
     public EconomyManager(EdenBazaar plugin) {
         this.plugin = plugin;
         this.builtInEconomy = new BuiltInEconomy(plugin);
+        this.hasTimes = plugin.getMetrics().histogram("economy.has");
+        this.withdrawTimes = plugin.getMetrics().histogram("economy.withdraw");
+        this.depositTimes = plugin.getMetrics().histogram("economy.deposit");
+        this.balanceTimes = plugin.getMetrics().histogram("economy.balance");
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("defaultBalance", "currencySymbol"),
+            (config, diff) -> builtInEconomy.applyConfig(config));
     }
     
     public void setupEconomy() {
@@ -55,7 +68,7 @@ public class EconomyManager {
         
         // Fallback to built-in economy
         economyType = EconomyType.BUILT_IN;
-        builtInEconomy.initialize();
+        builtInEconomy.initialize(virtualExecutor);
         plugin.getLogger().info("Economy: Using built-in economy system");
         plugin.getLogger().warning("No external economy plugin found. Players start with default balance.");
     }
@@ -81,6 +94,20 @@ public class EconomyManager {
     }
     
     public boolean hasEnoughMoney(Player player, double amount) {
+        EconomyCallEvent event = new EconomyCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            success = has(player, amount);
+            return success;
+        } finally {
+            hasTimes.recordSince(start);
+            commitEconomyCall(event, "has", player, amount, success);
+        }
+    }
+    
+    private boolean has(Player player, double amount) {
         return switch (economyType) {
             case VAULT -> vaultEconomy != null && vaultEconomy.has(player, amount);
             case COINS_ENGINE -> checkCoinsEngineBalance(player, amount);
@@ -93,6 +120,20 @@ public class EconomyManager {
     }
     
     public boolean withdrawMoney(Player player, double amount) {
+        EconomyCallEvent event = new EconomyCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            success = withdraw(player, amount);
+            return success;
+        } finally {
+            withdrawTimes.recordSince(start);
+            commitEconomyCall(event, "withdraw", player, amount, success);
+        }
+    }
+    
+    private boolean withdraw(Player player, double amount) {
         return switch (economyType) {
             case VAULT -> vaultEconomy != null && 
                 vaultEconomy.withdrawPlayer(player, amount).transactionSuccess();
@@ -105,7 +146,60 @@ public class EconomyManager {
         };
     }
     
+    public boolean depositMoney(Player player, double amount) {
+        EconomyCallEvent event = new EconomyCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            success = deposit(player, amount);
+            return success;
+        } finally {
+            depositTimes.recordSince(start);
+            commitEconomyCall(event, "deposit", player, amount, success);
+        }
+    }
+    
+    private boolean deposit(Player player, double amount) {
+        return switch (economyType) {
+            case VAULT -> vaultEconomy != null &&
+                vaultEconomy.depositPlayer(player, amount).transactionSuccess();
+            case COINS_ENGINE -> executeCoinsEngineCommand(player, "give", amount);
+            case BUILT_IN -> builtInEconomy.deposit(player, amount);
+            case NONE -> {
+                plugin.getLogger().warning("No economy system available for deposit!");
+                yield false;
+            }
+        };
+    }
+    
     public double getBalance(Player player) {
+        EconomyCallEvent event = new EconomyCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        double balance = Double.NaN;
+        try {
+            balance = balance(player);
+            return balance;
+        } finally {
+            balanceTimes.recordSince(start);
+            commitEconomyCall(event, "balance", player, balance, !Double.isNaN(balance));
+        }
+    }
+    
+    private void commitEconomyCall(EconomyCallEvent event, String operation, Player player, double amount, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.provider = economyType.getDisplayName();
+            event.operation = operation;
+            event.player = player.getName();
+            event.amount = amount;
+            event.success = success;
+            event.commit();
+        }
+    }
+    
+    private double balance(Player player) {
         return switch (economyType) {
             case VAULT -> vaultEconomy != null ? vaultEconomy.getBalance(player) : 0.0;
             case COINS_ENGINE -> getCoinsEngineBalance(player);
@@ -177,6 +271,7 @@ public class EconomyManager {
         
         if (economyType == EconomyType.BUILT_IN) {
             builtInEconomy.save();
+            builtInEconomy.close();
         }
     }
     
@@ -202,57 +297,36 @@ public class EconomyManager {
     
     /**
      * Built-in economy system as fallback.
-     * Uses file-based storage with virtual threads for performance.
+     * Balances live in a core {@link InMemoryLedger}; every change is journaled and a snapshot
+     * is written every 5 minutes and on shutdown.
      */
     private static class BuiltInEconomy {
         private final EdenBazaar plugin;
-        private final Map<UUID, Double> balances = new ConcurrentHashMap<>();
-        private final File balancesFile;
-        private final double defaultBalance;
-        private final String currencySymbol;
+        private final FileLedgerStore store;
+        private final InMemoryLedger ledger;
+        
+        // Replaced on reload, read from any thread
+        private volatile String currencySymbol;
         
         BuiltInEconomy(EdenBazaar plugin) {
             this.plugin = plugin;
-            this.balancesFile = new File(plugin.getDataFolder(), "balances.txt");
+            this.store = new FileLedgerStore(new File(plugin.getDataFolder(), "balances.txt").toPath(), plugin.getLogger());
             
-            // Initialize configuration values with fallbacks
-            ConfigValues configValues = initializeConfigValues();
-            this.defaultBalance = configValues.defaultBalance();
-            this.currencySymbol = configValues.currencySymbol();
+            ConfigData config = plugin.getConfigManager().getConfigSnapshot();
+            this.ledger = new InMemoryLedger(config.defaultBalance(), store);
+            this.currencySymbol = config.currencySymbol();
         }
         
-        private ConfigValues initializeConfigValues() {
-            try {
-                // Try to read from config snapshot first
-                var configSnapshot = plugin.getConfigManager().getConfigSnapshot();
-                if (configSnapshot != null) {
-                    double balance = plugin.getConfigManager().getConfig()
-                        .getDouble("economy.default_balance", 1000.0);
-                    String symbol = configSnapshot.currencySymbol();
-                    return new ConfigValues(balance, symbol);
-                } else {
-                    // Fallback to direct config reading
-                    double balance = plugin.getConfigManager().getConfig()
-                        .getDouble("economy.default_balance", 1000.0);
-                    String symbol = plugin.getConfigManager().getConfig()
-                        .getString("economy.currency_symbol", "⚡");
-                    return new ConfigValues(balance, symbol);
-                }
-            } catch (Exception e) {
-                // Ultimate fallback if config reading fails
-                plugin.getLogger().warning("Failed to read economy configuration, using defaults");
-                return new ConfigValues(1000.0, "⚡");
-            }
+        void applyConfig(ConfigData config) {
+            ledger.setDefaultBalance(config.defaultBalance());
+            this.currencySymbol = config.currencySymbol();
         }
         
-        private record ConfigValues(double defaultBalance, String currencySymbol) {}
-        
-        void initialize() {
+        void initialize(ScheduledExecutorService executor) {
             loadBalances();
             
             // Auto-save every 5 minutes using virtual threads
-            Executors.newScheduledThreadPool(1, Thread.ofVirtual().factory())
-                .scheduleAtFixedRate(this::save, 5, 5, TimeUnit.MINUTES);
+            executor.scheduleAtFixedRate(this::save, 5, 5, TimeUnit.MINUTES);
         }
         
         boolean hasBalance(Player player, double amount) {
@@ -260,16 +334,16 @@ public class EconomyManager {
         }
         
         boolean withdraw(Player player, double amount) {
-            double currentBalance = getBalance(player);
-            if (currentBalance >= amount) {
-                balances.put(player.getUniqueId(), currentBalance - amount);
-                return true;
-            }
-            return false;
+            return ledger.withdraw(player.getUniqueId(), amount);
+        }
+        
+        boolean deposit(Player player, double amount) {
+            ledger.deposit(player.getUniqueId(), amount);
+            return true;
         }
         
         double getBalance(Player player) {
-            return balances.getOrDefault(player.getUniqueId(), defaultBalance);
+            return ledger.balance(player.getUniqueId());
         }
         
         String format(double amount) {
@@ -277,51 +351,43 @@ public class EconomyManager {
         }
         
         private void loadBalances() {
-            if (!balancesFile.exists()) {
-                return;
-            }
-            
             try {
-                Path path = balancesFile.toPath();
-                Files.readAllLines(path).forEach(line -> {
-                    String[] parts = line.split(":");
-                    if (parts.length == 2) {
-                        try {
-                            UUID uuid = UUID.fromString(parts[0]);
-                            double balance = Double.parseDouble(parts[1]);
-                            balances.put(uuid, balance);
-                        } catch (Exception e) {
-                            plugin.getLogger().warning("Invalid balance entry: " + line);
-                        }
-                    }
-                });
-                
-                plugin.getLogger().info("Loaded " + balances.size() + " player balances");
-                
+                ledger.restore(store.load());
+                plugin.getLogger().info("Loaded " + ledger.size() + " player balances");
             } catch (IOException e) {
                 plugin.getLogger().log(Level.SEVERE, "Failed to load balances", e);
             }
         }
         
-        void save() {
-            if (balances.isEmpty()) {
+        // Checkpoints must not overlap, see FileLedgerStore
+        synchronized void save() {
+            if (ledger.size() == 0) {
                 return;
             }
             
+            BalanceSaveEvent event = new BalanceSaveEvent();
+            event.begin();
             try {
-                Path path = balancesFile.toPath();
-                StringBuilder content = new StringBuilder();
-                
-                balances.forEach((uuid, balance) -> 
-                    content.append(uuid).append(":").append(balance).append("\n"));
-                
-                Files.writeString(path, content.toString(), 
-                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-                
-                plugin.getLogger().fine("Saved " + balances.size() + " player balances");
-                
+                store.writeSnapshot(ledger.checkpoint());
+                event.success = true;
+                plugin.getLogger().fine("Saved " + ledger.size() + " player balances");
             } catch (IOException e) {
                 plugin.getLogger().log(Level.SEVERE, "Failed to save balances", e);
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.accounts = ledger.size();
+                    event.bytes = store.snapshotSize();
+                    event.commit();
+                }
+            }
+        }
+        
+        void close() {
+            try {
+                store.close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to close balance journal", e);
             }
         }
     }
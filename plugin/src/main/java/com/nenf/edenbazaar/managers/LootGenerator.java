@@ -0,0 +1,326 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.GuiSettings;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.RotationSettings;
+import com.nenf.edenbazaar.core.jfr.LootGenerationEvent;
+import com.nenf.edenbazaar.core.loot.ConditionalLootTable;
+import com.nenf.edenbazaar.core.loot.LootCondition;
+import com.nenf.edenbazaar.core.loot.LootContext;
+import com.nenf.edenbazaar.core.loot.LootItems;
+import com.nenf.edenbazaar.core.loot.OfferGenerator;
+import com.nenf.edenbazaar.core.loot.OfferGenerator.Offer;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.sampling.RotationComposer;
+import com.nenf.edenbazaar.core.sampling.RotationComposer.TierQuota;
+import com.nenf.edenbazaar.core.sampling.RotationSeeds;
+import com.nenf.edenbazaar.core.shop.Stock;
+import com.nenf.edenbazaar.core.sim.LootSimulation;
+import com.nenf.edenbazaar.core.text.LineTemplates;
+import com.nenf.edenbazaar.core.text.Template;
+import com.nenf.edenbazaar.core.text.TextRenderer;
+import com.nenf.edenbazaar.models.LootItem;
+import com.nenf.edenbazaar.models.ShopItem;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Modern loot generator with MiniMessage support for beautiful item formatting.
+ * Rotations are seeded from the server seed and the rotation number, so the same loot pools always give the
+ * same items for a rotation in the same context. Items with conditions are compiled into a table per combination
+ * of conditions, so a context only selects a ready table. Rolled prices are scaled by each item's demand multiplier
+ * when demand pricing is on. Players' own offers are drawn from the same tables, narrowed to their rank's tiers
+ * and with the tiers they have gone long without boosted.
+ * Safe to call from worker threads, except {@link #contextFor}.
+ */
+public class LootGenerator {
+    
+    private final EdenBazaar plugin;
+    private final TextRenderer renderer;
+    private final LatencyHistogram generationTimes;
+    private final LatencyHistogram personalGenerationTimes;
+    
+    // Derived from the loot pools and gui.yml, rebuilt only when those change
+    private volatile ConditionalLootTable<WeightedLootItem> lootTable;
+    private volatile ItemTemplates itemTemplates;
+    
+    // Samplers narrowed to a rank's tiers or boosted for a drought, built on first use and dropped with the table they came from
+    private final ConcurrentMap<RankTable, RotationComposer<WeightedLootItem>> rankComposers = new ConcurrentHashMap<>();
+    
+    public LootGenerator(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.renderer = plugin.getConfigManager()::renderLegacy;
+        this.generationTimes = plugin.getMetrics().histogram("loot.generate");
+        this.personalGenerationTimes = plugin.getMetrics().histogram("loot.generate.personal");
+        
+        ConfigData config = plugin.getConfigManager().getConfigSnapshot();
+        this.lootTable = buildLootTable(config.lootPools(), config.rotations(), plugin.getDemandTracker());
+        this.itemTemplates = buildTemplates(config.gui());
+        
+        plugin.getConfigManager().subscribe(ConfigDiff.section(ConfigDiff.Section.LOOT).or(ConfigDiff.setting("rotations")),
+            (newConfig, diff) -> {
+                lootTable = buildLootTable(newConfig.lootPools(), newConfig.rotations(), plugin.getDemandTracker());
+                rankComposers.clear();
+            });
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("gui"),
+            (newConfig, diff) -> itemTemplates = buildTemplates(newConfig.gui()));
+    }
+    
+    /**
+     * The context a bazaar spawning in a world would draw its loot in. Must be called on the global tick.
+     */
+    public LootContext contextFor(World world) {
+        long time = world.getTime();
+        return new LootContext(world.getName(), time >= 13000 && time < 23000, Bukkit.getOnlinePlayers().size(),
+            LocalDate.now().getDayOfWeek(), plugin.getConfigManager().getConfigSnapshot().events().runningOn(MonthDay.now()));
+    }
+    
+    /**
+     * Mask of the loot conditions a context meets. Rotations drawn with the same mask offer the same items.
+     */
+    public long conditionMask(LootContext context) {
+        return lootTable.evaluate(context);
+    }
+    
+    /**
+     * Generates the items of a rotation.
+     * 
+     * @param serverSeed seed all rotations derive from
+     * @param rotation rotation number
+     * @param conditionMask loot conditions that hold, from {@link #conditionMask}
+     */
+    public List<ShopItem> generateRotation(long serverSeed, long rotation, long conditionMask) {
+        LootGenerationEvent event = new LootGenerationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<ShopItem> inventory = List.of();
+        RotationComposer<WeightedLootItem> table = lootTable.select(conditionMask);
+        try {
+            inventory = generate(table, RotationSeeds.random(serverSeed, rotation));
+            return inventory;
+        } finally {
+            generationTimes.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.rotation = rotation;
+                event.poolSize = table.size();
+                event.items = inventory.size();
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Generates a player's own offers in a rotation.
+     * 
+     * @param rotationSeed seed of the shared rotation
+     * @param conditionMask loot conditions that hold for the shared rotation
+     * @param tiers tiers the player's rank may see, or null for all of them
+     * @param boosts multipliers of the weights and quota chance of tiers the player is in a drought of
+     */
+    public List<ShopItem> generatePersonal(long rotationSeed, long conditionMask, UUID player, Set<String> tiers,
+                                           Map<String, Double> boosts) {
+        long start = System.nanoTime();
+        try {
+            ConditionalLootTable<WeightedLootItem> table = lootTable;
+            RotationComposer<WeightedLootItem> composer = tiers == null && boosts.isEmpty() ? table.select(conditionMask)
+                : rankComposers.computeIfAbsent(new RankTable(table, conditionMask, tiers, boosts), this::buildRankComposer);
+            return generate(composer, RotationSeeds.random(rotationSeed, player));
+        } finally {
+            personalGenerationTimes.recordSince(start);
+        }
+    }
+    
+    private RotationComposer<WeightedLootItem> buildRankComposer(RankTable key) {
+        List<WeightedLootItem> items = key.table().select(key.conditionMask()).items().stream()
+            .filter(item -> key.tiers() == null || key.tiers().contains(item.tier()))
+            .toList();
+        Map<String, TierQuota> quotas = new HashMap<>(plugin.getConfigManager().getConfigSnapshot().rotations().tierQuotas());
+        key.boosts().forEach((tier, boost) -> {
+            TierQuota quota = quotas.getOrDefault(tier, TierQuota.UNLIMITED);
+            quotas.put(tier, new TierQuota(quota.min(), quota.max(), Math.min(1.0, quota.chance() * boost)));
+        });
+        return RotationComposer.of(items, WeightedLootItem::tier, item -> boosted(item, key.boosts()), quotas);
+    }
+    
+    private static int boosted(WeightedLootItem item, Map<String, Double> boosts) {
+        int weight = item.lootItem().weight();
+        Double boost = boosts.get(item.tier());
+        return boost == null || weight <= 0 ? weight : (int) Math.max(1, Math.round(weight * boost));
+    }
+    
+    private List<ShopItem> generate(RotationComposer<WeightedLootItem> table, RandomGenerator random) {
+        List<ShopItem> inventory = new ArrayList<>();
+        ItemTemplates templates = itemTemplates;
+        
+        // Read max items from configuration snapshot for consistency
+        ConfigData config = plugin.getConfigManager().getConfigSnapshot();
+        int maxItems = config.maxShopItems();
+        
+        // Ensure we have loot pools configured
+        if (lootTable.isEmpty()) {
+            plugin.getLogger().warning("No loot pools configured! Cannot generate shop inventory.");
+            return inventory;
+        }
+        if (table.isEmpty()) {
+            plugin.getLogger().warning("No loot items meet their conditions right now! Cannot generate shop inventory.");
+            return inventory;
+        }
+        
+        // Prevent sampling with no positive weight
+        List<WeightedLootItem> picks;
+        if (table.totalWeight() > 0) {
+            // Without replacement and within tier quotas, so a rotation may come up short of maxItems
+            picks = table.compose(maxItems, config.rotations().uniqueItems(), random);
+        } else {
+            plugin.getLogger().warning("All loot items have zero or negative weight! Using first available item.");
+            picks = Collections.nCopies(maxItems, table.items().getFirst());
+        }
+        
+        // Multipliers are read from an array published when the last rotation ended
+        DemandTracker demand = plugin.getDemandTracker();
+        boolean demandPricing = config.pricing().enabled();
+        LootItems<WeightedLootItem> items = new LootItems<>(
+            item -> formatItemName(item.lootItem().material().name()), WeightedLootItem::tier,
+            item -> item.lootItem().minPrice(), item -> item.lootItem().maxPrice(),
+            item -> demandPricing ? demand.multiplier(item.demandIndex()) : 1.0);
+        OfferGenerator<WeightedLootItem> offers = new OfferGenerator<>(items, templates.name(), templates.lore(), renderer);
+        for (Offer<WeightedLootItem> offer : offers.offers(picks, random)) {
+            inventory.add(createShopItem(offer, Stock.of(config.stockPerItem())));
+        }
+        
+        plugin.getLogger().fine("Generated " + inventory.size() + " items for shop inventory");
+        return inventory;
+    }
+    
+    private ShopItem createShopItem(Offer<WeightedLootItem> offer, Stock stock) {
+        WeightedLootItem picked = offer.item();
+        ItemStack itemStack = new ItemStack(picked.lootItem().material());
+        ItemMeta meta = itemStack.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(offer.name());
+            meta.setLore(offer.lore());
+            itemStack.setItemMeta(meta);
+        }
+        return new ShopItem(itemStack, offer.price(), picked.tier(), stock, picked.demandIndex());
+    }
+    
+    private ItemTemplates buildTemplates(GuiSettings gui) {
+        return new ItemTemplates(Template.compile(gui.itemNameFormat()), new LineTemplates(gui.itemLoreTemplate(), renderer));
+    }
+    
+    /**
+     * The compiled loot table for a context, as shown by /bazaar lootcheck.
+     * 
+     * @param conditions every distinct condition in the loot pools and whether the context meets it
+     * @param items items that can be drawn, by tier
+     * @param poolSize items in the loot pools, whatever their conditions
+     */
+    public record LootCheck(LootContext context, Map<LootCondition, Boolean> conditions,
+                            Map<String, List<LootItem>> items, int poolSize) {}
+    
+    public LootCheck check(LootContext context) {
+        ConditionalLootTable<WeightedLootItem> table = lootTable;
+        Map<LootCondition, Boolean> conditions = new LinkedHashMap<>();
+        for (LootCondition condition : table.conditions()) {
+            conditions.put(condition, condition.test(context));
+        }
+        Map<String, List<LootItem>> items = new LinkedHashMap<>();
+        for (WeightedLootItem item : table.select(context).items()) {
+            items.computeIfAbsent(item.tier(), tier -> new ArrayList<>()).add(item.lootItem());
+        }
+        return new LootCheck(context, conditions, items, table.size());
+    }
+    
+    /**
+     * Simulates rotations drawn in a context with the live loot table, tier quotas, stock and demand multipliers.
+     * Blocks until the run is done, so call it off the main thread.
+     * 
+     * @param trackedTier tier whose droughts are reported
+     */
+    public LootSimulation.Report simulate(LootContext context, long serverSeed, long rotations, String trackedTier,
+                                          LootSimulation.Buyers buyers) throws InterruptedException {
+        ConfigData config = plugin.getConfigManager().getConfigSnapshot();
+        DemandTracker demand = plugin.getDemandTracker();
+        boolean demandPricing = config.pricing().enabled();
+        LootItems<WeightedLootItem> items = new LootItems<>(
+            item -> item.lootItem().material().name(), WeightedLootItem::tier,
+            item -> item.lootItem().minPrice(), item -> item.lootItem().maxPrice(),
+            item -> demandPricing ? demand.multiplier(item.demandIndex()) : 1.0);
+        
+        // Leave a core for the server's own threads
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        LootSimulation.Settings settings = new LootSimulation.Settings(rotations, serverSeed, config.maxShopItems(),
+            config.rotations().uniqueItems(), config.stockPerItem(), trackedTier, config.spawnInterval() / 3600.0,
+            buyers, parallelism);
+        return new LootSimulation<>(lootTable.select(context), items, settings).run();
+    }
+    
+    private static ConditionalLootTable<WeightedLootItem> buildLootTable(Map<String, List<LootItem>> lootPools, RotationSettings rotations,
+                                                                         DemandTracker demand) {
+        List<WeightedLootItem> items = new ArrayList<>();
+        for (Map.Entry<String, List<LootItem>> entry : lootPools.entrySet()) {
+            for (LootItem item : entry.getValue()) {
+                items.add(new WeightedLootItem(item, entry.getKey(), demand.register(entry.getKey(), item)));
+            }
+        }
+        // The composer orders tiers by name; the configuration map's order changes between restarts
+        return ConditionalLootTable.compile(items, item -> item.lootItem().conditions(),
+            active -> RotationComposer.of(active, WeightedLootItem::tier, item -> item.lootItem().weight(), rotations.tierQuotas()));
+    }
+    
+    private String formatItemName(String materialName) {
+        String[] parts = materialName.toLowerCase().split("_");
+        StringBuilder formatted = new StringBuilder();
+        
+        for (String part : parts) {
+            if (!formatted.isEmpty()) {
+                formatted.append(" ");
+            }
+            formatted.append(part.substring(0, 1).toUpperCase()).append(part.substring(1));
+        }
+        
+        return formatted.toString();
+    }
+    
+    /**
+     * A loot table's sampler for a condition mask, narrowed to some tiers and with some tiers boosted.
+     * Tables compare by identity.
+     */
+    private record RankTable(ConditionalLootTable<WeightedLootItem> table, long conditionMask, Set<String> tiers,
+                             Map<String, Double> boosts) {}
+    
+    /**
+     * Item name and lore templates from gui.yml.
+     */
+    private record ItemTemplates(Template name, LineTemplates lore) {}
+    
+    private record WeightedLootItem(LootItem lootItem, String tier, int demandIndex) {
+        WeightedLootItem {
+            if (lootItem == null) {
+                throw new IllegalArgumentException("LootItem cannot be null");
+            }
+            if (tier == null || tier.trim().isEmpty()) {
+                throw new IllegalArgumentException("Tier cannot be null or empty");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.MetricsSettings;
+import com.nenf.edenbazaar.core.metrics.PrometheusFormat;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Serves the plugin metrics in the Prometheus text format on the loopback address.
+ * Requests run on virtual threads and only read metric snapshots, so a scrape never waits for the main thread.
+ */
+public class MetricsEndpoint {
+    
+    private static final String METRIC_PREFIX = "edenbazaar";
+    
+    private final EdenBazaar plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+    private MetricsSettings activeSettings;
+    
+    public MetricsEndpoint(EdenBazaar plugin) {
+        this.plugin = plugin;
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("metrics"), (config, diff) -> apply(config.metrics()));
+    }
+    
+    /**
+     * Starts, restarts or stops the endpoint to match {@code settings}.
+     */
+    public synchronized void apply(MetricsSettings settings) {
+        if (server != null && settings.equals(activeSettings)) {
+            return;
+        }
+        stop();
+        if (!settings.enabled()) {
+            return;
+        }
+        
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.port());
+        try {
+            HttpServer created = HttpServer.create(address, 0);
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            created.setExecutor(executor);
+            created.createContext(settings.path(), exchange -> handle(exchange, settings.path()));
+            created.start();
+            server = created;
+            activeSettings = settings;
+            plugin.getLogger().info("Serving metrics at http://" + address.getHostString() + ":" + settings.port() + settings.path());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not start the metrics endpoint on port " + settings.port(), e);
+            stop();
+        }
+    }
+    
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        activeSettings = null;
+    }
+    
+    private void handle(HttpExchange exchange, String path) throws IOException {
+        try (exchange) {
+            // Contexts match by prefix, only serve the exact path
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            byte[] body = PrometheusFormat.render(plugin.getMetrics().snapshot(), METRIC_PREFIX).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusFormat.CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to serve metrics", e);
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.PersonalSettings;
+import com.nenf.edenbazaar.core.cache.WeightedLruCache;
+import com.nenf.edenbazaar.models.ShopItem;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offers drawn for each player when personal rotations are on. A player's offers derive from the rotation's seed
+ * and their UUID, limited to their rank's tiers and boosted for their droughts as of the rotation's start,
+ * so they are the same whenever they are drawn.
+ * They are drawn the first time the player opens the shop in a rotation and kept in an LRU cache bounded by
+ * the number of shop items it holds. Units bought from offers that were evicted are kept aside and taken again
+ * when the offers are redrawn, so eviction never restocks a player's shop.
+ */
+public class PersonalRotations {
+    
+    private final EdenBazaar plugin;
+    private final WeightedLruCache<UUID, Offers> cache;
+    
+    // Units sold from evicted offers in the current rotation, by player and slot
+    private final Map<UUID, int[]> evictedSales = new ConcurrentHashMap<>();
+    
+    private volatile PersonalSettings settings;
+    private volatile long rotation;
+    
+    /**
+     * A player's offers in one rotation.
+     *
+     * @param stock units each offer started with, 0 for unlimited
+     */
+    private record Offers(long rotation, List<ShopItem> items, int stock) {}
+    
+    public PersonalRotations(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.settings = plugin.getConfigManager().getConfigSnapshot().personalRotations();
+        this.cache = new WeightedLruCache<>(settings.maxCachedItems(), offers -> offers.items().size(), this::keepSales);
+        
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("personalRotations"), (config, diff) -> {
+            settings = config.personalRotations();
+            cache.setMaxWeight(settings.maxCachedItems());
+        });
+        
+        plugin.getMetrics().gauge("personal.cached_players", () -> cache.stats().entries());
+        plugin.getMetrics().gauge("personal.cached_items", () -> cache.stats().weight());
+        plugin.getMetrics().gauge("personal.evictions", () -> cache.stats().evictions());
+    }
+    
+    public boolean isEnabled() {
+        return settings.enabled();
+    }
+    
+    /**
+     * The player's offers in a rotation, drawn on first use. Runs on the player's thread, as ranks are permissions.
+     *
+     * @param seed seed of the shared rotation
+     * @param conditionMask loot conditions that hold for the shared rotation
+     */
+    public List<ShopItem> offersFor(Player player, long rotation, long seed, long conditionMask) {
+        UUID id = player.getUniqueId();
+        Offers offers = cache.get(id);
+        if (offers != null && offers.rotation() == rotation) {
+            return offers.items();
+        }
+        
+        int stock = plugin.getConfigManager().getConfigSnapshot().stockPerItem();
+        List<ShopItem> items = List.copyOf(plugin.getLootGenerator()
+            .generatePersonal(seed, conditionMask, id, tiersOf(player), plugin.getPityTracker().boostsFor(id, rotation)));
+        if (rotation == this.rotation) {
+            int[] sold = evictedSales.remove(id);
+            if (sold != null) {
+                for (int i = 0; i < Math.min(sold.length, items.size()); i++) {
+                    int taken = Math.min(sold[i], items.get(i).getStock().remaining());
+                    if (taken > 0) {
+                        items.get(i).getStock().tryTake(taken);
+                    }
+                }
+            }
+        }
+        
+        Offers drawn = new Offers(rotation, items, stock);
+        if (offers != null) {
+            cache.put(id, drawn);
+            return items;
+        }
+        return cache.putIfAbsent(id, drawn).items();
+    }
+    
+    /**
+     * Starts a rotation, dropping every player's offers from the last one.
+     */
+    public void beginRotation(long rotation) {
+        this.rotation = rotation;
+        cache.clear();
+        evictedSales.clear();
+    }
+    
+    public WeightedLruCache.Stats getStats() {
+        return cache.stats();
+    }
+    
+    private Set<String> tiersOf(Player player) {
+        for (PersonalSettings.Rank rank : settings.ranks()) {
+            if (rank.permission().isEmpty() || player.hasPermission(rank.permission())) {
+                return rank.tiers();
+            }
+        }
+        return null;
+    }
+    
+    private void keepSales(UUID player, Offers offers) {
+        if (offers.stock() <= 0 || offers.rotation() != rotation) {
+            return;
+        }
+        int[] sold = new int[offers.items().size()];
+        boolean any = false;
+        for (int i = 0; i < sold.length; i++) {
+            sold[i] = offers.stock() - offers.items().get(i).getStock().remaining();
+            any |= sold[i] > 0;
+        }
+        if (any) {
+            evictedSales.put(player, sold);
+        }
+    }
+}
\ No newline at end of file
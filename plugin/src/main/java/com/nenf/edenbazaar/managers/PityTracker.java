@@ -0,0 +1,184 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.PitySettings;
+import com.nenf.edenbazaar.core.pity.PityTable;
+import com.nenf.edenbazaar.models.ShopItem;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Drought protection: counts, for each player, the rotations since they were last offered (or bought from)
+ * each configured tier, and boosts the tier in their personal offers once the count passes its threshold.
+ * A rotation is counted when the player first opens the shop in it. Counters live in pity.bin, a memory-mapped
+ * {@link PityTable}; the writer thread flushes it on an interval, so updates cost no I/O on the calling thread.
+ * Safe to use from any thread.
+ */
+public class PityTracker {
+    
+    private final EdenBazaar plugin;
+    private final File dataFile;
+    private final ScheduledExecutorService writer;
+    
+    private volatile Tracking tracking;
+    
+    // Touched on the writer thread once constructed
+    private ScheduledFuture<?> flushTask;
+    
+    /**
+     * An open table with the settings it was opened for. Tiers are in the table's order.
+     */
+    private record Tracking(PityTable table, PitySettings settings, PitySettings.TierPity[] pity) {}
+    
+    public PityTracker(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.dataFile = new File(plugin.getDataFolder(), "pity.bin");
+        this.writer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("EdenBazaar-Pity").factory());
+        
+        // Opened on the calling thread so the first shop opened after startup is already counted
+        open(plugin.getConfigManager().getConfigSnapshot().pity());
+        
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("pity"),
+            (config, diff) -> writer.execute(() -> open(config.pity())));
+        
+        plugin.getMetrics().gauge("pity.players", () -> {
+            Tracking current = tracking;
+            return current != null ? current.table().players() : 0;
+        });
+    }
+    
+    public boolean isEnabled() {
+        return tracking != null;
+    }
+    
+    /**
+     * Multipliers for the tiers a player is in a drought of, as of the start of a rotation.
+     * Empty if they are in none or protection is off.
+     */
+    public Map<String, Double> boostsFor(UUID player, long rotation) {
+        Tracking current = tracking;
+        if (current == null) {
+            return Map.of();
+        }
+        PityTable table = current.table();
+        int index = table.playerIndex(player);
+        Map<String, Double> boosts = new HashMap<>();
+        for (int tier = 0; tier < current.pity().length; tier++) {
+            double boost = current.pity()[tier].multiplier(table.droughtAt(index, tier, rotation));
+            if (boost > 1.0) {
+                boosts.put(table.tiers().get(tier), boost);
+            }
+        }
+        return boosts;
+    }
+    
+    /**
+     * Counts a rotation the player opened the shop in. Later calls for the same rotation are ignored.
+     *
+     * @param offered items the player was shown
+     */
+    public void recordRotation(UUID player, long rotation, List<ShopItem> offered) {
+        Tracking current = tracking;
+        if (current == null) {
+            return;
+        }
+        PityTable table = current.table();
+        boolean[] seen = new boolean[current.pity().length];
+        for (ShopItem item : offered) {
+            int tier = table.tiers().indexOf(item.getTier());
+            if (tier >= 0) {
+                seen[tier] = true;
+            }
+        }
+        table.recordRotation(table.playerIndex(player), rotation, seen, !current.settings().resetOnPurchase());
+    }
+    
+    /**
+     * Ends the player's drought of the item's tier if droughts end on purchase.
+     */
+    public void recordPurchase(UUID player, ShopItem item) {
+        Tracking current = tracking;
+        if (current == null || !current.settings().resetOnPurchase()) {
+            return;
+        }
+        int tier = current.table().tiers().indexOf(item.getTier());
+        if (tier >= 0) {
+            current.table().reset(current.table().playerIndex(player), tier);
+        }
+    }
+    
+    /**
+     * Opens the table for the tiers in the settings, or closes it if protection is off.
+     * Tiers are sorted by name, so the table's columns only move when tiers are added or removed.
+     */
+    private void open(PitySettings settings) {
+        close();
+        if (!settings.enabled() || settings.tiers().isEmpty()) {
+            return;
+        }
+        List<String> tiers = settings.tiers().keySet().stream().sorted().toList();
+        try {
+            PityTable table = PityTable.open(dataFile.toPath(), tiers);
+            PitySettings.TierPity[] pity = tiers.stream().map(settings.tiers()::get).toArray(PitySettings.TierPity[]::new);
+            tracking = new Tracking(table, settings, pity);
+            flushTask = writer.scheduleWithFixedDelay(this::flush,
+                settings.flushIntervalSeconds(), settings.flushIntervalSeconds(), TimeUnit.SECONDS);
+            plugin.getLogger().info("Loaded drought counters for " + table.players() + " players");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not open drought counters, protection is off", e);
+        }
+    }
+    
+    private void flush() {
+        Tracking current = tracking;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.table().flush();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not save drought counters", e);
+        }
+    }
+    
+    private void close() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        Tracking current = tracking;
+        tracking = null;
+        if (current != null) {
+            try {
+                current.table().close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not save drought counters", e);
+            }
+        }
+    }
+    
+    /**
+     * Writes the counters and closes the table, after a reopen or flush already queued.
+     */
+    public void shutdown() {
+        writer.execute(this::close);
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
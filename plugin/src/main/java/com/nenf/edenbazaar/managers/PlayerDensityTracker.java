@@ -0,0 +1,154 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally maintained per-world grid of online player counts.
+ * Cells are square groups of chunks; counts only change when a player crosses a cell
+ * boundary, so lookups never scan the online player list.
+ * Safe to use from any thread: on Folia, players move on their own region threads while spawn selection reads
+ * counts and drains changed cells on the global region. Each cell's count is updated atomically, and a player's
+ * own updates come from the one region that owns them at a time.
+ */
+public class PlayerDensityTracker {
+    
+    private final EdenBazaar plugin;
+    
+    // world name -> packed cell key -> player count
+    private final Map<String, Map<Long, Integer>> cellCounts = new ConcurrentHashMap<>();
+    private final Map<UUID, CellKey> playerCells = new ConcurrentHashMap<>();
+    private final Set<CellKey> dirtyCells = ConcurrentHashMap.newKeySet();
+    private volatile Set<CellKey> watchedCells = Set.of();
+    private volatile int cellChunks;
+    
+    /**
+     * Identifies a single density grid cell.
+     */
+    public record CellKey(String world, long cell) {}
+    
+    public PlayerDensityTracker(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.cellChunks = plugin.getConfigManager().getConfigSnapshot().spawnSelection().densityCellChunks();
+    }
+    
+    /**
+     * Recounts all online players. Only needed on enable or when the cell size changes.
+     * Moves racing with the recount are counted again on the player's next cell change.
+     */
+    public void rebuild() {
+        cellChunks = plugin.getConfigManager().getConfigSnapshot().spawnSelection().densityCellChunks();
+        
+        // Every previously populated cell changes
+        dirtyCells.addAll(watchedCells);
+        cellCounts.clear();
+        playerCells.clear();
+        
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            updatePlayer(player.getUniqueId(), player.getLocation());
+        }
+        
+        plugin.getLogger().fine("Player density grid rebuilt with " + cellChunks + " chunk cells");
+    }
+    
+    /**
+     * Moves a player into the cell containing the given location, if it differs from their current one.
+     */
+    public void updatePlayer(UUID playerId, Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            removePlayer(playerId);
+            return;
+        }
+        
+        CellKey next = cellOf(world.getName(), location.getBlockX(), location.getBlockZ());
+        CellKey previous = playerCells.put(playerId, next);
+        if (next.equals(previous)) {
+            return;
+        }
+        
+        if (previous != null) {
+            decrement(previous);
+        }
+        cellCounts.computeIfAbsent(next.world(), w -> new ConcurrentHashMap<>())
+            .merge(next.cell(), 1, Integer::sum);
+        markDirty(next);
+    }
+    
+    public void removePlayer(UUID playerId) {
+        CellKey previous = playerCells.remove(playerId);
+        if (previous != null) {
+            decrement(previous);
+        }
+    }
+    
+    private void decrement(CellKey key) {
+        Map<Long, Integer> cells = cellCounts.get(key.world());
+        if (cells != null) {
+            // Empty cells are dropped in the same atomic step, so a concurrent increment is never lost
+            cells.computeIfPresent(key.cell(), (cell, count) -> count > 1 ? count - 1 : null);
+        }
+        markDirty(key);
+    }
+    
+    private void markDirty(CellKey key) {
+        if (watchedCells.contains(key)) {
+            dirtyCells.add(key);
+        }
+    }
+    
+    public int getPlayerCount(CellKey key) {
+        if (key == null) {
+            return 0;
+        }
+        Map<Long, Integer> cells = cellCounts.get(key.world());
+        if (cells == null) {
+            return 0;
+        }
+        return cells.getOrDefault(key.cell(), 0);
+    }
+    
+    /**
+     * Resolves the cell containing the given block coordinates.
+     */
+    public CellKey cellOf(String world, int blockX, int blockZ) {
+        long cellX = Math.floorDiv(blockX >> 4, cellChunks);
+        long cellZ = Math.floorDiv(blockZ >> 4, cellChunks);
+        return new CellKey(world, (cellX << 32) | (cellZ & 0xFFFFFFFFL));
+    }
+    
+    public int getCellChunks() {
+        return cellChunks;
+    }
+    
+    /**
+     * Limits change tracking to the given cells, typically the ones containing spawn locations.
+     */
+    public void setWatchedCells(Set<CellKey> cells) {
+        watchedCells = Set.copyOf(cells);
+        dirtyCells.retainAll(watchedCells);
+    }
+    
+    /**
+     * Hands every watched cell whose count changed since the last call to the consumer and clears the set.
+     * Each cell is removed before it is handed over, so a change made meanwhile marks it again.
+     */
+    public void drainDirtyCells(Consumer<CellKey> consumer) {
+        Iterator<CellKey> dirty = dirtyCells.iterator();
+        while (dirty.hasNext()) {
+            CellKey key = dirty.next();
+            dirty.remove();
+            consumer.accept(key);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.PurchaseLimitSettings;
+import com.nenf.edenbazaar.core.shop.Allowance;
+import com.nenf.edenbazaar.core.shop.PurchaseLimits;
+import com.nenf.edenbazaar.core.shop.RotationLimits;
+
+import java.util.UUID;
+
+/**
+ * Per-player purchase limits. Purchases are counted per rotation, by offer slot; in personal rotations a slot is
+ * the player's own offer in it. The count of a rotation is replaced whole by the first purchase of the next one,
+ * so nothing is cleared item by item, and purchases for an earlier rotation are refused.
+ * Safe to use from any thread.
+ */
+public class PurchaseLimiter {
+    
+    private final RotationLimits rotations = new RotationLimits();
+    
+    private volatile PurchaseLimitSettings settings;
+    
+    public PurchaseLimiter(EdenBazaar plugin) {
+        this.settings = plugin.getConfigManager().getConfigSnapshot().purchaseLimits();
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("purchaseLimits"),
+            (config, diff) -> settings = config.purchaseLimits());
+        
+        plugin.getMetrics().gauge("limits.buyers", rotations::buyers);
+    }
+    
+    public boolean isEnabled() {
+        return settings.enabled();
+    }
+    
+    /**
+     * A player's allowance for an offer of the rotation on offer, or {@link Allowance#NONE} if a newer rotation
+     * is already on offer.
+     *
+     * @param offer index of the offer in the rotation
+     */
+    public Allowance allowanceFor(UUID player, long rotation, int offer, String tier) {
+        PurchaseLimitSettings limits = settings;
+        if (!limits.enabled()) {
+            return Allowance.UNLIMITED;
+        }
+        PurchaseLimits counts = rotations.forRotation(rotation);
+        if (counts == null) {
+            return Allowance.NONE;
+        }
+        return counts.allowance(player, offer, limits.itemLimit(tier), limits.perRotation());
+    }
+}
\ No newline at end of file
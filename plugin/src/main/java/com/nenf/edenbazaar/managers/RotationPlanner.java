@@ -0,0 +1,256 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.RotationSettings;
+import com.nenf.edenbazaar.core.metrics.Counter;
+import com.nenf.edenbazaar.core.sampling.RotationSeeds;
+import com.nenf.edenbazaar.models.ShopItem;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Hands out numbered rotations and keeps the next few generated ahead on a worker thread,
+ * so spawning only takes a ready inventory. The next rotation number is saved to rotations.yml.
+ * Rotations are generated ahead for the loot context of the last spawn's world. They are dropped and generated
+ * again when that context meets different loot conditions, or when the loot pools, item settings or demand
+ * prices change.
+ * Must be used from the global tick.
+ */
+public class RotationPlanner {
+    
+    private final EdenBazaar plugin;
+    private final File stateFile;
+    private final ExecutorService worker;
+    private final Counter misses;
+    
+    // Futures for rotations nextRotation, nextRotation + 1, ...
+    private final Deque<CompletableFuture<Rotation>> ahead = new ArrayDeque<>();
+    private long nextRotation;
+    private long serverSeed;
+    
+    // Loot conditions the rotations ahead were drawn with, and the world that context was taken in
+    private long aheadMask;
+    private String contextWorld;
+    
+    /**
+     * A generated rotation.
+     *
+     * @param number rotation number
+     * @param seed seed its items were drawn with, derived from the server seed and the number
+     * @param items the shop inventory
+     * @param conditionMask loot conditions that held when it was drawn
+     */
+    public record Rotation(long number, long seed, List<ShopItem> items, long conditionMask) {}
+    
+    public RotationPlanner(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.stateFile = new File(plugin.getDataFolder(), "rotations.yml");
+        this.worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name("EdenBazaar-Rotations").factory());
+        // Spawns that had to generate their rotation inline
+        this.misses = plugin.getMetrics().counter("rotations.misses");
+        
+        this.serverSeed = resolveSeed(plugin.getConfigManager().getConfigSnapshot().rotations());
+        this.nextRotation = YamlConfiguration.loadConfiguration(stateFile).getLong("next", 1L);
+        refill();
+        
+        plugin.getConfigManager().subscribe(ConfigDiff.section(ConfigDiff.Section.LOOT)
+                .or(ConfigDiff.setting("gui", "maxShopItems", "stockPerItem", "rotations", "pricing", "events")),
+            (config, diff) -> {
+                serverSeed = resolveSeed(config.rotations());
+                discardAhead();
+                refill();
+            });
+    }
+    
+    private static long resolveSeed(RotationSettings settings) {
+        if (settings.seed() != 0) {
+            return settings.seed();
+        }
+        List<World> worlds = Bukkit.getWorlds();
+        return worlds.isEmpty() ? 0 : worlds.getFirst().getSeed();
+    }
+    
+    /**
+     * Takes the next rotation for a spawn in a world. It is generated inline if the worker has not finished it yet,
+     * or if it was drawn for a context that meets different loot conditions.
+     * The number is used up even if the spawn it was taken for fails.
+     */
+    public Rotation take(World world) {
+        contextWorld = world.getName();
+        refill();
+        CompletableFuture<Rotation> head = ahead.poll();
+        Rotation rotation;
+        if (head != null && isReady(head)) {
+            rotation = head.join();
+        } else {
+            if (head != null) {
+                head.cancel(false);
+            }
+            misses.increment();
+            rotation = generate(serverSeed, nextRotation, aheadMask);
+        }
+        
+        nextRotation++;
+        save();
+        refill();
+        return rotation;
+    }
+    
+    /**
+     * Draws a taken rotation again for another world, if loot conditions make its items differ there.
+     * Used when a spawn moves on to a location in another world.
+     */
+    public Rotation retarget(Rotation rotation, World world) {
+        contextWorld = world.getName();
+        refill();
+        if (rotation.conditionMask() == aheadMask) {
+            return rotation;
+        }
+        misses.increment();
+        return generate(serverSeed, rotation.number(), aheadMask);
+    }
+    
+    /**
+     * Upcoming rotations, starting with the one the next spawn takes, as drawn in the current context.
+     * Rotations beyond those generated ahead are generated on the worker and not kept.
+     */
+    public CompletableFuture<List<Rotation>> preview(int count) {
+        refill();
+        List<CompletableFuture<Rotation>> upcoming = new ArrayList<>(count);
+        Iterator<CompletableFuture<Rotation>> queued = ahead.iterator();
+        long seed = serverSeed;
+        long mask = aheadMask;
+        for (int i = 0; i < count; i++) {
+            long number = nextRotation + i;
+            upcoming.add(queued.hasNext() ? queued.next() : CompletableFuture.supplyAsync(() -> generate(seed, number, mask), worker));
+        }
+        return CompletableFuture.allOf(upcoming.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> upcoming.stream().map(CompletableFuture::join).toList());
+    }
+    
+    /**
+     * Generates any rotation again, for audits. Matches what was served if the loot pools are unchanged and the
+     * current context meets the same loot conditions; prices follow demand as it is now, not as it was when the
+     * rotation was served.
+     */
+    public CompletableFuture<Rotation> reproduce(long number) {
+        refill();
+        long seed = serverSeed;
+        long mask = aheadMask;
+        return CompletableFuture.supplyAsync(() -> generate(seed, number, mask), worker);
+    }
+    
+    public long getNextRotation() {
+        return nextRotation;
+    }
+    
+    public long getServerSeed() {
+        return serverSeed;
+    }
+    
+    private Rotation generate(long seed, long number, long mask) {
+        return new Rotation(number, RotationSeeds.seed(seed, number),
+            plugin.getLootGenerator().generateRotation(seed, number, mask), mask);
+    }
+    
+    /**
+     * Loot conditions met in the world of the last spawn, or the main world before the first one.
+     */
+    private long currentMask() {
+        World world = contextWorld != null ? Bukkit.getWorld(contextWorld) : null;
+        if (world == null) {
+            List<World> worlds = Bukkit.getWorlds();
+            if (worlds.isEmpty()) {
+                return 0;
+            }
+            world = worlds.getFirst();
+        }
+        LootGenerator loot = plugin.getLootGenerator();
+        return loot.conditionMask(loot.contextFor(world));
+    }
+    
+    /**
+     * Drops the rotations generated ahead and generates them again, for when their prices are out of date.
+     */
+    public void regenerate() {
+        discardAhead();
+        refill();
+    }
+    
+    private void refill() {
+        long mask = currentMask();
+        if (mask != aheadMask) {
+            discardAhead();
+            aheadMask = mask;
+        }
+        
+        int target = plugin.getConfigManager().getConfigSnapshot().rotations().pregenerate();
+        while (ahead.size() > target) {
+            ahead.pollLast().cancel(false);
+        }
+        long seed = serverSeed;
+        while (ahead.size() < target) {
+            long number = nextRotation + ahead.size();
+            ahead.addLast(CompletableFuture.supplyAsync(() -> generate(seed, number, mask), worker));
+        }
+    }
+    
+    private void discardAhead() {
+        for (CompletableFuture<Rotation> future : ahead) {
+            future.cancel(false);
+        }
+        ahead.clear();
+    }
+    
+    private static boolean isReady(CompletableFuture<Rotation> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+    
+    /**
+     * Serializes on the calling thread and writes on the worker, which keeps writes in order.
+     */
+    private void save() {
+        String contents = stateToString();
+        worker.execute(() -> write(contents));
+    }
+    
+    private String stateToString() {
+        YamlConfiguration saved = new YamlConfiguration();
+        saved.set("next", nextRotation);
+        saved.set("seed", serverSeed);
+        return saved.saveToString();
+    }
+    
+    private void write(String contents) {
+        try {
+            File temp = new File(stateFile.getParentFile(), stateFile.getName() + ".tmp");
+            Files.writeString(temp.toPath(), contents);
+            Files.move(temp.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not save rotation state", e);
+        }
+    }
+    
+    public void shutdown() {
+        discardAhead();
+        worker.shutdownNow();
+        write(stateToString());
+    }
+}
\ No newline at end of file
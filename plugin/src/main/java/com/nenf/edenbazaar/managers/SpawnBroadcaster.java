@@ -0,0 +1,169 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.BroadcastSettings;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Handle;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Priority;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers the spawn announcement through the {@link WorkScheduler} in batches spread over several ticks.
+ * A batch ends early when the tick's work budget runs out.
+ * The sound is resolved once and the message is rendered once per client locale,
+ * so the per-player cost is a scope check, a send and a sound.
+ * Must be used from the global tick. The send and sound run on each player's own thread, inline on Paper.
+ */
+public class SpawnBroadcaster {
+    
+    private final EdenBazaar plugin;
+    
+    // Resolved sound, cached until the configured name changes
+    private String soundName;
+    private Sound sound;
+    
+    private Handle task;
+    private volatile BroadcastReport lastReport;
+    
+    /**
+     * Cost of the most recent announcement.
+     *
+     * @param recipients players that received it
+     * @param ticks ticks it was spread over
+     * @param peakTickNanos most time spent in a single tick
+     * @param totalNanos time spent across all ticks
+     */
+    public record BroadcastReport(int recipients, int ticks, long peakTickNanos, long totalNanos) {}
+    
+    public SpawnBroadcaster(EdenBazaar plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Starts delivering the announcement, cancelling one still in progress.
+     * Players are collected on the first batch tick, so this returns quickly.
+     *
+     * @param message the announcement
+     * @param origin bazaar location, used for world and radius scopes
+     */
+    public void announce(Component message, Location origin) {
+        cancel();
+        
+        var configData = plugin.getConfigManager().getConfigSnapshot();
+        BroadcastSettings settings = configData.broadcast();
+        Sound resolvedSound = resolveSound(configData.spawnSound());
+        boolean debug = configData.debugMode();
+        
+        Bukkit.getConsoleSender().sendMessage(message);
+        
+        task = plugin.getWorkScheduler().submit(Priority.BROADCAST, new TickWorkQueue.Work() {
+            // Filled from player threads on Folia
+            private final Map<Locale, Component> rendered = new ConcurrentHashMap<>();
+            private List<Player> pending;
+            private int next;
+            private int batchSize;
+            private int recipients;
+            private int ticks;
+            private long peakNanos;
+            private long totalNanos;
+            
+            @Override
+            public boolean runSlice(long deadlineNanos) {
+                long start = System.nanoTime();
+                if (pending == null) {
+                    pending = new ArrayList<>(Bukkit.getOnlinePlayers());
+                    batchSize = Math.max(1, (pending.size() + settings.spreadTicks() - 1) / settings.spreadTicks());
+                }
+                
+                int first = next;
+                int end = Math.min(next + batchSize, pending.size());
+                for (; next < end; next++) {
+                    // Stop early when the tick budget is spent, checking the clock every 16 players
+                    if ((next - first) % 16 == 15 && System.nanoTime() >= deadlineNanos) {
+                        break;
+                    }
+                    Player player = pending.get(next);
+                    if (!player.isOnline() || !inScope(player, settings, origin)) {
+                        continue;
+                    }
+                    plugin.getPlatformScheduler().runFor(player, () -> {
+                        player.sendMessage(rendered.computeIfAbsent(player.locale(),
+                            locale -> GlobalTranslator.render(message, locale)));
+                        if (resolvedSound != null) {
+                            player.playSound(player.getLocation(), resolvedSound, 1.0f, 1.0f);
+                        }
+                    });
+                    recipients++;
+                }
+                
+                long elapsed = System.nanoTime() - start;
+                peakNanos = Math.max(peakNanos, elapsed);
+                totalNanos += elapsed;
+                ticks++;
+                
+                if (next < pending.size()) {
+                    return false;
+                }
+                lastReport = new BroadcastReport(recipients, ticks, peakNanos, totalNanos);
+                String summary = String.format("Spawn announcement sent to %d players over %d ticks, peak %.3fms/tick, total %.3fms (%d locales)",
+                    recipients, ticks, peakNanos / 1_000_000.0, totalNanos / 1_000_000.0, rendered.size());
+                if (debug) {
+                    plugin.getLogger().info(summary);
+                } else {
+                    plugin.getLogger().fine(summary);
+                }
+                task = null;
+                return true;
+            }
+        });
+    }
+    
+    private static boolean inScope(Player player, BroadcastSettings settings, Location origin) {
+        return switch (settings.scope()) {
+            case ALL -> true;
+            case OPT_IN -> player.hasPermission(settings.permission());
+            case WORLD -> origin.getWorld() != null && origin.getWorld().equals(player.getWorld());
+            case RADIUS -> origin.getWorld() != null && origin.getWorld().equals(player.getWorld())
+                && player.getLocation().distanceSquared(origin) <= settings.radius() * settings.radius();
+        };
+    }
+    
+    private Sound resolveSound(String name) {
+        if (name.equals(soundName)) {
+            return sound;
+        }
+        soundName = name;
+        try {
+            sound = Sound.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid spawn sound: " + name);
+            sound = null;
+        }
+        return sound;
+    }
+    
+    /**
+     * Gets the cost of the most recently completed announcement, or null if none completed yet.
+     */
+    public BroadcastReport getLastReport() {
+        return lastReport;
+    }
+    
+    public void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.models.SpawnLocation;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spawn point catalog with a per-world uniform grid index.
+ * Points are indexed by world name, so points in worlds that load later (e.g. through a
+ * world manager plugin) are kept and become usable on {@code WorldLoadEvent}.
+ * The index is an immutable snapshot rebuilt when the configured location list changes,
+ * so queries are safe from any thread.
+ */
+public class SpawnCatalog {
+    
+    // Edge length of an index cell in blocks
+    private static final int CELL_SIZE = 64;
+    private static final int CELL_SHIFT = 6;
+    
+    private final EdenBazaar plugin;
+    private final Map<String, World> loadedWorlds = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Index index = new Index(List.of(), Map.of());
+    
+    /**
+     * A spawn point paired with its distance from a query position.
+     */
+    public record Match(SpawnLocation location, double distance) {}
+    
+    public SpawnCatalog(EdenBazaar plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Registers all currently loaded worlds. Later worlds are added through {@link #onWorldLoad(World)}.
+     */
+    public void initialize() {
+        plugin.getServer().getWorlds().forEach(world -> loadedWorlds.put(world.getName(), world));
+        version.incrementAndGet();
+    }
+    
+    public void onWorldLoad(World world) {
+        loadedWorlds.put(world.getName(), world);
+        version.incrementAndGet();
+        
+        int count = ensureCurrent().worlds.getOrDefault(world.getName(), WorldIndex.EMPTY).size;
+        if (count > 0) {
+            plugin.getLogger().info("World '" + world.getName() + "' loaded, activated " + count + " spawn locations");
+        }
+    }
+    
+    public void onWorldUnload(World world) {
+        loadedWorlds.remove(world.getName());
+        version.incrementAndGet();
+    }
+    
+    /**
+     * Monotonic counter bumped whenever the location set or the set of loaded worlds changes.
+     */
+    public long getVersion() {
+        ensureCurrent();
+        return version.get();
+    }
+    
+    /**
+     * All configured spawn points, including those in worlds that are not loaded.
+     */
+    public List<SpawnLocation> getLocations() {
+        return ensureCurrent().all;
+    }
+    
+    public boolean isWorldLoaded(String worldName) {
+        return loadedWorlds.containsKey(worldName);
+    }
+    
+    /**
+     * Gets the loaded world for a point, or null if its world is not loaded.
+     */
+    public World getWorld(SpawnLocation location) {
+        return loadedWorlds.get(location.getWorldName());
+    }
+    
+    /**
+     * Finds up to {@code limit} points closest to the given position, nearest first.
+     */
+    public List<Match> nearest(String worldName, double x, double y, double z, int limit) {
+        WorldIndex world = ensureCurrent().worlds.get(worldName);
+        if (world == null || limit <= 0) {
+            return List.of();
+        }
+        
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingDouble(Match::distance).reversed());
+        int centerX = Math.floorDiv((int) Math.floor(x), CELL_SIZE);
+        int centerZ = Math.floorDiv((int) Math.floor(z), CELL_SIZE);
+        int maxRing = Math.max(
+            Math.max(Math.abs(centerX - world.minCellX), Math.abs(centerX - world.maxCellX)),
+            Math.max(Math.abs(centerZ - world.minCellZ), Math.abs(centerZ - world.maxCellZ)));
+        
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cellX = centerX - ring; cellX <= centerX + ring; cellX++) {
+                boolean edgeColumn = cellX == centerX - ring || cellX == centerX + ring;
+                int step = edgeColumn ? 1 : Math.max(1, 2 * ring);
+                for (int cellZ = centerZ - ring; cellZ <= centerZ + ring; cellZ += step) {
+                    SpawnLocation[] cell = world.cells.get(cellKey(cellX, cellZ));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (SpawnLocation location : cell) {
+                        double distance = Math.sqrt(location.distanceSquared(x, y, z));
+                        if (best.size() < limit) {
+                            best.add(new Match(location, distance));
+                        } else if (distance < best.peek().distance()) {
+                            best.poll();
+                            best.add(new Match(location, distance));
+                        }
+                    }
+                }
+            }
+            
+            // Anything in later rings is at least ring * CELL_SIZE blocks away horizontally
+            if (best.size() == limit && (double) ring * CELL_SIZE >= best.peek().distance()) {
+                break;
+            }
+        }
+        
+        List<Match> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Match::distance));
+        return result;
+    }
+    
+    /**
+     * Finds all points within {@code radius} blocks of the given position, nearest first.
+     */
+    public List<Match> withinRadius(String worldName, double x, double y, double z, double radius) {
+        WorldIndex world = ensureCurrent().worlds.get(worldName);
+        if (world == null || radius < 0) {
+            return List.of();
+        }
+        
+        double radiusSquared = radius * radius;
+        List<Match> result = new ArrayList<>();
+        int fromX = Math.max(Math.floorDiv((int) Math.floor(x - radius), CELL_SIZE), world.minCellX);
+        int toX = Math.min(Math.floorDiv((int) Math.ceil(x + radius), CELL_SIZE), world.maxCellX);
+        int fromZ = Math.max(Math.floorDiv((int) Math.floor(z - radius), CELL_SIZE), world.minCellZ);
+        int toZ = Math.min(Math.floorDiv((int) Math.ceil(z + radius), CELL_SIZE), world.maxCellZ);
+        
+        // Large radii cover more grid squares than there are occupied cells
+        long squares = (long) (toX - fromX + 1) * (toZ - fromZ + 1);
+        if (squares > world.cells.size()) {
+            for (SpawnLocation[] cell : world.cells.values()) {
+                collectWithin(cell, x, y, z, radiusSquared, result);
+            }
+        } else {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                for (int cellZ = fromZ; cellZ <= toZ; cellZ++) {
+                    SpawnLocation[] cell = world.cells.get(cellKey(cellX, cellZ));
+                    if (cell != null) {
+                        collectWithin(cell, x, y, z, radiusSquared, result);
+                    }
+                }
+            }
+        }
+        
+        result.sort(Comparator.comparingDouble(Match::distance));
+        return result;
+    }
+    
+    private void collectWithin(SpawnLocation[] cell, double x, double y, double z,
+                               double radiusSquared, List<Match> result) {
+        for (SpawnLocation location : cell) {
+            double distanceSquared = location.distanceSquared(x, y, z);
+            if (distanceSquared <= radiusSquared) {
+                result.add(new Match(location, Math.sqrt(distanceSquared)));
+            }
+        }
+    }
+    
+    /**
+     * Rebuilds the index if the configured location list was replaced by a reload.
+     */
+    private Index ensureCurrent() {
+        List<SpawnLocation> configured = plugin.getConfigManager().getSpawnLocations();
+        Index current = index;
+        if (current.all == configured) {
+            return current;
+        }
+        
+        synchronized (this) {
+            if (index.all != configured) {
+                index = buildIndex(configured);
+                version.incrementAndGet();
+            }
+            return index;
+        }
+    }
+    
+    private Index buildIndex(List<SpawnLocation> locations) {
+        Map<String, Map<Long, List<SpawnLocation>>> grouped = new HashMap<>();
+        for (SpawnLocation location : locations) {
+            long key = cellKey(location.getBlockX() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT);
+            grouped.computeIfAbsent(location.getWorldName(), w -> new HashMap<>())
+                .computeIfAbsent(key, k -> new ArrayList<>())
+                .add(location);
+        }
+        
+        Map<String, WorldIndex> worlds = new HashMap<>();
+        grouped.forEach((worldName, cells) -> worlds.put(worldName, WorldIndex.of(cells)));
+        
+        plugin.getLogger().fine("Indexed " + locations.size() + " spawn locations across " + worlds.size() + " worlds");
+        return new Index(locations, Map.copyOf(worlds));
+    }
+    
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+    
+    private record Index(List<SpawnLocation> all, Map<String, WorldIndex> worlds) {}
+    
+    /**
+     * Grid cells of a single world with their bounding box, in cell coordinates.
+     */
+    private record WorldIndex(Map<Long, SpawnLocation[]> cells, int size,
+                              int minCellX, int maxCellX, int minCellZ, int maxCellZ) {
+        
+        static final WorldIndex EMPTY = new WorldIndex(Map.of(), 0, 0, 0, 0, 0);
+        
+        static WorldIndex of(Map<Long, List<SpawnLocation>> grouped) {
+            Map<Long, SpawnLocation[]> cells = new HashMap<>(grouped.size() * 2);
+            int size = 0;
+            int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+            int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
+            
+            for (Map.Entry<Long, List<SpawnLocation>> entry : grouped.entrySet()) {
+                long key = entry.getKey();
+                int cellX = (int) (key >> 32);
+                int cellZ = (int) key;
+                minX = Math.min(minX, cellX);
+                maxX = Math.max(maxX, cellX);
+                minZ = Math.min(minZ, cellZ);
+                maxZ = Math.max(maxZ, cellZ);
+                cells.put(key, entry.getValue().toArray(SpawnLocation[]::new));
+                size += entry.getValue().size();
+            }
+            
+            return new WorldIndex(cells, size, minX, maxX, minZ, maxZ);
+        }
+    }
+}
\ No newline at end of file
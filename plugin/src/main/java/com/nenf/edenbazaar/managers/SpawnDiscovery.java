@@ -0,0 +1,629 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.DiscoverySettings;
+import com.nenf.edenbazaar.models.SpawnLocation;
+import com.nenf.edenbazaar.scheduling.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Scans a world region for good spawn points.
+ * Chunks are walked in row-major order on the global tick within a per-tick time budget and loaded off-thread.
+ * Loaded chunks are queued and snapshotted from the global tick within the same budget, on the thread that owns
+ * them, and scored on a fork-join pool. The best candidate of every chunk competes
+ * for a bounded pool; when the walk finishes the top candidates are written to locations.yml.
+ * Progress is saved to discovery.yml, so a stopped or interrupted scan resumes where it left off.
+ */
+public class SpawnDiscovery {
+    
+    // Candidates kept per written point, leaves room for the spacing filter
+    private static final int POOL_FACTOR = 4;
+    // Snapshots waiting for or in scoring, bounds memory when scoring falls behind
+    private static final int MAX_IN_FLIGHT = 256;
+    private static final long SAVE_INTERVAL_TICKS = 600L;
+    
+    // Score weights, they add up to 1
+    private static final double FLATNESS_WEIGHT = 0.35;
+    private static final double LIGHT_WEIGHT = 0.15;
+    private static final double PATH_WEIGHT = 0.30;
+    private static final double HOT_ZONE_WEIGHT = 0.20;
+    
+    // Path and village markers per chunk that count as a full path score
+    private static final int PATH_SATURATION = 6;
+    // Players in the density cell that count as a full hot zone score
+    private static final int HOT_ZONE_SATURATION = 8;
+    
+    private final EdenBazaar plugin;
+    private final PlayerDensityTracker densityTracker;
+    private final File progressFile;
+    // Writes progress in order, so a periodic save never races the one on stop
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().daemon().name("EdenBazaar-DiscoverySave").factory());
+    
+    private final ConcurrentLinkedQueue<LoadedChunk> loaded = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<ScoredChunk> scored = new ConcurrentLinkedQueue<>();
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private final PriorityQueue<Candidate> pool = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+    private final Set<Long> pooledChunks = new HashSet<>();
+    
+    private DiscoverySettings settings;
+    private ForkJoinPool scorer;
+    // Read from chunk threads to drop chunks that arrive after a stop
+    private volatile TaskHandle task;
+    private World world;
+    private long cursor;
+    private long processed;
+    private long skipped;
+    private long failed;
+    private long startedAt;
+    private long elapsedBefore;
+    private long peakTickNanos;
+    private long ticks;
+    private boolean finished;
+    
+    /**
+     * A scored spawn point candidate in block coordinates; y is the block the NPC stands in.
+     */
+    public record Candidate(long chunkIndex, int x, int y, int z, double score) {}
+    
+    /**
+     * Snapshot of the scan state for status output.
+     */
+    public record Progress(boolean running, boolean finished, String world, long processed, long total,
+                           long skipped, long failed, int candidates, double bestScore,
+                           long elapsedMillis, double peakTickMillis) {
+        
+        public double percent() {
+            return total == 0 ? 100.0 : processed * 100.0 / total;
+        }
+        
+        /**
+         * Estimated remaining time from the rate so far, or -1 if unknown.
+         */
+        public long etaMillis() {
+            if (processed == 0 || elapsedMillis == 0) {
+                return -1;
+            }
+            return (long) ((total - processed) * ((double) elapsedMillis / processed));
+        }
+    }
+    
+    /**
+     * A chunk that finished loading, waiting for the global tick to snapshot it.
+     */
+    private record LoadedChunk(World world, ForkJoinPool scorer, long index, int chunkX, int chunkZ) {}
+    
+    /**
+     * Outcome of one chunk, handed back to the global tick.
+     * 
+     * @param best best candidate, null if the chunk has none
+     * @param failed whether the chunk could not be loaded
+     */
+    private record ScoredChunk(long index, Candidate best, boolean failed) {}
+    
+    public SpawnDiscovery(EdenBazaar plugin, PlayerDensityTracker densityTracker) {
+        this.plugin = plugin;
+        this.densityTracker = densityTracker;
+        this.progressFile = new File(plugin.getDataFolder(), "discovery.yml");
+    }
+    
+    public boolean isRunning() {
+        return task != null;
+    }
+    
+    /**
+     * Starts or resumes the scan for the configured region.
+     *
+     * @return an error message, or null if the scan started
+     */
+    public String start() {
+        if (isRunning()) {
+            return "Discovery is already running";
+        }
+        
+        DiscoverySettings current = plugin.getConfigManager().getConfigSnapshot().discovery();
+        World target = Bukkit.getWorld(current.world());
+        if (target == null) {
+            return "World '" + current.world() + "' is not loaded";
+        }
+        
+        if (!current.equals(settings)) {
+            settings = current;
+            resetState();
+            loadProgress();
+        }
+        if (cursor >= totalChunks() && inFlight.isEmpty()) {
+            return "Discovery already scanned this region, use reset to scan it again";
+        }
+        world = target;
+        finished = false;
+        
+        if (scorer == null || scorer.getParallelism() != settings.threads()) {
+            if (scorer != null) {
+                scorer.shutdown();
+            }
+            scorer = new ForkJoinPool(settings.threads());
+        }
+        
+        startedAt = System.nanoTime();
+        long budgetNanos = (long) (settings.tickBudgetMillis() * 1_000_000);
+        task = plugin.getPlatformScheduler().runGlobalTimer(() -> tick(budgetNanos), 1L, 1L);
+        
+        plugin.getLogger().info("Spawn discovery " + (cursor > 0 ? "resumed at " + String.format("%.1f", getProgress().percent()) + "%" : "started")
+            + " for " + totalChunks() + " chunks in '" + settings.world() + "'");
+        return null;
+    }
+    
+    /**
+     * Pauses the scan and saves its progress. Snapshots still being scored are rescanned on resume.
+     */
+    public void stop() {
+        if (task == null) {
+            return;
+        }
+        task.cancel();
+        task = null;
+        elapsedBefore += System.nanoTime() - startedAt;
+        
+        // Forget chunks still loading or scoring, they are requested again on resume
+        long resumeAt = resumePoint();
+        processed -= completedSince(resumeAt);
+        cursor = resumeAt;
+        inFlight.clear();
+        loaded.clear();
+        scored.clear();
+        
+        saveProgress();
+    }
+    
+    /**
+     * Stops the scan and discards all progress and candidates.
+     */
+    public void reset() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        settings = plugin.getConfigManager().getConfigSnapshot().discovery();
+        resetState();
+        if (progressFile.exists() && !progressFile.delete()) {
+            plugin.getLogger().warning("Could not delete " + progressFile.getName());
+        }
+    }
+    
+    private void resetState() {
+        loaded.clear();
+        scored.clear();
+        inFlight.clear();
+        pool.clear();
+        pooledChunks.clear();
+        cursor = 0;
+        processed = 0;
+        skipped = 0;
+        failed = 0;
+        elapsedBefore = 0;
+        peakTickNanos = 0;
+        ticks = 0;
+        finished = false;
+    }
+    
+    public Progress getProgress() {
+        DiscoverySettings current = settings != null ? settings : plugin.getConfigManager().getConfigSnapshot().discovery();
+        long elapsed = elapsedBefore + (task != null ? System.nanoTime() - startedAt : 0);
+        double best = pool.stream().mapToDouble(Candidate::score).max().orElse(0);
+        return new Progress(task != null, finished, current.world(), processed, totalChunks(current),
+            skipped, failed, pool.size(), best, TimeUnit.NANOSECONDS.toMillis(elapsed), peakTickNanos / 1_000_000.0);
+    }
+    
+    private void tick(long budgetNanos) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        ticks++;
+        
+        drainScored();
+        snapshotLoaded(deadline);
+        
+        long total = totalChunks();
+        int requested = 0;
+        while (cursor < total && requested < settings.maxChunksPerTick() && inFlight.size() < MAX_IN_FLIGHT
+            && System.nanoTime() < deadline) {
+            long index = cursor++;
+            int chunkX = chunkX(index);
+            int chunkZ = chunkZ(index);
+            
+            // Never generate terrain just to look at it
+            if (settings.onlyGenerated() && !world.isChunkGenerated(chunkX, chunkZ)) {
+                skipped++;
+                processed++;
+                continue;
+            }
+            
+            requested++;
+            inFlight.add(index);
+            World target = world;
+            ForkJoinPool pool = scorer;
+            plugin.getPlatformScheduler().runAt(target, chunkX, chunkZ, () -> load(target, pool, index, chunkX, chunkZ));
+        }
+        
+        if (ticks % SAVE_INTERVAL_TICKS == 0) {
+            saveProgress();
+        }
+        
+        peakTickNanos = Math.max(peakTickNanos, System.nanoTime() - start);
+        
+        if (cursor >= total && inFlight.isEmpty()) {
+            complete();
+        }
+    }
+    
+    /**
+     * Loads a chunk on the thread that owns it and queues it for {@link #snapshotLoaded}.
+     * Failures go through {@link #scored}, so scan state is only touched on the global tick.
+     */
+    private void load(World world, ForkJoinPool scorer, long index, int chunkX, int chunkZ) {
+        if (task == null) {
+            return;
+        }
+        LoadedChunk chunk = new LoadedChunk(world, scorer, index, chunkX, chunkZ);
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            loaded.add(chunk);
+            return;
+        }
+        // Paper loads the chunk off-thread; the completion only queues it, snapshots are taken within the budget
+        world.getChunkAtAsync(chunkX, chunkZ).whenComplete((result, error) -> {
+            if (task == null) {
+                return;
+            }
+            if (error != null || result == null) {
+                scored.add(new ScoredChunk(index, null, true));
+                return;
+            }
+            loaded.add(chunk);
+        });
+    }
+    
+    /**
+     * Snapshots queued chunks until the deadline. On Paper the global tick owns every chunk, so the snapshots are
+     * taken here and count toward the budget; on Folia each is handed to its region, at most as many per tick as
+     * the budget lets this loop hand out.
+     */
+    private void snapshotLoaded(long deadline) {
+        LoadedChunk chunk;
+        while (System.nanoTime() < deadline && (chunk = loaded.poll()) != null) {
+            if (!inFlight.contains(chunk.index())) {
+                continue; // Scan was reset after this chunk was requested
+            }
+            LoadedChunk target = chunk;
+            plugin.getPlatformScheduler().runAt(chunk.world(), chunk.chunkX(), chunk.chunkZ(), () -> submit(target));
+        }
+    }
+    
+    private void submit(LoadedChunk loadedChunk) {
+        if (task == null) {
+            return;
+        }
+        World world = loadedChunk.world();
+        int chunkX = loadedChunk.chunkX();
+        int chunkZ = loadedChunk.chunkZ();
+        long index = loadedChunk.index();
+        // Unloaded again while it waited in the queue
+        if (!world.isChunkLoaded(chunkX, chunkZ)) {
+            load(world, loadedChunk.scorer(), index, chunkX, chunkZ);
+            return;
+        }
+        ChunkSnapshot snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, false, false);
+        int players = densityTracker.getPlayerCount(densityTracker.cellOf(world.getName(), chunkX << 4, chunkZ << 4));
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+        
+        loadedChunk.scorer().execute(() -> {
+            Candidate best = null;
+            try {
+                best = scoreChunk(snapshot, index, chunkX, chunkZ, minY, maxY, players);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.FINE, "Failed to score chunk " + chunkX + "," + chunkZ, e);
+            }
+            scored.add(new ScoredChunk(index, best, false));
+        });
+    }
+    
+    private void drainScored() {
+        ScoredChunk result;
+        while ((result = scored.poll()) != null) {
+            if (!inFlight.remove(result.index())) {
+                continue; // Scan was reset while this chunk was being scored
+            }
+            processed++;
+            if (result.failed()) {
+                failed++;
+            } else if (result.best() != null) {
+                offer(result.best());
+            }
+        }
+    }
+    
+    private void offer(Candidate candidate) {
+        // A resumed scan may score chunks that are already in the pool
+        if (pooledChunks.contains(candidate.chunkIndex())) {
+            return;
+        }
+        int capacity = settings.topCandidates() * POOL_FACTOR;
+        if (pool.size() < capacity) {
+            pool.add(candidate);
+            pooledChunks.add(candidate.chunkIndex());
+        } else if (candidate.score() > pool.peek().score()) {
+            pooledChunks.remove(pool.poll().chunkIndex());
+            pool.add(candidate);
+            pooledChunks.add(candidate.chunkIndex());
+        }
+    }
+    
+    private void complete() {
+        task.cancel();
+        task = null;
+        elapsedBefore += System.nanoTime() - startedAt;
+        finished = true;
+        
+        int written = apply();
+        plugin.getLogger().info("Spawn discovery finished: " + processed + " chunks scanned (" + skipped
+            + " not generated, " + failed + " failed) in " + TimeUnit.NANOSECONDS.toSeconds(elapsedBefore)
+            + "s, peak tick " + String.format("%.2f", peakTickNanos / 1_000_000.0) + "ms, wrote " + written + " spawn locations");
+        saveProgress();
+    }
+    
+    /**
+     * Writes the best candidates found so far to locations.yml, keeping them at least
+     * the configured spacing apart from each other and from existing points.
+     *
+     * @return number of spawn locations written
+     */
+    public int apply() {
+        DiscoverySettings current = settings != null ? settings : plugin.getConfigManager().getConfigSnapshot().discovery();
+        List<Candidate> ranked = new ArrayList<>(pool);
+        ranked.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        
+        double spacingSquared = (double) current.minSpacing() * current.minSpacing();
+        List<SpawnLocation> existing = plugin.getSpawnCatalog().getLocations().stream()
+            .filter(location -> location.getWorldName().equals(current.world()))
+            .toList();
+        
+        Map<String, SpawnLocation> chosen = new LinkedHashMap<>();
+        for (Candidate candidate : ranked) {
+            if (chosen.size() >= current.topCandidates()) {
+                break;
+            }
+            double x = candidate.x() + 0.5;
+            double z = candidate.z() + 0.5;
+            boolean crowded = existing.stream().anyMatch(location -> location.distanceSquared(x, candidate.y(), z) < spacingSquared)
+                || chosen.values().stream().anyMatch(location -> location.distanceSquared(x, candidate.y(), z) < spacingSquared);
+            if (crowded) {
+                continue;
+            }
+            
+            String key = current.namePrefix() + "_" + candidate.x() + "_" + candidate.z();
+            String name = "Discovered (" + candidate.x() + ", " + candidate.z() + ")";
+            chosen.put(key, new SpawnLocation(current.world(), x, candidate.y(), z, 0f, 0f, name, 1.0));
+        }
+        
+        if (!chosen.isEmpty()) {
+            plugin.getConfigManager().addSpawnLocations(chosen).whenComplete((result, error) -> {
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to write discovered spawn locations", error);
+                }
+            });
+        }
+        return chosen.size();
+    }
+    
+    /**
+     * Scores the best standing spot of a chunk; pure function of the snapshot, safe on any thread.
+     */
+    static Candidate scoreChunk(ChunkSnapshot snapshot, long index, int chunkX, int chunkZ,
+                                int minY, int maxY, int players) {
+        int[][] heights = new int[16][16];
+        int markers = 0;
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int y = snapshot.getHighestBlockYAt(x, z);
+                heights[x][z] = y;
+                if (y >= minY && y < maxY) {
+                    Material surface = snapshot.getBlockType(x, y, z);
+                    if (surface == Material.DIRT_PATH || surface == Material.BELL) {
+                        markers++;
+                    }
+                }
+            }
+        }
+        
+        double pathScore = Math.min(1.0, (double) markers / PATH_SATURATION);
+        double hotZoneScore = Math.min(1.0, (double) players / HOT_ZONE_SATURATION);
+        
+        Candidate best = null;
+        // Sample a 4x4 grid away from the chunk border so the flatness window stays inside the snapshot
+        for (int x = 2; x < 16; x += 4) {
+            for (int z = 2; z < 16; z += 4) {
+                int groundY = heights[x][z];
+                int feetY = groundY + 1;
+                if (groundY < minY || feetY + 1 >= maxY) {
+                    continue;
+                }
+                
+                Material ground = snapshot.getBlockType(x, groundY, z);
+                Material feet = snapshot.getBlockType(x, feetY, z);
+                Material head = snapshot.getBlockType(x, feetY + 1, z);
+                if (!ground.isSolid() || SpawnSafetyValidator.HAZARDS.contains(ground)
+                    || feet.isSolid() || head.isSolid()
+                    || feet == Material.WATER || feet == Material.LAVA) {
+                    continue;
+                }
+                
+                int maxDiff = 0;
+                for (int dx = -2; dx <= 2; dx++) {
+                    for (int dz = -2; dz <= 2; dz++) {
+                        int nx = Math.clamp(x + dx, 0, 15);
+                        int nz = Math.clamp(z + dz, 0, 15);
+                        maxDiff = Math.max(maxDiff, Math.abs(heights[nx][nz] - groundY));
+                    }
+                }
+                double flatness = 1.0 - Math.min(maxDiff, 4) / 4.0;
+                
+                int light = Math.max(snapshot.getBlockSkyLight(x, feetY, z), snapshot.getBlockEmittedLight(x, feetY, z));
+                double lightScore = light / 15.0;
+                
+                double score = FLATNESS_WEIGHT * flatness + LIGHT_WEIGHT * lightScore
+                    + PATH_WEIGHT * pathScore + HOT_ZONE_WEIGHT * hotZoneScore;
+                if (best == null || score > best.score()) {
+                    best = new Candidate(index, (chunkX << 4) + x, feetY, (chunkZ << 4) + z, score);
+                }
+            }
+        }
+        return best;
+    }
+    
+    private long totalChunks() {
+        return totalChunks(settings);
+    }
+    
+    private static long totalChunks(DiscoverySettings settings) {
+        return (long) columns(settings) * rows(settings);
+    }
+    
+    private static int columns(DiscoverySettings settings) {
+        return ((settings.maxX() >> 4) - (settings.minX() >> 4)) / settings.chunkStride() + 1;
+    }
+    
+    private static int rows(DiscoverySettings settings) {
+        return ((settings.maxZ() >> 4) - (settings.minZ() >> 4)) / settings.chunkStride() + 1;
+    }
+    
+    private int chunkX(long index) {
+        return (settings.minX() >> 4) + (int) (index % columns(settings)) * settings.chunkStride();
+    }
+    
+    private int chunkZ(long index) {
+        return (settings.minZ() >> 4) + (int) (index / columns(settings)) * settings.chunkStride();
+    }
+    
+    private void loadProgress() {
+        if (!progressFile.exists()) {
+            return;
+        }
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(progressFile);
+        if (!settings.regionSignature().equals(saved.getString("region"))) {
+            plugin.getLogger().info("Discovery region changed, starting a new scan");
+            return;
+        }
+        
+        cursor = saved.getLong("cursor");
+        processed = saved.getLong("processed");
+        skipped = saved.getLong("skipped");
+        failed = saved.getLong("failed");
+        elapsedBefore = TimeUnit.MILLISECONDS.toNanos(saved.getLong("elapsed_ms"));
+        
+        ConfigurationSection candidates = saved.getConfigurationSection("candidates");
+        if (candidates != null) {
+            for (String key : candidates.getKeys(false)) {
+                ConfigurationSection entry = candidates.getConfigurationSection(key);
+                if (entry != null) {
+                    offer(new Candidate(entry.getLong("chunk"), entry.getInt("x"), entry.getInt("y"),
+                        entry.getInt("z"), entry.getDouble("score")));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Chunks still in flight are rescanned on resume, so a scan resumes from the oldest of them.
+     */
+    private long resumePoint() {
+        return inFlight.isEmpty() ? cursor : inFlight.first();
+    }
+    
+    /**
+     * Number of chunks at or after the resume point that already completed out of order.
+     */
+    private long completedSince(long resumeAt) {
+        return cursor - resumeAt - inFlight.size();
+    }
+    
+    private void saveProgress() {
+        if (settings == null) {
+            return;
+        }
+        
+        long resumeAt = resumePoint();
+        YamlConfiguration saved = new YamlConfiguration();
+        saved.set("region", settings.regionSignature());
+        saved.set("cursor", resumeAt);
+        saved.set("processed", processed - completedSince(resumeAt));
+        saved.set("skipped", skipped);
+        saved.set("failed", failed);
+        saved.set("elapsed_ms", TimeUnit.NANOSECONDS.toMillis(elapsedBefore + (task != null ? System.nanoTime() - startedAt : 0)));
+        
+        int i = 0;
+        for (Candidate candidate : pool) {
+            ConfigurationSection entry = saved.createSection("candidates." + i++);
+            entry.set("chunk", candidate.chunkIndex());
+            entry.set("x", candidate.x());
+            entry.set("y", candidate.y());
+            entry.set("z", candidate.z());
+            entry.set("score", candidate.score());
+        }
+        
+        // Serialize on the main thread, write on the writer thread
+        String contents = saved.saveToString();
+        writer.execute(() -> {
+            try {
+                File temp = new File(progressFile.getParentFile(), progressFile.getName() + ".tmp");
+                Files.writeString(temp.toPath(), contents);
+                Files.move(temp.toPath(), progressFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not save discovery progress", e);
+            }
+        });
+    }
+    
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+            elapsedBefore += System.nanoTime() - startedAt;
+            saveProgress();
+        }
+        if (scorer != null) {
+            scorer.shutdownNow();
+        }
+        // Waits for the last save and any queued before it
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,479 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.SafetySettings;
+import com.nenf.edenbazaar.models.SpawnLocation;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Checks that spawn points have solid ground and two free, non-hazardous blocks above.
+ * Chunk snapshots are taken on the thread that owns each chunk and block checks run on worker threads.
+ * Unsafe points are nudged to the nearest safe block within the configured radius.
+ * Results are cached per chunk and dropped when blocks change near a point.
+ */
+public class SpawnSafetyValidator {
+    
+    // Chunks snapshotted per batch during bulk validation, neighbours included; batches run one at a time,
+    // so this also bounds the chunk loads in flight and snapshot memory
+    private static final int CHUNKS_PER_BATCH = 64;
+    // Slot of the counts for points whose chunk was never generated, after the statuses
+    private static final int NOT_GENERATED = Status.values().length;
+    
+    static final Set<Material> HAZARDS = EnumSet.of(
+        Material.LAVA, Material.FIRE, Material.MAGMA_BLOCK, Material.CACTUS,
+        Material.SWEET_BERRY_BUSH, Material.POWDER_SNOW
+    );
+    
+    private static final Map<Integer, int[][]> NUDGE_OFFSETS = new ConcurrentHashMap<>();
+    
+    private final EdenBazaar plugin;
+    private final SpawnCatalog catalog;
+    
+    // world name -> packed chunk key -> cached results for points in that chunk
+    private final Map<String, Map<Long, Map<SpawnLocation, SafetyResult>>> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Executor mainThread;
+    private volatile ExecutorService workers;
+    private int workerThreads;
+    private volatile CompletableFuture<ValidationSummary> running = CompletableFuture.completedFuture(ValidationSummary.EMPTY);
+    
+    public enum Status { SAFE, NUDGED, UNSAFE }
+    
+    /**
+     * Outcome of a safety check. For nudged points the coordinates are the adjusted spot.
+     */
+    public record SafetyResult(Status status, double x, double y, double z, String reason) {
+        
+        public boolean usable() {
+            return status != Status.UNSAFE;
+        }
+        
+        public Location toLocation(World world, SpawnLocation source) {
+            return new Location(world, x, y, z, source.getYaw(), source.getPitch());
+        }
+    }
+    
+    /**
+     * Counts from a bulk validation run.
+     *
+     * @param skipped points in worlds that are not loaded
+     * @param notGenerated points in chunks that were never generated, checked when the shop spawns there
+     */
+    public record ValidationSummary(int safe, int nudged, int unsafe, int skipped, int notGenerated, long elapsedMillis) {
+        static final ValidationSummary EMPTY = new ValidationSummary(0, 0, 0, 0, 0, 0);
+    }
+    
+    public SpawnSafetyValidator(EdenBazaar plugin, SpawnCatalog catalog) {
+        this.plugin = plugin;
+        this.catalog = catalog;
+        this.mainThread = task -> plugin.getPlatformScheduler().runGlobal(task);
+    }
+    
+    /**
+     * Validates every point in a loaded world. Must be called from the main thread; completes asynchronously.
+     *
+     * @param force drop all cached results first (e.g. after a reload)
+     */
+    public CompletableFuture<ValidationSummary> validateAll(boolean force) {
+        SafetySettings settings = plugin.getConfigManager().getConfigSnapshot().safety();
+        if (!settings.enabled()) {
+            return CompletableFuture.completedFuture(ValidationSummary.EMPTY);
+        }
+        
+        if (force) {
+            cache.clear();
+        }
+        int runGeneration = force ? generation.incrementAndGet() : generation.get();
+        ensureWorkers(settings.workerThreads());
+        
+        // Group pending points by the chunks they need
+        Map<ChunkRef, List<SpawnLocation>> byChunk = new LinkedHashMap<>();
+        int skipped = 0;
+        for (SpawnLocation location : catalog.getLocations()) {
+            if (catalog.getWorld(location) == null) {
+                skipped++;
+                continue;
+            }
+            if (getCached(location) == null) {
+                byChunk.computeIfAbsent(ChunkRef.of(location), ref -> new ArrayList<>()).add(location);
+            }
+        }
+        
+        long start = System.nanoTime();
+        int[] counts = new int[NOT_GENERATED + 1];
+        int finalSkipped = skipped;
+        
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (List<Map.Entry<ChunkRef, List<SpawnLocation>>> batch : batches(byChunk, settings.nudgeRadius())) {
+            // Each batch starts on a later tick, snapshots must be taken on the main thread
+            chain = chain.thenComposeAsync(ignored -> runBatch(batch, settings.nudgeRadius(), runGeneration, counts), mainThread);
+        }
+        
+        running = chain.handle((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Spawn safety validation failed", error);
+            }
+            ValidationSummary summary = new ValidationSummary(
+                counts[Status.SAFE.ordinal()], counts[Status.NUDGED.ordinal()], counts[Status.UNSAFE.ordinal()],
+                finalSkipped, counts[NOT_GENERATED], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            logSummary(summary);
+            return summary;
+        });
+        return running;
+    }
+    
+    /**
+     * Gets the most recent bulk validation, possibly still running.
+     */
+    public CompletableFuture<ValidationSummary> getLastValidation() {
+        return running;
+    }
+    
+    /**
+     * Splits points, grouped by chunk, into batches that need at most {@link #CHUNKS_PER_BATCH} chunks each,
+     * counting the neighbours nudges may reach. A chunk group that alone needs more gets a batch of its own.
+     */
+    private static List<List<Map.Entry<ChunkRef, List<SpawnLocation>>>> batches(
+            Map<ChunkRef, List<SpawnLocation>> byChunk, int radius) {
+        List<List<Map.Entry<ChunkRef, List<SpawnLocation>>>> batches = new ArrayList<>();
+        List<Map.Entry<ChunkRef, List<SpawnLocation>>> batch = new ArrayList<>();
+        Set<ChunkRef> batchChunks = new HashSet<>();
+        for (Map.Entry<ChunkRef, List<SpawnLocation>> entry : byChunk.entrySet()) {
+            Set<ChunkRef> needed = new HashSet<>();
+            for (SpawnLocation location : entry.getValue()) {
+                needed.addAll(ChunkRef.around(location, radius));
+            }
+            Set<ChunkRef> merged = new HashSet<>(batchChunks);
+            merged.addAll(needed);
+            if (!batch.isEmpty() && merged.size() > CHUNKS_PER_BATCH) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                merged = needed;
+            }
+            batch.add(entry);
+            batchChunks = merged;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+    
+    private CompletableFuture<Void> runBatch(List<Map.Entry<ChunkRef, List<SpawnLocation>>> batch,
+                                             int radius, int runGeneration, int[] counts) {
+        // Snapshot on the owning thread; chunks that are not loaded are fetched asynchronously by the server,
+        // never generated, and come back null
+        Map<ChunkRef, CompletableFuture<ChunkSnapshot>> snapshots = new HashMap<>();
+        for (Map.Entry<ChunkRef, List<SpawnLocation>> entry : batch) {
+            for (SpawnLocation location : entry.getValue()) {
+                World world = catalog.getWorld(location);
+                if (world == null) {
+                    continue;
+                }
+                for (ChunkRef ref : ChunkRef.around(location, radius)) {
+                    snapshots.computeIfAbsent(ref, r -> plugin.getPlatformScheduler()
+                        .supplyAt(world, r.x(), r.z(), () -> snapshotAsync(world, r))
+                        .thenCompose(snapshot -> snapshot));
+                }
+            }
+        }
+        
+        return CompletableFuture.allOf(snapshots.values().toArray(CompletableFuture[]::new))
+            .thenComposeAsync(ignored -> {
+                Map<ChunkRef, ChunkSnapshot> loaded = new HashMap<>();
+                snapshots.forEach((ref, future) -> {
+                    ChunkSnapshot snapshot = future.join();
+                    if (snapshot != null) {
+                        loaded.put(ref, snapshot);
+                    }
+                });
+                
+                List<CompletableFuture<Void>> checks = new ArrayList<>();
+                for (Map.Entry<ChunkRef, List<SpawnLocation>> entry : batch) {
+                    for (SpawnLocation location : entry.getValue()) {
+                        World world = catalog.getWorld(location);
+                        if (world == null) {
+                            continue;
+                        }
+                        // Left unchecked and uncached, so it is checked again when the shop is about to spawn there
+                        if (!loaded.containsKey(ChunkRef.of(location))) {
+                            synchronized (counts) {
+                                counts[NOT_GENERATED]++;
+                            }
+                            continue;
+                        }
+                        int minY = world.getMinHeight();
+                        int maxY = world.getMaxHeight();
+                        checks.add(CompletableFuture.runAsync(() -> {
+                            SafetyResult result = check(location, loaded, minY, maxY, radius);
+                            // A newer forced run supersedes this one
+                            if (generation.get() == runGeneration) {
+                                store(location, result);
+                            }
+                            synchronized (counts) {
+                                counts[result.status().ordinal()]++;
+                            }
+                        }, workers));
+                    }
+                }
+                return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new));
+            }, workers);
+    }
+    
+    private CompletableFuture<ChunkSnapshot> snapshotAsync(World world, ChunkRef ref) {
+        if (world.isChunkLoaded(ref.x(), ref.z())) {
+            return CompletableFuture.completedFuture(world.getChunkAt(ref.x(), ref.z()).getChunkSnapshot(false, false, false));
+        }
+        // Paper completes this on the thread that owns the chunk, where snapshots must be taken;
+        // validating must never generate terrain, so chunks that were never generated come back null
+        return world.getChunkAtAsync(ref.x(), ref.z(), false)
+            .thenApply(chunk -> chunk != null ? chunk.getChunkSnapshot(false, false, false) : null);
+    }
+    
+    /**
+     * Checks a single point right before it is used. Runs on the thread that owns the point, with the point's
+     * chunk loaded, and reuses the cached result when nothing changed near the point. Neighbouring chunks that
+     * are not loaded, or on Folia are owned by another region, are left out, so nudges never move the point into
+     * them and nothing is loaded here.
+     */
+    public SafetyResult checkNow(SpawnLocation location, World world) {
+        SafetySettings settings = plugin.getConfigManager().getConfigSnapshot().safety();
+        if (!settings.enabled()) {
+            return new SafetyResult(Status.SAFE, location.getX(), location.getY(), location.getZ(), null);
+        }
+        
+        SafetyResult cached = getCached(location);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Map<ChunkRef, ChunkSnapshot> snapshots = new HashMap<>();
+        for (ChunkRef ref : ChunkRef.around(location, settings.nudgeRadius())) {
+            Location corner = new Location(world, ref.x() << 4, location.getY(), ref.z() << 4);
+            if (!plugin.getPlatformScheduler().isOwnedByCurrentThread(corner) || !world.isChunkLoaded(ref.x(), ref.z())) {
+                continue;
+            }
+            snapshots.put(ref, world.getChunkAt(ref.x(), ref.z()).getChunkSnapshot(false, false, false));
+        }
+        
+        SafetyResult result = check(location, snapshots, world.getMinHeight(), world.getMaxHeight(), settings.nudgeRadius());
+        // Without the point's own chunk the result says nothing about the point, so it is not kept
+        if (snapshots.containsKey(ChunkRef.of(location))) {
+            store(location, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the cached result for a point, or null if it has not been checked since the last change.
+     */
+    public SafetyResult getCached(SpawnLocation location) {
+        Map<Long, Map<SpawnLocation, SafetyResult>> worldCache = cache.get(location.getWorldName());
+        if (worldCache == null) {
+            return null;
+        }
+        Map<SpawnLocation, SafetyResult> chunkCache = worldCache.get(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+        return chunkCache != null ? chunkCache.get(location) : null;
+    }
+    
+    private void store(SpawnLocation location, SafetyResult result) {
+        cache.computeIfAbsent(location.getWorldName(), w -> new ConcurrentHashMap<>())
+            .computeIfAbsent(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), k -> new ConcurrentHashMap<>())
+            .put(location, result);
+    }
+    
+    /**
+     * Drops cached results for points close enough to a changed block to be affected by it.
+     * Cheap when no point is cached in or next to the block's chunk.
+     */
+    public void invalidateNear(Block block) {
+        Map<Long, Map<SpawnLocation, SafetyResult>> worldCache = cache.get(block.getWorld().getName());
+        if (worldCache == null || worldCache.isEmpty()) {
+            return;
+        }
+        
+        int reach = plugin.getConfigManager().getConfigSnapshot().safety().nudgeRadius() + 2;
+        int blockX = block.getX();
+        int blockY = block.getY();
+        int blockZ = block.getZ();
+        
+        for (int chunkX = (blockX - reach) >> 4; chunkX <= (blockX + reach) >> 4; chunkX++) {
+            for (int chunkZ = (blockZ - reach) >> 4; chunkZ <= (blockZ + reach) >> 4; chunkZ++) {
+                Map<SpawnLocation, SafetyResult> chunkCache = worldCache.get(chunkKey(chunkX, chunkZ));
+                if (chunkCache == null) {
+                    continue;
+                }
+                chunkCache.keySet().removeIf(location ->
+                    Math.abs(location.getBlockX() - blockX) <= reach
+                        && Math.abs(location.getBlockY() - blockY) <= reach
+                        && Math.abs(location.getBlockZ() - blockZ) <= reach);
+            }
+        }
+    }
+    
+    /**
+     * Pure block check against snapshots; safe to run on any thread.
+     */
+    private static SafetyResult check(SpawnLocation location, Map<ChunkRef, ChunkSnapshot> snapshots,
+                                      int minY, int maxY, int radius) {
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        
+        String world = location.getWorldName();
+        String reason = unsafeReason(snapshots, world, x, y, z, minY, maxY);
+        if (reason == null) {
+            return new SafetyResult(Status.SAFE, location.getX(), location.getY(), location.getZ(), null);
+        }
+        
+        for (int[] offset : nudgeOffsets(radius)) {
+            int nx = x + offset[0];
+            int ny = y + offset[1];
+            int nz = z + offset[2];
+            if (unsafeReason(snapshots, world, nx, ny, nz, minY, maxY) == null) {
+                // Keep the sub-block position so the NPC stays centred the way it was configured
+                return new SafetyResult(Status.NUDGED,
+                    location.getX() + offset[0], ny, location.getZ() + offset[2], reason);
+            }
+        }
+        
+        return new SafetyResult(Status.UNSAFE, location.getX(), location.getY(), location.getZ(), reason);
+    }
+    
+    private static String unsafeReason(Map<ChunkRef, ChunkSnapshot> snapshots, String world,
+                                       int x, int y, int z, int minY, int maxY) {
+        if (y - 1 < minY || y + 1 >= maxY) {
+            return "outside world height";
+        }
+        
+        Material ground = blockAt(snapshots, world, x, y - 1, z);
+        Material feet = blockAt(snapshots, world, x, y, z);
+        Material head = blockAt(snapshots, world, x, y + 1, z);
+        if (ground == null || feet == null || head == null) {
+            return "chunk not available";
+        }
+        
+        if (!ground.isSolid() || HAZARDS.contains(ground)) {
+            return ground == Material.LAVA ? "standing on lava" : "no solid ground";
+        }
+        if (feet == Material.LAVA || head == Material.LAVA) {
+            return "in lava";
+        }
+        if (feet == Material.WATER || head == Material.WATER) {
+            return "under water";
+        }
+        if (feet.isSolid() || head.isSolid()) {
+            return "buried in blocks";
+        }
+        if (HAZARDS.contains(feet) || HAZARDS.contains(head)) {
+            return "hazardous block";
+        }
+        return null;
+    }
+    
+    private static Material blockAt(Map<ChunkRef, ChunkSnapshot> snapshots, String world, int x, int y, int z) {
+        ChunkSnapshot snapshot = snapshots.get(new ChunkRef(world, x >> 4, z >> 4));
+        return snapshot != null ? snapshot.getBlockType(x & 15, y, z & 15) : null;
+    }
+    
+    /**
+     * Offsets within the radius sorted by distance, preferring small vertical moves.
+     */
+    private static int[][] nudgeOffsets(int radius) {
+        return NUDGE_OFFSETS.computeIfAbsent(radius, r -> {
+            List<int[]> offsets = new ArrayList<>();
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    for (int dz = -r; dz <= r; dz++) {
+                        if ((dx != 0 || dy != 0 || dz != 0) && dx * dx + dy * dy + dz * dz <= r * r) {
+                            offsets.add(new int[] {dx, dy, dz});
+                        }
+                    }
+                }
+            }
+            offsets.sort((a, b) -> {
+                int distance = Integer.compare(a[0] * a[0] + a[1] * a[1] + a[2] * a[2], b[0] * b[0] + b[1] * b[1] + b[2] * b[2]);
+                return distance != 0 ? distance : Integer.compare(Math.abs(a[1]), Math.abs(b[1]));
+            });
+            return offsets.toArray(int[][]::new);
+        });
+    }
+    
+    private void ensureWorkers(int threads) {
+        if (workers != null && workerThreads == threads) {
+            return;
+        }
+        if (workers != null) {
+            workers.shutdown();
+        }
+        workerThreads = threads;
+        workers = Executors.newFixedThreadPool(threads,
+            Thread.ofPlatform().daemon().name("EdenBazaar-Safety-", 0).factory());
+    }
+    
+    private void logSummary(ValidationSummary summary) {
+        if (summary.safe() + summary.nudged() + summary.unsafe() == 0) {
+            return;
+        }
+        String message = "Spawn safety check: " + summary.safe() + " safe, " + summary.nudged() + " nudged, "
+            + summary.unsafe() + " unsafe, " + summary.skipped() + " in unloaded worlds, " + summary.notGenerated()
+            + " in chunks not generated yet (" + summary.elapsedMillis() + "ms)";
+        if (summary.unsafe() > 0) {
+            plugin.getLogger().warning(message + " - run /bazaar validate for details");
+        } else {
+            plugin.getLogger().info(message);
+        }
+    }
+    
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+    
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    private record ChunkRef(String world, int x, int z) {
+        
+        static ChunkRef of(SpawnLocation location) {
+            return new ChunkRef(location.getWorldName(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+        
+        static List<ChunkRef> around(SpawnLocation location, int radius) {
+            int fromX = (location.getBlockX() - radius) >> 4;
+            int toX = (location.getBlockX() + radius) >> 4;
+            int fromZ = (location.getBlockZ() - radius) >> 4;
+            int toZ = (location.getBlockZ() + radius) >> 4;
+            List<ChunkRef> refs = new ArrayList<>((toX - fromX + 1) * (toZ - fromZ + 1));
+            for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                    refs.add(new ChunkRef(location.getWorldName(), chunkX, chunkZ));
+                }
+            }
+            return refs;
+        }
+    }
+}
\ No newline at end of file
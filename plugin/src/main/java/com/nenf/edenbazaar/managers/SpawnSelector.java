@@ -0,0 +1,188 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.SpawnSelectionSettings;
+import com.nenf.edenbazaar.core.sampling.FenwickTree;
+import com.nenf.edenbazaar.managers.PlayerDensityTracker.CellKey;
+import com.nenf.edenbazaar.models.SpawnLocation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted spawn location selector combining configured weights, a recency cooldown and live player density.
+ * Effective weights live in a Fenwick tree, so a selection costs O(log n) plus O(log n) per location
+ * whose density cell changed since the previous selection. A pick only goes on cooldown once the shop
+ * actually spawned there, so points that fail their safety check and are picked past keep their place.
+ * Must be called from the main server thread.
+ */
+public class SpawnSelector {
+    
+    private final EdenBazaar plugin;
+    private final PlayerDensityTracker densityTracker;
+    private final SpawnCatalog catalog;
+    
+    // State derived from the current catalog and settings
+    private List<SpawnLocation> locations = List.of();
+    private SpawnSelectionSettings settings;
+    private long catalogVersion = -1;
+    private int cellChunks;
+    private boolean[] worldLoaded = new boolean[0];
+    private FenwickTree weights = new FenwickTree(0);
+    private CellKey[] cells = new CellKey[0];
+    private Map<CellKey, List<Integer>> locationsByCell = Map.of();
+    private Map<SpawnLocation, Integer> indices = Map.of();
+    
+    // Recency cooldown: locations are released in the order they were picked
+    private final ArrayDeque<Cooldown> cooldowns = new ArrayDeque<>();
+    private boolean[] coolingDown = new boolean[0];
+    // Shops spawned so far
+    private long rotation;
+    
+    private record Cooldown(int index, long releaseRotation) {}
+    
+    public SpawnSelector(EdenBazaar plugin, PlayerDensityTracker densityTracker, SpawnCatalog catalog) {
+        this.plugin = plugin;
+        this.densityTracker = densityTracker;
+        this.catalog = catalog;
+    }
+    
+    /**
+     * Picks the next spawn location, or empty if no location is eligible. Nothing is put on cooldown until
+     * {@link #markSpawned} confirms the pick.
+     *
+     * @param excluded earlier picks for the same spawn that could not be used
+     */
+    public Optional<SpawnLocation> select(Set<SpawnLocation> excluded) {
+        refreshIfStale();
+        if (locations.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        releaseExpiredCooldowns(rotation + 1);
+        densityTracker.drainDirtyCells(this::refreshCell);
+        
+        // If everything is cooling down, release the oldest picks rather than fail
+        while (weights.total() <= 0 && !cooldowns.isEmpty()) {
+            release(cooldowns.poll().index());
+        }
+        
+        List<Integer> skipped = new ArrayList<>(excluded.size());
+        for (SpawnLocation location : excluded) {
+            Integer index = indices.get(location);
+            if (index != null && weights.get(index) > 0) {
+                weights.set(index, 0);
+                skipped.add(index);
+            }
+        }
+        int index = weights.sample(ThreadLocalRandom.current());
+        for (int restored : skipped) {
+            weights.set(restored, effectiveWeight(restored));
+        }
+        return index < 0 ? Optional.empty() : Optional.of(locations.get(index));
+    }
+    
+    /**
+     * Counts a rotation spawned at a location and puts the location on cooldown.
+     */
+    public void markSpawned(SpawnLocation location) {
+        rotation++;
+        releaseExpiredCooldowns(rotation);
+        Integer index = indices.get(location);
+        if (index == null || settings.recencyCooldown() <= 0 || coolingDown[index]) {
+            return; // The catalog changed since the pick, or the location is not kept apart
+        }
+        coolingDown[index] = true;
+        weights.set(index, 0);
+        cooldowns.add(new Cooldown(index, rotation + settings.recencyCooldown()));
+    }
+    
+    private void refreshIfStale() {
+        SpawnSelectionSettings currentSettings = plugin.getConfigManager().getConfigSnapshot().spawnSelection();
+        long currentVersion = catalog.getVersion();
+        
+        if (currentSettings.densityCellChunks() != densityTracker.getCellChunks()) {
+            densityTracker.rebuild();
+        }
+        
+        if (currentVersion == catalogVersion && currentSettings.equals(settings)
+            && cellChunks == densityTracker.getCellChunks()) {
+            return;
+        }
+        rebuild(catalog.getLocations(), currentSettings, currentVersion);
+    }
+    
+    private void rebuild(List<SpawnLocation> newLocations, SpawnSelectionSettings newSettings, long newVersion) {
+        // Keep cooldowns when only world availability or settings changed
+        if (newLocations != locations) {
+            cooldowns.clear();
+            coolingDown = new boolean[newLocations.size()];
+        }
+        locations = newLocations;
+        settings = newSettings;
+        catalogVersion = newVersion;
+        cellChunks = densityTracker.getCellChunks();
+        cells = new CellKey[newLocations.size()];
+        worldLoaded = new boolean[newLocations.size()];
+        
+        Map<CellKey, List<Integer>> byCell = new HashMap<>();
+        Map<SpawnLocation, Integer> byLocation = new IdentityHashMap<>();
+        for (int i = 0; i < newLocations.size(); i++) {
+            SpawnLocation location = newLocations.get(i);
+            byLocation.put(location, i);
+            worldLoaded[i] = catalog.isWorldLoaded(location.getWorldName());
+            cells[i] = densityTracker.cellOf(location.getWorldName(), location.getBlockX(), location.getBlockZ());
+            byCell.computeIfAbsent(cells[i], key -> new ArrayList<>()).add(i);
+        }
+        locationsByCell = Map.copyOf(byCell);
+        indices = byLocation;
+        densityTracker.setWatchedCells(locationsByCell.keySet());
+        densityTracker.drainDirtyCells(cell -> {}); // Weights below are computed from fresh counts
+        
+        double[] initial = new double[newLocations.size()];
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = effectiveWeight(i);
+        }
+        weights = FenwickTree.of(initial);
+        
+        plugin.getLogger().fine("Spawn selector rebuilt for " + newLocations.size() + " locations in "
+            + locationsByCell.size() + " density cells");
+    }
+    
+    private void releaseExpiredCooldowns(long upTo) {
+        while (!cooldowns.isEmpty() && cooldowns.peek().releaseRotation() <= upTo) {
+            release(cooldowns.poll().index());
+        }
+    }
+    
+    private void release(int index) {
+        coolingDown[index] = false;
+        weights.set(index, effectiveWeight(index));
+    }
+    
+    private void refreshCell(CellKey cell) {
+        List<Integer> indices = locationsByCell.get(cell);
+        if (indices == null) {
+            return;
+        }
+        for (int index : indices) {
+            weights.set(index, effectiveWeight(index));
+        }
+    }
+    
+    private double effectiveWeight(int index) {
+        if (coolingDown[index] || !worldLoaded[index]) {
+            return 0;
+        }
+        int players = densityTracker.getPlayerCount(cells[index]);
+        double multiplier = Math.min(1.0 + settings.densityWeight() * players, settings.maxDensityMultiplier());
+        return locations.get(index).getWeight() * multiplier;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData;
+import com.nenf.edenbazaar.config.ConfigManager.ConfigData.ParticleSettings;
+import com.nenf.edenbazaar.core.metrics.Counter;
+import com.nenf.edenbazaar.core.metrics.LatencyHistogram;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Handle;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Priority;
+import com.nenf.edenbazaar.scheduling.PlatformScheduler;
+import com.nenf.edenbazaar.scheduling.TaskHandle;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Particles around the active bazaar. The timer and its state live on the global tick;
+ * particles are sent from the thread that owns the shop location, and trails from each player's own thread.
+ */
+public class VisualHints {
+    
+    private final EdenBazaar plugin;
+    private final LatencyHistogram tickTimes;
+    private final Counter packets;
+    private final Counter skippedTicks;
+    private volatile long lastTickPackets;
+    private TaskHandle particleTask;
+    private Handle pendingTick;
+    private Location activeLocation;
+    
+    // Derived from the particle settings, rebuilt only when they change
+    private ParticleGeometry geometry;
+    
+    /**
+     * Resolved particle and precomputed circle offsets.
+     * 
+     * @param particle main particle, null if the configured type is invalid or particles are disabled
+     */
+    private record ParticleGeometry(
+        Particle particle,
+        double rangeSquared,
+        double[] offsetX,
+        double[] offsetZ,
+        ParticleSettings settings
+    ) {}
+    
+    public VisualHints(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.tickTimes = plugin.getMetrics().histogram("particles.tick");
+        this.packets = plugin.getMetrics().counter("particles.packets");
+        this.skippedTicks = plugin.getMetrics().counter("particles.skipped");
+        plugin.getMetrics().gauge("particles.last_tick_packets", () -> lastTickPackets);
+        this.geometry = buildGeometry(plugin.getConfigManager().getConfigSnapshot());
+        plugin.getConfigManager().subscribe(
+            ConfigDiff.setting("particlesEnabled", "particleType", "particleRange", "particles"),
+            (config, diff) -> onParticleSettingsChanged(config));
+    }
+    
+    private void onParticleSettingsChanged(ConfigData config) {
+        geometry = buildGeometry(config);
+        
+        // Restart so a new update interval takes effect on the active bazaar
+        if (activeLocation != null && particleTask != null && !particleTask.isCancelled()) {
+            startParticleTask(activeLocation);
+        }
+    }
+    
+    private ParticleGeometry buildGeometry(ConfigData config) {
+        ParticleSettings settings = config.particles();
+        Particle particle = null;
+        if (config.particlesEnabled()) {
+            try {
+                particle = Particle.valueOf(config.particleType());
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Invalid particle type: " + config.particleType() + ". Disabling particle effects.");
+            }
+        }
+        
+        double[] offsetX = new double[settings.count()];
+        double[] offsetZ = new double[settings.count()];
+        for (int i = 0; i < settings.count(); i++) {
+            double angle = (i * Math.PI * 2) / settings.count();
+            offsetX[i] = Math.cos(angle) * settings.circleRadius();
+            offsetZ[i] = Math.sin(angle) * settings.circleRadius();
+        }
+        
+        return new ParticleGeometry(particle, config.particleRange() * config.particleRange(), offsetX, offsetZ, settings);
+    }
+    
+    public void startParticleTask(Location shopLocation) {
+        stopParticleTask(); // Stop any existing task
+        
+        ParticleGeometry current = geometry;
+        if (current.particle() == null) {
+            plugin.getLogger().fine("Particles are disabled in configuration");
+            return;
+        }
+        
+        ParticleSettings settings = current.settings();
+        double trailRangeSquared = settings.trailRange() * settings.trailRange();
+        
+        if (shopLocation == null || shopLocation.getWorld() == null) {
+            return;
+        }
+        
+        activeLocation = shopLocation;
+        PlatformScheduler scheduler = plugin.getPlatformScheduler();
+        particleTask = scheduler.runGlobalTimer(new Runnable() {
+            @Override
+            public void run() {
+                // Check if shop is still active
+                if (!plugin.getBazaarManager().isShopActive()) {
+                    stopParticleTask();
+                    return;
+                }
+                
+                // Cosmetic work goes last; if the previous update is still queued the server is busy, so skip this one
+                if (pendingTick != null && !pendingTick.isDone()) {
+                    skippedTicks.increment();
+                    return;
+                }
+                pendingTick = plugin.getWorkScheduler().submitAt(Priority.COSMETIC, shopLocation, this::sendParticles);
+            }
+            
+            private void sendParticles() {
+                // Spawn particles above the shop
+                Location particleLocation = shopLocation.clone().add(0, 2, 0);
+                
+                long start = System.nanoTime();
+                int sent = 0;
+                try {
+                    // Get players within range first; on Folia those close enough share the shop's region
+                    List<Player> nearbyPlayers = shopLocation.getWorld().getPlayers().stream()
+                        .filter(scheduler::isOwnedByCurrentThread)
+                        .filter(player -> player.getLocation().distanceSquared(shopLocation) <= current.rangeSquared())
+                        .toList();
+                    
+                    // Only create particles if there are players nearby
+                    if (!nearbyPlayers.isEmpty()) {
+                        // Add vertical movement based on time
+                        double verticalOffset = Math.sin(System.currentTimeMillis() * 0.001) * settings.verticalMovement();
+                        
+                        for (int i = 0; i < current.offsetX().length; i++) {
+                            Location spawnLoc = particleLocation.clone().add(current.offsetX()[i], verticalOffset, current.offsetZ()[i]);
+                            
+                            // Spawn particle for all nearby players
+                            for (Player nearbyPlayer : nearbyPlayers) {
+                                nearbyPlayer.spawnParticle(current.particle(), spawnLoc, 1, 0, 0, 0, 0);
+                                sent++;
+                            }
+                        }
+                    }
+                    
+                    // Show particle trail to players within trail range (if enabled)
+                    if (settings.showTrails()) {
+                        List<Player> trailPlayers = shopLocation.getWorld().getPlayers().stream()
+                            .filter(player -> {
+                                double distanceSquared = player.getLocation().distanceSquared(shopLocation);
+                                return distanceSquared <= trailRangeSquared && distanceSquared > 100.0;
+                            })
+                            .toList();
+                        
+                        for (Player player : trailPlayers) {
+                            if (scheduler.isOwnedByCurrentThread(player)) {
+                                sent += showParticleTrail(player, shopLocation);
+                            } else {
+                                scheduler.runFor(player, () -> packets.add(showParticleTrail(player, shopLocation)));
+                            }
+                        }
+                    }
+                
+                } catch (Exception e) {
+                    plugin.getLogger().log(Level.WARNING, "Error in particle task", e);
+                } finally {
+                    tickTimes.recordSince(start);
+                    packets.add(sent);
+                    lastTickPackets = sent;
+                }
+            }
+        }, 1L, settings.updateInterval());
+        
+        plugin.getLogger().fine("Started particle effects for bazaar at " + shopLocation + " with range " + Math.sqrt(current.rangeSquared()));
+    }
+    
+    /**
+     * Shows a short trail from the player towards the shop.
+     * 
+     * @return number of particle packets sent
+     */
+    private int showParticleTrail(Player player, Location shopLocation) {
+        int sent = 0;
+        try {
+            Location playerLoc = player.getLocation();
+            Location direction = shopLocation.clone().subtract(playerLoc);
+            
+            // Normalize and scale the direction vector
+            double distance = direction.length();
+            if (distance > 0) {
+                direction.multiply(1.0 / distance); // Normalize
+                direction.multiply(3.0); // Scale for visibility
+                
+                // Create a subtle trail pointing towards the shop
+                for (int i = 1; i <= 3; i++) {
+                    Location trailLoc = playerLoc.clone()
+                        .add(direction.clone().multiply(i))
+                        .add(0, 1.5, 0); // Slightly above player eye level
+                    
+                    // Use different particle for trails
+                    player.spawnParticle(Particle.HAPPY_VILLAGER, trailLoc, 1, 0.1, 0.1, 0.1, 0);
+                    sent++;
+                }
+            }
+        } catch (Exception e) {
+            // Silently ignore trail errors to avoid spam
+            plugin.getLogger().fine("Error creating particle trail for " + player.getName() + ": " + e.getMessage());
+        }
+        return sent;
+    }
+    
+    public void stopParticleTask() {
+        activeLocation = null;
+        if (pendingTick != null) {
+            pendingTick.cancel();
+            pendingTick = null;
+        }
+        if (particleTask != null && !particleTask.isCancelled()) {
+            particleTask.cancel();
+            particleTask = null;
+            plugin.getLogger().fine("Stopped particle effects for bazaar");
+        }
+    }
+    
+    /**
+     * Queues a temporary particle burst at the specified location.
+     * Useful for special events like purchases or shop spawn/despawn.
+     */
+    public void createParticleBurst(Location location, Particle particleType, int count) {
+        if (!plugin.getConfigManager().getConfigSnapshot().particlesEnabled()) {
+            return;
+        }
+        
+        plugin.getWorkScheduler().submitAt(Priority.COSMETIC, location, () -> sendParticleBurst(location, particleType, count));
+    }
+    
+    private void sendParticleBurst(Location location, Particle particleType, int count) {
+        try {
+            double burstRange = plugin.getConfigManager().getConfigSnapshot().particleRange();
+            
+            // Only show burst to players within range
+            List<Player> nearbyPlayers = location.getWorld().getPlayers().stream()
+                .filter(plugin.getPlatformScheduler()::isOwnedByCurrentThread)
+                .filter(player -> player.getLocation().distance(location) <= burstRange)
+                .toList();
+            
+            for (Player player : nearbyPlayers) {
+                player.spawnParticle(particleType, location, count, 0.5, 0.5, 0.5, 0.1);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Error creating particle burst", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.nenf.edenbazaar.managers;
+
+import com.nenf.edenbazaar.EdenBazaar;
+import com.nenf.edenbazaar.config.ConfigDiff;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Handle;
+import com.nenf.edenbazaar.core.schedule.TickWorkQueue.Priority;
+import com.nenf.edenbazaar.scheduling.TaskHandle;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.logging.Level;
+
+/**
+ * Runs queued main-thread work every tick within the configured budget, so spawning, despawning and
+ * announcements never take a whole tick. Work may be submitted from any thread.
+ * The queue itself is drained on the global tick; work bound to a location or entity is handed to the
+ * thread that owns it when its turn comes, which on Paper is the same thread.
+ */
+public class WorkScheduler {
+    
+    private final EdenBazaar plugin;
+    private final TickWorkQueue queue;
+    private TaskHandle task;
+    
+    public WorkScheduler(EdenBazaar plugin) {
+        this.plugin = plugin;
+        this.queue = new TickWorkQueue(plugin.getConfigManager().getConfigSnapshot().scheduler().tickBudgetNanos(),
+            System::nanoTime, plugin.getMetrics());
+        plugin.getConfigManager().subscribe(ConfigDiff.setting("scheduler"),
+            (config, diff) -> queue.setBudgetNanos(config.scheduler().tickBudgetNanos()));
+    }
+    
+    public void start() {
+        stop();
+        task = plugin.getPlatformScheduler().runGlobalTimer(() -> queue.runTick(this::logFailure), 1L, 1L);
+    }
+    
+    /**
+     * Stops ticking and drops queued work. Purchases are complete before their feedback is queued,
+     * so only messages and effects are lost.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.clear();
+    }
+    
+    private void logFailure(Priority priority, RuntimeException e) {
+        plugin.getLogger().log(Level.SEVERE, "Queued " + priority + " work failed", e);
+    }
+    
+    public Handle submit(Priority priority, Runnable work) {
+        return queue.submit(priority, work);
+    }
+    
+    public Handle submit(Priority priority, TickWorkQueue.Work work) {
+        return queue.submit(priority, work);
+    }
+    
+    /**
+     * Queues work that touches blocks or entities at a location.
+     */
+    public Handle submitAt(Priority priority, Location location, Runnable work) {
+        return queue.submit(priority, () -> plugin.getPlatformScheduler().runAt(location, work));
+    }
+    
+    /**
+     * Queues work for an entity, such as effects for a player. It is dropped if the entity is gone by then.
+     */
+    public Handle submitFor(Priority priority, Entity entity, Runnable work) {
+        return queue.submit(priority, () -> plugin.getPlatformScheduler().runFor(entity, work));
+    }
+    
+    public int pending() {
+        return queue.pending();
+    }
+}
\ No newline at end of file
@@ -1,29 +1,41 @@
 package com.nenf.edenbazaar.models;
 
+import com.nenf.edenbazaar.core.loot.LootCondition;
 import org.bukkit.Material;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
- * Immutable record representing a loot item with material, price range, and weight.
+ * Immutable record representing a loot item with material, price range, weight and the conditions it is offered under.
  * 
  * @param material the material type - cannot be null
  * @param minPrice minimum price - must be positive
  * @param maxPrice maximum price - must be >= minPrice
  * @param weight spawn weight - must be positive
+ * @param conditions conditions that must all hold for the item to be drawn - empty if it always can be
  */
 public record LootItem(
     Material material,
     int minPrice,
     int maxPrice,
-    int weight
+    int weight,
+    List<LootCondition> conditions
 ) {
     
+    /**
+     * Creates an item that is always offered.
+     */
+    public LootItem(Material material, int minPrice, int maxPrice, int weight) {
+        this(material, minPrice, maxPrice, weight, List.of());
+    }
+    
     /**
      * Compact constructor with validation.
      */
     public LootItem {
         Objects.requireNonNull(material, "Material cannot be null");
+        conditions = List.copyOf(conditions);
         
         if (minPrice <= 0) {
             throw new IllegalArgumentException("Minimum price must be positive, got: " + minPrice);
@@ -52,7 +64,7 @@ public record LootItem(
      * @return a new LootItem instance with updated weight
      */
     public LootItem withWeight(int newWeight) {
-        return new LootItem(material, minPrice, maxPrice, newWeight);
+        return new LootItem(material, minPrice, maxPrice, newWeight, conditions);
     }
     
     /**
@@ -63,7 +75,7 @@ public record LootItem(
      * @return a new LootItem instance with updated price range
      */
     public LootItem withPriceRange(int newMinPrice, int newMaxPrice) {
-        return new LootItem(material, newMinPrice, newMaxPrice, weight);
+        return new LootItem(material, newMinPrice, newMaxPrice, weight, conditions);
     }
     
     /**
@@ -0,0 +1,51 @@
+package com.nenf.edenbazaar.models;
+
+import com.nenf.edenbazaar.core.shop.Stock;
+import org.bukkit.inventory.ItemStack;
+
+public class ShopItem {
+    private final ItemStack itemStack;
+    private final double price;
+    private final String tier;
+    private final Stock stock;
+    private final int demandIndex;
+    
+    public ShopItem(ItemStack itemStack, double price, String tier) {
+        this(itemStack, price, tier, Stock.unlimited());
+    }
+    
+    public ShopItem(ItemStack itemStack, double price, String tier, Stock stock) {
+        this(itemStack, price, tier, stock, -1);
+    }
+    
+    /**
+     * @param demandIndex index of the loot item's demand statistics, or -1 if demand is not tracked
+     */
+    public ShopItem(ItemStack itemStack, double price, String tier, Stock stock, int demandIndex) {
+        this.itemStack = itemStack;
+        this.price = price;
+        this.tier = tier;
+        this.stock = stock;
+        this.demandIndex = demandIndex;
+    }
+    
+    public ItemStack getItemStack() {
+        return itemStack;
+    }
+    
+    public double getPrice() {
+        return price;
+    }
+    
+    public String getTier() {
+        return tier;
+    }
+    
+    public Stock getStock() {
+        return stock;
+    }
+    
+    public int getDemandIndex() {
+        return demandIndex;
+    }
+}
\ No newline at end of file
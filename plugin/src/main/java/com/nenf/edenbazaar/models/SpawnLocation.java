@@ -0,0 +1,131 @@
+package com.nenf.edenbazaar.models;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Objects;
+
+/**
+ * A configured spawn point. Only the world name is stored, so points in worlds that
+ * are not loaded yet stay in the catalog and resolve once the world loads.
+ */
+public class SpawnLocation {
+    private final String worldName;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yaw;
+    private final float pitch;
+    private final String name;
+    private final double weight;
+    
+    public SpawnLocation(Location location, String name) {
+        this(location, name, 1.0);
+    }
+    
+    public SpawnLocation(Location location, String name, double weight) {
+        this(location.getWorld().getName(), location.getX(), location.getY(), location.getZ(),
+            location.getYaw(), location.getPitch(), name, weight);
+    }
+    
+    public SpawnLocation(String worldName, double x, double y, double z, float yaw, float pitch,
+                         String name, double weight) {
+        if (worldName == null || worldName.isBlank()) {
+            throw new IllegalArgumentException("World name cannot be empty");
+        }
+        if (weight < 0 || Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Weight cannot be negative, got: " + weight);
+        }
+        this.worldName = worldName;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.name = name;
+        this.weight = weight;
+    }
+    
+    /**
+     * Resolves this point against the currently loaded worlds.
+     * The returned location has a null world if the world is not loaded.
+     */
+    public Location getLocation() {
+        return toLocation(Bukkit.getWorld(worldName));
+    }
+    
+    public Location toLocation(World world) {
+        return new Location(world, x, y, z, yaw, pitch);
+    }
+    
+    public String getWorldName() {
+        return worldName;
+    }
+    
+    public double getX() {
+        return x;
+    }
+    
+    public double getY() {
+        return y;
+    }
+    
+    public double getZ() {
+        return z;
+    }
+    
+    public int getBlockX() {
+        return (int) Math.floor(x);
+    }
+    
+    public int getBlockY() {
+        return (int) Math.floor(y);
+    }
+    
+    public int getBlockZ() {
+        return (int) Math.floor(z);
+    }
+    
+    public float getYaw() {
+        return yaw;
+    }
+    
+    public float getPitch() {
+        return pitch;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public double getWeight() {
+        return weight;
+    }
+    
+    public double distanceSquared(double otherX, double otherY, double otherZ) {
+        double dx = x - otherX;
+        double dy = y - otherY;
+        double dz = z - otherZ;
+        return dx * dx + dy * dy + dz * dz;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SpawnLocation other)) return false;
+        return Double.compare(x, other.x) == 0
+            && Double.compare(y, other.y) == 0
+            && Double.compare(z, other.z) == 0
+            && Float.compare(yaw, other.yaw) == 0
+            && Float.compare(pitch, other.pitch) == 0
+            && Double.compare(weight, other.weight) == 0
+            && worldName.equals(other.worldName)
+            && Objects.equals(name, other.name);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(worldName, x, y, z, yaw, pitch, name, weight);
+    }
+}
\ No newline at end of file
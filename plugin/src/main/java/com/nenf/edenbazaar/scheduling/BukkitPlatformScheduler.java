@@ -0,0 +1,92 @@
+package com.nenf.edenbazaar.scheduling;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Paper and Spigot: everything runs on the main thread.
+ */
+final class BukkitPlatformScheduler implements PlatformScheduler {
+    
+    private final Plugin plugin;
+    
+    BukkitPlatformScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public String name() {
+        return "Paper";
+    }
+    
+    @Override
+    public void runGlobal(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+    
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks));
+    }
+    
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks));
+    }
+    
+    @Override
+    public void runAt(Location location, Runnable task) {
+        runGlobal(task);
+    }
+    
+    @Override
+    public void runAt(World world, int chunkX, int chunkZ, Runnable task) {
+        runGlobal(task);
+    }
+    
+    @Override
+    public TaskHandle runAtTimer(Location location, Runnable task, long delayTicks, long periodTicks) {
+        return runGlobalTimer(task, delayTicks, periodTicks);
+    }
+    
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        runGlobal(() -> {
+            if (entity.isValid()) {
+                task.run();
+            }
+        });
+    }
+    
+    @Override
+    public boolean isOwnedByCurrentThread(Location location) {
+        return Bukkit.isPrimaryThread();
+    }
+    
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+    
+    private static TaskHandle wrap(BukkitTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+            
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
\ No newline at end of file
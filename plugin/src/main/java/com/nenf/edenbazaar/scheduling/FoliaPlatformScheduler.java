@@ -0,0 +1,106 @@
+package com.nenf.edenbazaar.scheduling;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Folia: global state on the global region, blocks and entities on the region that owns them.
+ * Folia rejects delays below one tick, so delays are raised to one.
+ */
+final class FoliaPlatformScheduler implements PlatformScheduler {
+    
+    private final Plugin plugin;
+    
+    FoliaPlatformScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public String name() {
+        return "Folia";
+    }
+    
+    @Override
+    public void runGlobal(Runnable task) {
+        if (Bukkit.isGlobalTickThread()) {
+            task.run();
+        } else {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        }
+    }
+    
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1, delayTicks)));
+    }
+    
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+            Math.max(1, delayTicks), periodTicks));
+    }
+    
+    @Override
+    public void runAt(Location location, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(location)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().execute(plugin, location, task);
+        }
+    }
+    
+    @Override
+    public void runAt(World world, int chunkX, int chunkZ, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(world, chunkX, chunkZ)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+        }
+    }
+    
+    @Override
+    public TaskHandle runAtTimer(Location location, Runnable task, long delayTicks, long periodTicks) {
+        return wrap(Bukkit.getRegionScheduler().runAtFixedRate(plugin, location, scheduled -> task.run(),
+            Math.max(1, delayTicks), periodTicks));
+    }
+    
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            if (entity.isValid()) {
+                task.run();
+            }
+        } else {
+            // Returns false, dropping the task, if the entity is already gone
+            entity.getScheduler().execute(plugin, task, null, 1);
+        }
+    }
+    
+    @Override
+    public boolean isOwnedByCurrentThread(Location location) {
+        return Bukkit.isOwnedByCurrentRegion(location);
+    }
+    
+    @Override
+    public boolean isOwnedByCurrentThread(Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+    
+    private static TaskHandle wrap(ScheduledTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+            
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.nenf.edenbazaar.scheduling;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on the thread that owns what they touch. On Paper that is always the main thread;
+ * on Folia the world is split into regions ticked in parallel, entities and blocks may only be used
+ * from their region's thread, and plugin-wide state is ticked by a separate global region.
+ * The {@code run*} methods run the task immediately when the calling thread already owns its target.
+ */
+public interface PlatformScheduler {
+    
+    /**
+     * Creates the scheduler for the running server.
+     */
+    static PlatformScheduler create(Plugin plugin) {
+        return isFolia() ? new FoliaPlatformScheduler(plugin) : new BukkitPlatformScheduler(plugin);
+    }
+    
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Name shown in logs and status output.
+     */
+    String name();
+    
+    /**
+     * Runs a task on the global tick, for plugin state that belongs to no region.
+     */
+    void runGlobal(Runnable task);
+    
+    TaskHandle runGlobalLater(Runnable task, long delayTicks);
+    
+    TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+    
+    /**
+     * Runs a task on the thread that owns a location.
+     */
+    void runAt(Location location, Runnable task);
+    
+    /**
+     * Runs a task on the thread that owns a chunk.
+     */
+    void runAt(World world, int chunkX, int chunkZ, Runnable task);
+    
+    TaskHandle runAtTimer(Location location, Runnable task, long delayTicks, long periodTicks);
+    
+    /**
+     * Runs a task on the thread that owns an entity, following it between regions.
+     * The task is dropped if the entity is removed or its player leaves first.
+     */
+    void runFor(Entity entity, Runnable task);
+    
+    boolean isOwnedByCurrentThread(Location location);
+    
+    boolean isOwnedByCurrentThread(Entity entity);
+    
+    /**
+     * Computes a value on the thread that owns a chunk.
+     */
+    default <T> CompletableFuture<T> supplyAt(World world, int chunkX, int chunkZ, Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        runAt(world, chunkX, chunkZ, () -> {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+}
\ No newline at end of file
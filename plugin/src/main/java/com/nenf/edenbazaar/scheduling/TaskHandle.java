@@ -0,0 +1,11 @@
+package com.nenf.edenbazaar.scheduling;
+
+/**
+ * A delayed or repeating task started through a {@link PlatformScheduler}.
+ */
+public interface TaskHandle {
+    
+    void cancel();
+    
+    boolean isCancelled();
+}
\ No newline at end of file